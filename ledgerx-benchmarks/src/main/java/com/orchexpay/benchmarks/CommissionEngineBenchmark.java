@@ -0,0 +1,133 @@
+package com.orchexpay.benchmarks;
+
+import com.orchexpay.payoutorchestrator.enums.CommissionType;
+import com.orchexpay.payoutorchestrator.models.CommissionTier;
+import com.orchexpay.payoutorchestrator.models.MerchantCommission;
+import com.orchexpay.payoutorchestrator.services.CommissionCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Commission evaluation for order splits: a TIERED schedule with floor / cap and vendor overrides, over a fixed set of
+ * pseudo-random order amounts (log-uniform, 1 to 100,000). Scores are orders per second per thread; the units path
+ * should show no allocation (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CommissionEngineBenchmark {
+
+    private static final int ORDERS = 4096;
+
+    @Param({"4", "32"})
+    public int tiers;
+
+    private CommissionCalculator calculator;
+    private CommissionCalculator vendorCalculator;
+    private long[] amountUnits;
+    private BigDecimal[] amounts;
+    private UUID[] vendorIds;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        MerchantCommission config = new MerchantCommission();
+        config.setCommissionType(CommissionType.TIERED);
+        config.setPercentageValue(new BigDecimal("12.50"));
+        config.setFixedAmount(new BigDecimal("0.3000"));
+        config.setMinCommission(new BigDecimal("0.5000"));
+        config.setMaxCommission(new BigDecimal("2500.0000"));
+        List<CommissionTier> rules = new ArrayList<>();
+        for (int i = 1; i < tiers; i++) {
+            rules.add(tier(null, BigDecimal.valueOf(Math.round(Math.pow(100_000, (double) i / tiers))), 12.5 - i * 10.0 / tiers));
+        }
+        vendorIds = new UUID[64];
+        for (int v = 0; v < vendorIds.length; v++) {
+            vendorIds[v] = new UUID(0, v);
+            if (v % 4 == 0) {
+                rules.add(tier(vendorIds[v], BigDecimal.ZERO, 8.0));
+                rules.add(tier(vendorIds[v], new BigDecimal("1000"), 5.0));
+            }
+        }
+        calculator = CommissionCalculator.compile(config, rules);
+        vendorCalculator = calculator.forVendor(vendorIds[0]);
+        amountUnits = new long[ORDERS];
+        amounts = new BigDecimal[ORDERS];
+        for (int i = 0; i < ORDERS; i++) {
+            amountUnits[i] = Math.round(Math.pow(10, random.nextDouble() * 5) * 100) * 100;
+            amounts[i] = BigDecimal.valueOf(amountUnits[i], 4);
+        }
+    }
+
+    private static CommissionTier tier(UUID vendorId, BigDecimal minOrderAmount, double percentage) {
+        CommissionTier tier = new CommissionTier();
+        tier.setVendorId(vendorId);
+        tier.setMinOrderAmount(minOrderAmount);
+        tier.setPercentageValue(BigDecimal.valueOf(Math.round(percentage * 100), 2));
+        return tier;
+    }
+
+    /** Hot path used for order splits: binary search + long arithmetic. */
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public long tieredUnits() {
+        long sum = 0;
+        for (long amount : amountUnits) {
+            sum += calculator.platformShareUnits(amount);
+        }
+        return sum;
+    }
+
+    /** Same evaluation through the BigDecimal API used by CommissionService (conversion allocates). */
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public int tieredBigDecimal() {
+        int h = 0;
+        for (BigDecimal amount : amounts) {
+            h += calculator.platformShare(amount).hashCode();
+        }
+        return h;
+    }
+
+    /** Per-order vendor override resolution (map lookup) followed by the units evaluation. */
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public long vendorOverrideUnits() {
+        long sum = 0;
+        for (int i = 0; i < ORDERS; i++) {
+            sum += calculator.forVendor(vendorIds[i & 63]).platformShareUnits(amountUnits[i]);
+        }
+        return sum;
+    }
+
+    /** A single vendor schedule already resolved (batch of one vendor's orders). */
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public long resolvedVendorUnits() {
+        long sum = 0;
+        for (long amount : amountUnits) {
+            sum += vendorCalculator.platformShareUnits(amount);
+        }
+        return sum;
+    }
+}
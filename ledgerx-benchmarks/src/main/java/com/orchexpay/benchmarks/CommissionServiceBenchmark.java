@@ -0,0 +1,127 @@
+package com.orchexpay.benchmarks;
+
+import com.orchexpay.payoutorchestrator.enums.CommissionType;
+import com.orchexpay.payoutorchestrator.models.CommissionTier;
+import com.orchexpay.payoutorchestrator.models.MerchantCommission;
+import com.orchexpay.payoutorchestrator.repositories.CommissionTierRepository;
+import com.orchexpay.payoutorchestrator.repositories.MerchantCommissionRepository;
+import com.orchexpay.payoutorchestrator.services.CommissionCache;
+import com.orchexpay.payoutorchestrator.services.CommissionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CommissionService share computation as the webhooks call it: per order (cache lookup, vendor override, BigDecimal
+ * shares) and for a batch of orders across merchants. Configs come from in-memory repositories and the cache is warm,
+ * so the scores exclude database time (see CommissionEngineBenchmark for the calculator alone). Scores are orders per
+ * second per thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CommissionServiceBenchmark {
+
+    private static final int MERCHANTS = 16;
+    private static final int ORDERS = 4096;
+
+    private CommissionService commissionService;
+    private List<CommissionService.OrderAmount> orders;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        Map<UUID, MerchantCommission> configs = new HashMap<>();
+        Map<UUID, List<CommissionTier>> tiers = new HashMap<>();
+        UUID[] merchantIds = new UUID[MERCHANTS];
+        UUID[] vendorIds = new UUID[64];
+        for (int v = 0; v < vendorIds.length; v++) {
+            vendorIds[v] = new UUID(1, v);
+        }
+        for (int m = 0; m < MERCHANTS; m++) {
+            UUID merchantId = new UUID(0, m);
+            merchantIds[m] = merchantId;
+            MerchantCommission config = new MerchantCommission();
+            config.setMerchantId(merchantId);
+            config.setCommissionType(m % 2 == 0 ? CommissionType.TIERED : CommissionType.PERCENTAGE);
+            config.setPercentageValue(new BigDecimal("12.50"));
+            config.setFixedAmount(new BigDecimal("0.3000"));
+            config.setMinCommission(new BigDecimal("0.5000"));
+            config.setMaxCommission(new BigDecimal("2500.0000"));
+            configs.put(merchantId, config);
+            List<CommissionTier> rules = new ArrayList<>();
+            if (config.getCommissionType() == CommissionType.TIERED) {
+                rules.add(tier(merchantId, null, new BigDecimal("1000"), "10.00"));
+                rules.add(tier(merchantId, null, new BigDecimal("10000"), "7.50"));
+                for (int v = 0; v < vendorIds.length; v += 4) {
+                    rules.add(tier(merchantId, vendorIds[v], BigDecimal.ZERO, "8.00"));
+                }
+            }
+            tiers.put(merchantId, rules);
+        }
+        MerchantCommissionRepository commissionRepository = RepositoryStubs.stub(MerchantCommissionRepository.class, Map.of(
+                "findByMerchantId", args -> Optional.ofNullable(configs.get((UUID) args[0])),
+                "findByMerchantIdIn", args -> ((Collection<?>) args[0]).stream().map(configs::get).toList()));
+        CommissionTierRepository tierRepository = RepositoryStubs.stub(CommissionTierRepository.class, Map.of(
+                "findByMerchantId", args -> tiers.get((UUID) args[0]),
+                "findByMerchantIdIn", args -> ((Collection<?>) args[0]).stream().flatMap(id -> tiers.get(id).stream()).toList()));
+        CommissionCache cache = new CommissionCache(commissionRepository, tierRepository, new SimpleMeterRegistry(), 10_000, 3_600_000);
+        commissionService = new CommissionService(cache, commissionRepository, tierRepository);
+        orders = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            BigDecimal amount = BigDecimal.valueOf(Math.round(Math.pow(10, random.nextDouble() * 5) * 100), 2);
+            orders.add(new CommissionService.OrderAmount(merchantIds[random.nextInt(MERCHANTS)], vendorIds[random.nextInt(vendorIds.length)], amount));
+        }
+        cache.getAll(List.of(merchantIds));
+    }
+
+    private static CommissionTier tier(UUID merchantId, UUID vendorId, BigDecimal minOrderAmount, String percentage) {
+        CommissionTier tier = new CommissionTier();
+        tier.setMerchantId(merchantId);
+        tier.setVendorId(vendorId);
+        tier.setMinOrderAmount(minOrderAmount);
+        tier.setPercentageValue(new BigDecimal(percentage));
+        return tier;
+    }
+
+    /** One order-complete webhook: computeShares(merchantId, vendorId, amount). */
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public int computeShares() {
+        int h = 0;
+        for (CommissionService.OrderAmount order : orders) {
+            h += commissionService.computeShares(order.merchantId(), order.vendorId(), order.amount()).hashCode();
+        }
+        return h;
+    }
+
+    /** The batch order-complete webhook: one computeShares(List) call for all orders. */
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public List<CommissionService.Shares> computeSharesBatch() {
+        return commissionService.computeShares(orders);
+    }
+}
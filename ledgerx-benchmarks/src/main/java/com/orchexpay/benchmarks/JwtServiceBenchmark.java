@@ -0,0 +1,55 @@
+package com.orchexpay.benchmarks;
+
+import com.orchexpay.walletledger.security.JwtService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * wallet-service JWT handling: one signature verification and parse (isValid), and the per-request sequence of
+ * JwtAuthenticationFilter (isValid, subject, roles, merchantId), which parses the token once per call. Scores are
+ * tokens per second per thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService("benchmark-secret-min-256-bits-for-hs256-not-used-outside-jmh-xyz", "roles", 86400);
+        token = jwtService.generateToken("merchant-benchmark", List.of("MERCHANT"), UUID.randomUUID());
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return jwtService.isValid(token);
+    }
+
+    @Benchmark
+    public void authenticationFilter(Blackhole bh) {
+        if (jwtService.isValid(token)) {
+            bh.consume(jwtService.getSubject(token));
+            bh.consume(jwtService.getRoles(token));
+            bh.consume(jwtService.getMerchantId(token));
+        }
+    }
+}
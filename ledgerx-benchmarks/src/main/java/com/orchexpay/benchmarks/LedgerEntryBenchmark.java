@@ -0,0 +1,89 @@
+package com.orchexpay.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orchexpay.walletledger.dtos.LedgerEntryResponse;
+import com.orchexpay.walletledger.enums.EntryStatus;
+import com.orchexpay.walletledger.enums.ReferenceType;
+import com.orchexpay.walletledger.mappers.LedgerEntryMapper;
+import com.orchexpay.walletledger.models.LedgerEntry;
+import com.orchexpay.walletledger.models.Money;
+import com.orchexpay.walletledger.utils.LedgerEntryFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ledger entry hot paths of wallet-service: creating an entry (every credit, debit and transfer leg), mapping it to the
+ * API response, and the JSON round trip used for idempotent-response caching. The ObjectMapper is configured like
+ * Spring Boot's (Java time module, ISO dates). Scores are operations per second per thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LedgerEntryBenchmark {
+
+    private final LedgerEntryFactory factory = new LedgerEntryFactory();
+    private LedgerEntryMapper mapper;
+    private UUID walletId;
+    private UUID merchantId;
+    private UUID vendorId;
+    private Money amount;
+    private LedgerEntry entry;
+    private LedgerEntryResponse response;
+    private String json;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        mapper = new LedgerEntryMapper(objectMapper);
+        walletId = UUID.randomUUID();
+        merchantId = UUID.randomUUID();
+        vendorId = UUID.randomUUID();
+        amount = Money.of(new BigDecimal("1249.5000"), "USD");
+        entry = createCredit();
+        response = mapper.toResponse(entry);
+        json = mapper.toJson(response);
+    }
+
+    @Benchmark
+    public LedgerEntry createCredit() {
+        return factory.createCredit(walletId, merchantId, vendorId, amount, ReferenceType.ORDER, "order-100245-split",
+                EntryStatus.CONFIRMED, "Order split order-100245");
+    }
+
+    @Benchmark
+    public LedgerEntry createDebit() {
+        return factory.createDebit(walletId, merchantId, null, amount, ReferenceType.PAYOUT, "payout-88231",
+                EntryStatus.PENDING, "Payout reservation");
+    }
+
+    @Benchmark
+    public LedgerEntryResponse toResponse() {
+        return mapper.toResponse(entry);
+    }
+
+    @Benchmark
+    public String toJson() {
+        return mapper.toJson(response);
+    }
+
+    @Benchmark
+    public LedgerEntryResponse toResponseFromJson() {
+        return mapper.toResponseFromJson(json);
+    }
+}
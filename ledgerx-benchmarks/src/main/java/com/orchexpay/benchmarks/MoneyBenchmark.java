@@ -0,0 +1,80 @@
+package com.orchexpay.benchmarks;
+
+import com.orchexpay.walletledger.models.Currency;
+import com.orchexpay.walletledger.models.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wallet-service money arithmetic: Money add / subtract (as used by balance derivation and transfers) and Currency.of
+ * (called for every request amount). Amounts are pseudo-random with 0 to 4 decimals; scores are operations per second
+ * per thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneyBenchmark {
+
+    private static final int AMOUNTS = 4096;
+    private static final String[] CODES = {"USD", "eur", "INR", "gbp", "JPY", "AED", "sgd", "CHF"};
+
+    private Money[] amounts;
+    private Money balance;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        amounts = new Money[AMOUNTS];
+        for (int i = 0; i < AMOUNTS; i++) {
+            amounts[i] = Money.of(BigDecimal.valueOf(random.nextLong(1, 10_000_000), random.nextInt(5)), "USD");
+        }
+        balance = Money.of(new BigDecimal("100000000000.0000"), "USD");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(AMOUNTS)
+    public Money add() {
+        Money sum = Money.of(BigDecimal.ZERO, "USD");
+        for (Money amount : amounts) {
+            sum = sum.add(amount);
+        }
+        return sum;
+    }
+
+    /** Every subtraction stays non-negative (the balance covers the sum of all amounts). */
+    @Benchmark
+    @OperationsPerInvocation(AMOUNTS)
+    public Money subtract() {
+        Money remaining = balance;
+        for (Money amount : amounts) {
+            remaining = remaining.subtract(amount);
+        }
+        return remaining;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(AMOUNTS)
+    public int currencyOf() {
+        int h = 0;
+        for (int i = 0; i < AMOUNTS; i++) {
+            h += Currency.of(CODES[i & 7]).hashCode();
+        }
+        return h;
+    }
+}
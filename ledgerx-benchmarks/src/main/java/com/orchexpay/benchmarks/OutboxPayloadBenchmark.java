@@ -0,0 +1,78 @@
+package com.orchexpay.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orchexpay.walletledger.events.OutboxDomainEventPublisher;
+import com.orchexpay.walletledger.events.WalletCreatedEvent;
+import com.orchexpay.walletledger.events.WalletCreditedEvent;
+import com.orchexpay.walletledger.repositories.JpaOutboxRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outbox payload building in OutboxDomainEventPublisher.publish: payload map, JSON serialization and the outbox row,
+ * with the repository's save stubbed out (no database), so the score is the per-event CPU and allocation cost paid
+ * inside every wallet transaction. Scores are events per second per thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OutboxPayloadBenchmark {
+
+    private OutboxDomainEventPublisher publisher;
+    private WalletCreditedEvent credited;
+    private WalletCreatedEvent created;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        JpaOutboxRepository outboxRepository = RepositoryStubs.stub(JpaOutboxRepository.class, Map.of("save", args -> args[0]));
+        publisher = new OutboxDomainEventPublisher(outboxRepository, objectMapper);
+        credited = WalletCreditedEvent.builder()
+                .eventId(UUID.randomUUID())
+                .walletId(UUID.randomUUID())
+                .amount(new BigDecimal("1249.5000"))
+                .currencyCode("USD")
+                .referenceId("order-100245-split")
+                .occurredAt(Instant.now())
+                .correlationId("c0ffee00-0000-4000-8000-000000000001")
+                .build();
+        created = WalletCreatedEvent.builder()
+                .eventId(UUID.randomUUID())
+                .walletId(UUID.randomUUID())
+                .merchantId(UUID.randomUUID())
+                .currencyCode("USD")
+                .walletType("VENDOR")
+                .vendorUserId(UUID.randomUUID())
+                .vendorUsername("vendor-benchmark")
+                .occurredAt(Instant.now())
+                .build();
+    }
+
+    @Benchmark
+    public void walletCredited() {
+        publisher.publish(credited);
+    }
+
+    @Benchmark
+    public void walletCreated() {
+        publisher.publish(created);
+    }
+}
@@ -0,0 +1,30 @@
+package com.orchexpay.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * In-memory stand-ins for Spring Data repositories, so services can be benchmarked without a database. Only the named
+ * methods are answered; any other call fails, which keeps a benchmark from silently measuring an unexpected path.
+ */
+final class RepositoryStubs {
+
+    private RepositoryStubs() {}
+
+    static <T> T stub(Class<T> repositoryType, Map<String, Function<Object[], Object>> answers) {
+        Object proxy = Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType}, (self, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            return switch (method.getName()) {
+                case "toString" -> repositoryType.getSimpleName() + " stub";
+                case "hashCode" -> System.identityHashCode(self);
+                case "equals" -> self == args[0];
+                default -> throw new UnsupportedOperationException(repositoryType.getSimpleName() + "." + method.getName());
+            };
+        });
+        return repositoryType.cast(proxy);
+    }
+}
@@ -0,0 +1,49 @@
+package com.orchexpay.loadgen;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies of one endpoint, in microseconds. Response time runs from the request's scheduled start to its completion,
+ * so time spent queued behind slow responses (or the in-flight limit) is counted: the coordinated-omission-safe figure.
+ * Service time runs from the actual send and is kept for comparison.
+ */
+final class EndpointStats {
+
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    final String name;
+    final Histogram responseTime = new ConcurrentHistogram(HIGHEST_MICROS, 3);
+    final Histogram serviceTime = new ConcurrentHistogram(HIGHEST_MICROS, 3);
+    final LongAdder errors = new LongAdder();
+    /** Response status (0 = no response: timeout or connection failure) to count. */
+    final Map<Integer, LongAdder> statuses = new ConcurrentSkipListMap<>();
+    /** Payouts accepted (2xx) by this endpoint: 1 per single payout, the item count per batch. */
+    final LongAdder payouts = new LongAdder();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    void record(long scheduledNanos, long sentNanos, long completedNanos, int status) {
+        responseTime.recordValue(micros(completedNanos - scheduledNanos));
+        serviceTime.recordValue(micros(completedNanos - sentNanos));
+        statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        if (status / 100 != 2) {
+            errors.increment();
+        }
+    }
+
+    long count() {
+        return responseTime.getTotalCount();
+    }
+
+    private static long micros(long nanos) {
+        return Math.min(Math.max(nanos / 1000, 0), HIGHEST_MICROS);
+    }
+}
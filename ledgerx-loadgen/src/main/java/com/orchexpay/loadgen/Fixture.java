@@ -0,0 +1,104 @@
+package com.orchexpay.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load-test tenants, created through the real APIs before the run: merchants (with MAIN / ESCROW wallets) via the
+ * admin, their vendors (VENDOR wallets) and a PERCENTAGE commission, so payments are accepted. Usernames carry the
+ * run prefix, so every run starts from fresh wallets.
+ */
+final class Fixture {
+
+    final List<Merchant> merchants;
+
+    private Fixture(List<Merchant> merchants) {
+        this.merchants = merchants;
+    }
+
+    static Fixture create(LedgerXClient client, LoadConfig config) {
+        String adminToken = login(client, config, config.adminUsername(), config.adminPassword());
+        List<Merchant> merchants = new ArrayList<>(config.merchants());
+        for (int m = 0; m < config.merchants(); m++) {
+            String username = config.prefix() + "_m" + m;
+            JsonNode merchant = client.send(client.post(config.walletUrl() + "/api/v1/users", adminToken, Map.of(
+                    "username", username,
+                    "password", config.password(),
+                    "roles", List.of("MERCHANT"),
+                    "currencyCode", config.currency()), null));
+            UUID merchantId = uuid(merchant, "merchantId");
+            String token = login(client, config, username, config.password());
+            List<Vendor> vendors = new ArrayList<>(config.vendorsPerMerchant());
+            for (int v = 0; v < config.vendorsPerMerchant(); v++) {
+                JsonNode vendor = client.send(client.post(config.walletUrl() + "/api/v1/merchants/" + merchantId + "/vendors", token, Map.of(
+                        "username", username + "_v" + v,
+                        "password", config.password(),
+                        "currencyCode", config.currency()), null));
+                vendors.add(new Vendor(uuid(vendor, "id"), uuid(vendor, "vendorWalletId")));
+            }
+            client.send(client.put(config.orchestratorUrl() + "/api/v1/merchants/" + merchantId + "/commission", token, Map.of(
+                    "commissionType", "PERCENTAGE",
+                    "percentageValue", config.commissionPercentage(),
+                    "currencyCode", config.currency())));
+            merchants.add(new Merchant(username, token, merchantId, uuid(merchant, "mainWalletId"), uuid(merchant, "escrowWalletId"),
+                    List.copyOf(vendors)));
+            System.out.printf("Fixture: merchant %s with %d vendors%n", username, vendors.size());
+        }
+        return new Fixture(List.copyOf(merchants));
+    }
+
+    private static String login(LedgerXClient client, LoadConfig config, String username, String password) {
+        JsonNode login = client.send(client.post(config.walletUrl() + "/auth/login", null,
+                Map.of("username", username, "password", password), null));
+        return login.path("accessToken").asText();
+    }
+
+    private static UUID uuid(JsonNode node, String field) {
+        if (!node.hasNonNull(field)) {
+            throw new IllegalStateException("Response has no " + field + ": " + node);
+        }
+        return UUID.fromString(node.get(field).asText());
+    }
+
+    record Merchant(String username, String token, UUID merchantId, UUID mainWalletId, UUID escrowWalletId, List<Vendor> vendors) {}
+
+    /**
+     * A vendor and a lower bound of its wallet balance in minor units (half of each completed order is counted), so
+     * payout requests stay within the balance without asking wallet-service.
+     */
+    static final class Vendor {
+        final UUID id;
+        final UUID walletId;
+        private final AtomicLong availableMinor = new AtomicLong();
+
+        Vendor(UUID id, UUID walletId) {
+            this.id = id;
+            this.walletId = walletId;
+        }
+
+        void credit(long minor) {
+            availableMinor.addAndGet(minor);
+        }
+
+        /** Takes amount off the available balance if it covers it. */
+        boolean tryTake(long minor) {
+            long available;
+            do {
+                available = availableMinor.get();
+                if (available < minor) {
+                    return false;
+                }
+            } while (!availableMinor.compareAndSet(available, available - minor));
+            return true;
+        }
+
+        long available() {
+            return availableMinor.get();
+        }
+    }
+}
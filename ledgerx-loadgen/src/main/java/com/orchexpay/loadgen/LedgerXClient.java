@@ -0,0 +1,98 @@
+package com.orchexpay.loadgen;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/** Thin JSON-over-HTTP client for both services; requests are built here and sent async (load) or sync (setup). */
+final class LedgerXClient {
+
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Duration requestTimeout;
+
+    LedgerXClient(ExecutorService executor, Duration requestTimeout) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+        this.requestTimeout = requestTimeout;
+    }
+
+    HttpRequest get(String url, String token) {
+        return builder(url, token).GET().build();
+    }
+
+    HttpRequest post(String url, String token, Map<String, ?> body, String idempotencyKey) {
+        HttpRequest.Builder builder = builder(url, token).header("Content-Type", "application/json").POST(body(body));
+        if (idempotencyKey != null) {
+            builder.header(IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+        }
+        return builder.build();
+    }
+
+    HttpRequest put(String url, String token, Map<String, ?> body) {
+        return builder(url, token).header("Content-Type", "application/json").PUT(body(body)).build();
+    }
+
+    CompletableFuture<HttpResponse<String>> sendAsync(HttpRequest request) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /** Setup calls: the parsed body of a 2xx response; anything else fails the run with the response body. */
+    JsonNode send(HttpRequest request) {
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted", e);
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " returned " + response.statusCode()
+                    + ": " + response.body());
+        }
+        return json(response.body());
+    }
+
+    JsonNode json(String body) {
+        try {
+            return body == null || body.isBlank() ? objectMapper.nullNode() : objectMapper.readTree(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable response body: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private HttpRequest.Builder builder(String url, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(requestTimeout)
+                .header("Accept", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpRequest.BodyPublisher body(Map<String, ?> body) {
+        try {
+            return HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unserializable request body", e);
+        }
+    }
+}
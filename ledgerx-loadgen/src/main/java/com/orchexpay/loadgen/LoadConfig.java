@@ -0,0 +1,102 @@
+package com.orchexpay.loadgen;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Run settings: loadgen.properties on the classpath, then an optional --config=&lt;file&gt;, then --key=value arguments.
+ */
+record LoadConfig(String walletUrl, String orchestratorUrl, String adminUsername, String adminPassword,
+                  String prefix, int merchants, int vendorsPerMerchant, String currency, String password,
+                  String commissionPercentage, double rate, Duration warmup, Duration duration, int maxInFlight,
+                  Duration requestTimeout, long seed, Map<Operation, Integer> mix, int batchSize, Path reportDir) {
+
+    static LoadConfig load(String[] args) throws IOException {
+        Properties props = new Properties();
+        try (InputStream in = LoadConfig.class.getResourceAsStream("/loadgen.properties")) {
+            if (in != null) {
+                props.load(in);
+            }
+        }
+        Properties overrides = new Properties();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                throw new IllegalArgumentException("Expected --key=value, got: " + arg);
+            }
+            overrides.setProperty(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        String configFile = overrides.getProperty("config");
+        if (configFile != null) {
+            try (Reader reader = Files.newBufferedReader(Path.of(configFile))) {
+                props.load(reader);
+            }
+        }
+        props.putAll(overrides);
+
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            int weight = integer(props, "mix." + operation.key(), 0);
+            if (weight < 0) {
+                throw new IllegalArgumentException("mix." + operation.key() + " must not be negative");
+            }
+            mix.put(operation, weight);
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("At least one mix.* weight must be positive");
+        }
+        String prefix = props.getProperty("fixture.prefix", "").isBlank()
+                ? "lt" + System.currentTimeMillis() / 1000 : props.getProperty("fixture.prefix").trim();
+        int batchSize = integer(props, "load.batch-size", 50);
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("load.batch-size must be positive");
+        }
+        double rate = Double.parseDouble(required(props, "load.rate"));
+        if (rate <= 0) {
+            throw new IllegalArgumentException("load.rate must be positive");
+        }
+        return new LoadConfig(
+                trimSlash(required(props, "wallet.url")),
+                trimSlash(required(props, "orchestrator.url")),
+                required(props, "admin.username"),
+                required(props, "admin.password"),
+                prefix,
+                integer(props, "fixture.merchants", 10),
+                integer(props, "fixture.vendors-per-merchant", 8),
+                required(props, "fixture.currency").toUpperCase(),
+                required(props, "fixture.password"),
+                required(props, "fixture.commission-percentage"),
+                rate,
+                Duration.ofSeconds(integer(props, "load.warmup-seconds", 15)),
+                Duration.ofSeconds(integer(props, "load.duration-seconds", 120)),
+                integer(props, "load.max-in-flight", 512),
+                Duration.ofMillis(integer(props, "load.request-timeout-ms", 10_000)),
+                Long.parseLong(props.getProperty("load.seed", "42")),
+                mix,
+                batchSize,
+                Path.of(required(props, "report.dir")));
+    }
+
+    private static String required(Properties props, String key) {
+        String value = props.getProperty(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing setting " + key);
+        }
+        return value.trim();
+    }
+
+    private static int integer(Properties props, String key, int defaultValue) {
+        String value = props.getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    private static String trimSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
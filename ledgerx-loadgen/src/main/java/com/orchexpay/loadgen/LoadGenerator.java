@@ -0,0 +1,52 @@
+package com.orchexpay.loadgen;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * End-to-end load test of user-wallet-service and payout-orchestrator-service through their public HTTP APIs:
+ * creates a fixture of merchants and vendors, replays the configured mix of payment-success, order-complete, payout
+ * request, confirm / reverse and dashboard reads at a fixed open-loop rate, and writes HdrHistogram percentiles per
+ * endpoint to report.dir.
+ * <p>
+ * Intended setup: both services on local Postgres and Redis, with no Kafka broker: start user-wallet-service with
+ * OUTBOX_SINK=discard (outbox drained without sending) and the orchestrator with WALLET_EVENTS_ENABLED=false (wallet
+ * ids resolved over HTTP). Settings: loadgen.properties, e.g.
+ * <pre>java -jar target/loadgen.jar --load.rate=200 --load.duration-seconds=300 --fixture.merchants=50</pre>
+ */
+public final class LoadGenerator {
+
+    private LoadGenerator() {}
+
+    public static void main(String[] args) throws Exception {
+        LoadConfig config = LoadConfig.load(args);
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors() * 2), r -> {
+            Thread thread = new Thread(r, "loadgen-http-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            LedgerXClient client = new LedgerXClient(executor, config.requestTimeout());
+            System.out.printf("Creating fixture %s: %d merchants x %d vendors%n", config.prefix(), config.merchants(), config.vendorsPerMerchant());
+            Fixture fixture = Fixture.create(client, config);
+
+            TrafficDriver driver = new TrafficDriver(client, config, fixture);
+            Instant startedAt = Instant.now();
+            System.out.printf("Running %.1f req/s: %ds warmup, %ds measured%n", config.rate(), config.warmup().toSeconds(),
+                    config.duration().toSeconds());
+            Duration measured = driver.run();
+
+            String report = ReportWriter.write(config, startedAt, measured, driver.endpoints(), driver.scheduled(),
+                    driver.substituted(), driver.dropped());
+            System.out.println();
+            System.out.print(report);
+            System.out.println("Report written to " + config.reportDir().toAbsolutePath());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.orchexpay.loadgen;
+
+/** The business operations of the traffic mix; each maps to one or more HTTP endpoints. */
+enum Operation {
+    PAYMENT_SUCCESS("payment-success"),
+    ORDER_COMPLETE("order-complete"),
+    PAYOUT_REQUEST("payout-request"),
+    PAYOUT_CONFIRM("payout-confirm"),
+    PAYOUT_REVERSE("payout-reverse"),
+    PAYOUT_BATCH("payout-batch"),
+    DASHBOARD_READ("dashboard-read");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    /** Name used in settings (mix.&lt;key&gt;) and in the report. */
+    String key() {
+        return key;
+    }
+}
@@ -0,0 +1,108 @@
+package com.orchexpay.loadgen;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Writes the run report: report.txt (settings, throughput, per-endpoint percentiles and status codes, payouts/s of the
+ * single and batch payout endpoints) and one
+ * &lt;endpoint&gt;.hgrm percentile distribution per endpoint (milliseconds; plot with HdrHistogram's plotter).
+ */
+final class ReportWriter {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private ReportWriter() {}
+
+    static String write(LoadConfig config, Instant startedAt, Duration measured, Collection<EndpointStats> endpoints,
+                        Map<Operation, Long> scheduled, Map<Operation, Long> substituted, long dropped) throws IOException {
+        Files.createDirectories(config.reportDir());
+        StringWriter text = new StringWriter();
+        PrintWriter out = new PrintWriter(text);
+        double seconds = measured.toMillis() / 1000.0;
+        out.printf("LedgerX load test %s, started %s%n", config.prefix(), startedAt);
+        out.printf("wallet %s, orchestrator %s%n", config.walletUrl(), config.orchestratorUrl());
+        out.printf("target rate %.1f req/s, warmup %ds, measured %.1fs, max in flight %d, %d merchants x %d vendors%n%n",
+                config.rate(), config.warmup().toSeconds(), seconds, config.maxInFlight(), config.merchants(), config.vendorsPerMerchant());
+
+        out.printf("%-18s %10s %12s%n", "operation", "scheduled", "substituted");
+        for (Operation operation : Operation.values()) {
+            out.printf("%-18s %10d %12d%n", operation.key(), scheduled.getOrDefault(operation, 0L), substituted.getOrDefault(operation, 0L));
+        }
+        if (dropped > 0) {
+            out.printf("%d scheduled requests were not sent (run ended while waiting for an in-flight slot)%n", dropped);
+        }
+        out.println();
+
+        out.printf("Response time (ms, from scheduled start)%n");
+        out.printf("%-42s %8s %7s %8s %8s %8s %8s %8s %8s %10s%n",
+                "endpoint", "count", "errors", "req/s", "p50", "p90", "p99", "p99.9", "max", "svc p99");
+        long total = 0;
+        long totalErrors = 0;
+        for (EndpointStats stats : endpoints) {
+            if (stats.count() == 0) {
+                continue;
+            }
+            Histogram rt = stats.responseTime;
+            out.printf("%-42s %8d %7d %8.1f %8.1f %8.1f %8.1f %8.1f %8.1f %10.1f%n", stats.name, stats.count(), stats.errors.sum(),
+                    stats.count() / seconds, ms(rt, 50), ms(rt, 90), ms(rt, 99), ms(rt, 99.9), rt.getMaxValue() / MICROS_PER_MILLI,
+                    ms(stats.serviceTime, 99));
+            total += stats.count();
+            totalErrors += stats.errors.sum();
+        }
+        out.printf("%-42s %8d %7d %8.1f%n%n", "total", total, totalErrors, total / seconds);
+
+        out.printf("Payout throughput (accepted payouts, batch size %d)%n", config.batchSize());
+        out.printf("%-42s %8s %10s %10s%n", "endpoint", "requests", "payouts", "payouts/s");
+        for (EndpointStats stats : endpoints) {
+            long payouts = stats.payouts.sum();
+            if (payouts > 0) {
+                out.printf("%-42s %8d %10d %10.1f%n", stats.name, stats.count() - stats.errors.sum(), payouts, payouts / seconds);
+            }
+        }
+        out.println();
+
+        out.println("Status codes (0 = no response)");
+        for (EndpointStats stats : endpoints) {
+            if (stats.count() == 0) {
+                continue;
+            }
+            Map<Integer, Long> counts = new TreeMap<>();
+            stats.statuses.forEach((status, count) -> counts.put(status, count.sum()));
+            out.printf("%-42s %s%n", stats.name, counts);
+        }
+        out.flush();
+        Files.writeString(config.reportDir().resolve("report.txt"), text.toString(), StandardCharsets.UTF_8);
+
+        for (EndpointStats stats : endpoints) {
+            if (stats.count() == 0) {
+                continue;
+            }
+            Path file = config.reportDir().resolve(fileName(stats.name) + ".hgrm");
+            try (PrintStream hgrm = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+                stats.responseTime.outputPercentileDistribution(hgrm, MICROS_PER_MILLI);
+            }
+        }
+        return text.toString();
+    }
+
+    private static double ms(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    private static String fileName(String endpoint) {
+        return endpoint.replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_|_$", "");
+    }
+}
@@ -0,0 +1,361 @@
+package com.orchexpay.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigDecimal;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Open-loop traffic: request i is scheduled at start + i / rate and sent at that time whatever earlier requests are
+ * doing, and its latency is measured from that scheduled time, so a stall shows up in the percentiles instead of
+ * silently lowering the offered load (coordinated omission). The in-flight limit only bounds client resources; time
+ * waiting for a slot is part of the measured latency.
+ * <p>
+ * Operations feed each other: paid orders are completed, completions fund vendors, funded vendors request payouts,
+ * and open payouts are confirmed or reversed; payout-batch submits up to load.batch-size payouts of one merchant's
+ * funded vendors in one call, so the report can compare payouts/s against single payouts. All choices are made on the scheduling thread with one seeded random;
+ * response callbacks only hand results back through queues and the vendors' available balances.
+ */
+final class TrafficDriver {
+
+    private static final long MIN_ORDER_MINOR = 10_000;        // 100.00
+    private static final long MAX_ORDER_MINOR = 1_000_000;     // 10,000.00
+    private static final long MIN_PAYOUT_MINOR = 10_000;       // 100.00
+    private static final Duration PROGRESS_INTERVAL = Duration.ofSeconds(10);
+
+    private final LedgerXClient client;
+    private final LoadConfig config;
+    private final List<Fixture.Merchant> merchants;
+    private final SplittableRandom random;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final Map<String, EndpointStats> endpoints = new LinkedHashMap<>();
+    private final ConcurrentLinkedQueue<PaidOrder> paidOrders = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<OpenPayout> openPayouts = new ConcurrentLinkedQueue<>();
+    private final AtomicLong completed = new AtomicLong();
+    private final Semaphore inFlight;
+    private final Map<Operation, Long> scheduled = new EnumMap<>(Operation.class);
+    private final Map<Operation, Long> substituted = new EnumMap<>(Operation.class);
+    private long sequence;
+    private long dropped;
+    private volatile long measureFromNanos;
+
+    TrafficDriver(LedgerXClient client, LoadConfig config, Fixture fixture) {
+        this.client = client;
+        this.config = config;
+        this.merchants = fixture.merchants;
+        this.random = new SplittableRandom(config.seed());
+        this.inFlight = new Semaphore(config.maxInFlight());
+        this.operations = config.mix().entrySet().stream().filter(e -> e.getValue() > 0).map(Map.Entry::getKey).toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += config.mix().get(operations[i]);
+            cumulativeWeights[i] = sum;
+        }
+        for (String endpoint : List.of("POST /mock/webhooks/payment-success", "POST /mock/webhooks/order-complete",
+                "POST /payouts", "POST /payouts/batches", "POST /payouts/{id}/confirm", "POST /payouts/{id}/reverse", "GET /payouts?merchantId",
+                "GET /payouts/pending-orders/summary", "GET /payouts/vendor-balances", "GET /entries?merchantId")) {
+            endpoints.put(endpoint, new EndpointStats(endpoint));
+        }
+    }
+
+    /** Runs warmup plus measured duration and waits for the requests still in flight; returns the measured time. */
+    Duration run() throws InterruptedException {
+        long intervalNanos = Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / config.rate()));
+        long start = System.nanoTime();
+        measureFromNanos = start + config.warmup().toNanos();
+        long end = measureFromNanos + config.duration().toNanos();
+        long nextProgress = start + PROGRESS_INTERVAL.toNanos();
+        for (long i = 0; ; i++) {
+            long scheduledAt = start + i * intervalNanos;
+            if (scheduledAt >= end) {
+                break;
+            }
+            waitUntil(scheduledAt);
+            Call call = prepare(pick(), scheduledAt >= measureFromNanos);
+            if (!inFlight.tryAcquire(Math.max(0, end - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                dropped++;
+                continue;
+            }
+            dispatch(call, scheduledAt);
+            if (System.nanoTime() >= nextProgress) {
+                nextProgress += PROGRESS_INTERVAL.toNanos();
+                System.out.printf("%s: %d sent, %d completed, %d in flight%n", scheduledAt < measureFromNanos ? "warmup" : "measure",
+                        i + 1 - dropped, completed.get(), config.maxInFlight() - inFlight.availablePermits());
+            }
+        }
+        if (!inFlight.tryAcquire(config.maxInFlight(), config.requestTimeout().toMillis() + 5_000, TimeUnit.MILLISECONDS)) {
+            System.out.println("Some requests were still in flight after the request timeout; they are not in the report");
+        }
+        return Duration.ofNanos(end - measureFromNanos);
+    }
+
+    Collection<EndpointStats> endpoints() {
+        return endpoints.values();
+    }
+
+    Map<Operation, Long> scheduled() {
+        return scheduled;
+    }
+
+    Map<Operation, Long> substituted() {
+        return substituted;
+    }
+
+    long dropped() {
+        return dropped;
+    }
+
+    private Operation pick() {
+        int r = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < operations.length; i++) {
+            if (r < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    /** Builds the request for operation, falling back along confirm / reverse -> payout -> completion -> payment. */
+    private Call prepare(Operation operation, boolean measured) {
+        if (measured) {
+            scheduled.merge(operation, 1L, Long::sum);
+        }
+        Call call = switch (operation) {
+            case PAYMENT_SUCCESS -> paymentSuccess();
+            case ORDER_COMPLETE -> orderComplete();
+            case PAYOUT_REQUEST -> payoutRequest();
+            case PAYOUT_CONFIRM -> payoutDecision(true);
+            case PAYOUT_REVERSE -> payoutDecision(false);
+            case PAYOUT_BATCH -> payoutBatch();
+            case DASHBOARD_READ -> dashboardRead();
+        };
+        if (call == null) {
+            if (operation == Operation.PAYOUT_CONFIRM || operation == Operation.PAYOUT_REVERSE) {
+                call = payoutRequest();
+            }
+            if (call == null) {
+                call = orderComplete();
+            }
+            if (call == null) {
+                call = paymentSuccess();
+            }
+            if (measured) {
+                substituted.merge(operation, 1L, Long::sum);
+            }
+        }
+        return call;
+    }
+
+    private Call paymentSuccess() {
+        Fixture.Merchant merchant = merchant();
+        Fixture.Vendor vendor = merchant.vendors().get(random.nextInt(merchant.vendors().size()));
+        String orderId = config.prefix() + "-o" + (++sequence);
+        long amount = (long) Math.exp(Math.log(MIN_ORDER_MINOR) + random.nextDouble() * (Math.log(MAX_ORDER_MINOR) - Math.log(MIN_ORDER_MINOR)));
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("merchantId", merchant.merchantId());
+        body.put("vendorId", vendor.id);
+        body.put("orderId", orderId);
+        body.put("amount", money(amount));
+        body.put("currencyCode", config.currency());
+        body.put("escrowWalletId", merchant.escrowWalletId());
+        return new Call("POST /mock/webhooks/payment-success",
+                client.post(config.orchestratorUrl() + "/api/v1/mock/webhooks/payment-success", merchant.token(), body, null),
+                response -> paidOrders.add(new PaidOrder(merchant, vendor, orderId, amount)), null, 0);
+    }
+
+    private Call orderComplete() {
+        PaidOrder order = paidOrders.poll();
+        if (order == null) {
+            return null;
+        }
+        Fixture.Merchant merchant = order.merchant();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("merchantId", merchant.merchantId());
+        body.put("orderId", order.orderId());
+        body.put("amount", money(order.amountMinor()));
+        body.put("currencyCode", config.currency());
+        body.put("vendorId", order.vendor().id);
+        body.put("escrowWalletId", merchant.escrowWalletId());
+        body.put("mainWalletId", merchant.mainWalletId());
+        body.put("vendorWalletId", order.vendor().walletId);
+        return new Call("POST /mock/webhooks/order-complete",
+                client.post(config.orchestratorUrl() + "/api/v1/mock/webhooks/order-complete", merchant.token(), body, null),
+                response -> order.vendor().credit(order.amountMinor() / 2), null, 0);
+    }
+
+    private Call payoutRequest() {
+        for (int attempt = 0; attempt < 8; attempt++) {
+            Fixture.Merchant merchant = merchant();
+            Fixture.Vendor vendor = merchant.vendors().get(random.nextInt(merchant.vendors().size()));
+            long available = vendor.available();
+            if (available < MIN_PAYOUT_MINOR) {
+                continue;
+            }
+            long amount = Math.max(MIN_PAYOUT_MINOR, available / 10 + random.nextLong(Math.max(1, available * 4 / 10)));
+            if (!vendor.tryTake(amount)) {
+                continue;
+            }
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("merchantId", merchant.merchantId());
+            body.put("vendorId", vendor.id);
+            body.put("vendorWalletId", vendor.walletId);
+            body.put("amount", money(amount));
+            body.put("currencyCode", config.currency());
+            return new Call("POST /payouts",
+                    client.post(config.orchestratorUrl() + "/api/v1/payouts", merchant.token(), body, config.prefix() + "-p" + (++sequence)),
+                    response -> {
+                        JsonNode payout = client.json(response.body());
+                        String status = payout.path("status").asText();
+                        if (("PROCESSING".equals(status) || "CREATED".equals(status)) && payout.hasNonNull("id")) {
+                            openPayouts.add(new OpenPayout(merchant, vendor, UUID.fromString(payout.get("id").asText()), amount));
+                        } else {
+                            vendor.credit(amount);
+                        }
+                    },
+                    () -> vendor.credit(amount), 1);
+        }
+        return null;
+    }
+
+    /** One merchant's batch: up to batchSize items from its funded vendors (a vendor may appear more than once). */
+    private Call payoutBatch() {
+        Fixture.Merchant merchant = merchant();
+        List<Map<String, Object>> items = new ArrayList<>();
+        List<Taken> taken = new ArrayList<>();
+        for (int attempt = 0; attempt < config.batchSize() * 2 && items.size() < config.batchSize(); attempt++) {
+            Fixture.Vendor vendor = merchant.vendors().get(random.nextInt(merchant.vendors().size()));
+            long available = vendor.available();
+            if (available < MIN_PAYOUT_MINOR) {
+                continue;
+            }
+            long amount = Math.max(MIN_PAYOUT_MINOR, available / 10);
+            if (!vendor.tryTake(amount)) {
+                continue;
+            }
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("vendorId", vendor.id);
+            item.put("vendorWalletId", vendor.walletId);
+            item.put("amount", money(amount));
+            items.add(item);
+            taken.add(new Taken(vendor, amount));
+        }
+        if (items.isEmpty()) {
+            return null;
+        }
+        Runnable refund = () -> taken.forEach(t -> t.vendor().credit(t.amountMinor()));
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("merchantId", merchant.merchantId());
+        body.put("currencyCode", config.currency());
+        body.put("items", items);
+        return new Call("POST /payouts/batches",
+                client.post(config.orchestratorUrl() + "/api/v1/payouts/batches", merchant.token(), body, config.prefix() + "-b" + (++sequence)),
+                response -> {
+                    if ("FAILED".equals(client.json(response.body()).path("status").asText())) {
+                        refund.run();
+                    }
+                },
+                refund, items.size());
+    }
+
+    private Call payoutDecision(boolean confirm) {
+        OpenPayout payout = openPayouts.poll();
+        if (payout == null) {
+            return null;
+        }
+        String action = confirm ? "confirm" : "reverse";
+        return new Call("POST /payouts/{id}/" + action,
+                client.post(config.orchestratorUrl() + "/api/v1/payouts/" + payout.payoutId() + "/" + action, payout.merchant().token(),
+                        Map.of(), config.prefix() + "-" + action.charAt(0) + (++sequence)),
+                response -> {
+                    if (!confirm) {
+                        payout.vendor().credit(payout.amountMinor());
+                    }
+                }, null, 0);
+    }
+
+    private Call dashboardRead() {
+        Fixture.Merchant merchant = merchant();
+        String merchantId = merchant.merchantId().toString();
+        return switch (random.nextInt(4)) {
+            case 0 -> new Call("GET /payouts?merchantId",
+                    client.get(config.orchestratorUrl() + "/api/v1/payouts?merchantId=" + merchantId + "&page=0&size=20", merchant.token()), null, null, 0);
+            case 1 -> new Call("GET /payouts/pending-orders/summary",
+                    client.get(config.orchestratorUrl() + "/api/v1/payouts/pending-orders/summary?merchantId=" + merchantId, merchant.token()), null, null, 0);
+            case 2 -> new Call("GET /payouts/vendor-balances",
+                    client.get(config.orchestratorUrl() + "/api/v1/payouts/vendor-balances?merchantId=" + merchantId, merchant.token()), null, null, 0);
+            default -> new Call("GET /entries?merchantId",
+                    client.get(config.walletUrl() + "/api/v1/entries?merchantId=" + merchantId + "&page=0&size=20", merchant.token()), null, null, 0);
+        };
+    }
+
+    private void dispatch(Call call, long scheduledAt) {
+        EndpointStats stats = endpoints.get(call.endpoint());
+        long sentAt = System.nanoTime();
+        client.sendAsync(call.request()).whenComplete((response, error) -> {
+            long completedAt = System.nanoTime();
+            inFlight.release();
+            completed.incrementAndGet();
+            int status = response != null ? response.statusCode() : 0;
+            if (scheduledAt >= measureFromNanos) {
+                stats.record(scheduledAt, sentAt, completedAt, status);
+                if (status / 100 == 2) {
+                    stats.payouts.add(call.payouts());
+                }
+            }
+            try {
+                if (status / 100 == 2) {
+                    if (call.onSuccess() != null) {
+                        call.onSuccess().accept(response);
+                    }
+                } else if (call.onFailure() != null) {
+                    call.onFailure().run();
+                }
+            } catch (RuntimeException e) {
+                System.err.println(call.endpoint() + ": unexpected response: " + e.getMessage());
+            }
+        });
+    }
+
+    private Fixture.Merchant merchant() {
+        return merchants.get(random.nextInt(merchants.size()));
+    }
+
+    private static BigDecimal money(long minor) {
+        return BigDecimal.valueOf(minor, 2);
+    }
+
+    private static void waitUntil(long nanoTime) {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    /** One prepared request; callbacks run on the HTTP client's executor. payouts = payouts it submits. */
+    private record Call(String endpoint, HttpRequest request, Consumer<HttpResponse<String>> onSuccess, Runnable onFailure,
+                        int payouts) {}
+
+    private record PaidOrder(Fixture.Merchant merchant, Fixture.Vendor vendor, String orderId, long amountMinor) {}
+
+    private record Taken(Fixture.Vendor vendor, long amountMinor) {}
+
+    private record OpenPayout(Fixture.Merchant merchant, Fixture.Vendor vendor, UUID payoutId, long amountMinor) {}
+}
@@ -19,6 +19,10 @@ export const payoutApi = {
   listPendingOrders(merchantId, vendorId) {
     return payoutClient.get('/api/v1/payouts/pending-orders', { params: { merchantId, vendorId } });
   },
+  /** Pending order count and total per vendor of the merchant. Returns [{ vendorId, currencyCode, orderCount, totalAmount }]. */
+  getPendingSummary(merchantId) {
+    return payoutClient.get('/api/v1/payouts/pending-orders/summary', { params: { merchantId } });
+  },
   getPayout(payoutId) {
     return payoutClient.get(`/api/v1/payouts/${payoutId}`);
   },
@@ -30,6 +30,7 @@ export default function OrderCompletion() {
   const [pendingOrders, setPendingOrders] = useState([]);
   const [selectedPendingOrder, setSelectedPendingOrder] = useState(null);
   const [loadingPending, setLoadingPending] = useState(false);
+  const [pendingCounts, setPendingCounts] = useState({});
 
   const [message, setMessage] = useState('');
   const [error, setError] = useState('');
@@ -56,6 +57,22 @@ export default function OrderCompletion() {
       .finally(() => setLoadingProfile(false));
   }, [merchantId]);
 
+  const loadPendingCounts = () =>
+    payoutApi
+      .getPendingSummary(merchantId)
+      .then((res) => {
+        const counts = {};
+        (Array.isArray(res.data) ? res.data : []).forEach((s) => {
+          counts[s.vendorId] = (counts[s.vendorId] || 0) + s.orderCount;
+        });
+        setPendingCounts(counts);
+      })
+      .catch(() => setPendingCounts({}));
+
+  useEffect(() => {
+    if (tab === 'order' && merchantId) loadPendingCounts();
+  }, [tab, merchantId]);
+
   useEffect(() => {
     if (tab === 'order' && merchantId && completeVendorId) {
       setLoadingPending(true);
@@ -147,6 +164,7 @@ export default function OrderCompletion() {
       setMessage(res.data?.message || 'Order distributed.');
       setSelectedPendingOrder(null);
       setPendingOrders((prev) => prev.filter((p) => p.orderId !== selectedPendingOrder.orderId));
+      loadPendingCounts();
     } catch (err) {
       setError(err.response?.data?.message || err.message || 'Failed');
     } finally {
@@ -272,7 +290,7 @@ export default function OrderCompletion() {
                 <option value="">Select vendor</option>
                 {vendors.map((v) => (
                   <option key={v.userId} value={v.userId}>
-                    {v.username}
+                    {pendingCounts[v.userId] ? `${v.username} (${pendingCounts[v.userId]} pending)` : v.username}
                   </option>
                 ))}
               </select>
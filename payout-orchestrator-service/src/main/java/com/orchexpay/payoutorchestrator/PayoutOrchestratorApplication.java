@@ -2,6 +2,7 @@ package com.orchexpay.payoutorchestrator;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Payout orchestration service: owns payout lifecycle, idempotency, bank calls, webhooks.
@@ -10,6 +11,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * See docs/ARCHITECTURE_AUDIT.md for service boundaries.
  */
 @SpringBootApplication
+@EnableScheduling
 public class PayoutOrchestratorApplication {
 
     public static void main(String[] args) {
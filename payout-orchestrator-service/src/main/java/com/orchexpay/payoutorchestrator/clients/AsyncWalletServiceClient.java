@@ -0,0 +1,57 @@
+package com.orchexpay.payoutorchestrator.clients;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Future-returning variant of {@link WalletServiceClient}. Independent wallet-service calls (e.g. ESCROW / MAIN / VENDOR
+ * wallet lookups) can be started together and joined, so a webhook pays for one round trip instead of three.
+ * Futures complete exceptionally with the same exceptions the blocking client throws; use {@link #await} to unwrap them.
+ */
+public interface AsyncWalletServiceClient {
+
+    CompletableFuture<WalletServiceClient.LedgerEntryResponse> creditWallet(UUID walletId, BigDecimal amount, String currencyCode, String referenceId, String referenceType, String description, String idempotencyKey, Optional<String> requestBearerToken);
+
+    CompletableFuture<WalletServiceClient.LedgerEntryResponse> reserveWallet(UUID walletId, BigDecimal amount, String currencyCode, String referenceId, String description, String idempotencyKey, Optional<String> requestBearerToken);
+
+    CompletableFuture<Void> confirmLedgerEntry(UUID entryId, String idempotencyKey, Optional<String> requestBearerToken);
+
+    CompletableFuture<Void> reverseLedgerEntry(UUID entryId, String idempotencyKey, Optional<String> requestBearerToken);
+
+    CompletableFuture<WalletServiceClient.TransferResultResponse> transfer(UUID fromWalletId, String referenceId, String currencyCode, BigDecimal totalAmount, List<WalletServiceClient.TransferLeg> legs, String description, String idempotencyKey, Optional<String> requestBearerToken);
+
+    CompletableFuture<UUID> getWalletByType(UUID merchantId, String currencyCode, String walletType, UUID vendorUserId);
+
+    /** Already-resolved id when the caller supplied it, otherwise an async lookup. */
+    default CompletableFuture<UUID> getWalletByType(UUID knownWalletId, UUID merchantId, String currencyCode, String walletType, UUID vendorUserId) {
+        return knownWalletId != null
+                ? CompletableFuture.completedFuture(knownWalletId)
+                : getWalletByType(merchantId, currencyCode, walletType, vendorUserId);
+    }
+
+    /**
+     * Blocks for the result and rethrows the original unchecked exception (e.g. RestClientResponseException) so
+     * existing exception handlers keep mapping wallet-service errors as before.
+     */
+    static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for wallet-service", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            while (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof RuntimeException re) throw re;
+            if (cause instanceof Error err) throw err;
+            throw new IllegalStateException("Wallet-service call failed", cause);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.orchexpay.payoutorchestrator.clients;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs blocking {@link WalletServiceClient} calls on the bounded walletServiceExecutor. The pooled HTTP client
+ * (RestTemplateConfig) caps sockets; this caps threads, so fan-out never exceeds what the pool can serve.
+ */
+@Component
+public class ExecutorAsyncWalletServiceClient implements AsyncWalletServiceClient {
+
+    private final WalletServiceClient walletServiceClient;
+    private final Executor executor;
+
+    public ExecutorAsyncWalletServiceClient(WalletServiceClient walletServiceClient,
+                                            @Qualifier("walletServiceExecutor") Executor executor) {
+        this.walletServiceClient = walletServiceClient;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<WalletServiceClient.LedgerEntryResponse> creditWallet(UUID walletId, BigDecimal amount, String currencyCode, String referenceId, String referenceType, String description, String idempotencyKey, Optional<String> requestBearerToken) {
+        return CompletableFuture.supplyAsync(() -> walletServiceClient.creditWallet(
+                walletId, amount, currencyCode, referenceId, referenceType, description, idempotencyKey, requestBearerToken), executor);
+    }
+
+    @Override
+    public CompletableFuture<WalletServiceClient.LedgerEntryResponse> reserveWallet(UUID walletId, BigDecimal amount, String currencyCode, String referenceId, String description, String idempotencyKey, Optional<String> requestBearerToken) {
+        return CompletableFuture.supplyAsync(() -> walletServiceClient.reserveWallet(
+                walletId, amount, currencyCode, referenceId, description, idempotencyKey, requestBearerToken), executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> confirmLedgerEntry(UUID entryId, String idempotencyKey, Optional<String> requestBearerToken) {
+        return CompletableFuture.runAsync(() -> walletServiceClient.confirmLedgerEntry(entryId, idempotencyKey, requestBearerToken), executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> reverseLedgerEntry(UUID entryId, String idempotencyKey, Optional<String> requestBearerToken) {
+        return CompletableFuture.runAsync(() -> walletServiceClient.reverseLedgerEntry(entryId, idempotencyKey, requestBearerToken), executor);
+    }
+
+    @Override
+    public CompletableFuture<WalletServiceClient.TransferResultResponse> transfer(UUID fromWalletId, String referenceId, String currencyCode, BigDecimal totalAmount, List<WalletServiceClient.TransferLeg> legs, String description, String idempotencyKey, Optional<String> requestBearerToken) {
+        return CompletableFuture.supplyAsync(() -> walletServiceClient.transfer(
+                fromWalletId, referenceId, currencyCode, totalAmount, legs, description, idempotencyKey, requestBearerToken), executor);
+    }
+
+    @Override
+    public CompletableFuture<UUID> getWalletByType(UUID merchantId, String currencyCode, String walletType, UUID vendorUserId) {
+        return CompletableFuture.supplyAsync(() -> walletServiceClient.getWalletByType(merchantId, currencyCode, walletType, vendorUserId), executor);
+    }
+}
@@ -1,20 +1,32 @@
 package com.orchexpay.payoutorchestrator.clients;
 
+import com.orchexpay.payoutorchestrator.dtos.UserProfile;
+import com.orchexpay.payoutorchestrator.services.WalletReadModelService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
 
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * HTTP client to user-wallet-service. All ledger effects go through this; no direct DB access to wallet/ledger.
+ * Each call is timed as wallet.client.requests{operation, status, endpoint, caller}: endpoint is the route of the
+ * inbound request that caused the call (none for workers), caller the role of its current user.
  */
 @Component
 public class HttpWalletServiceClient implements WalletServiceClient {
@@ -23,11 +35,19 @@ public class HttpWalletServiceClient implements WalletServiceClient {
 
     private final RestTemplate restTemplate;
     private final String walletServiceBaseUrl;
+    private final WalletIdCache walletIdCache;
+    private final WalletReadModelService walletReadModelService;
+    private final MeterRegistry meterRegistry;
 
     public HttpWalletServiceClient(RestTemplate restTemplate,
-                                   @Value("${orchexpay.wallet-service.url:http://localhost:8080}") String walletServiceBaseUrl) {
+                                   @Value("${orchexpay.wallet-service.url:http://localhost:8080}") String walletServiceBaseUrl,
+                                   WalletIdCache walletIdCache, WalletReadModelService walletReadModelService,
+                                   MeterRegistry meterRegistry) {
         this.restTemplate = restTemplate;
         this.walletServiceBaseUrl = walletServiceBaseUrl;
+        this.walletIdCache = walletIdCache;
+        this.walletReadModelService = walletReadModelService;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
@@ -43,10 +63,10 @@ public class HttpWalletServiceClient implements WalletServiceClient {
                 "referenceType", referenceType != null ? referenceType : "ORDER",
                 "description", description != null ? description : ""
         );
-        var response = restTemplate.postForEntity(
+        var response = timed("credit", () -> restTemplate.postForEntity(
                 walletServiceBaseUrl + "/api/v1/wallets/" + walletId + "/credit",
                 new HttpEntity<>(body, headers),
-                Map.class);
+                Map.class));
         return mapToLedgerEntryResponse(response.getBody());
     }
 
@@ -62,10 +82,10 @@ public class HttpWalletServiceClient implements WalletServiceClient {
                 "referenceId", referenceId,
                 "description", description != null ? description : ""
         );
-        var response = restTemplate.postForEntity(
+        var response = timed("reserve", () -> restTemplate.postForEntity(
                 walletServiceBaseUrl + "/api/v1/wallets/" + walletId + "/reserve",
                 new HttpEntity<>(body, headers),
-                Map.class);
+                Map.class));
         return mapToLedgerEntryResponse(response.getBody());
     }
 
@@ -74,10 +94,10 @@ public class HttpWalletServiceClient implements WalletServiceClient {
         var headers = new HttpHeaders();
         headers.set(IDEMPOTENCY_KEY_HEADER, idempotencyKey);
         requestBearerToken.filter(t -> t != null && !t.isBlank()).ifPresent(t -> headers.set(HttpHeaders.AUTHORIZATION, t.startsWith("Bearer ") ? t : "Bearer " + t));
-        restTemplate.postForEntity(
+        timed("confirm", () -> restTemplate.postForEntity(
                 walletServiceBaseUrl + "/api/v1/ledger-entries/" + entryId + "/confirm",
                 new HttpEntity<>(headers),
-                Map.class);
+                Map.class));
     }
 
     @Override
@@ -85,10 +105,10 @@ public class HttpWalletServiceClient implements WalletServiceClient {
         var headers = new HttpHeaders();
         headers.set(IDEMPOTENCY_KEY_HEADER, idempotencyKey);
         requestBearerToken.filter(t -> t != null && !t.isBlank()).ifPresent(t -> headers.set(HttpHeaders.AUTHORIZATION, t.startsWith("Bearer ") ? t : "Bearer " + t));
-        restTemplate.postForEntity(
+        timed("reverse", () -> restTemplate.postForEntity(
                 walletServiceBaseUrl + "/api/v1/ledger-entries/" + entryId + "/reverse",
                 new HttpEntity<>(headers),
-                Map.class);
+                Map.class));
     }
 
     @Override
@@ -106,29 +126,131 @@ public class HttpWalletServiceClient implements WalletServiceClient {
                 "creditLegs", creditLegs,
                 "description", description != null ? description : ""
         );
-        var response = restTemplate.postForEntity(
+        var response = timed("transfer", () -> restTemplate.postForEntity(
                 walletServiceBaseUrl + "/api/v1/transfers",
                 new HttpEntity<>(body, headers),
-                Map.class);
+                Map.class));
         var res = response.getBody();
         return new TransferResultResponse(res != null ? ((Map<?, ?>) res).get("debitEntry") : null,
                 res != null ? (List<Object>) ((Map<?, ?>) res).get("creditEntries") : List.of(),
                 res != null && Boolean.TRUE.equals(((Map<?, ?>) res).get("idempotent")));
     }
 
+    @Override
+    public List<BatchItemResult> creditWallets(List<CreditItem> items) {
+        var body = Map.of("items", items.stream().map(i -> Map.<String, Object>of(
+                "walletId", i.walletId(),
+                "idempotencyKey", i.idempotencyKey(),
+                "credit", Map.<String, Object>of(
+                        "amount", i.amount(),
+                        "currencyCode", i.currencyCode(),
+                        "referenceId", i.referenceId(),
+                        "referenceType", i.referenceType() != null ? i.referenceType() : "ORDER",
+                        "description", i.description() != null ? i.description() : ""))).toList());
+        return postBatch("credit-batch", "/api/v1/credits/batch", body);
+    }
+
+    @Override
+    public List<BatchItemResult> transfers(List<TransferItem> items) {
+        var body = Map.of("items", items.stream().map(i -> Map.<String, Object>of(
+                "idempotencyKey", i.idempotencyKey(),
+                "transfer", Map.<String, Object>of(
+                        "fromWalletId", i.fromWalletId(),
+                        "referenceId", i.referenceId(),
+                        "currencyCode", i.currencyCode(),
+                        "totalAmount", i.totalAmount(),
+                        "creditLegs", i.legs().stream().map(l -> Map.<String, Object>of("toWalletId", l.toWalletId(), "amount", l.amount())).toList(),
+                        "description", i.description() != null ? i.description() : ""))).toList());
+        return postBatch("transfer-batch", "/api/v1/transfers/batch", body);
+    }
+
+    private List<BatchItemResult> postBatch(String operation, String path, Map<String, ?> body) {
+        var headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        var response = timed(operation, () -> restTemplate.postForEntity(walletServiceBaseUrl + path, new HttpEntity<>(body, headers), Map.class));
+        var results = response.getBody() != null ? (List<?>) response.getBody().get("results") : null;
+        if (results == null) {
+            throw new IllegalStateException("Wallet-service batch " + path + " returned no results");
+        }
+        return results.stream().map(r -> (Map<?, ?>) r)
+                .map(r -> new BatchItemResult((String) r.get("idempotencyKey"), ((Number) r.get("status")).intValue(), (String) r.get("error")))
+                .toList();
+    }
+
+    /** Resolved from WalletIdCache, then the local wallet directory (WalletReadModelService), then wallet-service. */
     @Override
     public UUID getWalletByType(UUID merchantId, String currencyCode, String walletType, UUID vendorUserId) {
-        String url = walletServiceBaseUrl + "/api/v1/merchants/" + merchantId + "/wallets/by-type?currencyCode=" + currencyCode + "&walletType=" + walletType;
+        var key = new WalletIdCache.WalletKey(merchantId, currencyCode, walletType, vendorUserId);
+        var cached = walletIdCache.get(key);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        var known = walletReadModelService.findWalletId(key);
+        if (known.isPresent()) {
+            walletIdCache.put(key, known.get());
+            return known.get();
+        }
+        String url = walletServiceBaseUrl + "/api/v1/merchants/" + merchantId + "/wallets/by-type/id?currencyCode=" + currencyCode + "&walletType=" + walletType;
         if (vendorUserId != null) {
             url += "&vendorUserId=" + vendorUserId;
         }
-        var response = restTemplate.getForEntity(url, Map.class);
+        String walletUrl = url;
+        var response = timed("wallet-by-type", () -> restTemplate.getForEntity(walletUrl, Map.class));
         var body = response.getBody();
         if (body == null || !body.containsKey("id")) {
             throw new IllegalStateException("Wallet not found for merchant " + merchantId + " type " + walletType);
         }
         Object id = body.get("id");
-        return id instanceof String ? UUID.fromString((String) id) : UUID.fromString(id.toString());
+        UUID walletId = id instanceof String ? UUID.fromString((String) id) : UUID.fromString(id.toString());
+        walletIdCache.put(key, walletId);
+        return walletId;
+    }
+
+    private <T> T timed(String operation, Supplier<T> call) {
+        long started = System.nanoTime();
+        String status = "IO_ERROR";
+        try {
+            T result = call.get();
+            status = "2xx";
+            return result;
+        } catch (HttpStatusCodeException e) {
+            status = String.valueOf(e.getStatusCode().value());
+            throw e;
+        } finally {
+            // On walletServiceExecutor threads these are the submitting request's attributes (WalletServiceExecutorConfig)
+            RequestAttributes request = RequestContextHolder.getRequestAttributes();
+            Object endpoint = requestAttribute(request, HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            Object currentUser = requestAttribute(request, "currentUser");
+            Timer.builder("wallet.client.requests")
+                    .tag("operation", operation)
+                    .tag("status", status)
+                    .tag("endpoint", endpoint != null ? endpoint.toString() : request != null ? "UNKNOWN" : "none")
+                    .tag("caller", currentUser instanceof UserProfile user ? caller(user) : "none")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /** null without a request, or when an async call outlived its request (attributes can no longer be read). */
+    private static Object requestAttribute(RequestAttributes request, String name) {
+        if (request == null) {
+            return null;
+        }
+        try {
+            return request.getAttribute(name, RequestAttributes.SCOPE_REQUEST);
+        } catch (IllegalStateException e) {
+            return null;
+        }
+    }
+
+    private static String caller(UserProfile user) {
+        for (String role : new String[]{"SYSTEM", "ADMIN", "MERCHANT", "VENDOR"}) {
+            if (user.hasRole(role)) {
+                return role.toLowerCase();
+            }
+        }
+        return "anonymous";
     }
 
     private static LedgerEntryResponse mapToLedgerEntryResponse(Map<?, ?> m) {
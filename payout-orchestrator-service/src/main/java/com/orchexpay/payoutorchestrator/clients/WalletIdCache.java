@@ -0,0 +1,68 @@
+package com.orchexpay.payoutorchestrator.clients;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Bounded LRU cache of wallet ids keyed by (merchantId, currency, walletType, vendorUserId). A wallet's id never
+ * changes once created, so entries are never invalidated, only evicted by size. Filled on lookup misses and warmed
+ * from WalletCreated events (see WalletEventsListener).
+ */
+@Component
+public class WalletIdCache {
+
+    private final Map<WalletKey, UUID> entries;
+    private final Counter hits;
+    private final Counter misses;
+
+    public WalletIdCache(@Value("${orchexpay.wallet-service.wallet-id-cache.max-size:10000}") int maxSize,
+                         MeterRegistry meterRegistry) {
+        this.entries = new LinkedHashMap<>(Math.min(maxSize, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<WalletKey, UUID> eldest) {
+                return size() > maxSize;
+            }
+        };
+        this.hits = Counter.builder("wallet.id.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("wallet.id.cache.requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("wallet.id.cache.size", this, WalletIdCache::size).register(meterRegistry);
+    }
+
+    public Optional<UUID> get(WalletKey key) {
+        UUID id;
+        synchronized (entries) {
+            id = entries.get(key);
+        }
+        (id != null ? hits : misses).increment();
+        return Optional.ofNullable(id);
+    }
+
+    public void put(WalletKey key, UUID walletId) {
+        synchronized (entries) {
+            entries.put(key, walletId);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /** Cache key; currency and type are normalized to upper case, vendorUserId is null for MAIN/ESCROW. */
+    public record WalletKey(UUID merchantId, String currencyCode, String walletType, UUID vendorUserId) {
+        public WalletKey {
+            currencyCode = currencyCode != null ? currencyCode.toUpperCase() : null;
+            walletType = walletType != null ? walletType.toUpperCase() : null;
+            vendorUserId = "VENDOR".equals(walletType) ? vendorUserId : null;
+        }
+    }
+}
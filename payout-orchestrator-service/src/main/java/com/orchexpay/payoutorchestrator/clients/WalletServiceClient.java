@@ -51,10 +51,33 @@ public interface WalletServiceClient {
         return transfer(fromWalletId, referenceId, currencyCode, totalAmount, legs, description, idempotencyKey, Optional.empty());
     }
 
+    /**
+     * Several credits in one round trip (POST /credits/batch), authorized with the service's own credentials. Each item is
+     * applied independently and idempotent by its own key; results come back in request order.
+     */
+    List<BatchItemResult> creditWallets(List<CreditItem> items);
+
+    /** Several transfers in one round trip (POST /transfers/batch); same per-item semantics as {@link #creditWallets}. */
+    List<BatchItemResult> transfers(List<TransferItem> items);
+
     /** Resolve wallet ID by merchant, currency, and type (ESCROW, MAIN, VENDOR). For VENDOR, vendorUserId is required. */
     UUID getWalletByType(UUID merchantId, String currencyCode, String walletType, UUID vendorUserId);
 
     record LedgerEntryResponse(UUID id, UUID walletId, String type, BigDecimal amount, String currencyCode, String referenceType, String referenceId, String status) {}
     record TransferLeg(UUID toWalletId, BigDecimal amount) {}
     record TransferResultResponse(Object debitEntry, List<Object> creditEntries, boolean idempotent) {}
+    record CreditItem(UUID walletId, BigDecimal amount, String currencyCode, String referenceId, String referenceType, String description, String idempotencyKey) {}
+    record TransferItem(UUID fromWalletId, String referenceId, String currencyCode, BigDecimal totalAmount, List<TransferLeg> legs, String description, String idempotencyKey) {}
+
+    /** status = what the single-item endpoint would have returned; error is set for non-2xx. */
+    record BatchItemResult(String idempotencyKey, int status, String error) {
+        public boolean succeeded() {
+            return status >= 200 && status < 300;
+        }
+
+        /** 4xx other than timeout / rate limit: refused and nothing applied (same rule as single calls). */
+        public boolean rejected() {
+            return status >= 400 && status < 500 && status != 408 && status != 429;
+        }
+    }
 }
@@ -0,0 +1,34 @@
+package com.orchexpay.payoutorchestrator.configs;
+
+import com.orchexpay.payoutorchestrator.exceptions.PayoutConflictException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+
+/**
+ * Lost payout races (conditional transition or @Version check) become 409 so webhook senders retry; the retry then
+ * sees the winning state and gets the idempotent response.
+ */
+@RestControllerAdvice
+public class PayoutConflictExceptionHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(PayoutConflictExceptionHandler.class);
+
+    @ExceptionHandler(PayoutConflictException.class)
+    public ResponseEntity<Map<String, String>> handlePayoutConflict(PayoutConflictException ex) {
+        log.info("Payout conflict: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", ex.getMessage()));
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleOptimisticLock(ObjectOptimisticLockingFailureException ex) {
+        log.info("Optimistic lock failure: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", "Payout was modified concurrently; retry the request."));
+    }
+}
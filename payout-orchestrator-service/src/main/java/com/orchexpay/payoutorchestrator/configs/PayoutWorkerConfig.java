@@ -0,0 +1,32 @@
+package com.orchexpay.payoutorchestrator.configs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Worker pool for {@link com.orchexpay.payoutorchestrator.services.PayoutWorker}. At most
+ * orchexpay.payout.worker.batch-size payouts are in flight, so the queue never grows beyond that; caller-runs covers the overflow.
+ */
+@Configuration
+public class PayoutWorkerConfig {
+
+    @Bean(name = "payoutWorkerExecutor")
+    public ThreadPoolTaskExecutor payoutWorkerExecutor(
+            @Value("${orchexpay.payout.worker.threads:8}") int threads,
+            @Value("${orchexpay.payout.worker.batch-size:50}") int batchSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("payout-worker-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(batchSize);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
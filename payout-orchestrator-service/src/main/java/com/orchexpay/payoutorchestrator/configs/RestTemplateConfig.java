@@ -1,20 +1,95 @@
 package com.orchexpay.payoutorchestrator.configs;
 
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * HTTP clients for user-wallet-service. Both RestTemplates share one pooled Apache HttpClient so that
+ * connections are kept alive and reused, and a slow wallet-service fails fast (connect / pool-acquire / read
+ * timeouts) instead of pinning every Tomcat thread. Pool saturation is exported as httpcomponents.httpclient.pool.*.
+ */
 @Configuration
 public class RestTemplateConfig {
 
+    private static final String POOL_NAME = "wallet-service";
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager walletServiceConnectionManager(
+            @Value("${orchexpay.wallet-service.http.max-total:100}") int maxTotal,
+            @Value("${orchexpay.wallet-service.http.max-per-route:50}") int maxPerRoute,
+            @Value("${orchexpay.wallet-service.http.connect-timeout-ms:2000}") long connectTimeoutMs,
+            @Value("${orchexpay.wallet-service.http.read-timeout-ms:5000}") long readTimeoutMs,
+            @Value("${orchexpay.wallet-service.http.connection-ttl-ms:300000}") long connectionTtlMs) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setPoolConcurrencyPolicy(PoolConcurrencyPolicy.STRICT)
+                .setConnPoolPolicy(PoolReusePolicy.LIFO)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setTimeToLive(TimeValue.ofMilliseconds(connectionTtlMs))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient walletServiceHttpClient(
+            PoolingHttpClientConnectionManager walletServiceConnectionManager,
+            @Value("${orchexpay.wallet-service.http.read-timeout-ms:5000}") long readTimeoutMs,
+            @Value("${orchexpay.wallet-service.http.connection-request-timeout-ms:1000}") long connectionRequestTimeoutMs,
+            @Value("${orchexpay.wallet-service.http.keep-alive-ms:30000}") long keepAliveMs,
+            @Value("${orchexpay.wallet-service.http.idle-evict-ms:60000}") long idleEvictMs) {
+        return HttpClients.custom()
+                .setConnectionManager(walletServiceConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                // Server may omit Keep-Alive: cap reuse so we never hold a socket the server already closed
+                .setKeepAliveStrategy((response, context) -> TimeValue.ofMilliseconds(keepAliveMs))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleEvictMs))
+                .disableAutomaticRetries()
+                .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory walletServiceRequestFactory(CloseableHttpClient walletServiceHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(walletServiceHttpClient);
+    }
+
+    /** MeterBinder bean: bound to the registry by actuator (leased / available / pending / max per pool). */
+    @Bean
+    public PoolingHttpClientConnectionManagerMetricsBinder walletServicePoolMetrics(
+            PoolingHttpClientConnectionManager walletServiceConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(walletServiceConnectionManager, POOL_NAME);
+    }
+
     @Bean("restTemplate")
     public RestTemplate restTemplate(
+            ClientHttpRequestFactory walletServiceRequestFactory,
             @Value("${orchexpay.wallet-service.bearer-token:}") String walletServiceBearerToken) {
-        RestTemplate rest = new RestTemplate();
+        RestTemplate rest = new RestTemplate(walletServiceRequestFactory);
         if (walletServiceBearerToken != null && !walletServiceBearerToken.isBlank()) {
             List<org.springframework.http.client.ClientHttpRequestInterceptor> interceptors =
                     new ArrayList<>(rest.getInterceptors());
@@ -26,7 +101,7 @@ public class RestTemplateConfig {
 
     /** Used by WalletServiceMeClient to call GET /me with per-request Bearer token (no global interceptor). */
     @Bean("restTemplateNoAuth")
-    public RestTemplate restTemplateNoAuth() {
-        return new RestTemplate();
+    public RestTemplate restTemplateNoAuth(ClientHttpRequestFactory walletServiceRequestFactory) {
+        return new RestTemplate(walletServiceRequestFactory);
     }
 }
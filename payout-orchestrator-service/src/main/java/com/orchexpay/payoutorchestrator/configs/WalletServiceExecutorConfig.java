@@ -0,0 +1,55 @@
+package com.orchexpay.payoutorchestrator.configs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executor for {@link com.orchexpay.payoutorchestrator.clients.AsyncWalletServiceClient}. Bounded queue with
+ * caller-runs: when saturated, the request thread makes the call itself instead of queueing without limit. Tasks run
+ * with the submitting request's RequestAttributes, so HttpWalletServiceClient tags their timings with the same endpoint
+ * and caller as calls made on the request thread.
+ */
+@Configuration
+public class WalletServiceExecutorConfig {
+
+    @Bean(name = "walletServiceExecutor")
+    public ThreadPoolTaskExecutor walletServiceExecutor(
+            @Value("${orchexpay.wallet-service.async.core-pool-size:16}") int corePoolSize,
+            @Value("${orchexpay.wallet-service.async.max-pool-size:48}") int maxPoolSize,
+            @Value("${orchexpay.wallet-service.async.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("wallet-svc-");
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setTaskDecorator(propagateRequestAttributes());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        executor.initialize();
+        return executor;
+    }
+
+    /** Restores the running thread's own attributes afterwards, which matters when caller-runs uses the request thread. */
+    static TaskDecorator propagateRequestAttributes() {
+        return task -> {
+            RequestAttributes submitter = RequestContextHolder.getRequestAttributes();
+            return () -> {
+                RequestAttributes previous = RequestContextHolder.getRequestAttributes();
+                RequestContextHolder.setRequestAttributes(submitter);
+                try {
+                    task.run();
+                } finally {
+                    RequestContextHolder.setRequestAttributes(previous);
+                }
+            };
+        };
+    }
+}
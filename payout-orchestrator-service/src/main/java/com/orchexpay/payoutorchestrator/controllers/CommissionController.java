@@ -1,11 +1,16 @@
 package com.orchexpay.payoutorchestrator.controllers;
 
 import com.orchexpay.payoutorchestrator.enums.CommissionType;
+import com.orchexpay.payoutorchestrator.models.CommissionTier;
 import com.orchexpay.payoutorchestrator.models.MerchantCommission;
+import com.orchexpay.payoutorchestrator.repositories.CommissionTierRepository;
 import com.orchexpay.payoutorchestrator.repositories.MerchantCommissionRepository;
+import com.orchexpay.payoutorchestrator.services.CommissionCache;
+import com.orchexpay.payoutorchestrator.services.CommissionService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
@@ -19,65 +24,121 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.math.BigDecimal;
-import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
 
 /**
  * Manage per-merchant commission. Scalable: add new CommissionType without changing API contract.
+ * TIERED schedules, per-vendor override tiers and floor / cap are optional fields of the same resource.
  */
 @RestController
 @RequestMapping("/api/v1/merchants/{merchantId}/commission")
 public class CommissionController {
 
     private final MerchantCommissionRepository commissionRepository;
+    private final CommissionTierRepository tierRepository;
+    private final CommissionService commissionService;
+    private final CommissionCache commissionCache;
 
-    public CommissionController(MerchantCommissionRepository commissionRepository) {
+    public CommissionController(MerchantCommissionRepository commissionRepository, CommissionTierRepository tierRepository,
+                                CommissionService commissionService, CommissionCache commissionCache) {
         this.commissionRepository = commissionRepository;
+        this.tierRepository = tierRepository;
+        this.commissionService = commissionService;
+        this.commissionCache = commissionCache;
     }
 
     @GetMapping
     public ResponseEntity<CommissionResponse> get(@PathVariable UUID merchantId) {
         return commissionRepository.findByMerchantId(merchantId)
-                .map(CommissionController::toResponse)
+                .map(c -> toResponse(c, tierRepository.findByMerchantId(merchantId)))
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     /**
-     * Create or update commission for merchant. Idempotent put.
+     * Create or update commission for merchant. Idempotent put; tiers and vendor overrides are replaced as a whole.
+     * Drops this instance's cached calculator; other instances pick the change up when their entry expires
+     * (orchexpay.commission.cache.ttl-ms). 400 if minCommission > maxCommission or a schedule repeats a threshold.
      */
     @PutMapping
     public ResponseEntity<CommissionResponse> put(@PathVariable UUID merchantId, @Valid @RequestBody CommissionRequest request) {
-        Instant now = Instant.now();
-        MerchantCommission config = commissionRepository.findByMerchantId(merchantId).orElseGet(() -> {
-            MerchantCommission c = new MerchantCommission();
-            c.setId(UUID.randomUUID());
-            c.setMerchantId(merchantId);
-            c.setCreatedAt(now);
-            return c;
-        });
-        config.setCommissionType(CommissionType.valueOf(request.getCommissionType().toUpperCase()));
-        config.setPercentageValue(request.getPercentageValue());
-        config.setFixedAmount(request.getFixedAmount());
-        config.setCurrencyCode(request.getCurrencyCode());
-        config.setUpdatedAt(now);
-        config = commissionRepository.save(config);
-        return ResponseEntity.status(HttpStatus.OK).body(toResponse(config));
+        if (request.getMinCommission() != null && request.getMaxCommission() != null
+                && request.getMinCommission().compareTo(request.getMaxCommission()) > 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        MerchantCommission update = new MerchantCommission();
+        update.setMerchantId(merchantId);
+        update.setCommissionType(CommissionType.valueOf(request.getCommissionType().toUpperCase()));
+        update.setPercentageValue(request.getPercentageValue());
+        update.setFixedAmount(request.getFixedAmount());
+        update.setCurrencyCode(request.getCurrencyCode());
+        update.setMinCommission(request.getMinCommission());
+        update.setMaxCommission(request.getMaxCommission());
+        List<CommissionTier> tiers = new ArrayList<>();
+        if (request.getTiers() != null) {
+            request.getTiers().forEach(t -> tiers.add(toTier(null, t)));
+        }
+        if (request.getVendorOverrides() != null) {
+            request.getVendorOverrides().forEach(o -> o.getTiers().forEach(t -> tiers.add(toTier(o.getVendorId(), t))));
+        }
+        MerchantCommission config;
+        try {
+            config = commissionService.saveCommission(update, tiers);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        commissionCache.invalidate(merchantId);
+        return ResponseEntity.status(HttpStatus.OK).body(toResponse(config, tiers));
     }
 
-    private static CommissionResponse toResponse(MerchantCommission c) {
+    private static CommissionTier toTier(UUID vendorId, TierRequest request) {
+        CommissionTier tier = new CommissionTier();
+        tier.setVendorId(vendorId);
+        tier.setMinOrderAmount(request.getMinOrderAmount());
+        tier.setPercentageValue(request.getPercentageValue());
+        tier.setFixedAmount(request.getFixedAmount());
+        return tier;
+    }
+
+    private static CommissionResponse toResponse(MerchantCommission c, List<CommissionTier> tiers) {
         CommissionResponse r = new CommissionResponse();
         r.setMerchantId(c.getMerchantId());
         r.setCommissionType(c.getCommissionType().name());
         r.setPercentageValue(c.getPercentageValue());
         r.setFixedAmount(c.getFixedAmount());
         r.setCurrencyCode(c.getCurrencyCode());
+        r.setMinCommission(c.getMinCommission());
+        r.setMaxCommission(c.getMaxCommission());
+        Comparator<CommissionTier> byThreshold = Comparator.comparing(CommissionTier::getMinOrderAmount);
+        r.setTiers(tiers.stream().filter(t -> t.getVendorId() == null).sorted(byThreshold).map(CommissionController::toTierResponse).toList());
+        Map<UUID, List<TierRequest>> byVendor = new TreeMap<>();
+        tiers.stream().filter(t -> t.getVendorId() != null).sorted(byThreshold)
+                .forEach(t -> byVendor.computeIfAbsent(t.getVendorId(), v -> new ArrayList<>()).add(toTierResponse(t)));
+        r.setVendorOverrides(byVendor.entrySet().stream().map(e -> {
+            VendorOverrideRequest o = new VendorOverrideRequest();
+            o.setVendorId(e.getKey());
+            o.setTiers(e.getValue());
+            return o;
+        }).toList());
+        return r;
+    }
+
+    private static TierRequest toTierResponse(CommissionTier t) {
+        TierRequest r = new TierRequest();
+        r.setMinOrderAmount(t.getMinOrderAmount());
+        r.setPercentageValue(t.getPercentageValue());
+        r.setFixedAmount(t.getFixedAmount());
         return r;
     }
 
     public static class CommissionRequest {
         @NotNull
-        @Pattern(regexp = "PERCENTAGE|FIXED_PLUS_PERCENTAGE")
+        @Pattern(regexp = "PERCENTAGE|FIXED_PLUS_PERCENTAGE|TIERED")
         private String commissionType;
         @NotNull
         @DecimalMin("0")
@@ -86,6 +147,17 @@ public class CommissionController {
         private BigDecimal fixedAmount;
         @Size(min = 3, max = 3)
         private String currencyCode;
+        /** Optional floor / cap on the platform share */
+        @DecimalMin("0")
+        private BigDecimal minCommission;
+        @DecimalMin("0")
+        private BigDecimal maxCommission;
+        /** TIERED only: thresholds above the base tier (percentageValue / fixedAmount apply from 0) */
+        @Size(max = 100)
+        private List<@Valid TierRequest> tiers;
+        /** Per-vendor schedules replacing the merchant's tiers for that vendor's orders (any commission type) */
+        @Size(max = 10000)
+        private List<@Valid VendorOverrideRequest> vendorOverrides;
 
         public String getCommissionType() { return commissionType; }
         public void setCommissionType(String commissionType) { this.commissionType = commissionType; }
@@ -95,6 +167,46 @@ public class CommissionController {
         public void setFixedAmount(BigDecimal fixedAmount) { this.fixedAmount = fixedAmount; }
         public String getCurrencyCode() { return currencyCode; }
         public void setCurrencyCode(String currencyCode) { this.currencyCode = currencyCode; }
+        public BigDecimal getMinCommission() { return minCommission; }
+        public void setMinCommission(BigDecimal minCommission) { this.minCommission = minCommission; }
+        public BigDecimal getMaxCommission() { return maxCommission; }
+        public void setMaxCommission(BigDecimal maxCommission) { this.maxCommission = maxCommission; }
+        public List<TierRequest> getTiers() { return tiers; }
+        public void setTiers(List<TierRequest> tiers) { this.tiers = tiers; }
+        public List<VendorOverrideRequest> getVendorOverrides() { return vendorOverrides; }
+        public void setVendorOverrides(List<VendorOverrideRequest> vendorOverrides) { this.vendorOverrides = vendorOverrides; }
+    }
+
+    public static class TierRequest {
+        @NotNull
+        @DecimalMin("0")
+        private BigDecimal minOrderAmount;
+        @NotNull
+        @DecimalMin("0")
+        @DecimalMax("100")
+        private BigDecimal percentageValue;
+        @DecimalMin("0")
+        private BigDecimal fixedAmount;
+
+        public BigDecimal getMinOrderAmount() { return minOrderAmount; }
+        public void setMinOrderAmount(BigDecimal minOrderAmount) { this.minOrderAmount = minOrderAmount; }
+        public BigDecimal getPercentageValue() { return percentageValue; }
+        public void setPercentageValue(BigDecimal percentageValue) { this.percentageValue = percentageValue; }
+        public BigDecimal getFixedAmount() { return fixedAmount; }
+        public void setFixedAmount(BigDecimal fixedAmount) { this.fixedAmount = fixedAmount; }
+    }
+
+    public static class VendorOverrideRequest {
+        @NotNull
+        private UUID vendorId;
+        @NotEmpty
+        @Size(max = 100)
+        private List<@Valid TierRequest> tiers;
+
+        public UUID getVendorId() { return vendorId; }
+        public void setVendorId(UUID vendorId) { this.vendorId = vendorId; }
+        public List<TierRequest> getTiers() { return tiers; }
+        public void setTiers(List<TierRequest> tiers) { this.tiers = tiers; }
     }
 
     public static class CommissionResponse {
@@ -103,6 +215,10 @@ public class CommissionController {
         private BigDecimal percentageValue;
         private BigDecimal fixedAmount;
         private String currencyCode;
+        private BigDecimal minCommission;
+        private BigDecimal maxCommission;
+        private List<TierRequest> tiers;
+        private List<VendorOverrideRequest> vendorOverrides;
 
         public UUID getMerchantId() { return merchantId; }
         public void setMerchantId(UUID merchantId) { this.merchantId = merchantId; }
@@ -114,5 +230,13 @@ public class CommissionController {
         public void setFixedAmount(BigDecimal fixedAmount) { this.fixedAmount = fixedAmount; }
         public String getCurrencyCode() { return currencyCode; }
         public void setCurrencyCode(String currencyCode) { this.currencyCode = currencyCode; }
+        public BigDecimal getMinCommission() { return minCommission; }
+        public void setMinCommission(BigDecimal minCommission) { this.minCommission = minCommission; }
+        public BigDecimal getMaxCommission() { return maxCommission; }
+        public void setMaxCommission(BigDecimal maxCommission) { this.maxCommission = maxCommission; }
+        public List<TierRequest> getTiers() { return tiers; }
+        public void setTiers(List<TierRequest> tiers) { this.tiers = tiers; }
+        public List<VendorOverrideRequest> getVendorOverrides() { return vendorOverrides; }
+        public void setVendorOverrides(List<VendorOverrideRequest> vendorOverrides) { this.vendorOverrides = vendorOverrides; }
     }
 }
@@ -1,12 +1,16 @@
 package com.orchexpay.payoutorchestrator.controllers;
 
+import com.orchexpay.payoutorchestrator.enums.WebhookKind;
 import com.orchexpay.payoutorchestrator.services.MockWebhookService;
+import com.orchexpay.payoutorchestrator.services.WebhookInboxService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -17,21 +21,29 @@ import org.springframework.web.bind.annotation.RestController;
 import jakarta.servlet.http.HttpServletRequest;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 /**
  * Mock webhooks to simulate real payment flow: payment success → credit ESCROW; order complete → distribute by commission.
  * For testing and demos only.
+ * With orchexpay.webhooks.ingest.enabled, payment-success and order-complete only store the webhook in the inbox and
+ * return 202; WebhookBatchWorker applies them in micro-batches (duplicate deliveries of an order are coalesced).
  */
 @RestController
 @RequestMapping("/api/v1/mock/webhooks")
 public class MockWebhookController {
 
     private final MockWebhookService mockWebhookService;
+    private final WebhookInboxService inboxService;
+    private final boolean ingestEnabled;
 
-    public MockWebhookController(MockWebhookService mockWebhookService) {
+    public MockWebhookController(MockWebhookService mockWebhookService, WebhookInboxService inboxService,
+                                 @Value("${orchexpay.webhooks.ingest.enabled:false}") boolean ingestEnabled) {
         this.mockWebhookService = mockWebhookService;
+        this.inboxService = inboxService;
+        this.ingestEnabled = ingestEnabled;
     }
 
     /**
@@ -42,6 +54,14 @@ public class MockWebhookController {
     @PostMapping("/payment-success")
     public ResponseEntity<?> paymentSuccess(@Valid @RequestBody PaymentSuccessRequest request, HttpServletRequest httpRequest) {
         try {
+            if (ingestEnabled) {
+                // Checked here so the sender still gets the 422 synchronously; the config lookup is a cache hit
+                mockWebhookService.requireCommissionConfigured(request.getMerchantId());
+                boolean queued = inboxService.accept(WebhookKind.PAYMENT_SUCCESS, request.getMerchantId(), request.getOrderId(),
+                        request.getVendorId(), request.getAmount(), request.getCurrencyCode(), request.getEscrowWalletId(), null, null);
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(new MockWebhookResponse("payment_success",
+                        (queued ? "Accepted payment for order " : "Already accepted payment for order ") + request.getOrderId()));
+            }
             String auth = httpRequest != null ? httpRequest.getHeader("Authorization") : null;
             mockWebhookService.handlePaymentSuccess(
                     request.getMerchantId(),
@@ -65,6 +85,13 @@ public class MockWebhookController {
      */
     @PostMapping("/order-complete")
     public ResponseEntity<MockWebhookResponse> orderComplete(@Valid @RequestBody OrderCompleteRequest request, HttpServletRequest httpRequest) {
+        if (ingestEnabled) {
+            boolean queued = inboxService.accept(WebhookKind.ORDER_COMPLETE, request.getMerchantId(), request.getOrderId(),
+                    request.getVendorId(), request.getAmount(), request.getCurrencyCode(), request.getEscrowWalletId(),
+                    request.getMainWalletId(), request.getVendorWalletId());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(new MockWebhookResponse("order_complete",
+                    (queued ? "Accepted completion of order " : "Already accepted completion of order ") + request.getOrderId()));
+        }
         String auth = httpRequest != null ? httpRequest.getHeader("Authorization") : null;
         mockWebhookService.handleOrderComplete(
                 request.getMerchantId(),
@@ -80,6 +107,24 @@ public class MockWebhookController {
                 new MockWebhookResponse("order_complete", "Order " + request.getOrderId() + " distributed by commission"));
     }
 
+    /**
+     * Batch of order-complete webhooks. Commission shares for all orders are computed in one pass before any transfer;
+     * each order is then split as in /order-complete. Orders that failed are listed so they can be resent.
+     */
+    @PostMapping("/order-complete/batch")
+    public ResponseEntity<OrderCompleteBatchResponse> orderCompleteBatch(@Valid @RequestBody OrderCompleteBatchRequest request,
+                                                                        HttpServletRequest httpRequest) {
+        String auth = httpRequest != null ? httpRequest.getHeader("Authorization") : null;
+        List<MockWebhookService.OrderCompletion> orders = request.getOrders().stream()
+                .map(o -> new MockWebhookService.OrderCompletion(o.getMerchantId(), o.getOrderId(), o.getAmount(), o.getCurrencyCode(),
+                        o.getVendorId(), o.getEscrowWalletId(), o.getMainWalletId(), o.getVendorWalletId()))
+                .toList();
+        MockWebhookService.OrderBatchResult result = mockWebhookService.handleOrdersComplete(orders,
+                Optional.ofNullable(auth).filter(h -> !h.isBlank()));
+        return ResponseEntity.status(HttpStatus.OK).body(
+                new OrderCompleteBatchResponse("order_complete_batch", result.completed(), result.failedOrderIds()));
+    }
+
     public static class PaymentSuccessRequest {
         @NotNull
         private UUID merchantId;
@@ -146,6 +191,30 @@ public class MockWebhookController {
         public void setVendorWalletId(UUID vendorWalletId) { this.vendorWalletId = vendorWalletId; }
     }
 
+    public static class OrderCompleteBatchRequest {
+        @NotEmpty
+        @Size(max = 1000)
+        private List<@Valid OrderCompleteRequest> orders;
+
+        public List<OrderCompleteRequest> getOrders() { return orders; }
+        public void setOrders(List<OrderCompleteRequest> orders) { this.orders = orders; }
+    }
+
+    public static class OrderCompleteBatchResponse {
+        private final String event;
+        private final int completed;
+        private final List<String> failedOrderIds;
+
+        public OrderCompleteBatchResponse(String event, int completed, List<String> failedOrderIds) {
+            this.event = event;
+            this.completed = completed;
+            this.failedOrderIds = failedOrderIds;
+        }
+        public String getEvent() { return event; }
+        public int getCompleted() { return completed; }
+        public List<String> getFailedOrderIds() { return failedOrderIds; }
+    }
+
     public static class MockWebhookResponse {
         private final String event;
         private final String message;
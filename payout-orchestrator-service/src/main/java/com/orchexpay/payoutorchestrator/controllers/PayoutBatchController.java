@@ -0,0 +1,224 @@
+package com.orchexpay.payoutorchestrator.controllers;
+
+import com.orchexpay.payoutorchestrator.dtos.UserProfile;
+import com.orchexpay.payoutorchestrator.models.PayoutBatch;
+import com.orchexpay.payoutorchestrator.services.PayoutBatchService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Batch payout API (under /api/v1/payouts so CurrentUserFilter applies). ADMIN, or MERCHANT for own merchantId.
+ * Submit reserves each vendor wallet's netted total; confirm / reverse act on the whole batch; the settlement file
+ * lists one netted line per vendor wallet for the bank adapter.
+ */
+@RestController
+@RequestMapping("/api/v1/payouts/batches")
+public class PayoutBatchController {
+
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String CURRENT_USER_ATTR = "currentUser";
+
+    private final PayoutBatchService payoutBatchService;
+
+    public PayoutBatchController(PayoutBatchService payoutBatchService) {
+        this.payoutBatchService = payoutBatchService;
+    }
+
+    /** 400 with the offending item in the message if its vendorWalletId is not that vendor's VENDOR wallet under the merchant. */
+    @PostMapping
+    public ResponseEntity<?> submit(
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = true) String idempotencyKey,
+            @Valid @RequestBody BatchPayoutRequest request,
+            HttpServletRequest httpRequest) {
+        if (!canManage(requireCurrentUser(httpRequest), request.getMerchantId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        List<PayoutBatchService.BatchItem> items = request.getItems().stream()
+                .map(i -> new PayoutBatchService.BatchItem(i.getVendorId(), i.getVendorWalletId(), i.getAmount()))
+                .collect(Collectors.toList());
+        PayoutBatch batch;
+        try {
+            batch = payoutBatchService.submitBatch(request.getMerchantId(), request.getCurrencyCode(), items,
+                    idempotencyKey, authorization(httpRequest));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MockWebhookController.ErrorMessageBody(e.getMessage()));
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(PayoutBatchResponse.from(batch));
+    }
+
+    @GetMapping("/{batchId}")
+    public ResponseEntity<PayoutBatchResponse> get(@PathVariable UUID batchId, HttpServletRequest httpRequest) {
+        PayoutBatch batch = payoutBatchService.getBatch(batchId).orElse(null);
+        if (batch == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!canManage(requireCurrentUser(httpRequest), batch.getMerchantId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(PayoutBatchResponse.from(batch));
+    }
+
+    @PostMapping("/{batchId}/confirm")
+    public ResponseEntity<PayoutBatchResponse> confirm(
+            @PathVariable UUID batchId,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = true) String idempotencyKey,
+            HttpServletRequest httpRequest) {
+        PayoutBatch batch = payoutBatchService.getBatch(batchId).orElse(null);
+        if (batch == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!canManage(requireCurrentUser(httpRequest), batch.getMerchantId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(PayoutBatchResponse.from(
+                payoutBatchService.confirmBatch(batchId, idempotencyKey, authorization(httpRequest))));
+    }
+
+    @PostMapping("/{batchId}/reverse")
+    public ResponseEntity<PayoutBatchResponse> reverse(
+            @PathVariable UUID batchId,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = true) String idempotencyKey,
+            HttpServletRequest httpRequest) {
+        PayoutBatch batch = payoutBatchService.getBatch(batchId).orElse(null);
+        if (batch == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!canManage(requireCurrentUser(httpRequest), batch.getMerchantId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(PayoutBatchResponse.from(
+                payoutBatchService.reverseBatch(batchId, idempotencyKey, authorization(httpRequest))));
+    }
+
+    /** Netted bank file (CSV), streamed to the client. */
+    @GetMapping(value = "/{batchId}/settlement-file", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> settlementFile(@PathVariable UUID batchId, HttpServletRequest httpRequest) {
+        PayoutBatch batch = payoutBatchService.getBatch(batchId).orElse(null);
+        if (batch == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!canManage(requireCurrentUser(httpRequest), batch.getMerchantId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        StreamingResponseBody body = out -> payoutBatchService.writeSettlementFile(batchId, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"payout-batch-" + batchId + ".csv\"")
+                .body(body);
+    }
+
+    private static UserProfile requireCurrentUser(HttpServletRequest request) {
+        UserProfile u = (UserProfile) request.getAttribute(CURRENT_USER_ATTR);
+        if (u == null) {
+            throw new IllegalStateException("Current user not resolved");
+        }
+        return u;
+    }
+
+    private static boolean canManage(UserProfile current, UUID merchantId) {
+        if (current.hasRole("ADMIN")) return true;
+        return current.hasRole("MERCHANT") && current.getMerchantId() != null && current.getMerchantId().equals(merchantId);
+    }
+
+    private static Optional<String> authorization(HttpServletRequest request) {
+        return Optional.ofNullable(request.getHeader("Authorization")).filter(h -> !h.isBlank());
+    }
+
+    public static class BatchPayoutRequest {
+        @NotNull
+        private UUID merchantId;
+        @NotBlank
+        @Pattern(regexp = "[A-Z]{3}")
+        @Size(min = 3, max = 3)
+        private String currencyCode;
+        @NotEmpty
+        @Size(max = 10000)
+        private List<@Valid BatchPayoutItem> items;
+
+        public UUID getMerchantId() { return merchantId; }
+        public void setMerchantId(UUID merchantId) { this.merchantId = merchantId; }
+        public String getCurrencyCode() { return currencyCode; }
+        public void setCurrencyCode(String currencyCode) { this.currencyCode = currencyCode; }
+        public List<BatchPayoutItem> getItems() { return items; }
+        public void setItems(List<BatchPayoutItem> items) { this.items = items; }
+    }
+
+    public static class BatchPayoutItem {
+        @NotNull
+        private UUID vendorId;
+        @NotNull
+        private UUID vendorWalletId;
+        @NotNull
+        @DecimalMin(value = "0.01")
+        private BigDecimal amount;
+
+        public UUID getVendorId() { return vendorId; }
+        public void setVendorId(UUID vendorId) { this.vendorId = vendorId; }
+        public UUID getVendorWalletId() { return vendorWalletId; }
+        public void setVendorWalletId(UUID vendorWalletId) { this.vendorWalletId = vendorWalletId; }
+        public BigDecimal getAmount() { return amount; }
+        public void setAmount(BigDecimal amount) { this.amount = amount; }
+    }
+
+    public static class PayoutBatchResponse {
+        private final UUID id;
+        private final UUID merchantId;
+        private final String currencyCode;
+        private final String status;
+        private final int payoutCount;
+        private final BigDecimal totalAmount;
+        private final Instant createdAt;
+        private final Instant updatedAt;
+
+        public PayoutBatchResponse(UUID id, UUID merchantId, String currencyCode, String status, int payoutCount,
+                                   BigDecimal totalAmount, Instant createdAt, Instant updatedAt) {
+            this.id = id;
+            this.merchantId = merchantId;
+            this.currencyCode = currencyCode;
+            this.status = status;
+            this.payoutCount = payoutCount;
+            this.totalAmount = totalAmount;
+            this.createdAt = createdAt;
+            this.updatedAt = updatedAt;
+        }
+
+        static PayoutBatchResponse from(PayoutBatch b) {
+            return new PayoutBatchResponse(b.getId(), b.getMerchantId(), b.getCurrencyCode(), b.getStatus().name(),
+                    b.getPayoutCount(), b.getTotalAmount(), b.getCreatedAt(), b.getUpdatedAt());
+        }
+
+        public UUID getId() { return id; }
+        public UUID getMerchantId() { return merchantId; }
+        public String getCurrencyCode() { return currencyCode; }
+        public String getStatus() { return status; }
+        public int getPayoutCount() { return payoutCount; }
+        public BigDecimal getTotalAmount() { return totalAmount; }
+        public Instant getCreatedAt() { return createdAt; }
+        public Instant getUpdatedAt() { return updatedAt; }
+    }
+}
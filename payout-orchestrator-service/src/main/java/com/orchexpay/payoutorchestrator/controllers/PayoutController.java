@@ -1,15 +1,21 @@
 package com.orchexpay.payoutorchestrator.controllers;
 
+import com.orchexpay.payoutorchestrator.clients.WalletServiceClient;
 import com.orchexpay.payoutorchestrator.clients.WalletServiceMeClient;
 import com.orchexpay.payoutorchestrator.models.PendingOrder;
+import com.orchexpay.payoutorchestrator.models.VendorPendingSummary;
 import com.orchexpay.payoutorchestrator.models.Payout;
 import com.orchexpay.payoutorchestrator.enums.PayoutStatus;
 import com.orchexpay.payoutorchestrator.repositories.PayoutRepository;
 import com.orchexpay.payoutorchestrator.services.MockWebhookService;
 import com.orchexpay.payoutorchestrator.services.PayoutOrchestrationService;
+import com.orchexpay.payoutorchestrator.services.PayoutStatsService;
+import com.orchexpay.payoutorchestrator.services.PendingOrderService;
+import com.orchexpay.payoutorchestrator.services.WalletReadModelService;
 import com.orchexpay.payoutorchestrator.dtos.UserProfile;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -35,6 +41,7 @@ import java.util.stream.Collectors;
 
 /**
  * Payout API. List/get require auth (current user from user-wallet GET /me). Create with full body or POST /request (vendor self-service).
+ * With orchexpay.payout.pipeline.enabled, create only persists the payout and returns 202; PayoutWorker reserves it.
  */
 @RestController
 @RequestMapping("/api/v1/payouts")
@@ -45,15 +52,28 @@ public class PayoutController {
 
     private final PayoutOrchestrationService orchestrationService;
     private final PayoutRepository payoutRepository;
+    private final PayoutStatsService statsService;
     private final MockWebhookService mockWebhookService;
+    private final PendingOrderService pendingOrderService;
     private final WalletServiceMeClient walletServiceMeClient;
+    private final WalletServiceClient walletServiceClient;
+    private final WalletReadModelService walletReadModelService;
+    private final boolean pipelineEnabled;
 
     public PayoutController(PayoutOrchestrationService orchestrationService, PayoutRepository payoutRepository,
-                            MockWebhookService mockWebhookService, WalletServiceMeClient walletServiceMeClient) {
+                            PayoutStatsService statsService, MockWebhookService mockWebhookService, PendingOrderService pendingOrderService,
+                            WalletServiceMeClient walletServiceMeClient,
+                            WalletServiceClient walletServiceClient, WalletReadModelService walletReadModelService,
+                            @Value("${orchexpay.payout.pipeline.enabled:false}") boolean pipelineEnabled) {
         this.orchestrationService = orchestrationService;
         this.payoutRepository = payoutRepository;
+        this.statsService = statsService;
         this.mockWebhookService = mockWebhookService;
+        this.pendingOrderService = pendingOrderService;
         this.walletServiceMeClient = walletServiceMeClient;
+        this.walletServiceClient = walletServiceClient;
+        this.walletReadModelService = walletReadModelService;
+        this.pipelineEnabled = pipelineEnabled;
     }
 
     private static UserProfile requireCurrentUser(HttpServletRequest request) {
@@ -70,14 +90,14 @@ public class PayoutController {
         if (!current.hasRole("ADMIN")) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
-        long totalPayouts = payoutRepository.count();
-        long createdCount = payoutRepository.countByStatus(PayoutStatus.CREATED);
-        long processingCount = payoutRepository.countByStatus(PayoutStatus.PROCESSING);
-        long settledCount = payoutRepository.countByStatus(PayoutStatus.SETTLED);
-        long failedCount = payoutRepository.countByStatus(PayoutStatus.FAILED);
-        BigDecimal totalSettledAmount = payoutRepository.sumAmountByStatus(PayoutStatus.SETTLED);
-        if (totalSettledAmount == null) totalSettledAmount = BigDecimal.ZERO;
-        return ResponseEntity.ok(new PayoutStatsResponse(totalPayouts, createdCount, processingCount, settledCount, failedCount, totalSettledAmount));
+        Map<PayoutStatus, PayoutStatsService.StatusTotals> totals = statsService.totals();
+        long totalPayouts = totals.values().stream().mapToLong(PayoutStatsService.StatusTotals::count).sum();
+        return ResponseEntity.ok(new PayoutStatsResponse(totalPayouts,
+                totals.get(PayoutStatus.CREATED).count(),
+                totals.get(PayoutStatus.PROCESSING).count(),
+                totals.get(PayoutStatus.SETTLED).count(),
+                totals.get(PayoutStatus.FAILED).count(),
+                totals.get(PayoutStatus.SETTLED).amount()));
     }
 
     /**
@@ -90,10 +110,20 @@ public class PayoutController {
         if (!current.hasRole("MERCHANT") || current.getMerchantId() == null) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
-        long count = payoutRepository.countByMerchantIdAndStatus(current.getMerchantId(), PayoutStatus.PROCESSING);
+        long count = statsService.count(current.getMerchantId(), PayoutStatus.PROCESSING);
         return ResponseEntity.ok(Map.of("processingCount", count));
     }
 
+    /** ADMIN: recompute the per-merchant status counters behind /stats and processing-count from the payouts table. */
+    @PostMapping("/stats/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildStats(HttpServletRequest request) {
+        UserProfile current = requireCurrentUser(request);
+        if (!current.hasRole("ADMIN")) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(Map.of("counterRows", statsService.rebuild()));
+    }
+
     @GetMapping
     public ResponseEntity<Page<PayoutResponse>> list(
             @RequestParam(required = false) UUID vendorId,
@@ -130,11 +160,15 @@ public class PayoutController {
         }
     }
 
+    /** Usernames from the local wallet directory; only vendors it does not know yet are looked up in wallet-service. */
     private Map<UUID, String> resolveVendorUsernames(List<Payout> payouts, String auth) {
         Map<UUID, String> map = new HashMap<>();
-        if (payouts == null || payouts.isEmpty() || auth == null || auth.isBlank()) return map;
+        if (payouts == null || payouts.isEmpty()) return map;
         Set<UUID> vendorIds = payouts.stream().map(Payout::getVendorId).filter(id -> id != null).collect(Collectors.toSet());
+        map.putAll(walletReadModelService.findVendorUsernames(vendorIds));
+        if (auth == null || auth.isBlank()) return map;
         for (UUID vid : vendorIds) {
+            if (map.containsKey(vid)) continue;
             String username = walletServiceMeClient.getUsername(vid, auth);
             map.put(vid, username != null ? username : "—");
         }
@@ -158,6 +192,47 @@ public class PayoutController {
         return ResponseEntity.ok(list.stream().map(this::toPendingOrderResponse).collect(Collectors.toList()));
     }
 
+    /**
+     * Pending order count and total per vendor (one row per currency) for the merchant's vendors with pending orders.
+     * Served from the maintained vendor_pending_summaries, so it costs one indexed read regardless of order volume.
+     * Merchant can only query their own merchantId.
+     */
+    @GetMapping("/pending-orders/summary")
+    public ResponseEntity<List<PendingSummaryResponse>> pendingOrdersSummary(@RequestParam UUID merchantId, HttpServletRequest request) {
+        UserProfile current = requireCurrentUser(request);
+        if (!current.hasRole("ADMIN") && (current.getMerchantId() == null || !current.getMerchantId().equals(merchantId))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        List<VendorPendingSummary> summaries = mockWebhookService.pendingSummaryByVendor(merchantId);
+        return ResponseEntity.ok(summaries.stream()
+                .map(s -> new PendingSummaryResponse(s.getVendorId(), s.getCurrencyCode(), s.getOrderCount(), s.getTotalAmount()))
+                .collect(Collectors.toList()));
+    }
+
+    /** ADMIN: recompute the per-vendor pending order summaries from the unsplit pending orders. */
+    @PostMapping("/pending-orders/summary/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildPendingOrdersSummary(HttpServletRequest request) {
+        UserProfile current = requireCurrentUser(request);
+        if (!current.hasRole("ADMIN")) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(Map.of("summaryRows", pendingOrderService.rebuild()));
+    }
+
+    /**
+     * The merchant's vendor wallets with their balances, from the local read models fed by wallet events (no
+     * wallet-service call). Balances lag the ledger by the outbox relay interval; complete = false marks a balance built
+     * from a partial event history. Merchant can only query their own merchantId.
+     */
+    @GetMapping("/vendor-balances")
+    public ResponseEntity<List<WalletReadModelService.VendorBalance>> vendorBalances(@RequestParam UUID merchantId, HttpServletRequest request) {
+        UserProfile current = requireCurrentUser(request);
+        if (!current.hasRole("ADMIN") && (current.getMerchantId() == null || !current.getMerchantId().equals(merchantId))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(walletReadModelService.vendorBalances(merchantId));
+    }
+
     @GetMapping("/{payoutId}")
     public ResponseEntity<PayoutResponse> getById(@PathVariable UUID payoutId, HttpServletRequest request) {
         Payout payout = payoutRepository.findById(payoutId).orElse(null);
@@ -169,8 +244,7 @@ public class PayoutController {
         if (!admin && !payout.getVendorId().equals(current.getId()) && (current.getMerchantId() == null || !current.getMerchantId().equals(payout.getMerchantId()))) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
-        String auth = request.getHeader("Authorization");
-        String vendorUsername = (auth != null && !auth.isBlank()) ? walletServiceMeClient.getUsername(payout.getVendorId(), auth) : null;
+        String vendorUsername = resolveVendorUsernames(List.of(payout), request.getHeader("Authorization")).get(payout.getVendorId());
         return ResponseEntity.ok(toResponse(payout, vendorUsername != null ? vendorUsername : "—"));
     }
 
@@ -183,6 +257,12 @@ public class PayoutController {
         if (current.getVendorWalletId() == null || current.getMerchantId() == null) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(null); // vendor wallet not found
         }
+        if (pipelineEnabled) {
+            Payout queued = orchestrationService.submitPayout(
+                    current.getMerchantId(), current.getId(), current.getVendorWalletId(),
+                    request.getAmount(), request.getCurrencyCode(), idempotencyKey);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(toResponse(queued));
+        }
         String auth = req != null ? req.getHeader("Authorization") : null;
         Payout payout = orchestrationService.requestPayout(
                 current.getMerchantId(), current.getId(), current.getVendorWalletId(),
@@ -196,6 +276,16 @@ public class PayoutController {
             @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = true) String idempotencyKey,
             @Valid @RequestBody PayoutRequest request,
             HttpServletRequest req) {
+        if (pipelineEnabled) {
+            // The worker reserves with the service's own credentials, so the caller's right to this wallet is checked here
+            if (!canQueuePayout(requireCurrentUser(req), request)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+            }
+            Payout queued = orchestrationService.submitPayout(
+                    request.getMerchantId(), request.getVendorId(), request.getVendorWalletId(),
+                    request.getAmount(), request.getCurrencyCode(), idempotencyKey);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(toResponse(queued));
+        }
         String auth = req != null ? req.getHeader("Authorization") : null;
         Payout payout = orchestrationService.requestPayout(
                 request.getMerchantId(), request.getVendorId(), request.getVendorWalletId(),
@@ -248,6 +338,22 @@ public class PayoutController {
         return ResponseEntity.ok(toResponse(payout));
     }
 
+    /**
+     * Pipeline mode only: ADMIN any; the vendor for their own wallet; MERCHANT for own merchantId when the wallet is that
+     * vendor's VENDOR wallet under the merchant (resolved via the cached wallet-id lookup).
+     */
+    private boolean canQueuePayout(UserProfile current, PayoutRequest request) {
+        if (current.hasRole("ADMIN")) return true;
+        if (request.getVendorWalletId() == null) return false;
+        if (current.getId().equals(request.getVendorId()) && request.getVendorWalletId().equals(current.getVendorWalletId())) return true;
+        if (current.hasRole("MERCHANT") && current.getMerchantId() != null && current.getMerchantId().equals(request.getMerchantId())) {
+            // Local wallet directory first (WalletIdCache / WalletReadModelService); wallet-service only on a miss
+            UUID vendorWalletId = walletServiceClient.getWalletByType(request.getMerchantId(), request.getCurrencyCode(), "VENDOR", request.getVendorId());
+            return request.getVendorWalletId().equals(vendorWalletId);
+        }
+        return false;
+    }
+
     /** Only ADMIN or MERCHANT (for own merchant's payouts) can confirm/reverse. */
     private static boolean canConfirmOrReverse(UserProfile current, Payout payout) {
         if (current.hasRole("ADMIN")) return true;
@@ -296,6 +402,24 @@ public class PayoutController {
         public java.time.Instant getCreatedAt() { return createdAt; }
     }
 
+    public static class PendingSummaryResponse {
+        private final UUID vendorId;
+        private final String currencyCode;
+        private final long orderCount;
+        private final BigDecimal totalAmount;
+
+        public PendingSummaryResponse(UUID vendorId, String currencyCode, long orderCount, BigDecimal totalAmount) {
+            this.vendorId = vendorId;
+            this.currencyCode = currencyCode;
+            this.orderCount = orderCount;
+            this.totalAmount = totalAmount;
+        }
+        public UUID getVendorId() { return vendorId; }
+        public String getCurrencyCode() { return currencyCode; }
+        public long getOrderCount() { return orderCount; }
+        public BigDecimal getTotalAmount() { return totalAmount; }
+    }
+
     public static class PayoutRequest {
         private UUID merchantId;
         private UUID vendorId;
@@ -2,10 +2,16 @@ package com.orchexpay.payoutorchestrator.enums;
 
 /**
  * Commission calculation model. Scalable: add new types (e.g. TIERED) without changing existing logic.
+ * Any type may additionally carry a floor / cap and per-vendor tier overrides (see CommissionTier).
  */
 public enum CommissionType {
     /** Platform share = orderAmount * (percentageValue / 100) */
     PERCENTAGE,
     /** Platform share = fixedAmount + (orderAmount * (percentageValue / 100)) */
-    FIXED_PLUS_PERCENTAGE
+    FIXED_PLUS_PERCENTAGE,
+    /**
+     * Platform share from the tier containing the order amount (highest minOrderAmount ≤ orderAmount):
+     * tier.fixedAmount + orderAmount * (tier.percentageValue / 100). percentageValue / fixedAmount are the base tier from 0.
+     */
+    TIERED
 }
@@ -0,0 +1,12 @@
+package com.orchexpay.payoutorchestrator.enums;
+
+/**
+ * Wallet-service call recorded on a payout before it is made (intent), cleared once its result is recorded.
+ * A payout left with a pending action (queued, or after a crash or timeout) is picked up by PayoutWorker;
+ * every action is idempotent on the wallet side, so replaying it is safe.
+ */
+public enum PayoutAction {
+    RESERVE,
+    CONFIRM,
+    REVERSE
+}
@@ -2,7 +2,7 @@ package com.orchexpay.payoutorchestrator.enums;
 
 /**
  * Payout lifecycle. Orchestrator owns this state machine; wallet-service never sees it.
- * CREATED → PROCESSING → SETTLED | FAILED
+ * CREATED → PROCESSING → SETTLED | FAILED (CREATED → FAILED if a queued reserve is rejected)
  */
 public enum PayoutStatus {
     CREATED,
@@ -0,0 +1,7 @@
+package com.orchexpay.payoutorchestrator.enums;
+
+/** Webhook types accepted into the ingestion inbox (see WebhookInboxEntry). */
+public enum WebhookKind {
+    PAYMENT_SUCCESS,
+    ORDER_COMPLETE
+}
@@ -0,0 +1,11 @@
+package com.orchexpay.payoutorchestrator.enums;
+
+/**
+ * Inbox entry lifecycle: PENDING until WebhookBatchWorker has applied it (DONE), or it was refused by wallet-service
+ * or ran out of attempts (FAILED). A redelivery of a FAILED webhook makes it PENDING again.
+ */
+public enum WebhookStatus {
+    PENDING,
+    DONE,
+    FAILED
+}
@@ -0,0 +1,60 @@
+package com.orchexpay.payoutorchestrator.events;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Consumer side of user-wallet-service's outbox relay (topic ledgerx.wallet.events, key = aggregateId, JSON string value).
+ * Disabled with orchexpay.wallet-events.enabled=false; the orchestrator then falls back to HTTP lookups only.
+ * Batch listener: up to max-poll-records events per read-model transaction. A batch that fails to apply (e.g. DB down)
+ * is retried every retry-backoff-ms without limit rather than skipped, since skipping would leave the balances wrong.
+ */
+@Configuration
+@ConditionalOnProperty(name = "orchexpay.wallet-events.enabled", havingValue = "true")
+public class KafkaConsumerConfig {
+
+    @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
+    private String bootstrapServers;
+
+    @Value("${orchexpay.wallet-events.group-id:payout-orchestrator}")
+    private String groupId;
+
+    @Value("${orchexpay.wallet-events.max-poll-records:500}")
+    private int maxPollRecords;
+
+    @Value("${orchexpay.wallet-events.retry-backoff-ms:5000}")
+    private long retryBackoffMs;
+
+    @Bean
+    public ConsumerFactory<String, String> walletEventsConsumerFactory() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        return new DefaultKafkaConsumerFactory<>(config);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> walletEventsListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(walletEventsConsumerFactory());
+        factory.setBatchListener(true);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(new FixedBackOff(retryBackoffMs, FixedBackOff.UNLIMITED_ATTEMPTS)));
+        return factory;
+    }
+}
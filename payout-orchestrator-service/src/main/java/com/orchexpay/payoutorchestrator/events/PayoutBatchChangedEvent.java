@@ -0,0 +1,12 @@
+package com.orchexpay.payoutorchestrator.events;
+
+import com.orchexpay.payoutorchestrator.enums.PayoutStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * In-process event published by PayoutBatchIntentService each time a batch's status is re-derived (delivered after
+ * commit). oldestProcessingSince = when its longest-reserved PROCESSING payout got there; null once none is left.
+ */
+public record PayoutBatchChangedEvent(UUID batchId, PayoutStatus status, Instant oldestProcessingSince) {}
@@ -0,0 +1,9 @@
+package com.orchexpay.payoutorchestrator.events;
+
+import com.orchexpay.payoutorchestrator.enums.PayoutStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/** In-process event published by PayoutStateMachine for every single-payout transition (delivered after commit). */
+public record PayoutStatusChangedEvent(UUID payoutId, PayoutStatus from, PayoutStatus to, Instant changedAt) {}
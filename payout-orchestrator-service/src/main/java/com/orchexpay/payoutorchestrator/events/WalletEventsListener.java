@@ -0,0 +1,111 @@
+package com.orchexpay.payoutorchestrator.events;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orchexpay.payoutorchestrator.clients.WalletIdCache;
+import com.orchexpay.payoutorchestrator.services.WalletReadModelService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Consumes wallet domain events from user-wallet-service in batches and applies each batch to the local read models
+ * ({@link WalletReadModelService}) in one transaction. WalletCreated also warms the {@link WalletIdCache}.
+ * Malformed or unknown events are skipped; a failed apply is retried by the container (see KafkaConsumerConfig), and
+ * redelivered events are recognized by eventId.
+ */
+@Component
+@ConditionalOnProperty(name = "orchexpay.wallet-events.enabled", havingValue = "true")
+public class WalletEventsListener {
+
+    private static final Logger log = LoggerFactory.getLogger(WalletEventsListener.class);
+
+    private final ObjectMapper objectMapper;
+    private final WalletIdCache walletIdCache;
+    private final WalletReadModelService readModelService;
+    private final Counter applied;
+    private final Counter duplicates;
+    private final Counter skipped;
+
+    public WalletEventsListener(ObjectMapper objectMapper, WalletIdCache walletIdCache, WalletReadModelService readModelService,
+                                MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.walletIdCache = walletIdCache;
+        this.readModelService = readModelService;
+        this.applied = Counter.builder("wallet.events.consumed").tag("result", "applied").register(meterRegistry);
+        this.duplicates = Counter.builder("wallet.events.consumed").tag("result", "duplicate").register(meterRegistry);
+        this.skipped = Counter.builder("wallet.events.consumed").tag("result", "skipped").register(meterRegistry);
+    }
+
+    @KafkaListener(topics = "${orchexpay.wallet-events.topic:ledgerx.wallet.events}",
+            containerFactory = "walletEventsListenerContainerFactory")
+    public void onWalletEvents(List<String> payloads) {
+        List<WalletReadModelService.WalletEvent> events = new ArrayList<>(payloads.size());
+        for (String payload : payloads) {
+            WalletReadModelService.WalletEvent event = parse(payload);
+            if (event != null) {
+                events.add(event);
+            } else {
+                skipped.increment();
+            }
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+        WalletReadModelService.ApplyResult result = readModelService.apply(events);
+        applied.increment(result.applied());
+        duplicates.increment(result.duplicates());
+        for (WalletReadModelService.WalletEvent event : events) {
+            if (event instanceof WalletReadModelService.WalletCreated created) {
+                walletIdCache.put(new WalletIdCache.WalletKey(created.merchantId(), created.currencyCode(), created.walletType(),
+                        created.vendorUserId()), created.walletId());
+            }
+        }
+        log.debug("Wallet events batch: {} applied, {} duplicates, {} skipped", result.applied(), result.duplicates(),
+                payloads.size() - events.size());
+    }
+
+    private WalletReadModelService.WalletEvent parse(String payload) {
+        try {
+            JsonNode event = objectMapper.readTree(payload);
+            if (!event.hasNonNull("eventId") || !event.hasNonNull("walletId")) {
+                return null;
+            }
+            UUID eventId = UUID.fromString(event.get("eventId").asText());
+            UUID walletId = UUID.fromString(event.get("walletId").asText());
+            Instant occurredAt = event.hasNonNull("occurredAt") ? Instant.parse(event.get("occurredAt").asText()) : null;
+            return switch (event.path("eventType").asText()) {
+                // Events written before walletType was added to the payload cannot be keyed; the HTTP path fills those on demand
+                case "WalletCreated" -> event.hasNonNull("walletType") && event.hasNonNull("merchantId")
+                        ? new WalletReadModelService.WalletCreated(eventId, walletId, UUID.fromString(event.get("merchantId").asText()),
+                                event.path("currencyCode").asText().toUpperCase(), event.get("walletType").asText().toUpperCase(),
+                                event.hasNonNull("vendorUserId") ? UUID.fromString(event.get("vendorUserId").asText()) : null,
+                                event.hasNonNull("vendorUsername") ? event.get("vendorUsername").asText() : null, occurredAt)
+                        : null;
+                case "WalletCredited" -> new WalletReadModelService.BalanceChanged(eventId, walletId, amount(event), occurredAt);
+                case "WalletDebited" -> new WalletReadModelService.BalanceChanged(eventId, walletId, amount(event).negate(), occurredAt);
+                default -> null;
+            };
+        } catch (Exception e) {
+            log.warn("Skipping unreadable wallet event: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static BigDecimal amount(JsonNode event) {
+        if (!event.hasNonNull("amount")) {
+            throw new IllegalArgumentException("amount missing");
+        }
+        return new BigDecimal(event.get("amount").asText());
+    }
+}
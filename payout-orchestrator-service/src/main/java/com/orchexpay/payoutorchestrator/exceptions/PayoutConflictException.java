@@ -0,0 +1,11 @@
+package com.orchexpay.payoutorchestrator.exceptions;
+
+import java.util.UUID;
+
+/** A concurrent request changed the payout first (conditional UPDATE matched no row); the caller may re-read and retry. */
+public class PayoutConflictException extends RuntimeException {
+
+    public PayoutConflictException(UUID payoutId, String attempted) {
+        super("Payout " + payoutId + " was modified concurrently; " + attempted + " not applied");
+    }
+}
@@ -0,0 +1,72 @@
+package com.orchexpay.payoutorchestrator.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Cold storage for split pending orders. PendingOrderArchiver moves rows here once they have been split for longer than
+ * orchexpay.pending-orders.archive.after-ms, so pending_orders only holds recent history. Append-only; never read on
+ * the webhook or UI paths.
+ */
+@Entity
+@Table(name = "pending_orders_archive", indexes = {
+        @Index(name = "idx_pending_orders_archive_merchant_order", columnList = "merchant_id, order_id")
+})
+public class ArchivedPendingOrder {
+
+    @Id
+    @Column(name = "id", updatable = false)
+    private UUID id;
+
+    @Column(name = "merchant_id", nullable = false)
+    private UUID merchantId;
+
+    @Column(name = "vendor_id", nullable = false)
+    private UUID vendorId;
+
+    @Column(name = "order_id", nullable = false, length = 255)
+    private String orderId;
+
+    @Column(name = "amount", nullable = false, precision = 19, scale = 4)
+    private BigDecimal amount;
+
+    @Column(name = "currency_code", nullable = false, length = 3)
+    private String currencyCode;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "split_at")
+    private Instant splitAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+
+    public ArchivedPendingOrder() {}
+
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+    public UUID getMerchantId() { return merchantId; }
+    public void setMerchantId(UUID merchantId) { this.merchantId = merchantId; }
+    public UUID getVendorId() { return vendorId; }
+    public void setVendorId(UUID vendorId) { this.vendorId = vendorId; }
+    public String getOrderId() { return orderId; }
+    public void setOrderId(String orderId) { this.orderId = orderId; }
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    public String getCurrencyCode() { return currencyCode; }
+    public void setCurrencyCode(String currencyCode) { this.currencyCode = currencyCode; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+    public Instant getSplitAt() { return splitAt; }
+    public void setSplitAt(Instant splitAt) { this.splitAt = splitAt; }
+    public Instant getArchivedAt() { return archivedAt; }
+    public void setArchivedAt(Instant archivedAt) { this.archivedAt = archivedAt; }
+}
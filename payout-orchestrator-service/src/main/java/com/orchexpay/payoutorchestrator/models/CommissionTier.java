@@ -0,0 +1,61 @@
+package com.orchexpay.payoutorchestrator.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One commission tier: applies to orders of at least minOrderAmount (up to the next tier).
+ * vendorId null = the merchant's TIERED schedule; vendorId set = that vendor's override schedule, which replaces the
+ * merchant's tiers for the vendor's orders (a single tier at 0 is a flat per-vendor rate). Replaced as a whole on PUT.
+ */
+@Entity
+@Table(name = "commission_tiers", indexes = @Index(name = "idx_commission_tiers_merchant", columnList = "merchant_id, vendor_id"))
+public class CommissionTier {
+
+    @Id
+    @Column(name = "id", updatable = false)
+    private UUID id;
+
+    @Column(name = "merchant_id", nullable = false)
+    private UUID merchantId;
+
+    @Column(name = "vendor_id")
+    private UUID vendorId;
+
+    @Column(name = "min_order_amount", nullable = false, precision = 19, scale = 4)
+    private BigDecimal minOrderAmount;
+
+    /** e.g. 20.00 for 20% */
+    @Column(name = "percentage_value", nullable = false, precision = 5, scale = 2)
+    private BigDecimal percentageValue;
+
+    @Column(name = "fixed_amount", precision = 19, scale = 4)
+    private BigDecimal fixedAmount;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    public CommissionTier() {}
+
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+    public UUID getMerchantId() { return merchantId; }
+    public void setMerchantId(UUID merchantId) { this.merchantId = merchantId; }
+    public UUID getVendorId() { return vendorId; }
+    public void setVendorId(UUID vendorId) { this.vendorId = vendorId; }
+    public BigDecimal getMinOrderAmount() { return minOrderAmount; }
+    public void setMinOrderAmount(BigDecimal minOrderAmount) { this.minOrderAmount = minOrderAmount; }
+    public BigDecimal getPercentageValue() { return percentageValue; }
+    public void setPercentageValue(BigDecimal percentageValue) { this.percentageValue = percentageValue; }
+    public BigDecimal getFixedAmount() { return fixedAmount; }
+    public void setFixedAmount(BigDecimal fixedAmount) { this.fixedAmount = fixedAmount; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
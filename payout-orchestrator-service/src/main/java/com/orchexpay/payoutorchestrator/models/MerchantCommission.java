@@ -15,6 +15,7 @@ import java.util.UUID;
 
 /**
  * Per-merchant commission config. One active config per merchant; scalable for new CommissionType values.
+ * TIERED thresholds and per-vendor overrides live in CommissionTier.
  */
 @Entity
 @Table(name = "merchant_commissions", uniqueConstraints = @UniqueConstraint(columnNames = "merchant_id"))
@@ -42,6 +43,14 @@ public class MerchantCommission {
     @Column(name = "currency_code", length = 3)
     private String currencyCode;
 
+    /** Optional floor on the platform share (any commission_type) */
+    @Column(name = "min_commission", precision = 19, scale = 4)
+    private BigDecimal minCommission;
+
+    /** Optional cap on the platform share (any commission_type) */
+    @Column(name = "max_commission", precision = 19, scale = 4)
+    private BigDecimal maxCommission;
+
     @Column(name = "created_at", nullable = false)
     private Instant createdAt;
 
@@ -62,6 +71,10 @@ public class MerchantCommission {
     public void setFixedAmount(BigDecimal fixedAmount) { this.fixedAmount = fixedAmount; }
     public String getCurrencyCode() { return currencyCode; }
     public void setCurrencyCode(String currencyCode) { this.currencyCode = currencyCode; }
+    public BigDecimal getMinCommission() { return minCommission; }
+    public void setMinCommission(BigDecimal minCommission) { this.minCommission = minCommission; }
+    public BigDecimal getMaxCommission() { return maxCommission; }
+    public void setMaxCommission(BigDecimal maxCommission) { this.maxCommission = maxCommission; }
     public Instant getCreatedAt() { return createdAt; }
     public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
     public Instant getUpdatedAt() { return updatedAt; }
@@ -1,12 +1,15 @@
 package com.orchexpay.payoutorchestrator.models;
 
+import com.orchexpay.payoutorchestrator.enums.PayoutAction;
 import com.orchexpay.payoutorchestrator.enums.PayoutStatus;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -15,9 +18,20 @@ import java.util.UUID;
 /**
  * Payout aggregate. Owned by payout-orchestrator; state machine: CREATED → PROCESSING → SETTLED | FAILED.
  * ledgerEntryId = wallet-service ledger entry (PENDING debit) after reserve; used for confirm/reverse.
+ * pendingAction/actionIdempotencyKey = wallet call recorded before it is made (see PayoutAction); null when none in flight.
+ * batchId = PayoutBatch this payout was submitted in (null for single payouts); batched payouts share a ledger entry per vendor wallet.
+ * nextAttemptAt = when PayoutWorker may claim the pending action (lease for the caller, then retry backoff); attempts = claims so far.
+ * version = optimistic lock; also bumped by every conditional (bulk) status / intent UPDATE, so a stale entity write fails.
  */
 @Entity
-@Table(name = "payouts", indexes = {})
+@Table(name = "payouts", indexes = {
+        @Index(name = "idx_payouts_vendor_created_at", columnList = "vendor_id, created_at"),
+        @Index(name = "idx_payouts_merchant_created_at", columnList = "merchant_id, created_at"),
+        @Index(name = "idx_payouts_created_at", columnList = "created_at"),
+        @Index(name = "idx_payouts_next_attempt_at", columnList = "next_attempt_at"),
+        @Index(name = "idx_payouts_batch_wallet", columnList = "batch_id, vendor_wallet_id"),
+        @Index(name = "idx_payouts_status_changed_at", columnList = "status, status_changed_at")
+})
 public class Payout {
 
     @Id
@@ -49,6 +63,32 @@ public class Payout {
     @Column(name = "idempotency_key", unique = true)
     private String idempotencyKey;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "pending_action", length = 20)
+    private PayoutAction pendingAction;
+
+    @Column(name = "action_idempotency_key")
+    private String actionIdempotencyKey;
+
+    @Column(name = "action_requested_at")
+    private Instant actionRequestedAt;
+
+    @Column(name = "batch_id")
+    private UUID batchId;
+
+    @Column(name = "attempts", nullable = false, columnDefinition = "integer default 0")
+    private int attempts;
+
+    @Column(name = "next_attempt_at")
+    private Instant nextAttemptAt;
+
+    @Column(name = "status_changed_at")
+    private Instant statusChangedAt;
+
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @Column(name = "created_at", nullable = false)
     private Instant createdAt;
 
@@ -75,6 +115,22 @@ public class Payout {
     public void setLedgerEntryId(UUID ledgerEntryId) { this.ledgerEntryId = ledgerEntryId; }
     public String getIdempotencyKey() { return idempotencyKey; }
     public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
+    public PayoutAction getPendingAction() { return pendingAction; }
+    public void setPendingAction(PayoutAction pendingAction) { this.pendingAction = pendingAction; }
+    public String getActionIdempotencyKey() { return actionIdempotencyKey; }
+    public void setActionIdempotencyKey(String actionIdempotencyKey) { this.actionIdempotencyKey = actionIdempotencyKey; }
+    public Instant getActionRequestedAt() { return actionRequestedAt; }
+    public void setActionRequestedAt(Instant actionRequestedAt) { this.actionRequestedAt = actionRequestedAt; }
+    public UUID getBatchId() { return batchId; }
+    public void setBatchId(UUID batchId) { this.batchId = batchId; }
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+    public Instant getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(Instant nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+    public Instant getStatusChangedAt() { return statusChangedAt; }
+    public void setStatusChangedAt(Instant statusChangedAt) { this.statusChangedAt = statusChangedAt; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
     public Instant getCreatedAt() { return createdAt; }
     public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
     public Instant getUpdatedAt() { return updatedAt; }
@@ -0,0 +1,80 @@
+package com.orchexpay.payoutorchestrator.models;
+
+import com.orchexpay.payoutorchestrator.enums.PayoutAction;
+import com.orchexpay.payoutorchestrator.enums.PayoutStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A batch of payouts submitted in one call. Its payouts (Payout.batchId) are netted per vendor wallet: one wallet-service
+ * reserve per wallet, shared by all payouts of that wallet, and confirmed or reversed together.
+ * status follows the payouts: CREATED → PROCESSING (at least one wallet reserved) → SETTLED | FAILED.
+ */
+@Entity
+@Table(name = "payout_batches")
+public class PayoutBatch {
+
+    @Id
+    @Column(name = "id", updatable = false)
+    private UUID id;
+
+    @Column(name = "merchant_id", nullable = false)
+    private UUID merchantId;
+
+    @Column(name = "currency_code", nullable = false, length = 3)
+    private String currencyCode;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private PayoutStatus status;
+
+    @Column(name = "payout_count", nullable = false)
+    private int payoutCount;
+
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 4)
+    private BigDecimal totalAmount;
+
+    @Column(name = "idempotency_key", unique = true)
+    private String idempotencyKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "pending_action", length = 20)
+    private PayoutAction pendingAction;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public PayoutBatch() {}
+
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+    public UUID getMerchantId() { return merchantId; }
+    public void setMerchantId(UUID merchantId) { this.merchantId = merchantId; }
+    public String getCurrencyCode() { return currencyCode; }
+    public void setCurrencyCode(String currencyCode) { this.currencyCode = currencyCode; }
+    public PayoutStatus getStatus() { return status; }
+    public void setStatus(PayoutStatus status) { this.status = status; }
+    public int getPayoutCount() { return payoutCount; }
+    public void setPayoutCount(int payoutCount) { this.payoutCount = payoutCount; }
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
+    public PayoutAction getPendingAction() { return pendingAction; }
+    public void setPendingAction(PayoutAction pendingAction) { this.pendingAction = pendingAction; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+}
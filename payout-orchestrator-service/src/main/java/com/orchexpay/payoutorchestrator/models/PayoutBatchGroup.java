@@ -0,0 +1,16 @@
+package com.orchexpay.payoutorchestrator.models;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Payouts of one batch netted per vendor wallet (and ledger entry once reserved): one bank-file line, one ledger operation.
+ * A wallet belongs to exactly one vendor (checked on submit), so vendorId is carried along, not part of the key.
+ */
+public record PayoutBatchGroup(UUID vendorId, UUID vendorWalletId, UUID ledgerEntryId, BigDecimal amount, long payoutCount) {
+
+    /** JPQL constructor expression: vendorId comes back as MIN(CAST(vendorId AS String)). */
+    public PayoutBatchGroup(String vendorId, UUID vendorWalletId, UUID ledgerEntryId, BigDecimal amount, long payoutCount) {
+        this(UUID.fromString(vendorId), vendorWalletId, ledgerEntryId, amount, payoutCount);
+    }
+}
@@ -0,0 +1,79 @@
+package com.orchexpay.payoutorchestrator.models;
+
+import com.orchexpay.payoutorchestrator.enums.PayoutStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Number and total amount of a merchant's payouts currently in one status. Maintained in the same transaction as every
+ * payout insert / status change (see PayoutStatsService), so stats and badges read one row instead of counting payouts.
+ */
+@Entity
+@Table(name = "payout_status_counters")
+@IdClass(PayoutStatusCounter.Key.class)
+public class PayoutStatusCounter {
+
+    @Id
+    @Column(name = "merchant_id", nullable = false)
+    private UUID merchantId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private PayoutStatus status;
+
+    @Column(name = "payout_count", nullable = false)
+    private long payoutCount;
+
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 4)
+    private BigDecimal totalAmount;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public PayoutStatusCounter() {}
+
+    public UUID getMerchantId() { return merchantId; }
+    public void setMerchantId(UUID merchantId) { this.merchantId = merchantId; }
+    public PayoutStatus getStatus() { return status; }
+    public void setStatus(PayoutStatus status) { this.status = status; }
+    public long getPayoutCount() { return payoutCount; }
+    public void setPayoutCount(long payoutCount) { this.payoutCount = payoutCount; }
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+
+    public static class Key implements Serializable {
+        private UUID merchantId;
+        private PayoutStatus status;
+
+        public Key() {}
+
+        public Key(UUID merchantId, PayoutStatus status) {
+            this.merchantId = merchantId;
+            this.status = status;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key k && Objects.equals(merchantId, k.merchantId) && status == k.status;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(merchantId, status);
+        }
+    }
+}
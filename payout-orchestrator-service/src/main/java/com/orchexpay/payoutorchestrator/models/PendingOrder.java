@@ -13,6 +13,8 @@ import java.util.UUID;
 /**
  * Tracks orders that had payment success (escrow credited) but not yet completed (split).
  * Used to show "pending completion" orders per vendor in the merchant UI.
+ * Unsplit rows are served by the partial index idx_pending_orders_unsplit (created by PendingOrderService at startup,
+ * JPA cannot declare a partial index); split rows are moved to pending_orders_archive after a while (PendingOrderArchiver).
  */
 @Entity
 @Table(name = "pending_orders", uniqueConstraints = {
@@ -45,6 +47,9 @@ public class PendingOrder {
     @Column(name = "created_at", nullable = false)
     private Instant createdAt;
 
+    @Column(name = "split_at")
+    private Instant splitAt;
+
     public PendingOrder() {}
 
     public UUID getId() { return id; }
@@ -63,4 +68,6 @@ public class PendingOrder {
     public void setSplitDone(boolean splitDone) { this.splitDone = splitDone; }
     public Instant getCreatedAt() { return createdAt; }
     public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+    public Instant getSplitAt() { return splitAt; }
+    public void setSplitAt(Instant splitAt) { this.splitAt = splitAt; }
 }
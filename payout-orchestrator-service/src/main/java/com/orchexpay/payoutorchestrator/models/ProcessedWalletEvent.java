@@ -0,0 +1,36 @@
+package com.orchexpay.payoutorchestrator.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Wallet event ids already applied to the read models. The outbox relay and Kafka both deliver at least once, so an
+ * event is applied only if its id is inserted here in the same transaction. Purged after
+ * orchexpay.wallet-events.dedupe-retention-ms.
+ */
+@Entity
+@Table(name = "processed_wallet_events", indexes = {
+        @Index(name = "idx_processed_wallet_events_processed_at", columnList = "processed_at")
+})
+public class ProcessedWalletEvent {
+
+    @Id
+    @Column(name = "event_id", updatable = false)
+    private UUID eventId;
+
+    @Column(name = "processed_at", nullable = false)
+    private Instant processedAt;
+
+    public ProcessedWalletEvent() {}
+
+    public UUID getEventId() { return eventId; }
+    public void setEventId(UUID eventId) { this.eventId = eventId; }
+    public Instant getProcessedAt() { return processedAt; }
+    public void setProcessedAt(Instant processedAt) { this.processedAt = processedAt; }
+}
@@ -0,0 +1,85 @@
+package com.orchexpay.payoutorchestrator.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Number and total amount of a vendor's pending orders (paid, not yet split) in one currency. Maintained in the same
+ * transaction as every pending_orders write (see PendingOrderService), so the merchant UI reads one row per vendor
+ * instead of scanning orders.
+ */
+@Entity
+@Table(name = "vendor_pending_summaries")
+@IdClass(VendorPendingSummary.Key.class)
+public class VendorPendingSummary {
+
+    @Id
+    @Column(name = "merchant_id", nullable = false)
+    private UUID merchantId;
+
+    @Id
+    @Column(name = "vendor_id", nullable = false)
+    private UUID vendorId;
+
+    @Id
+    @Column(name = "currency_code", nullable = false, length = 3)
+    private String currencyCode;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 4)
+    private BigDecimal totalAmount;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public VendorPendingSummary() {}
+
+    public UUID getMerchantId() { return merchantId; }
+    public void setMerchantId(UUID merchantId) { this.merchantId = merchantId; }
+    public UUID getVendorId() { return vendorId; }
+    public void setVendorId(UUID vendorId) { this.vendorId = vendorId; }
+    public String getCurrencyCode() { return currencyCode; }
+    public void setCurrencyCode(String currencyCode) { this.currencyCode = currencyCode; }
+    public long getOrderCount() { return orderCount; }
+    public void setOrderCount(long orderCount) { this.orderCount = orderCount; }
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+
+    public static class Key implements Serializable {
+        private UUID merchantId;
+        private UUID vendorId;
+        private String currencyCode;
+
+        public Key() {}
+
+        public Key(UUID merchantId, UUID vendorId, String currencyCode) {
+            this.merchantId = merchantId;
+            this.vendorId = vendorId;
+            this.currencyCode = currencyCode;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key k && Objects.equals(merchantId, k.merchantId) && Objects.equals(vendorId, k.vendorId)
+                    && Objects.equals(currencyCode, k.currencyCode);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(merchantId, vendorId, currencyCode);
+        }
+    }
+}
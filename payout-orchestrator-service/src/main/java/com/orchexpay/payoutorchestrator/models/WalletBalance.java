@@ -0,0 +1,50 @@
+package com.orchexpay.payoutorchestrator.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Confirmed balance of a wallet as seen through WalletCredited / WalletDebited events (mirrors user-wallet-service's
+ * SUM(CONFIRMED credits) - SUM(CONFIRMED debits)). complete = the wallet's WalletCreated event was consumed, i.e. the
+ * row has seen the wallet's whole history; rows started mid-history (events before retention) are partial.
+ * Eventually consistent: lags the ledger by the outbox relay interval. The ledger stays authoritative for funds.
+ */
+@Entity
+@Table(name = "wallet_balances")
+public class WalletBalance {
+
+    @Id
+    @Column(name = "wallet_id", updatable = false)
+    private UUID walletId;
+
+    @Column(name = "balance", nullable = false, precision = 19, scale = 4)
+    private BigDecimal balance;
+
+    @Column(name = "complete", nullable = false)
+    private boolean complete;
+
+    @Column(name = "last_event_at")
+    private Instant lastEventAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public WalletBalance() {}
+
+    public UUID getWalletId() { return walletId; }
+    public void setWalletId(UUID walletId) { this.walletId = walletId; }
+    public BigDecimal getBalance() { return balance; }
+    public void setBalance(BigDecimal balance) { this.balance = balance; }
+    public boolean isComplete() { return complete; }
+    public void setComplete(boolean complete) { this.complete = complete; }
+    public Instant getLastEventAt() { return lastEventAt; }
+    public void setLastEventAt(Instant lastEventAt) { this.lastEventAt = lastEventAt; }
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,62 @@
+package com.orchexpay.payoutorchestrator.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Local copy of user-wallet-service's wallets, built from WalletCreated events (see WalletReadModelService). Wallets
+ * never change type, owner or currency, so a row is written once. vendorUsername is null for MAIN/ESCROW wallets and for
+ * events published before the field was added; those fall back to HTTP lookups.
+ */
+@Entity
+@Table(name = "wallet_directory", indexes = {
+        @Index(name = "idx_wallet_directory_lookup", columnList = "merchant_id, currency_code, wallet_type, vendor_user_id"),
+        @Index(name = "idx_wallet_directory_vendor", columnList = "vendor_user_id")
+})
+public class WalletDirectoryEntry {
+
+    @Id
+    @Column(name = "wallet_id", updatable = false)
+    private UUID walletId;
+
+    @Column(name = "merchant_id", nullable = false)
+    private UUID merchantId;
+
+    @Column(name = "currency_code", nullable = false, length = 3)
+    private String currencyCode;
+
+    @Column(name = "wallet_type", nullable = false, length = 20)
+    private String walletType;
+
+    @Column(name = "vendor_user_id")
+    private UUID vendorUserId;
+
+    @Column(name = "vendor_username")
+    private String vendorUsername;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    public WalletDirectoryEntry() {}
+
+    public UUID getWalletId() { return walletId; }
+    public void setWalletId(UUID walletId) { this.walletId = walletId; }
+    public UUID getMerchantId() { return merchantId; }
+    public void setMerchantId(UUID merchantId) { this.merchantId = merchantId; }
+    public String getCurrencyCode() { return currencyCode; }
+    public void setCurrencyCode(String currencyCode) { this.currencyCode = currencyCode; }
+    public String getWalletType() { return walletType; }
+    public void setWalletType(String walletType) { this.walletType = walletType; }
+    public UUID getVendorUserId() { return vendorUserId; }
+    public void setVendorUserId(UUID vendorUserId) { this.vendorUserId = vendorUserId; }
+    public String getVendorUsername() { return vendorUsername; }
+    public void setVendorUsername(String vendorUsername) { this.vendorUsername = vendorUsername; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
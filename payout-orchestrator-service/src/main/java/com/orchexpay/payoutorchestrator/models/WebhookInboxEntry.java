@@ -0,0 +1,122 @@
+package com.orchexpay.payoutorchestrator.models;
+
+import com.orchexpay.payoutorchestrator.enums.WebhookKind;
+import com.orchexpay.payoutorchestrator.enums.WebhookStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A webhook accepted by the ingestion endpoint and acknowledged before it is applied. One row per (kind, merchant, order):
+ * duplicate deliveries only bump deliveries, so they coalesce into a single wallet operation.
+ * nextAttemptAt = when WebhookBatchWorker may claim it (lease once claimed, then retry backoff); attempts = claims so far.
+ * Wallet ids are optional, as in the synchronous webhooks; missing ones are resolved by type when processed.
+ */
+@Entity
+@Table(name = "webhook_inbox", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_webhook_inbox_kind_order", columnNames = { "kind", "merchant_id", "order_id" })
+}, indexes = {
+        @Index(name = "idx_webhook_inbox_status_next_attempt", columnList = "status, next_attempt_at")
+})
+public class WebhookInboxEntry {
+
+    @Id
+    @Column(name = "id", updatable = false)
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "kind", nullable = false, length = 20)
+    private WebhookKind kind;
+
+    @Column(name = "merchant_id", nullable = false)
+    private UUID merchantId;
+
+    @Column(name = "order_id", nullable = false, length = 255)
+    private String orderId;
+
+    @Column(name = "vendor_id", nullable = false)
+    private UUID vendorId;
+
+    @Column(name = "amount", nullable = false, precision = 19, scale = 4)
+    private BigDecimal amount;
+
+    @Column(name = "currency_code", nullable = false, length = 3)
+    private String currencyCode;
+
+    @Column(name = "escrow_wallet_id")
+    private UUID escrowWalletId;
+
+    @Column(name = "main_wallet_id")
+    private UUID mainWalletId;
+
+    @Column(name = "vendor_wallet_id")
+    private UUID vendorWalletId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private WebhookStatus status;
+
+    @Column(name = "deliveries", nullable = false)
+    private int deliveries;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at")
+    private Instant nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "received_at", nullable = false)
+    private Instant receivedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public WebhookInboxEntry() {}
+
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+    public WebhookKind getKind() { return kind; }
+    public void setKind(WebhookKind kind) { this.kind = kind; }
+    public UUID getMerchantId() { return merchantId; }
+    public void setMerchantId(UUID merchantId) { this.merchantId = merchantId; }
+    public String getOrderId() { return orderId; }
+    public void setOrderId(String orderId) { this.orderId = orderId; }
+    public UUID getVendorId() { return vendorId; }
+    public void setVendorId(UUID vendorId) { this.vendorId = vendorId; }
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    public String getCurrencyCode() { return currencyCode; }
+    public void setCurrencyCode(String currencyCode) { this.currencyCode = currencyCode; }
+    public UUID getEscrowWalletId() { return escrowWalletId; }
+    public void setEscrowWalletId(UUID escrowWalletId) { this.escrowWalletId = escrowWalletId; }
+    public UUID getMainWalletId() { return mainWalletId; }
+    public void setMainWalletId(UUID mainWalletId) { this.mainWalletId = mainWalletId; }
+    public UUID getVendorWalletId() { return vendorWalletId; }
+    public void setVendorWalletId(UUID vendorWalletId) { this.vendorWalletId = vendorWalletId; }
+    public WebhookStatus getStatus() { return status; }
+    public void setStatus(WebhookStatus status) { this.status = status; }
+    public int getDeliveries() { return deliveries; }
+    public void setDeliveries(int deliveries) { this.deliveries = deliveries; }
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+    public Instant getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(Instant nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+    public Instant getReceivedAt() { return receivedAt; }
+    public void setReceivedAt(Instant receivedAt) { this.receivedAt = receivedAt; }
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,34 @@
+package com.orchexpay.payoutorchestrator.repositories;
+
+import com.orchexpay.payoutorchestrator.models.ArchivedPendingOrder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface ArchivedPendingOrderRepository extends JpaRepository<ArchivedPendingOrder, UUID> {
+
+    /**
+     * Moves up to :limit orders split before :cutoff from pending_orders to pending_orders_archive in one statement
+     * (DELETE ... RETURNING feeding the INSERT), so a row is never in both tables or in neither. SKIP LOCKED leaves rows
+     * a webhook is touching for the next run. Rows split before split_at existed fall back to created_at.
+     */
+    @Modifying
+    @Query(value = "WITH moved AS (DELETE FROM pending_orders WHERE id IN ("
+            + "SELECT id FROM pending_orders WHERE split_done = true AND COALESCE(split_at, created_at) < :cutoff "
+            + "LIMIT :limit FOR UPDATE SKIP LOCKED) "
+            + "RETURNING id, merchant_id, vendor_id, order_id, amount, currency_code, created_at, split_at) "
+            + "INSERT INTO pending_orders_archive (id, merchant_id, vendor_id, order_id, amount, currency_code, created_at, split_at, archived_at) "
+            + "SELECT id, merchant_id, vendor_id, order_id, amount, currency_code, created_at, split_at, :now FROM moved",
+            nativeQuery = true)
+    int archiveSplitBefore(@Param("cutoff") Instant cutoff, @Param("limit") int limit, @Param("now") Instant now);
+
+    /** Order ids among orderIds already archived for the merchant (a late payment redelivery must not re-open them). */
+    @Query("SELECT a.orderId FROM ArchivedPendingOrder a WHERE a.merchantId = :merchantId AND a.orderId IN :orderIds")
+    List<String> findArchivedOrderIds(@Param("merchantId") UUID merchantId, @Param("orderIds") Collection<String> orderIds);
+}
@@ -0,0 +1,22 @@
+package com.orchexpay.payoutorchestrator.repositories;
+
+import com.orchexpay.payoutorchestrator.models.CommissionTier;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface CommissionTierRepository extends JpaRepository<CommissionTier, UUID> {
+
+    List<CommissionTier> findByMerchantId(UUID merchantId);
+
+    List<CommissionTier> findByMerchantIdIn(Collection<UUID> merchantIds);
+
+    @Modifying
+    @Query("DELETE FROM CommissionTier t WHERE t.merchantId = :merchantId")
+    int deleteByMerchantId(@Param("merchantId") UUID merchantId);
+}
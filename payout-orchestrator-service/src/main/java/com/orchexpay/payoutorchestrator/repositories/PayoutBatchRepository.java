@@ -0,0 +1,32 @@
+package com.orchexpay.payoutorchestrator.repositories;
+
+import com.orchexpay.payoutorchestrator.enums.PayoutAction;
+import com.orchexpay.payoutorchestrator.enums.PayoutStatus;
+import com.orchexpay.payoutorchestrator.models.PayoutBatch;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface PayoutBatchRepository extends JpaRepository<PayoutBatch, UUID> {
+
+    Optional<PayoutBatch> findByIdempotencyKey(String idempotencyKey);
+
+    Page<PayoutBatch> findByMerchantIdOrderByCreatedAtDesc(UUID merchantId, Pageable pageable);
+
+    /**
+     * Records :action as the batch's pending action only if it is :status and has none, same as PayoutRepository.claimAction:
+     * of a concurrent confirm and reverse exactly one gets 1 and fans out wallet calls. Clears the persistence context.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE PayoutBatch b SET b.pendingAction = :action, b.updatedAt = :now "
+            + "WHERE b.id = :id AND b.status = :status AND b.pendingAction IS NULL")
+    int claimAction(@Param("id") UUID id, @Param("status") PayoutStatus status, @Param("action") PayoutAction action,
+                    @Param("now") Instant now);
+}
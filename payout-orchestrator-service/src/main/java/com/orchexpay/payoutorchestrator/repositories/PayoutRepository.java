@@ -1,16 +1,22 @@
 package com.orchexpay.payoutorchestrator.repositories;
 
 import com.orchexpay.payoutorchestrator.models.Payout;
+import com.orchexpay.payoutorchestrator.models.PayoutBatchGroup;
+import com.orchexpay.payoutorchestrator.enums.PayoutAction;
 import com.orchexpay.payoutorchestrator.enums.PayoutStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
-import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface PayoutRepository extends JpaRepository<Payout, UUID> {
 
@@ -20,10 +26,107 @@ public interface PayoutRepository extends JpaRepository<Payout, UUID> {
 
     Page<Payout> findByMerchantIdOrderByCreatedAtDesc(UUID merchantId, Pageable pageable);
 
-    long countByMerchantIdAndStatus(UUID merchantId, PayoutStatus status);
+    long countByBatchIdAndStatus(UUID batchId, PayoutStatus status);
 
-    long countByStatus(PayoutStatus status);
+    /**
+     * Locks up to :limit payouts whose pending action is due. SKIP LOCKED lets several workers (or instances) poll
+     * concurrently without blocking on, or double-claiming, each other's rows. Caller must lease them in the same transaction.
+     */
+    @Query(value = "SELECT * FROM payouts WHERE pending_action IS NOT NULL AND next_attempt_at <= :now "
+            + "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Payout> lockDueForProcessing(@Param("now") Instant now, @Param("limit") int limit);
 
-    @Query("SELECT COALESCE(SUM(p.amount), 0) FROM Payout p WHERE p.status = :status")
-    BigDecimal sumAmountByStatus(@Param("status") PayoutStatus status);
+    /**
+     * (id, entered-state time) of every single (non-batch) payout in :status, one range scan on (status, status_changed_at).
+     * Must be consumed inside a read-only transaction; rows are fetched in chunks.
+     */
+    @QueryHints(@jakarta.persistence.QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT p.id, COALESCE(p.statusChangedAt, p.updatedAt) FROM Payout p WHERE p.status = :status AND p.batchId IS NULL")
+    Stream<Object[]> streamSinglePayoutsInStatus(@Param("status") PayoutStatus status);
+
+    /** [batchId, oldest statusChangedAt] of every batch with payouts in :status (StuckPayoutSweeper rebuild). */
+    @Query("SELECT p.batchId, MIN(COALESCE(p.statusChangedAt, p.updatedAt)) FROM Payout p "
+            + "WHERE p.status = :status AND p.batchId IS NOT NULL GROUP BY p.batchId")
+    List<Object[]> findBatchesWithPayoutsInStatus(@Param("status") PayoutStatus status);
+
+    /** When the batch's longest-waiting payout in :status got there; null if it has none. */
+    @Query("SELECT MIN(COALESCE(p.statusChangedAt, p.updatedAt)) FROM Payout p WHERE p.batchId = :batchId AND p.status = :status")
+    Instant findOldestInStatus(@Param("batchId") UUID batchId, @Param("status") PayoutStatus status);
+
+    /**
+     * Claims the payout for a CONFIRM / REVERSE: succeeds only while it is still in :status with no action in flight, so
+     * of two concurrent webhooks exactly one gets 1 and makes the wallet call. Clears the persistence context.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Payout p SET p.pendingAction = :action, p.actionIdempotencyKey = :actionIdempotencyKey, p.actionRequestedAt = :now, "
+            + "p.attempts = 0, p.nextAttemptAt = :nextAttemptAt, p.updatedAt = :now, p.version = p.version + 1 "
+            + "WHERE p.id = :id AND p.status = :status AND p.pendingAction IS NULL")
+    int claimAction(@Param("id") UUID id, @Param("status") PayoutStatus status, @Param("action") PayoutAction action,
+                    @Param("actionIdempotencyKey") String actionIdempotencyKey, @Param("now") Instant now,
+                    @Param("nextAttemptAt") Instant nextAttemptAt);
+
+    /**
+     * Takes over :action from a caller that did not finish it (crash, timeout): only once its lease has run out, or the
+     * intent was parked, and then extends the lease to :nextAttemptAt. 0 = the action is still leased (in flight).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Payout p SET p.nextAttemptAt = :nextAttemptAt, p.updatedAt = :now, p.version = p.version + 1 "
+            + "WHERE p.id = :id AND p.pendingAction = :action AND (p.nextAttemptAt IS NULL OR p.nextAttemptAt <= :now)")
+    int resumeAction(@Param("id") UUID id, @Param("action") PayoutAction action, @Param("now") Instant now,
+                     @Param("nextAttemptAt") Instant nextAttemptAt);
+
+    /** Drops the intent after wallet-service rejected :action; no-op (0) if another writer already moved on. */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Payout p SET p.pendingAction = NULL, p.actionIdempotencyKey = NULL, p.actionRequestedAt = NULL, "
+            + "p.attempts = 0, p.nextAttemptAt = NULL, p.updatedAt = :now, p.version = p.version + 1 "
+            + "WHERE p.id = :id AND p.pendingAction = :action")
+    int releaseAction(@Param("id") UUID id, @Param("action") PayoutAction action, @Param("now") Instant now);
+
+    /**
+     * Pushes a failed attempt's retry out to :nextAttemptAt. Applies only while the same claim (:action, :attempts) is still
+     * pending, so it never overrides a result or a newer claim recorded meanwhile.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Payout p SET p.nextAttemptAt = :nextAttemptAt, p.updatedAt = :now "
+            + "WHERE p.id = :id AND p.pendingAction = :action AND p.attempts = :attempts")
+    int rescheduleAction(@Param("id") UUID id, @Param("action") PayoutAction action, @Param("attempts") int attempts,
+                         @Param("nextAttemptAt") Instant nextAttemptAt, @Param("now") Instant now);
+
+    /**
+     * Compare-and-set status transition that completes :action: applies only if the row is still in :from with :action
+     * pending, and clears the intent. 0 = a concurrent transition won. Clears the persistence context.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Payout p SET p.status = :to, p.ledgerEntryId = :ledgerEntryId, p.statusChangedAt = :now, p.updatedAt = :now, "
+            + "p.pendingAction = NULL, p.actionIdempotencyKey = NULL, p.actionRequestedAt = NULL, p.attempts = 0, p.nextAttemptAt = NULL, "
+            + "p.version = p.version + 1 "
+            + "WHERE p.id = :id AND p.status = :from AND p.pendingAction = :action")
+    int transition(@Param("id") UUID id, @Param("from") PayoutStatus from, @Param("to") PayoutStatus to,
+                   @Param("action") PayoutAction action, @Param("ledgerEntryId") UUID ledgerEntryId, @Param("now") Instant now);
+
+    @Query("SELECT p.pendingAction, COUNT(p) FROM Payout p WHERE p.pendingAction IS NOT NULL GROUP BY p.pendingAction")
+    List<Object[]> countPendingByAction();
+
+    /**
+     * Netted groups of one batch, keyed by (vendor wallet, ledger entry) only: the wallet is the unit of the reserve (and of
+     * its idempotency key), so two vendorIds can never split one wallet into two reserves.
+     */
+    @Query("SELECT new com.orchexpay.payoutorchestrator.models.PayoutBatchGroup(MIN(CAST(p.vendorId AS String)), p.vendorWalletId, "
+            + "p.ledgerEntryId, SUM(p.amount), COUNT(p)) "
+            + "FROM Payout p WHERE p.batchId = :batchId AND p.status = :status "
+            + "GROUP BY p.vendorWalletId, p.ledgerEntryId ORDER BY p.vendorWalletId")
+    List<PayoutBatchGroup> groupBatchByWallet(@Param("batchId") UUID batchId, @Param("status") PayoutStatus status);
+
+    /** Moves every payout of one batch group (vendor wallet) from CREATED in one statement; ledgerEntryId null when rejected. */
+    @Modifying
+    @Query("UPDATE Payout p SET p.status = :to, p.ledgerEntryId = :ledgerEntryId, p.statusChangedAt = :now, p.updatedAt = :now, "
+            + "p.version = p.version + 1 WHERE p.batchId = :batchId AND p.vendorWalletId = :vendorWalletId AND p.status = com.orchexpay.payoutorchestrator.enums.PayoutStatus.CREATED")
+    int resolveBatchGroupReserve(@Param("batchId") UUID batchId, @Param("vendorWalletId") UUID vendorWalletId,
+                                 @Param("ledgerEntryId") UUID ledgerEntryId, @Param("to") PayoutStatus to, @Param("now") Instant now);
+
+    @Modifying
+    @Query("UPDATE Payout p SET p.status = :to, p.statusChangedAt = :now, p.updatedAt = :now, p.version = p.version + 1 "
+            + "WHERE p.batchId = :batchId AND p.ledgerEntryId = :ledgerEntryId AND p.status = :from")
+    int transitionBatchEntry(@Param("batchId") UUID batchId, @Param("ledgerEntryId") UUID ledgerEntryId,
+                             @Param("from") PayoutStatus from, @Param("to") PayoutStatus to, @Param("now") Instant now);
 }
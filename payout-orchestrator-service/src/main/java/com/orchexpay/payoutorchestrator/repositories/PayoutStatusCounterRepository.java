@@ -0,0 +1,41 @@
+package com.orchexpay.payoutorchestrator.repositories;
+
+import com.orchexpay.payoutorchestrator.models.PayoutStatusCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public interface PayoutStatusCounterRepository extends JpaRepository<PayoutStatusCounter, PayoutStatusCounter.Key> {
+
+    /** Adds the deltas to the (merchant, status) row, creating it on first use. Row-locked until the caller commits. */
+    @Modifying
+    @Query(value = "INSERT INTO payout_status_counters (merchant_id, status, payout_count, total_amount, updated_at) "
+            + "VALUES (:merchantId, :status, :countDelta, :amountDelta, :now) "
+            + "ON CONFLICT (merchant_id, status) DO UPDATE SET "
+            + "payout_count = payout_status_counters.payout_count + EXCLUDED.payout_count, "
+            + "total_amount = payout_status_counters.total_amount + EXCLUDED.total_amount, "
+            + "updated_at = EXCLUDED.updated_at", nativeQuery = true)
+    int adjust(@Param("merchantId") UUID merchantId, @Param("status") String status, @Param("countDelta") long countDelta,
+               @Param("amountDelta") BigDecimal amountDelta, @Param("now") Instant now);
+
+    /** (status, count, amount) summed over all merchants: a handful of rows per merchant, never the payouts table. */
+    @Query("SELECT c.status, SUM(c.payoutCount), SUM(c.totalAmount) FROM PayoutStatusCounter c GROUP BY c.status")
+    List<Object[]> sumGroupByStatus();
+
+    /** Blocks payout writers (their upserts) until the caller commits; waits for in-flight ones to finish first. */
+    @Modifying
+    @Query(value = "LOCK TABLE payout_status_counters IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockExclusive();
+
+    @Modifying
+    @Query(value = "INSERT INTO payout_status_counters (merchant_id, status, payout_count, total_amount, updated_at) "
+            + "SELECT merchant_id, status, COUNT(*), COALESCE(SUM(amount), 0), :now FROM payouts GROUP BY merchant_id, status",
+            nativeQuery = true)
+    int insertFromPayouts(@Param("now") Instant now);
+}
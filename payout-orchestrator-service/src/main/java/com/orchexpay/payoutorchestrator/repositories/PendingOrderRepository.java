@@ -2,15 +2,25 @@ package com.orchexpay.payoutorchestrator.repositories;
 
 import com.orchexpay.payoutorchestrator.models.PendingOrder;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 
 public interface PendingOrderRepository extends JpaRepository<PendingOrder, UUID> {
 
+    /** Served by the partial index idx_pending_orders_unsplit (merchant_id, vendor_id, created_at DESC) WHERE NOT split_done. */
     List<PendingOrder> findByMerchantIdAndVendorIdAndSplitDoneFalseOrderByCreatedAtDesc(UUID merchantId, UUID vendorId);
 
-    Optional<PendingOrder> findByMerchantIdAndOrderId(UUID merchantId, String orderId);
+    /** Row-locks the merchant's orders so concurrent webhooks for one order adjust the vendor summaries once. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM PendingOrder p WHERE p.merchantId = :merchantId AND p.orderId IN :orderIds")
+    List<PendingOrder> lockByMerchantIdAndOrderIdIn(@Param("merchantId") UUID merchantId, @Param("orderIds") Collection<String> orderIds);
+
+    long countBySplitDoneFalse();
 }
@@ -0,0 +1,23 @@
+package com.orchexpay.payoutorchestrator.repositories;
+
+import com.orchexpay.payoutorchestrator.models.ProcessedWalletEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public interface ProcessedWalletEventRepository extends JpaRepository<ProcessedWalletEvent, UUID> {
+
+    /** 1 if the event id is new (apply the event), 0 if it was already applied. */
+    @Modifying
+    @Query(value = "INSERT INTO processed_wallet_events (event_id, processed_at) VALUES (:eventId, :now) "
+            + "ON CONFLICT (event_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("eventId") UUID eventId, @Param("now") Instant now);
+
+    @Modifying
+    @Query("DELETE FROM ProcessedWalletEvent e WHERE e.processedAt < :cutoff")
+    int deleteByProcessedAtBefore(@Param("cutoff") Instant cutoff);
+}
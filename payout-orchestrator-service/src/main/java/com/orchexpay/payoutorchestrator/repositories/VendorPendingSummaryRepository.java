@@ -0,0 +1,42 @@
+package com.orchexpay.payoutorchestrator.repositories;
+
+import com.orchexpay.payoutorchestrator.models.VendorPendingSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public interface VendorPendingSummaryRepository extends JpaRepository<VendorPendingSummary, VendorPendingSummary.Key> {
+
+    /** Adds the deltas to the (merchant, vendor, currency) row, creating it on first use. Row-locked until the caller commits. */
+    @Modifying
+    @Query(value = "INSERT INTO vendor_pending_summaries (merchant_id, vendor_id, currency_code, order_count, total_amount, updated_at) "
+            + "VALUES (:merchantId, :vendorId, :currencyCode, :countDelta, :amountDelta, :now) "
+            + "ON CONFLICT (merchant_id, vendor_id, currency_code) DO UPDATE SET "
+            + "order_count = vendor_pending_summaries.order_count + EXCLUDED.order_count, "
+            + "total_amount = vendor_pending_summaries.total_amount + EXCLUDED.total_amount, "
+            + "updated_at = EXCLUDED.updated_at", nativeQuery = true)
+    int adjust(@Param("merchantId") UUID merchantId, @Param("vendorId") UUID vendorId, @Param("currencyCode") String currencyCode,
+               @Param("countDelta") long countDelta, @Param("amountDelta") BigDecimal amountDelta, @Param("now") Instant now);
+
+    List<VendorPendingSummary> findByMerchantIdAndOrderCountGreaterThanOrderByVendorId(UUID merchantId, long orderCount);
+
+    @Query("SELECT COALESCE(SUM(s.orderCount), 0) FROM VendorPendingSummary s")
+    long sumOrderCount();
+
+    /** Blocks pending-order writers (their upserts) until the caller commits; waits for in-flight ones to finish first. */
+    @Modifying
+    @Query(value = "LOCK TABLE vendor_pending_summaries IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockExclusive();
+
+    @Modifying
+    @Query(value = "INSERT INTO vendor_pending_summaries (merchant_id, vendor_id, currency_code, order_count, total_amount, updated_at) "
+            + "SELECT merchant_id, vendor_id, currency_code, COUNT(*), COALESCE(SUM(amount), 0), :now FROM pending_orders "
+            + "WHERE split_done = false GROUP BY merchant_id, vendor_id, currency_code", nativeQuery = true)
+    int insertFromPendingOrders(@Param("now") Instant now);
+}
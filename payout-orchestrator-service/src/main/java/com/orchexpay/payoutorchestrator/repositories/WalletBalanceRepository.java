@@ -0,0 +1,34 @@
+package com.orchexpay.payoutorchestrator.repositories;
+
+import com.orchexpay.payoutorchestrator.models.WalletBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public interface WalletBalanceRepository extends JpaRepository<WalletBalance, UUID> {
+
+    /** Starts a complete (zero) balance for a newly created wallet; no-op if the row already exists. */
+    @Modifying
+    @Query(value = "INSERT INTO wallet_balances (wallet_id, balance, complete, last_event_at, updated_at) "
+            + "VALUES (:walletId, 0, true, :eventAt, :now) ON CONFLICT (wallet_id) DO NOTHING", nativeQuery = true)
+    int open(@Param("walletId") UUID walletId, @Param("eventAt") Instant eventAt, @Param("now") Instant now);
+
+    /**
+     * Adds delta to the wallet's balance. A wallet whose WalletCreated was never seen gets a partial row (complete = false).
+     * Row-locked until the caller commits.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO wallet_balances (wallet_id, balance, complete, last_event_at, updated_at) "
+            + "VALUES (:walletId, :delta, false, :eventAt, :now) "
+            + "ON CONFLICT (wallet_id) DO UPDATE SET "
+            + "balance = wallet_balances.balance + EXCLUDED.balance, "
+            + "last_event_at = GREATEST(wallet_balances.last_event_at, EXCLUDED.last_event_at), "
+            + "updated_at = EXCLUDED.updated_at", nativeQuery = true)
+    int adjust(@Param("walletId") UUID walletId, @Param("delta") BigDecimal delta, @Param("eventAt") Instant eventAt,
+               @Param("now") Instant now);
+}
@@ -0,0 +1,35 @@
+package com.orchexpay.payoutorchestrator.repositories;
+
+import com.orchexpay.payoutorchestrator.models.WalletDirectoryEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface WalletDirectoryRepository extends JpaRepository<WalletDirectoryEntry, UUID> {
+
+    /** Records a wallet once; a redelivered WalletCreated is a no-op. vendorUserId is a String so null binds as uuid. */
+    @Modifying
+    @Query(value = "INSERT INTO wallet_directory (wallet_id, merchant_id, currency_code, wallet_type, vendor_user_id, vendor_username, created_at) "
+            + "VALUES (:walletId, :merchantId, :currencyCode, :walletType, CAST(:vendorUserId AS uuid), :vendorUsername, :createdAt) "
+            + "ON CONFLICT (wallet_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("walletId") UUID walletId, @Param("merchantId") UUID merchantId, @Param("currencyCode") String currencyCode,
+                       @Param("walletType") String walletType, @Param("vendorUserId") String vendorUserId,
+                       @Param("vendorUsername") String vendorUsername, @Param("createdAt") Instant createdAt);
+
+    Optional<WalletDirectoryEntry> findFirstByMerchantIdAndCurrencyCodeAndWalletTypeAndVendorUserId(
+            UUID merchantId, String currencyCode, String walletType, UUID vendorUserId);
+
+    List<WalletDirectoryEntry> findByVendorUserIdInAndVendorUsernameIsNotNull(Collection<UUID> vendorUserIds);
+
+    /** The merchant's vendor wallets with their balance row (null until the first credit / debit event), by username. */
+    @Query("SELECT d, b FROM WalletDirectoryEntry d LEFT JOIN WalletBalance b ON b.walletId = d.walletId "
+            + "WHERE d.merchantId = :merchantId AND d.walletType = 'VENDOR' ORDER BY d.vendorUsername, d.currencyCode")
+    List<Object[]> findVendorWalletsWithBalance(@Param("merchantId") UUID merchantId);
+}
@@ -0,0 +1,63 @@
+package com.orchexpay.payoutorchestrator.repositories;
+
+import com.orchexpay.payoutorchestrator.enums.WebhookStatus;
+import com.orchexpay.payoutorchestrator.models.WebhookInboxEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface WebhookInboxRepository extends JpaRepository<WebhookInboxEntry, UUID> {
+
+    /** Stores a new PENDING entry due now; returns 0 (and changes nothing) if the same webhook is already in the inbox. */
+    @Modifying
+    @Query(value = "INSERT INTO webhook_inbox (id, kind, merchant_id, order_id, vendor_id, amount, currency_code, "
+            + "escrow_wallet_id, main_wallet_id, vendor_wallet_id, status, deliveries, attempts, next_attempt_at, received_at, updated_at) "
+            + "VALUES (:id, :kind, :merchantId, :orderId, :vendorId, :amount, :currencyCode, "
+            + "CAST(:escrowWalletId AS uuid), CAST(:mainWalletId AS uuid), CAST(:vendorWalletId AS uuid), 'PENDING', 1, 0, :now, :now, :now) "
+            + "ON CONFLICT (kind, merchant_id, order_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("id") UUID id, @Param("kind") String kind, @Param("merchantId") UUID merchantId,
+                       @Param("orderId") String orderId, @Param("vendorId") UUID vendorId, @Param("amount") BigDecimal amount,
+                       @Param("currencyCode") String currencyCode, @Param("escrowWalletId") String escrowWalletId,
+                       @Param("mainWalletId") String mainWalletId, @Param("vendorWalletId") String vendorWalletId,
+                       @Param("now") Instant now);
+
+    /**
+     * Coalesces a duplicate delivery into the existing entry. A FAILED entry is re-armed (PENDING, due now, attempts
+     * reset) so resending a webhook retries it, as it would have with the synchronous endpoint.
+     */
+    @Modifying
+    @Query(value = "UPDATE webhook_inbox SET deliveries = deliveries + 1, updated_at = :now, "
+            + "attempts = CASE WHEN status = 'FAILED' THEN 0 ELSE attempts END, "
+            + "next_attempt_at = CASE WHEN status = 'FAILED' THEN :now ELSE next_attempt_at END, "
+            + "status = CASE WHEN status = 'FAILED' THEN 'PENDING' ELSE status END "
+            + "WHERE kind = :kind AND merchant_id = :merchantId AND order_id = :orderId", nativeQuery = true)
+    int recordRedelivery(@Param("kind") String kind, @Param("merchantId") UUID merchantId, @Param("orderId") String orderId,
+                         @Param("now") Instant now);
+
+    /**
+     * Locks up to :limit due PENDING entries, oldest first, with SKIP LOCKED so several pollers never claim the same row.
+     * An order completion is held back while its order's payment is still PENDING, so escrow is credited before it is split.
+     * Caller must lease them in the same transaction.
+     */
+    @Query(value = "SELECT w.* FROM webhook_inbox w WHERE w.status = 'PENDING' AND w.next_attempt_at <= :now "
+            + "AND NOT (w.kind = 'ORDER_COMPLETE' AND EXISTS (SELECT 1 FROM webhook_inbox p WHERE p.kind = 'PAYMENT_SUCCESS' "
+            + "AND p.merchant_id = w.merchant_id AND p.order_id = w.order_id AND p.status = 'PENDING')) "
+            + "ORDER BY w.next_attempt_at LIMIT :limit FOR UPDATE OF w SKIP LOCKED", nativeQuery = true)
+    List<WebhookInboxEntry> lockDue(@Param("now") Instant now, @Param("limit") int limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE WebhookInboxEntry e SET e.status = :status, e.nextAttemptAt = null, e.lastError = null, e.updatedAt = :now "
+            + "WHERE e.id IN :ids")
+    int markAll(@Param("ids") Collection<UUID> ids, @Param("status") WebhookStatus status, @Param("now") Instant now);
+
+    @Modifying
+    @Query("DELETE FROM WebhookInboxEntry e WHERE e.status = :status AND e.updatedAt < :cutoff")
+    int deleteByStatusAndUpdatedAtBefore(@Param("status") WebhookStatus status, @Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,146 @@
+package com.orchexpay.payoutorchestrator.services;
+
+import com.orchexpay.payoutorchestrator.models.CommissionTier;
+import com.orchexpay.payoutorchestrator.models.MerchantCommission;
+import com.orchexpay.payoutorchestrator.repositories.CommissionTierRepository;
+import com.orchexpay.payoutorchestrator.repositories.MerchantCommissionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded LRU cache of compiled {@link CommissionCalculator}s by merchantId, including "not configured" (NONE) so
+ * unknown merchants do not hit the DB on every webhook either. CommissionController invalidates on update; entries also
+ * expire after ttl so other instances pick up a change without cross-instance invalidation.
+ * <p>
+ * A load that read the config before a concurrent update is not stored (generation check), so invalidation cannot be
+ * undone by an in-flight miss.
+ */
+@Component
+public class CommissionCache {
+
+    private record Entry(CommissionCalculator calculator, long loadedAtNanos) {}
+
+    private final MerchantCommissionRepository commissionRepository;
+    private final CommissionTierRepository tierRepository;
+    private final Map<UUID, Entry> entries;
+    private final AtomicLong generation = new AtomicLong();
+    private final long ttlNanos;
+    private final Counter hits;
+    private final Counter misses;
+
+    public CommissionCache(MerchantCommissionRepository commissionRepository, CommissionTierRepository tierRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${orchexpay.commission.cache.max-size:10000}") int maxSize,
+                           @Value("${orchexpay.commission.cache.ttl-ms:60000}") long ttlMillis) {
+        this.commissionRepository = commissionRepository;
+        this.tierRepository = tierRepository;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.entries = new LinkedHashMap<>(Math.min(maxSize, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+        this.hits = Counter.builder("commission.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("commission.cache.requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("commission.cache.size", this, CommissionCache::size).register(meterRegistry);
+    }
+
+    public CommissionCalculator get(UUID merchantId) {
+        CommissionCalculator cached = cached(merchantId, System.nanoTime());
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        long gen = generation.get();
+        CommissionCalculator calculator = commissionRepository.findByMerchantId(merchantId)
+                .map(config -> CommissionCalculator.compile(config, tierRepository.findByMerchantId(merchantId)))
+                .orElse(CommissionCalculator.NONE);
+        store(Map.of(merchantId, calculator), gen);
+        return calculator;
+    }
+
+    /** Calculators for many merchants; all misses are loaded with one query for configs and one for their tiers. */
+    public Map<UUID, CommissionCalculator> getAll(Collection<UUID> merchantIds) {
+        long now = System.nanoTime();
+        Map<UUID, CommissionCalculator> result = new HashMap<>();
+        Set<UUID> missing = new LinkedHashSet<>();
+        for (UUID merchantId : merchantIds) {
+            if (result.containsKey(merchantId) || missing.contains(merchantId)) {
+                continue;
+            }
+            CommissionCalculator cached = cached(merchantId, now);
+            if (cached != null) {
+                result.put(merchantId, cached);
+            } else {
+                missing.add(merchantId);
+            }
+        }
+        hits.increment(result.size());
+        if (missing.isEmpty()) {
+            return result;
+        }
+        misses.increment(missing.size());
+        long gen = generation.get();
+        Map<UUID, CommissionCalculator> loaded = new HashMap<>();
+        for (UUID merchantId : missing) {
+            loaded.put(merchantId, CommissionCalculator.NONE);
+        }
+        List<MerchantCommission> configs = commissionRepository.findByMerchantIdIn(missing);
+        Map<UUID, List<CommissionTier>> tiers = configs.isEmpty() ? Map.of()
+                : tierRepository.findByMerchantIdIn(missing).stream().collect(Collectors.groupingBy(CommissionTier::getMerchantId));
+        for (MerchantCommission config : configs) {
+            loaded.put(config.getMerchantId(), CommissionCalculator.compile(config, tiers.getOrDefault(config.getMerchantId(), List.of())));
+        }
+        store(loaded, gen);
+        result.putAll(loaded);
+        return result;
+    }
+
+    /** Call after the merchant's commission config changed (committed). */
+    public void invalidate(UUID merchantId) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.remove(merchantId);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private CommissionCalculator cached(UUID merchantId, long now) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(merchantId);
+        }
+        return entry != null && now - entry.loadedAtNanos() < ttlNanos ? entry.calculator() : null;
+    }
+
+    private void store(Map<UUID, CommissionCalculator> loaded, long loadedAtGeneration) {
+        long now = System.nanoTime();
+        synchronized (entries) {
+            if (generation.get() != loadedAtGeneration) {
+                return;
+            }
+            loaded.forEach((merchantId, calculator) -> entries.put(merchantId, new Entry(calculator, now)));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.orchexpay.payoutorchestrator.services;
+
+import com.orchexpay.payoutorchestrator.models.CommissionTier;
+import com.orchexpay.payoutorchestrator.models.MerchantCommission;
+import com.orchexpay.payoutorchestrator.enums.CommissionType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * A merchant's commission config compiled into an immutable function of the order amount (see {@link CommissionCache}).
+ * Every type compiles to a {@link CommissionTierTable} (PERCENTAGE / FIXED_PLUS_PERCENTAGE are a single tier from 0);
+ * vendors with override tiers get their own table via {@link #forVendor(UUID)}.
+ */
+public sealed interface CommissionCalculator permits CommissionCalculator.None, CommissionCalculator.VendorOverrides, CommissionTierTable {
+
+    int SCALE = 4;
+    RoundingMode ROUNDING = RoundingMode.HALF_UP;
+
+    /** Merchant has no commission config: platform share 0, and payments are refused (see hasCommissionConfigured). */
+    CommissionCalculator NONE = new None();
+
+    BigDecimal platformShare(BigDecimal orderAmount);
+
+    /** Platform share in fixed-point units (scale 4) for an order amount in units; allocation-free for tier tables. */
+    long platformShareUnits(long amountUnits);
+
+    /** The schedule that applies to this vendor's orders (the merchant's, unless the vendor has override tiers). */
+    default CommissionCalculator forVendor(UUID vendorId) {
+        return this;
+    }
+
+    default boolean configured() {
+        return true;
+    }
+
+    /** Vendor share = orderAmount - platformShare, rounded to scale. */
+    default BigDecimal vendorShare(BigDecimal orderAmount) {
+        return orderAmount.subtract(platformShare(orderAmount)).setScale(SCALE, ROUNDING);
+    }
+
+    /**
+     * @param tiers all of the merchant's CommissionTier rows; merchant tiers (vendorId null) are used only for TIERED
+     * @throws IllegalArgumentException if a schedule has two tiers with the same threshold
+     */
+    static CommissionCalculator compile(MerchantCommission config, List<CommissionTier> tiers) {
+        List<CommissionTier> merchantTiers = config.getCommissionType() == CommissionType.TIERED
+                ? tiers.stream().filter(t -> t.getVendorId() == null).toList()
+                : List.of();
+        CommissionTierTable merchantDefault = CommissionTierTable.of(config, merchantTiers);
+        Map<UUID, List<CommissionTier>> byVendor = tiers.stream()
+                .filter(t -> t.getVendorId() != null)
+                .collect(Collectors.groupingBy(CommissionTier::getVendorId));
+        if (byVendor.isEmpty()) {
+            return merchantDefault;
+        }
+        Map<UUID, CommissionTierTable> overrides = new HashMap<>();
+        byVendor.forEach((vendorId, vendorTiers) -> overrides.put(vendorId, CommissionTierTable.of(config, vendorTiers)));
+        return new VendorOverrides(merchantDefault, Map.copyOf(overrides));
+    }
+
+    record None() implements CommissionCalculator {
+        @Override
+        public BigDecimal platformShare(BigDecimal orderAmount) {
+            return BigDecimal.ZERO;
+        }
+
+        @Override
+        public long platformShareUnits(long amountUnits) {
+            return 0;
+        }
+
+        @Override
+        public boolean configured() {
+            return false;
+        }
+    }
+
+    record VendorOverrides(CommissionTierTable merchantDefault, Map<UUID, CommissionTierTable> byVendor) implements CommissionCalculator {
+        @Override
+        public BigDecimal platformShare(BigDecimal orderAmount) {
+            return merchantDefault.platformShare(orderAmount);
+        }
+
+        @Override
+        public long platformShareUnits(long amountUnits) {
+            return merchantDefault.platformShareUnits(amountUnits);
+        }
+
+        @Override
+        public CommissionCalculator forVendor(UUID vendorId) {
+            CommissionTierTable table = vendorId != null ? byVendor.get(vendorId) : null;
+            return table != null ? table : merchantDefault;
+        }
+    }
+}
@@ -1,67 +1,120 @@
 package com.orchexpay.payoutorchestrator.services;
 
-import com.orchexpay.payoutorchestrator.enums.CommissionType;
+import com.orchexpay.payoutorchestrator.models.CommissionTier;
 import com.orchexpay.payoutorchestrator.models.MerchantCommission;
+import com.orchexpay.payoutorchestrator.repositories.CommissionTierRepository;
 import com.orchexpay.payoutorchestrator.repositories.MerchantCommissionRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
  * Scalable commission logic: computes platform (merchant) share from order amount.
  * Default: 0% if no config; add new CommissionType without breaking existing.
+ * Configs are read through {@link CommissionCache} as compiled calculators, so webhooks do not query the DB.
+ * Types, tiers, per-vendor overrides and floor / cap: see {@link CommissionCalculator} and {@link CommissionTierTable}.
  */
 @Service
 public class CommissionService {
 
-    private static final int SCALE = 4;
-    private static final RoundingMode ROUNDING = RoundingMode.HALF_UP;
-
+    private final CommissionCache commissionCache;
     private final MerchantCommissionRepository commissionRepository;
+    private final CommissionTierRepository tierRepository;
 
-    public CommissionService(MerchantCommissionRepository commissionRepository) {
+    public CommissionService(CommissionCache commissionCache, MerchantCommissionRepository commissionRepository,
+                             CommissionTierRepository tierRepository) {
+        this.commissionCache = commissionCache;
         this.commissionRepository = commissionRepository;
+        this.tierRepository = tierRepository;
+    }
+
+    /**
+     * Creates or replaces the merchant's commission config together with all its tiers (merchant and vendor overrides),
+     * in one transaction. The rules are compiled first, so an invalid schedule is rejected before anything is written.
+     * Callers invalidate {@link CommissionCache} after this returns (committed).
+     * @throws IllegalArgumentException if a schedule repeats a tier threshold
+     */
+    @Transactional
+    public MerchantCommission saveCommission(MerchantCommission update, List<CommissionTier> tiers) {
+        CommissionCalculator.compile(update, tiers);
+        Instant now = Instant.now();
+        MerchantCommission config = commissionRepository.findByMerchantId(update.getMerchantId()).orElseGet(() -> {
+            MerchantCommission c = new MerchantCommission();
+            c.setId(UUID.randomUUID());
+            c.setMerchantId(update.getMerchantId());
+            c.setCreatedAt(now);
+            return c;
+        });
+        config.setCommissionType(update.getCommissionType());
+        config.setPercentageValue(update.getPercentageValue());
+        config.setFixedAmount(update.getFixedAmount());
+        config.setCurrencyCode(update.getCurrencyCode());
+        config.setMinCommission(update.getMinCommission());
+        config.setMaxCommission(update.getMaxCommission());
+        config.setUpdatedAt(now);
+        config = commissionRepository.save(config);
+        tierRepository.deleteByMerchantId(config.getMerchantId());
+        for (CommissionTier tier : tiers) {
+            tier.setId(UUID.randomUUID());
+            tier.setMerchantId(config.getMerchantId());
+            tier.setCreatedAt(now);
+        }
+        tierRepository.saveAll(tiers);
+        return config;
     }
 
     /**
      * Returns true if the merchant has commission configured (required before accepting payments).
      */
     public boolean hasCommissionConfigured(UUID merchantId) {
-        return commissionRepository.findByMerchantId(merchantId).isPresent();
+        return commissionCache.get(merchantId).configured();
     }
 
     /**
      * Platform share (commission) for the given order amount. Vendor share = orderAmount - platformShare.
      */
     public BigDecimal computePlatformShare(UUID merchantId, BigDecimal orderAmount, String currencyCode) {
-        return commissionRepository.findByMerchantId(merchantId)
-                .map(config -> compute(config, orderAmount, currencyCode))
-                .orElse(BigDecimal.ZERO);
+        return commissionCache.get(merchantId).platformShare(orderAmount);
     }
 
     /**
      * Vendor share = orderAmount - platformShare. Rounded to scale.
      */
     public BigDecimal computeVendorShare(UUID merchantId, BigDecimal orderAmount, String currencyCode) {
-        BigDecimal platformShare = computePlatformShare(merchantId, orderAmount, currencyCode);
-        return orderAmount.subtract(platformShare).setScale(SCALE, ROUNDING);
+        return commissionCache.get(merchantId).vendorShare(orderAmount);
     }
 
-    private BigDecimal compute(MerchantCommission config, BigDecimal orderAmount, String currencyCode) {
-        if (config.getCommissionType() == CommissionType.PERCENTAGE) {
-            return orderAmount
-                    .multiply(config.getPercentageValue())
-                    .divide(BigDecimal.valueOf(100), SCALE, ROUNDING);
-        }
-        if (config.getCommissionType() == CommissionType.FIXED_PLUS_PERCENTAGE) {
-            BigDecimal fixed = config.getFixedAmount() != null ? config.getFixedAmount() : BigDecimal.ZERO;
-            BigDecimal pct = orderAmount
-                    .multiply(config.getPercentageValue())
-                    .divide(BigDecimal.valueOf(100), SCALE, ROUNDING);
-            return fixed.add(pct).setScale(SCALE, ROUNDING);
+    /** Shares for one order of the given vendor (vendor override tiers apply when configured). */
+    public Shares computeShares(UUID merchantId, UUID vendorId, BigDecimal orderAmount) {
+        return shares(commissionCache.get(merchantId).forVendor(vendorId), orderAmount);
+    }
+
+    /**
+     * Shares for many orders (any mix of merchants), in input order. Each merchant's calculator is resolved once and
+     * cache misses are loaded in one query, so the per-order cost is the arithmetic only.
+     */
+    public List<Shares> computeShares(List<OrderAmount> orders) {
+        Map<UUID, CommissionCalculator> calculators = commissionCache.getAll(orders.stream().map(OrderAmount::merchantId).toList());
+        List<Shares> shares = new ArrayList<>(orders.size());
+        for (OrderAmount order : orders) {
+            shares.add(shares(calculators.get(order.merchantId()).forVendor(order.vendorId()), order.amount()));
         }
-        return BigDecimal.ZERO;
+        return shares;
     }
+
+    private static Shares shares(CommissionCalculator calculator, BigDecimal orderAmount) {
+        BigDecimal platformShare = calculator.platformShare(orderAmount);
+        BigDecimal vendorShare = orderAmount.subtract(platformShare).setScale(CommissionCalculator.SCALE, CommissionCalculator.ROUNDING);
+        return new Shares(platformShare, vendorShare);
+    }
+
+    public record OrderAmount(UUID merchantId, UUID vendorId, BigDecimal amount) {}
+
+    public record Shares(BigDecimal platformShare, BigDecimal vendorShare) {}
 }
@@ -0,0 +1,127 @@
+package com.orchexpay.payoutorchestrator.services;
+
+import com.orchexpay.payoutorchestrator.enums.CommissionType;
+import com.orchexpay.payoutorchestrator.models.CommissionTier;
+import com.orchexpay.payoutorchestrator.models.MerchantCommission;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * One commission schedule compiled into parallel primitive arrays sorted by tier threshold. Amounts are fixed-point
+ * longs at scale 4 ("units", 1.2345 → 12345) and rates are percentage * 100 (20.00% → 2000, i.e. the rate at scale 4).
+ * <p>
+ * {@link #platformShareUnits(long)} is the hot path: one binary search, one multiply, HALF_UP rounding and floor / cap
+ * clamping on longs, with no allocation. The floor never lifts the share above the order amount itself, so an order
+ * smaller than the minimum commission goes entirely to the platform rather than leaving the vendor a negative share. Amounts whose product would overflow a long (above ~9 * 10^10 at 100%), and
+ * BigDecimal inputs with more than 4 decimals, take the exact BigDecimal path instead; both give the same result as
+ * orderAmount * percentage / 100 rounded HALF_UP to scale 4.
+ */
+public final class CommissionTierTable implements CommissionCalculator {
+
+    static final int SCALE_UNITS = 10_000;
+
+    private final long[] minAmountUnits;
+    private final long[] rateUnits;
+    private final long[] fixedUnits;
+    private final long floorUnits;
+    private final long capUnits;
+
+    private CommissionTierTable(long[] minAmountUnits, long[] rateUnits, long[] fixedUnits, long floorUnits, long capUnits) {
+        this.minAmountUnits = minAmountUnits;
+        this.rateUnits = rateUnits;
+        this.fixedUnits = fixedUnits;
+        this.floorUnits = floorUnits;
+        this.capUnits = capUnits;
+    }
+
+    /**
+     * Base tier from 0 = config.percentageValue (+ fixedAmount unless PERCENTAGE), then the given tiers by threshold; a
+     * tier at 0 replaces the base. Floor / cap come from the config.
+     */
+    static CommissionTierTable of(MerchantCommission config, List<CommissionTier> tiers) {
+        List<CommissionTier> sorted = tiers.stream()
+                .sorted(Comparator.comparing(CommissionTier::getMinOrderAmount))
+                .toList();
+        boolean hasZeroTier = !sorted.isEmpty() && sorted.get(0).getMinOrderAmount().signum() == 0;
+        int n = sorted.size() + (hasZeroTier ? 0 : 1);
+        long[] min = new long[n];
+        long[] rate = new long[n];
+        long[] fixed = new long[n];
+        int i = 0;
+        if (!hasZeroTier) {
+            rate[0] = rateUnits(config.getPercentageValue());
+            fixed[0] = config.getCommissionType() == CommissionType.PERCENTAGE ? 0 : units(config.getFixedAmount());
+            i = 1;
+        }
+        for (CommissionTier tier : sorted) {
+            min[i] = units(tier.getMinOrderAmount());
+            if (i > 0 && min[i] <= min[i - 1]) {
+                throw new IllegalArgumentException("Duplicate commission tier threshold " + tier.getMinOrderAmount());
+            }
+            rate[i] = rateUnits(tier.getPercentageValue());
+            fixed[i] = units(tier.getFixedAmount());
+            i++;
+        }
+        long floor = config.getMinCommission() != null ? units(config.getMinCommission()) : Long.MIN_VALUE;
+        long cap = config.getMaxCommission() != null ? units(config.getMaxCommission()) : Long.MAX_VALUE;
+        return new CommissionTierTable(min, rate, fixed, floor, cap);
+    }
+
+    /** Platform share in units for a non-negative order amount in units. Allocation-free unless the product overflows. */
+    @Override
+    public long platformShareUnits(long amountUnits) {
+        int i = tierIndex(amountUnits);
+        long rate = rateUnits[i];
+        long product = amountUnits * rate;
+        if (Math.multiplyHigh(amountUnits, rate) != 0 || product < 0) {
+            return exactShare(BigDecimal.valueOf(amountUnits, 4)).movePointRight(4).longValueExact();
+        }
+        long share = fixedUnits[i] + (product + SCALE_UNITS / 2) / SCALE_UNITS;
+        return clamp(share, amountUnits);
+    }
+
+    @Override
+    public BigDecimal platformShare(BigDecimal orderAmount) {
+        if (orderAmount.signum() >= 0 && orderAmount.scale() <= 4 && orderAmount.precision() - orderAmount.scale() <= 14) {
+            return BigDecimal.valueOf(platformShareUnits(orderAmount.movePointRight(4).longValueExact()), 4);
+        }
+        return exactShare(orderAmount);
+    }
+
+    private int tierIndex(long amountUnits) {
+        int i = Arrays.binarySearch(minAmountUnits, amountUnits);
+        return i >= 0 ? i : Math.max(-i - 2, 0);
+    }
+
+    private BigDecimal exactShare(BigDecimal orderAmount) {
+        // Tier by the amount truncated to units, so 99.99999 stays below a 100.0000 threshold
+        long amountFloor = orderAmount.signum() <= 0 ? 0
+                : orderAmount.min(BigDecimal.valueOf(Long.MAX_VALUE, 4)).setScale(4, RoundingMode.DOWN).movePointRight(4).longValue();
+        int i = tierIndex(amountFloor);
+        BigDecimal share = BigDecimal.valueOf(fixedUnits[i], 4)
+                .add(orderAmount.multiply(BigDecimal.valueOf(rateUnits[i], 4)).setScale(SCALE, ROUNDING));
+        if (floorUnits != Long.MIN_VALUE) {
+            share = share.max(BigDecimal.valueOf(floorUnits, 4).min(orderAmount));
+        }
+        if (capUnits != Long.MAX_VALUE) {
+            share = share.min(BigDecimal.valueOf(capUnits, 4));
+        }
+        return share.setScale(SCALE, ROUNDING);
+    }
+
+    private long clamp(long share, long amountUnits) {
+        return Math.min(Math.max(share, Math.min(floorUnits, amountUnits)), capUnits);
+    }
+
+    private static long units(BigDecimal amount) {
+        return amount == null ? 0 : amount.setScale(4, ROUNDING).movePointRight(4).longValueExact();
+    }
+
+    private static long rateUnits(BigDecimal percentage) {
+        return percentage.setScale(2, ROUNDING).movePointRight(2).longValueExact();
+    }
+}
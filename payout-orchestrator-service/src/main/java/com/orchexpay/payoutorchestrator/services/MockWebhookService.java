@@ -1,20 +1,22 @@
 package com.orchexpay.payoutorchestrator.services;
 
+import com.orchexpay.payoutorchestrator.clients.AsyncWalletServiceClient;
 import com.orchexpay.payoutorchestrator.clients.WalletServiceClient;
 import com.orchexpay.payoutorchestrator.models.PendingOrder;
-import com.orchexpay.payoutorchestrator.repositories.PendingOrderRepository;
+import com.orchexpay.payoutorchestrator.models.VendorPendingSummary;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Handles mock payment and order-complete webhooks: credits escrow, then distributes by commission.
- * Tracks pending orders (payment success but not split) per vendor for UI.
+ * Tracks pending orders (payment success but not split) per vendor for UI, through {@link PendingOrderService}.
  */
 @Service
 public class MockWebhookService {
@@ -22,26 +24,33 @@ public class MockWebhookService {
     private static final Logger log = LoggerFactory.getLogger(MockWebhookService.class);
 
     private final WalletServiceClient walletServiceClient;
+    private final AsyncWalletServiceClient asyncWalletServiceClient;
     private final CommissionService commissionService;
-    private final PendingOrderRepository pendingOrderRepository;
+    private final PendingOrderService pendingOrderService;
 
-    public MockWebhookService(WalletServiceClient walletServiceClient, CommissionService commissionService,
-                              PendingOrderRepository pendingOrderRepository) {
+    public MockWebhookService(WalletServiceClient walletServiceClient, AsyncWalletServiceClient asyncWalletServiceClient,
+                              CommissionService commissionService, PendingOrderService pendingOrderService) {
         this.walletServiceClient = walletServiceClient;
+        this.asyncWalletServiceClient = asyncWalletServiceClient;
         this.commissionService = commissionService;
-        this.pendingOrderRepository = pendingOrderRepository;
+        this.pendingOrderService = pendingOrderService;
     }
 
     /**
      * Simulates payment gateway success: credit merchant ESCROW and record pending order for vendor. Idempotent by orderId.
      * When requestBearerToken is present, it is forwarded to wallet-service so the credit is authorized as that user (e.g. MERCHANT).
+     * The ESCROW lookup is started before the commission check so the wallet-service round trip overlaps the DB read.
      * @throws IllegalStateException if merchant has not configured commission (payment cannot be made unless commission is added)
      */
     public void handlePaymentSuccess(UUID merchantId, UUID vendorId, String orderId, BigDecimal amount, String currencyCode, UUID escrowWalletId, java.util.Optional<String> requestBearerToken) {
-        if (!commissionService.hasCommissionConfigured(merchantId)) {
-            throw new IllegalStateException("Payment cannot be made unless commission is added. Please configure commission in Commission settings first.");
+        CompletableFuture<UUID> escrowLookup = asyncWalletServiceClient.getWalletByType(escrowWalletId, merchantId, currencyCode, "ESCROW", null);
+        try {
+            requireCommissionConfigured(merchantId);
+        } catch (IllegalStateException e) {
+            escrowLookup.cancel(false);
+            throw e;
         }
-        UUID walletId = escrowWalletId != null ? escrowWalletId : walletServiceClient.getWalletByType(merchantId, currencyCode, "ESCROW", null);
+        UUID walletId = AsyncWalletServiceClient.await(escrowLookup);
         String idempotencyKey = "mock-payment-" + orderId;
         walletServiceClient.creditWallet(
                 walletId,
@@ -53,65 +62,95 @@ public class MockWebhookService {
                 idempotencyKey,
                 requestBearerToken != null ? requestBearerToken : java.util.Optional.empty());
 
-        Instant now = Instant.now();
-        pendingOrderRepository.findByMerchantIdAndOrderId(merchantId, orderId)
-                .ifPresentOrElse(
-                        existing -> {
-                            existing.setVendorId(vendorId);
-                            existing.setAmount(amount);
-                            existing.setCurrencyCode(currencyCode);
-                            pendingOrderRepository.save(existing);
-                            log.info("Mock payment success (updated pending): order {} vendor {} amount {}", orderId, vendorId, amount);
-                        },
-                        () -> {
-                            PendingOrder pending = new PendingOrder();
-                            pending.setId(UUID.randomUUID());
-                            pending.setMerchantId(merchantId);
-                            pending.setVendorId(vendorId);
-                            pending.setOrderId(orderId);
-                            pending.setAmount(amount);
-                            pending.setCurrencyCode(currencyCode);
-                            pending.setSplitDone(false);
-                            pending.setCreatedAt(now);
-                            pendingOrderRepository.save(pending);
-                            log.info("Mock payment success: order {} amount {} credited to escrow {}, pending order recorded for vendor {}", orderId, amount, walletId, vendorId);
-                        }
-                );
+        pendingOrderService.recordPaid(List.of(new PendingOrderService.PaidOrder(merchantId, vendorId, orderId, amount, currencyCode)));
+        log.info("Mock payment success: order {} amount {} credited to escrow {}, pending order recorded for vendor {}", orderId, amount, walletId, vendorId);
+    }
+
+    /** @throws IllegalStateException if merchant has not configured commission (payments are refused until it is added) */
+    public void requireCommissionConfigured(UUID merchantId) {
+        if (!commissionService.hasCommissionConfigured(merchantId)) {
+            throw new IllegalStateException("Payment cannot be made unless commission is added. Please configure commission in Commission settings first.");
+        }
     }
 
     /**
      * Simulates order completion: distribute ESCROW to VENDOR and MAIN by commission. Idempotent by orderId-split.
      * Marks the pending order as splitDone. When requestBearerToken is present, forwards it so wallet-service authorizes as that user (e.g. MERCHANT).
+     * Missing ESCROW / MAIN / VENDOR ids are resolved concurrently (one round trip), overlapping the commission computation.
      */
     public void handleOrderComplete(UUID merchantId, String orderId, BigDecimal amount, String currencyCode,
                                     UUID vendorId, UUID escrowWalletId, UUID mainWalletId, UUID vendorWalletId,
                                     java.util.Optional<String> requestBearerToken) {
-        UUID escrow = escrowWalletId != null ? escrowWalletId : walletServiceClient.getWalletByType(merchantId, currencyCode, "ESCROW", null);
-        UUID main = mainWalletId != null ? mainWalletId : walletServiceClient.getWalletByType(merchantId, currencyCode, "MAIN", null);
-        UUID vendor = vendorWalletId != null ? vendorWalletId : walletServiceClient.getWalletByType(merchantId, currencyCode, "VENDOR", vendorId);
+        OrderCompletion order = new OrderCompletion(merchantId, orderId, amount, currencyCode, vendorId, escrowWalletId, mainWalletId, vendorWalletId);
+        WalletLookups wallets = lookupWallets(order);
+        CommissionService.Shares shares = commissionService.computeShares(merchantId, vendorId, amount);
+        completeOrder(order, wallets, shares, requestBearerToken);
+    }
+
+    /**
+     * Batch variant of {@link #handleOrderComplete}: all commission shares are computed up front in one pass (configs
+     * resolved once per merchant), then each order is split. A failed order does not stop the rest; its orderId is
+     * returned in failedOrderIds and it can be resent (each split is idempotent).
+     */
+    public OrderBatchResult handleOrdersComplete(List<OrderCompletion> orders, java.util.Optional<String> requestBearerToken) {
+        List<CommissionService.Shares> shares = commissionService.computeShares(orders.stream()
+                .map(o -> new CommissionService.OrderAmount(o.merchantId(), o.vendorId(), o.amount()))
+                .toList());
+        List<String> failed = new ArrayList<>();
+        for (int i = 0; i < orders.size(); i++) {
+            OrderCompletion order = orders.get(i);
+            try {
+                completeOrder(order, lookupWallets(order), shares.get(i), requestBearerToken);
+            } catch (RuntimeException e) {
+                failed.add(order.orderId());
+                log.warn("Mock order complete failed for order {}: {}", order.orderId(), e.getMessage());
+            }
+        }
+        return new OrderBatchResult(orders.size() - failed.size(), failed);
+    }
+
+    private WalletLookups lookupWallets(OrderCompletion order) {
+        return new WalletLookups(
+                asyncWalletServiceClient.getWalletByType(order.escrowWalletId(), order.merchantId(), order.currencyCode(), "ESCROW", null),
+                asyncWalletServiceClient.getWalletByType(order.mainWalletId(), order.merchantId(), order.currencyCode(), "MAIN", null),
+                asyncWalletServiceClient.getWalletByType(order.vendorWalletId(), order.merchantId(), order.currencyCode(), "VENDOR", order.vendorId()));
+    }
 
-        BigDecimal platformShare = commissionService.computePlatformShare(merchantId, amount, currencyCode);
-        BigDecimal vendorShare = amount.subtract(platformShare).setScale(4, java.math.RoundingMode.HALF_UP);
+    private void completeOrder(OrderCompletion order, WalletLookups wallets, CommissionService.Shares shares,
+                               java.util.Optional<String> requestBearerToken) {
+        UUID escrow = AsyncWalletServiceClient.await(wallets.escrow());
+        UUID main = AsyncWalletServiceClient.await(wallets.main());
+        UUID vendor = AsyncWalletServiceClient.await(wallets.vendor());
 
+        String orderId = order.orderId();
         String referenceId = orderId + "-split";
         String idempotencyKey = "mock-split-" + orderId;
         List<WalletServiceClient.TransferLeg> legs = List.of(
-                new WalletServiceClient.TransferLeg(vendor, vendorShare),
-                new WalletServiceClient.TransferLeg(main, platformShare)
+                new WalletServiceClient.TransferLeg(vendor, shares.vendorShare()),
+                new WalletServiceClient.TransferLeg(main, shares.platformShare())
         );
-        walletServiceClient.transfer(escrow, referenceId, currencyCode, amount, legs, "Order split " + orderId, idempotencyKey,
+        walletServiceClient.transfer(escrow, referenceId, order.currencyCode(), order.amount(), legs, "Order split " + orderId, idempotencyKey,
                 requestBearerToken != null ? requestBearerToken : java.util.Optional.empty());
 
-        pendingOrderRepository.findByMerchantIdAndOrderId(merchantId, orderId)
-                .ifPresent(p -> {
-                    p.setSplitDone(true);
-                    pendingOrderRepository.save(p);
-                });
+        pendingOrderService.recordSplit(order.merchantId(), List.of(orderId));
 
-        log.info("Mock order complete: order {} split vendor {} platform {}", orderId, vendorShare, platformShare);
+        log.info("Mock order complete: order {} split vendor {} platform {}", orderId, shares.vendorShare(), shares.platformShare());
     }
 
+    /** One order-complete webhook; wallet ids are optional (resolved by type when null). */
+    public record OrderCompletion(UUID merchantId, String orderId, BigDecimal amount, String currencyCode,
+                                  UUID vendorId, UUID escrowWalletId, UUID mainWalletId, UUID vendorWalletId) {}
+
+    public record OrderBatchResult(int completed, List<String> failedOrderIds) {}
+
+    private record WalletLookups(CompletableFuture<UUID> escrow, CompletableFuture<UUID> main, CompletableFuture<UUID> vendor) {}
+
     public List<PendingOrder> listPendingOrdersByVendor(UUID merchantId, UUID vendorId) {
-        return pendingOrderRepository.findByMerchantIdAndVendorIdAndSplitDoneFalseOrderByCreatedAtDesc(merchantId, vendorId);
+        return pendingOrderService.listUnsplit(merchantId, vendorId);
+    }
+
+    /** Pending order count and total per vendor (and currency) of the merchant, from the maintained summaries. */
+    public List<VendorPendingSummary> pendingSummaryByVendor(UUID merchantId) {
+        return pendingOrderService.summaries(merchantId);
     }
 }
@@ -0,0 +1,201 @@
+package com.orchexpay.payoutorchestrator.services;
+
+import com.orchexpay.payoutorchestrator.enums.PayoutAction;
+import com.orchexpay.payoutorchestrator.enums.PayoutStatus;
+import com.orchexpay.payoutorchestrator.events.PayoutBatchChangedEvent;
+import com.orchexpay.payoutorchestrator.exceptions.PayoutConflictException;
+import com.orchexpay.payoutorchestrator.models.Payout;
+import com.orchexpay.payoutorchestrator.models.PayoutBatch;
+import com.orchexpay.payoutorchestrator.models.PayoutBatchGroup;
+import com.orchexpay.payoutorchestrator.repositories.PayoutBatchRepository;
+import com.orchexpay.payoutorchestrator.repositories.PayoutRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Short transactions for {@link PayoutBatchService}, same pattern as {@link PayoutIntentService}: wallet-service calls
+ * happen between these methods, never inside them. Group transitions are single set-based UPDATEs.
+ */
+@Service
+public class PayoutBatchIntentService {
+
+    private static final int FLUSH_EVERY = 500;
+
+    private final PayoutBatchRepository batchRepository;
+    private final PayoutRepository payoutRepository;
+    private final PayoutMetrics metrics;
+    private final PayoutStatsService statsService;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public PayoutBatchIntentService(PayoutBatchRepository batchRepository, PayoutRepository payoutRepository,
+                                    PayoutMetrics metrics, PayoutStatsService statsService, EntityManager entityManager,
+                                    ApplicationEventPublisher eventPublisher) {
+        this.batchRepository = batchRepository;
+        this.payoutRepository = payoutRepository;
+        this.metrics = metrics;
+        this.statsService = statsService;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Returns the batch already stored under the idempotency key, or stores a CREATED batch with one CREATED payout per item.
+     * Payouts are persisted (not merged) and flushed in chunks so the inserts go out as JDBC batches.
+     */
+    @Transactional
+    public PayoutBatch createBatch(UUID merchantId, String currencyCode, List<PayoutBatchService.BatchItem> items, String idempotencyKey) {
+        var existing = batchRepository.findByIdempotencyKey(idempotencyKey);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        Instant now = Instant.now();
+        PayoutBatch batch = new PayoutBatch();
+        batch.setId(UUID.randomUUID());
+        batch.setMerchantId(merchantId);
+        batch.setCurrencyCode(currencyCode);
+        batch.setStatus(PayoutStatus.CREATED);
+        batch.setPayoutCount(items.size());
+        batch.setTotalAmount(items.stream().map(PayoutBatchService.BatchItem::amount).reduce(BigDecimal.ZERO, BigDecimal::add));
+        batch.setIdempotencyKey(idempotencyKey);
+        batch.setCreatedAt(now);
+        batch.setUpdatedAt(now);
+        entityManager.persist(batch);
+        for (int i = 0; i < items.size(); i++) {
+            PayoutBatchService.BatchItem item = items.get(i);
+            Payout payout = Payout.builder()
+                    .id(UUID.randomUUID())
+                    .merchantId(merchantId)
+                    .vendorId(item.vendorId())
+                    .vendorWalletId(item.vendorWalletId())
+                    .amount(item.amount())
+                    .currencyCode(currencyCode)
+                    .status(PayoutStatus.CREATED)
+                    .idempotencyKey(idempotencyKey + "#" + i)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build();
+            payout.setBatchId(batch.getId());
+            payout.setStatusChangedAt(now);
+            entityManager.persist(payout);
+            if ((i + 1) % FLUSH_EVERY == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        statsService.recordCreated(merchantId, items.size(), batch.getTotalAmount());
+        return batch;
+    }
+
+    @Transactional(readOnly = true)
+    public java.util.Optional<PayoutBatch> find(UUID batchId) {
+        return batchRepository.findById(batchId);
+    }
+
+    @Transactional(readOnly = true)
+    public PayoutBatch load(UUID batchId) {
+        return batchRepository.findById(batchId).orElseThrow(() -> new IllegalArgumentException("Payout batch not found: " + batchId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<PayoutBatchGroup> groups(UUID batchId, PayoutStatus status) {
+        return payoutRepository.groupBatchByWallet(batchId, status);
+    }
+
+    /** Reserve of one vendor wallet's total succeeded: all its payouts CREATED → PROCESSING with the shared ledger entry. */
+    @Transactional
+    public void recordGroupReserved(PayoutBatch batch, PayoutBatchGroup group, UUID ledgerEntryId) {
+        int n = payoutRepository.resolveBatchGroupReserve(batch.getId(), group.vendorWalletId(), ledgerEntryId, PayoutStatus.PROCESSING, Instant.now());
+        recordGroupMoved(batch, group, PayoutStatus.CREATED, PayoutStatus.PROCESSING, n);
+    }
+
+    /** Wallet-service refused the wallet's total (e.g. insufficient balance): its payouts CREATED → FAILED, nothing reserved. */
+    @Transactional
+    public void recordGroupRejected(PayoutBatch batch, PayoutBatchGroup group) {
+        int n = payoutRepository.resolveBatchGroupReserve(batch.getId(), group.vendorWalletId(), null, PayoutStatus.FAILED, Instant.now());
+        recordGroupMoved(batch, group, PayoutStatus.CREATED, PayoutStatus.FAILED, n);
+    }
+
+    /**
+     * Records a batch CONFIRM or REVERSE with a conditional claim (see PayoutBatchRepository.claimAction). A retry of the
+     * same action resumes it; the other action is refused while one is in flight. Returns the batch unchanged when it
+     * has nothing left in PROCESSING.
+     * @throws PayoutConflictException if a concurrent request claimed the batch first
+     */
+    @Transactional
+    public PayoutBatch recordIntent(UUID batchId, PayoutAction action) {
+        PayoutBatch batch = batchRepository.findById(batchId).orElseThrow(() -> new IllegalArgumentException("Payout batch not found: " + batchId));
+        if (batch.getPendingAction() != null && batch.getPendingAction() != action) {
+            throw new IllegalStateException("Payout batch " + batchId + " already has a " + batch.getPendingAction() + " in progress");
+        }
+        if (batch.getStatus() != PayoutStatus.PROCESSING) {
+            if (batch.getStatus() == PayoutStatus.CREATED) {
+                throw new IllegalStateException("Payout batch " + batchId + " still has unreserved payouts; resubmit it first");
+            }
+            return batch;
+        }
+        if (batch.getPendingAction() == action) {
+            return batch;
+        }
+        Instant now = Instant.now();
+        if (batchRepository.claimAction(batchId, PayoutStatus.PROCESSING, action, now) == 0) {
+            throw new PayoutConflictException(batchId, "batch " + action + " intent");
+        }
+        batch.setPendingAction(action);
+        batch.setUpdatedAt(now);
+        return batch;
+    }
+
+    /** Confirm / reverse of one shared ledger entry succeeded: its payouts PROCESSING → to. */
+    @Transactional
+    public void recordEntryResolved(PayoutBatch batch, PayoutBatchGroup group, PayoutStatus to) {
+        int n = payoutRepository.transitionBatchEntry(batch.getId(), group.ledgerEntryId(), PayoutStatus.PROCESSING, to, Instant.now());
+        recordGroupMoved(batch, group, PayoutStatus.PROCESSING, to, n);
+    }
+
+    /** A group only ever moves as a whole (one UPDATE), so n is either 0 (a concurrent retry moved it) or the whole group. */
+    private void recordGroupMoved(PayoutBatch batch, PayoutBatchGroup group, PayoutStatus from, PayoutStatus to, int n) {
+        metrics.recordTransitions(from, to, n);
+        if (n > 0) {
+            statsService.recordMoved(batch.getMerchantId(), from, to, n, group.amount());
+        }
+    }
+
+    /**
+     * Derives the batch status from its payouts (CREATED if any unreserved, else PROCESSING if any open, else SETTLED if any
+     * settled, else FAILED). The pending action is kept only while PROCESSING payouts remain and keepIntent is set
+     * (an indeterminate wallet failure the caller should retry); otherwise it is cleared. Publishes a
+     * {@link PayoutBatchChangedEvent} so StuckPayoutSweeper tracks the batch while it has reserved payouts.
+     */
+    @Transactional
+    public PayoutBatch finish(UUID batchId, boolean keepIntent) {
+        PayoutBatch batch = batchRepository.findById(batchId).orElseThrow(() -> new IllegalArgumentException("Payout batch not found: " + batchId));
+        PayoutStatus status;
+        if (payoutRepository.countByBatchIdAndStatus(batchId, PayoutStatus.CREATED) > 0) {
+            status = PayoutStatus.CREATED;
+        } else if (payoutRepository.countByBatchIdAndStatus(batchId, PayoutStatus.PROCESSING) > 0) {
+            status = PayoutStatus.PROCESSING;
+        } else if (payoutRepository.countByBatchIdAndStatus(batchId, PayoutStatus.SETTLED) > 0) {
+            status = PayoutStatus.SETTLED;
+        } else {
+            status = PayoutStatus.FAILED;
+        }
+        batch.setStatus(status);
+        if (status != PayoutStatus.PROCESSING || !keepIntent) {
+            batch.setPendingAction(null);
+        }
+        batch.setUpdatedAt(Instant.now());
+        batch = batchRepository.save(batch);
+        eventPublisher.publishEvent(new PayoutBatchChangedEvent(batchId, status,
+                payoutRepository.findOldestInStatus(batchId, PayoutStatus.PROCESSING)));
+        return batch;
+    }
+}
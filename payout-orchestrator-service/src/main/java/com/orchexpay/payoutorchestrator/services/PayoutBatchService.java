@@ -0,0 +1,180 @@
+package com.orchexpay.payoutorchestrator.services;
+
+import com.orchexpay.payoutorchestrator.clients.AsyncWalletServiceClient;
+import com.orchexpay.payoutorchestrator.clients.WalletServiceClient;
+import com.orchexpay.payoutorchestrator.enums.PayoutAction;
+import com.orchexpay.payoutorchestrator.enums.PayoutStatus;
+import com.orchexpay.payoutorchestrator.models.PayoutBatch;
+import com.orchexpay.payoutorchestrator.models.PayoutBatchGroup;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batch payouts: thousands of payouts in one call, netted per vendor wallet. Each wallet's total is reserved with one
+ * wallet-service operation (run concurrently across wallets), and confirm / reverse act per shared ledger entry.
+ * The netted groups are also the lines of the settlement file handed to the bank adapter.
+ * <p>
+ * Wallet idempotency keys are derived from the batch key and the wallet / ledger entry, so resubmitting a batch (same
+ * Idempotency-Key) or retrying confirm / reverse resumes whatever did not complete.
+ */
+@Service
+public class PayoutBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(PayoutBatchService.class);
+
+    private final PayoutBatchIntentService batchIntentService;
+    private final AsyncWalletServiceClient asyncWalletServiceClient;
+    private final Timer submitTimer;
+    private final MeterRegistry meterRegistry;
+
+    public PayoutBatchService(PayoutBatchIntentService batchIntentService, AsyncWalletServiceClient asyncWalletServiceClient,
+                              MeterRegistry meterRegistry) {
+        this.batchIntentService = batchIntentService;
+        this.asyncWalletServiceClient = asyncWalletServiceClient;
+        this.meterRegistry = meterRegistry;
+        this.submitTimer = Timer.builder("payout.batch.submit").publishPercentileHistogram().register(meterRegistry);
+    }
+
+    /**
+     * Stores the batch and reserves every vendor wallet's total. Groups refused by wallet-service are marked FAILED;
+     * groups that hit an indeterminate error stay CREATED (batch status CREATED) and are retried on resubmission.
+     * @throws IllegalArgumentException if an item's wallet is not its vendor's VENDOR wallet under the merchant
+     */
+    public PayoutBatch submitBatch(UUID merchantId, String currencyCode, List<BatchItem> items, String idempotencyKey,
+                                   Optional<String> requestBearerToken) {
+        long start = System.nanoTime();
+        checkVendorWallets(merchantId, currencyCode, items);
+        PayoutBatch batch = batchIntentService.createBatch(merchantId, currencyCode, items, idempotencyKey);
+        if (batch.getStatus() != PayoutStatus.CREATED) {
+            log.info("Idempotent payout batch: key {} already exists", idempotencyKey);
+            return batch;
+        }
+        UUID batchId = batch.getId();
+        Map<PayoutBatchGroup, CompletableFuture<WalletServiceClient.LedgerEntryResponse>> reserves = new LinkedHashMap<>();
+        for (PayoutBatchGroup group : batchIntentService.groups(batchId, PayoutStatus.CREATED)) {
+            reserves.put(group, asyncWalletServiceClient.reserveWallet(
+                    group.vendorWalletId(), group.amount(), currencyCode, batchId.toString(),
+                    "Vendor payout batch " + batchId + " (" + group.payoutCount() + " payouts)",
+                    idempotencyKey + ":" + group.vendorWalletId() + "-reserve", requestBearerToken));
+        }
+        int failed = 0;
+        for (var e : reserves.entrySet()) {
+            PayoutBatchGroup group = e.getKey();
+            try {
+                var response = AsyncWalletServiceClient.await(e.getValue());
+                batchIntentService.recordGroupReserved(batch, group, response.id());
+            } catch (RuntimeException ex) {
+                failed++;
+                if (PayoutOrchestrationService.isRejected(ex)) {
+                    batchIntentService.recordGroupRejected(batch, group);
+                }
+                log.warn("Batch {} reserve for wallet {} ({} payouts) failed: {}", batchId, group.vendorWalletId(), group.payoutCount(), ex.getMessage());
+            }
+        }
+        batch = batchIntentService.finish(batchId, false);
+        long elapsedNanos = System.nanoTime() - start;
+        submitTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        meterRegistry.counter("payout.batch.payouts").increment(batch.getPayoutCount());
+        log.info("Payout batch {}: {} payouts in {} wallet reserves ({} failed), {} ms, {} payouts/s, status {}",
+                batchId, batch.getPayoutCount(), reserves.size(), failed, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                Math.round(batch.getPayoutCount() / Math.max(elapsedNanos / 1e9, 1e-9)), batch.getStatus());
+        return batch;
+    }
+
+    /** After the bank confirms the settlement file: confirm every reserved ledger entry of the batch. */
+    public PayoutBatch confirmBatch(UUID batchId, String idempotencyKey, Optional<String> requestBearerToken) {
+        return resolveBatch(batchId, PayoutAction.CONFIRM, idempotencyKey, requestBearerToken);
+    }
+
+    /** After the bank rejects the settlement file: reverse every reserved ledger entry, returning funds to vendor wallets. */
+    public PayoutBatch reverseBatch(UUID batchId, String idempotencyKey, Optional<String> requestBearerToken) {
+        return resolveBatch(batchId, PayoutAction.REVERSE, idempotencyKey, requestBearerToken);
+    }
+
+    private PayoutBatch resolveBatch(UUID batchId, PayoutAction action, String idempotencyKey, Optional<String> requestBearerToken) {
+        PayoutBatch batch = batchIntentService.recordIntent(batchId, action);
+        if (batch.getStatus() != PayoutStatus.PROCESSING) {
+            log.info("Idempotent batch {}: {} already {}", action, batchId, batch.getStatus());
+            return batch;
+        }
+        PayoutStatus target = action == PayoutAction.CONFIRM ? PayoutStatus.SETTLED : PayoutStatus.FAILED;
+        Map<PayoutBatchGroup, CompletableFuture<Void>> calls = new LinkedHashMap<>();
+        for (PayoutBatchGroup group : batchIntentService.groups(batchId, PayoutStatus.PROCESSING)) {
+            UUID entryId = group.ledgerEntryId();
+            String key = idempotencyKey + ":" + entryId;
+            calls.put(group, action == PayoutAction.CONFIRM
+                    ? asyncWalletServiceClient.confirmLedgerEntry(entryId, key, requestBearerToken)
+                    : asyncWalletServiceClient.reverseLedgerEntry(entryId, key, requestBearerToken));
+        }
+        boolean retryable = false;
+        for (var e : calls.entrySet()) {
+            try {
+                AsyncWalletServiceClient.await(e.getValue());
+                batchIntentService.recordEntryResolved(batch, e.getKey(), target);
+            } catch (RuntimeException ex) {
+                retryable |= !PayoutOrchestrationService.isRejected(ex);
+                log.warn("Batch {} {} of ledger entry {} failed: {}", batchId, action, e.getKey().ledgerEntryId(), ex.getMessage());
+            }
+        }
+        return batchIntentService.finish(batchId, retryable);
+    }
+
+    /** Resolves each distinct vendor's VENDOR wallet (cached lookups, run concurrently) and matches every item against it. */
+    private void checkVendorWallets(UUID merchantId, String currencyCode, List<BatchItem> items) {
+        Map<UUID, CompletableFuture<UUID>> vendorWallets = new HashMap<>();
+        for (BatchItem item : items) {
+            vendorWallets.computeIfAbsent(item.vendorId(),
+                    vendorId -> asyncWalletServiceClient.getWalletByType(merchantId, currencyCode, "VENDOR", vendorId));
+        }
+        for (int i = 0; i < items.size(); i++) {
+            BatchItem item = items.get(i);
+            UUID vendorWalletId = AsyncWalletServiceClient.await(vendorWallets.get(item.vendorId()));
+            if (!item.vendorWalletId().equals(vendorWalletId)) {
+                throw new IllegalArgumentException("Item " + i + ": wallet " + item.vendorWalletId() + " is not the " + currencyCode
+                        + " VENDOR wallet of vendor " + item.vendorId() + " under merchant " + merchantId);
+            }
+        }
+    }
+
+    public Optional<PayoutBatch> getBatch(UUID batchId) {
+        return batchIntentService.find(batchId);
+    }
+
+    /**
+     * Writes the netted settlement file: one CSV line per (vendor wallet, ledger entry) of the batch, for payouts that are
+     * reserved (PROCESSING) or already settled. Lines are written as they are produced; nothing is buffered per payout.
+     */
+    public void writeSettlementFile(UUID batchId, OutputStream out) throws IOException {
+        PayoutBatch batch = batchIntentService.load(batchId);
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        writer.write("batch_id,vendor_id,vendor_wallet_id,ledger_entry_id,currency_code,amount,payout_count,status\n");
+        for (PayoutStatus status : List.of(PayoutStatus.PROCESSING, PayoutStatus.SETTLED)) {
+            for (PayoutBatchGroup group : batchIntentService.groups(batchId, status)) {
+                writer.write(batchId + "," + group.vendorId() + "," + group.vendorWalletId() + "," + group.ledgerEntryId() + ","
+                        + batch.getCurrencyCode() + "," + group.amount().toPlainString() + "," + group.payoutCount() + "," + status + "\n");
+            }
+        }
+        writer.flush();
+    }
+
+    /** One payout of a batch request. */
+    public record BatchItem(UUID vendorId, UUID vendorWalletId, BigDecimal amount) {}
+}
@@ -0,0 +1,247 @@
+package com.orchexpay.payoutorchestrator.services;
+
+import com.orchexpay.payoutorchestrator.enums.PayoutAction;
+import com.orchexpay.payoutorchestrator.enums.PayoutStatus;
+import com.orchexpay.payoutorchestrator.exceptions.PayoutConflictException;
+import com.orchexpay.payoutorchestrator.models.Payout;
+import com.orchexpay.payoutorchestrator.repositories.PayoutRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Short local transactions around each wallet-service call: record the intent (pendingAction + wallet idempotency key),
+ * commit, let the caller make the remote call with no DB connection held, then record the result. Each method is one
+ * transaction of a few milliseconds; a crash between them leaves the intent behind for PayoutWorker.
+ * <p>
+ * nextAttemptAt is the claim time for PayoutWorker: "now" for queued (pipeline) work, now + lease while a request thread
+ * or worker is making the call, and exponential backoff after a failed attempt. The lease must outlast one wallet call
+ * (pool + connect + read timeouts), otherwise another poll could re-send a call that is still in flight.
+ */
+@Service
+public class PayoutIntentService {
+
+    private final PayoutRepository payoutRepository;
+    private final PayoutStateMachine stateMachine;
+    private final PayoutMetrics metrics;
+    private final PayoutStatsService statsService;
+    private final Duration lease;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+    private final int maxAttempts;
+
+    public PayoutIntentService(PayoutRepository payoutRepository, PayoutStateMachine stateMachine, PayoutMetrics metrics,
+                               PayoutStatsService statsService,
+                               @Value("${orchexpay.payout.worker.lease-ms:60000}") long leaseMs,
+                               @Value("${orchexpay.payout.worker.base-backoff-ms:2000}") long baseBackoffMs,
+                               @Value("${orchexpay.payout.worker.max-backoff-ms:300000}") long maxBackoffMs,
+                               @Value("${orchexpay.payout.worker.max-attempts:8}") int maxAttempts,
+                               @Value("${orchexpay.wallet-service.http.connection-request-timeout-ms:1000}") long poolTimeoutMs,
+                               @Value("${orchexpay.wallet-service.http.connect-timeout-ms:2000}") long connectTimeoutMs,
+                               @Value("${orchexpay.wallet-service.http.read-timeout-ms:5000}") long readTimeoutMs) {
+        long callTimeoutMs = poolTimeoutMs + connectTimeoutMs + readTimeoutMs;
+        if (leaseMs < 2 * callTimeoutMs) {
+            throw new IllegalArgumentException("orchexpay.payout.worker.lease-ms (" + leaseMs + ") must be at least twice the "
+                    + "wallet-service call timeout (" + callTimeoutMs + " ms)");
+        }
+        this.payoutRepository = payoutRepository;
+        this.stateMachine = stateMachine;
+        this.metrics = metrics;
+        this.statsService = statsService;
+        this.lease = Duration.ofMillis(leaseMs);
+        this.baseBackoff = Duration.ofMillis(baseBackoffMs);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMs);
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Returns the payout already stored under the idempotency key, or stores the given CREATED payout with a RESERVE intent.
+     * A returned payout still carrying RESERVE means the reserve call has not been recorded yet and should be (re)made.
+     * queued = true hands the reserve to PayoutWorker immediately; otherwise the caller holds a lease and makes the call.
+     */
+    @Transactional
+    public Payout recordReserveIntent(Payout payout, boolean queued) {
+        var existing = payoutRepository.findByIdempotencyKey(payout.getIdempotencyKey());
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        Instant now = Instant.now();
+        payout.setStatusChangedAt(now);
+        payout.setPendingAction(PayoutAction.RESERVE);
+        payout.setActionIdempotencyKey(payout.getIdempotencyKey() + "-reserve");
+        payout.setActionRequestedAt(now);
+        payout.setNextAttemptAt(queued ? now : now.plus(lease));
+        Payout saved = payoutRepository.saveAndFlush(payout);
+        statsService.recordCreated(saved.getMerchantId(), 1, saved.getAmount());
+        return saved;
+    }
+
+    /** Reserve succeeded: store the ledger entry and move CREATED → PROCESSING. No-op if already recorded. */
+    @Transactional
+    public Payout recordReserved(UUID payoutId, UUID ledgerEntryId) {
+        Payout payout = load(payoutId);
+        if (payout.getPendingAction() != PayoutAction.RESERVE) {
+            return payout;
+        }
+        return stateMachine.toProcessing(payout, ledgerEntryId);
+    }
+
+    /** Wallet-service definitively rejected the reserve (e.g. insufficient balance): drop the payout, nothing was reserved. */
+    @Transactional
+    public void discardRejectedReserve(UUID payoutId) {
+        payoutRepository.findById(payoutId)
+                .filter(p -> p.getStatus() == PayoutStatus.CREATED && p.getPendingAction() == PayoutAction.RESERVE)
+                .ifPresent(p -> {
+                    payoutRepository.delete(p);
+                    statsService.recordRemoved(p.getMerchantId(), PayoutStatus.CREATED, 1, p.getAmount());
+                });
+    }
+
+    /** Wallet-service rejected a queued reserve the client was already told about: keep the payout, CREATED → FAILED. */
+    @Transactional
+    public void recordReserveRejected(UUID payoutId) {
+        payoutRepository.findById(payoutId)
+                .filter(p -> p.getStatus() == PayoutStatus.CREATED && p.getPendingAction() == PayoutAction.RESERVE)
+                .ifPresent(stateMachine::rejectReserve);
+    }
+
+    /**
+     * Records a CONFIRM or REVERSE intent. Returns the payout unchanged when the action already completed (SETTLED / FAILED).
+     * Retrying an action that is still pending resumes it with its original wallet idempotency key, but only once the
+     * previous caller's lease has run out. Both the claim and the resume are conditional UPDATEs, so of concurrent
+     * confirm / reverse requests (duplicates included) only one reaches wallet-service at a time.
+     * @throws IllegalStateException if the payout is not PROCESSING, has no ledger entry, or another action is in flight
+     * @throws PayoutConflictException if a concurrent request claimed or transitioned the payout after it was read, or the
+     *         same action is still in flight
+     */
+    @Transactional
+    public Payout recordIntent(UUID payoutId, PayoutAction action, String idempotencyKey) {
+        Payout payout = load(payoutId);
+        PayoutStatus target = action == PayoutAction.CONFIRM ? PayoutStatus.SETTLED : PayoutStatus.FAILED;
+        if (payout.getStatus() == target) {
+            return payout;
+        }
+        if (payout.getBatchId() != null) {
+            throw new IllegalStateException("Payout " + payoutId + " belongs to batch " + payout.getBatchId() + "; confirm or reverse the batch");
+        }
+        if (payout.getLedgerEntryId() == null) {
+            throw new IllegalStateException("Payout has no ledger entry to " + (action == PayoutAction.CONFIRM ? "confirm" : "reverse"));
+        }
+        if (payout.getStatus() != PayoutStatus.PROCESSING) {
+            throw new IllegalStateException("Only PROCESSING payouts can move to " + target + "; current: " + payout.getStatus());
+        }
+        Instant now = Instant.now();
+        if (payout.getPendingAction() == action) {
+            if (payoutRepository.resumeAction(payoutId, action, now, now.plus(lease)) == 0) {
+                throw new PayoutConflictException(payoutId, "duplicate " + action + " (previous one still in flight)");
+            }
+            payout.setNextAttemptAt(now.plus(lease));
+            payout.setUpdatedAt(now);
+            payout.setVersion(payout.getVersion() + 1);
+            return payout;
+        }
+        if (payout.getPendingAction() != null) {
+            throw new IllegalStateException("Payout " + payoutId + " already has a " + payout.getPendingAction() + " in progress");
+        }
+        if (payoutRepository.claimAction(payoutId, PayoutStatus.PROCESSING, action, idempotencyKey, now, now.plus(lease)) == 0) {
+            throw new PayoutConflictException(payoutId, action + " intent");
+        }
+        payout.setPendingAction(action);
+        payout.setActionIdempotencyKey(idempotencyKey);
+        payout.setActionRequestedAt(now);
+        payout.setAttempts(0);
+        payout.setNextAttemptAt(now.plus(lease));
+        payout.setUpdatedAt(now);
+        payout.setVersion(payout.getVersion() + 1);
+        return payout;
+    }
+
+    /** Confirm succeeded: PROCESSING → SETTLED. No-op if already SETTLED. */
+    @Transactional
+    public Payout recordConfirmed(UUID payoutId) {
+        Payout payout = load(payoutId);
+        if (payout.getStatus() == PayoutStatus.SETTLED) {
+            return payout;
+        }
+        return stateMachine.toSettled(payout);
+    }
+
+    /** Reverse succeeded: PROCESSING → FAILED. No-op if already FAILED. */
+    @Transactional
+    public Payout recordReversed(UUID payoutId) {
+        Payout payout = load(payoutId);
+        if (payout.getStatus() == PayoutStatus.FAILED) {
+            return payout;
+        }
+        return stateMachine.toFailed(payout);
+    }
+
+    /** Wallet-service rejected the action: drop the intent so the payout can be confirmed or reversed again. */
+    @Transactional
+    public void clearIntent(UUID payoutId, PayoutAction action) {
+        payoutRepository.releaseAction(payoutId, action, Instant.now());
+    }
+
+    /**
+     * Claims up to limit payouts whose pending action is due and leases them: attempts + 1 and nextAttemptAt = now + lease,
+     * so no other poll re-claims a payout while its wallet call may still be running, and a claim that is never completed
+     * (crash) is retried by any worker after the lease. {@link #recordAttemptFailed} replaces the lease with the backoff.
+     * Payouts that exhausted maxAttempts are parked (nextAttemptAt = null) and left for the stuck-payout tooling.
+     */
+    @Transactional
+    public List<Payout> claimDue(int limit) {
+        Instant now = Instant.now();
+        List<Payout> claimed = new ArrayList<>();
+        for (Payout payout : payoutRepository.lockDueForProcessing(now, limit)) {
+            if (payout.getAttempts() >= maxAttempts) {
+                payout.setNextAttemptAt(null);
+                metrics.recordAttempt(payout.getPendingAction(), "exhausted");
+            } else {
+                payout.setAttempts(payout.getAttempts() + 1);
+                payout.setNextAttemptAt(now.plus(lease));
+                claimed.add(payout);
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * A claimed attempt failed without a definitive answer (timeout, 5xx): retry after exponential backoff (with jitter)
+     * instead of waiting out the lease. Returns the retry time, or null if the claim was completed or re-claimed meanwhile.
+     */
+    @Transactional
+    public Instant recordAttemptFailed(Payout claimed) {
+        Instant now = Instant.now();
+        Instant next = now.plus(backoff(claimed.getAttempts()));
+        int updated = payoutRepository.rescheduleAction(claimed.getId(), claimed.getPendingAction(), claimed.getAttempts(), next, now);
+        return updated > 0 ? next : null;
+    }
+
+    private Duration backoff(int attempt) {
+        long millis = baseBackoff.toMillis() << Math.min(attempt - 1, 20);
+        millis = Math.min(millis, maxBackoff.toMillis());
+        return Duration.ofMillis(millis + ThreadLocalRandom.current().nextLong(millis / 4 + 1));
+    }
+
+    private Payout load(UUID payoutId) {
+        return payoutRepository.findById(payoutId).orElseThrow(() -> new IllegalArgumentException("Payout not found: " + payoutId));
+    }
+
+    /** In-memory mirror of a conditional UPDATE that cleared the intent (see PayoutRepository#transition). */
+    static void clear(Payout payout, Instant now) {
+        payout.setPendingAction(null);
+        payout.setActionIdempotencyKey(null);
+        payout.setActionRequestedAt(null);
+        payout.setAttempts(0);
+        payout.setNextAttemptAt(null);
+        payout.setUpdatedAt(now);
+        payout.setVersion(payout.getVersion() + 1);
+    }
+}
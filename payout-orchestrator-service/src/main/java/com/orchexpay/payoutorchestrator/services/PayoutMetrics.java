@@ -0,0 +1,94 @@
+package com.orchexpay.payoutorchestrator.services;
+
+import com.orchexpay.payoutorchestrator.enums.PayoutAction;
+import com.orchexpay.payoutorchestrator.enums.PayoutStatus;
+import com.orchexpay.payoutorchestrator.repositories.PayoutRepository;
+import com.orchexpay.payoutorchestrator.repositories.PayoutStatusCounterRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Payout pipeline metrics:
+ * payout.transitions{from,to} (throughput), payout.time.in.state{status} (time spent in a state before leaving it),
+ * payout.pipeline.attempts{action,outcome}, payout.queue.depth{action} (pending wallet actions) and
+ * payout.status.count{status} (from payout_status_counters). The two gauges are refreshed from the DB on a timer, never on scrape.
+ */
+@Component
+public class PayoutMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(PayoutMetrics.class);
+
+    private final MeterRegistry meterRegistry;
+    private final PayoutRepository payoutRepository;
+    private final PayoutStatusCounterRepository counterRepository;
+    private final Map<PayoutAction, AtomicLong> queueDepth = new EnumMap<>(PayoutAction.class);
+    private final Map<PayoutStatus, AtomicLong> statusCount = new EnumMap<>(PayoutStatus.class);
+    private final Map<PayoutStatus, Timer> timeInState = new EnumMap<>(PayoutStatus.class);
+
+    public PayoutMetrics(MeterRegistry meterRegistry, PayoutRepository payoutRepository,
+                         PayoutStatusCounterRepository counterRepository) {
+        this.meterRegistry = meterRegistry;
+        this.payoutRepository = payoutRepository;
+        this.counterRepository = counterRepository;
+        for (PayoutAction action : PayoutAction.values()) {
+            AtomicLong depth = new AtomicLong();
+            queueDepth.put(action, depth);
+            Gauge.builder("payout.queue.depth", depth, AtomicLong::get).tag("action", action.name()).register(meterRegistry);
+        }
+        for (PayoutStatus status : PayoutStatus.values()) {
+            AtomicLong count = new AtomicLong();
+            statusCount.put(status, count);
+            Gauge.builder("payout.status.count", count, AtomicLong::get).tag("status", status.name()).register(meterRegistry);
+            timeInState.put(status, Timer.builder("payout.time.in.state").tag("status", status.name())
+                    .publishPercentileHistogram().register(meterRegistry));
+        }
+    }
+
+    /** Called by PayoutStateMachine on every transition; enteredAt is when the payout entered {@code from}. */
+    public void recordTransition(PayoutStatus from, PayoutStatus to, Instant enteredAt, Instant now) {
+        Counter.builder("payout.transitions").tag("from", from.name()).tag("to", to.name()).register(meterRegistry).increment();
+        if (enteredAt != null && !enteredAt.isAfter(now)) {
+            timeInState.get(from).record(Duration.between(enteredAt, now));
+        }
+    }
+
+    /** Set-based transitions (batch payouts moved by one UPDATE); counted, not timed. */
+    public void recordTransitions(PayoutStatus from, PayoutStatus to, int count) {
+        if (count > 0) {
+            Counter.builder("payout.transitions").tag("from", from.name()).tag("to", to.name()).register(meterRegistry).increment(count);
+        }
+    }
+
+    /** outcome: success | retry | rejected | exhausted */
+    public void recordAttempt(PayoutAction action, String outcome) {
+        Counter.builder("payout.pipeline.attempts").tag("action", action.name()).tag("outcome", outcome).register(meterRegistry).increment();
+    }
+
+    @Scheduled(fixedDelayString = "${orchexpay.payout.metrics.refresh-interval-ms:15000}")
+    public void refreshGauges() {
+        try {
+            queueDepth.values().forEach(v -> v.set(0));
+            for (Object[] row : payoutRepository.countPendingByAction()) {
+                queueDepth.get((PayoutAction) row[0]).set(((Number) row[1]).longValue());
+            }
+            statusCount.values().forEach(v -> v.set(0));
+            for (Object[] row : counterRepository.sumGroupByStatus()) {
+                statusCount.get((PayoutStatus) row[0]).set(((Number) row[1]).longValue());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Payout gauge refresh failed: {}", e.getMessage());
+        }
+    }
+}
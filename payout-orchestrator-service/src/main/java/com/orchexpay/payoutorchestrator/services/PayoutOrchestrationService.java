@@ -1,15 +1,16 @@
 package com.orchexpay.payoutorchestrator.services;
 
 import com.orchexpay.payoutorchestrator.clients.WalletServiceClient;
+import com.orchexpay.payoutorchestrator.enums.PayoutAction;
 import com.orchexpay.payoutorchestrator.models.Payout;
 import com.orchexpay.payoutorchestrator.enums.PayoutStatus;
-import com.orchexpay.payoutorchestrator.repositories.PayoutRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.RestClientResponseException;
 
 import java.time.Instant;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -17,19 +18,21 @@ import java.util.UUID;
  * Owns payout state; never writes to wallet DB directly (all ledger effects via WalletServiceClient).
  * Real bank movement must only occur in this service (or its caller, e.g. bank webhook handler);
  * after bank success call confirmPayout; after bank failure call reversePayout.
+ * <p>
+ * Wallet-service calls are never made inside a DB transaction: each step is record intent (short tx) → remote call
+ * (no connection held) → record result (short tx), via {@link PayoutIntentService}. Indeterminate failures
+ * (timeouts, 5xx) leave the intent in place for {@link PayoutWorker}; definitive 4xx rejections undo it.
  */
 @Service
 public class PayoutOrchestrationService {
 
     private static final Logger log = LoggerFactory.getLogger(PayoutOrchestrationService.class);
 
-    private final PayoutRepository payoutRepository;
-    private final PayoutStateMachine stateMachine;
+    private final PayoutIntentService intentService;
     private final WalletServiceClient walletServiceClient;
 
-    public PayoutOrchestrationService(PayoutRepository payoutRepository, PayoutStateMachine stateMachine, WalletServiceClient walletServiceClient) {
-        this.payoutRepository = payoutRepository;
-        this.stateMachine = stateMachine;
+    public PayoutOrchestrationService(PayoutIntentService intentService, WalletServiceClient walletServiceClient) {
+        this.intentService = intentService;
         this.walletServiceClient = walletServiceClient;
     }
 
@@ -37,18 +40,36 @@ public class PayoutOrchestrationService {
      * Idempotent payout request. If idempotencyKey seen before, return existing payout.
      * Otherwise: create Payout CREATED, call wallet.reserve(), set PROCESSING, then caller invokes bank and later confirm/reverse.
      * When requestBearerToken is present (e.g. vendor self-service), it is forwarded to wallet-service so reserve is authorized as that user.
+     * A retry with the same key while the reserve is still unrecorded resumes it (same wallet idempotency key).
      */
-    @Transactional
     public Payout requestPayout(UUID merchantId, UUID vendorId, UUID vendorWalletId,
                                 java.math.BigDecimal amount, String currencyCode,
                                 String idempotencyKey,
                                 java.util.Optional<String> requestBearerToken) {
-        var existing = payoutRepository.findByIdempotencyKey(idempotencyKey);
-        if (existing.isPresent()) {
+        Payout payout = intentService.recordReserveIntent(
+                newPayout(merchantId, vendorId, vendorWalletId, amount, currencyCode, idempotencyKey), false);
+        if (payout.getPendingAction() != PayoutAction.RESERVE) {
             log.info("Idempotent payout: key {} already exists", idempotencyKey);
-            return existing.get();
+            return payout;
         }
-        Payout payout = Payout.builder()
+        return executeReserve(payout, requestBearerToken != null ? requestBearerToken : Optional.empty(), true);
+    }
+
+    /**
+     * Pipeline mode: persist the CREATED payout with a queued RESERVE and return immediately; PayoutWorker performs the
+     * reserve (with the service's own wallet-service credentials) and moves it to PROCESSING. Idempotent by key.
+     */
+    public Payout submitPayout(UUID merchantId, UUID vendorId, UUID vendorWalletId,
+                               java.math.BigDecimal amount, String currencyCode, String idempotencyKey) {
+        Payout payout = intentService.recordReserveIntent(
+                newPayout(merchantId, vendorId, vendorWalletId, amount, currencyCode, idempotencyKey), true);
+        log.info("Payout {} queued (status {}, key {})", payout.getId(), payout.getStatus(), idempotencyKey);
+        return payout;
+    }
+
+    private static Payout newPayout(UUID merchantId, UUID vendorId, UUID vendorWalletId,
+                                    java.math.BigDecimal amount, String currencyCode, String idempotencyKey) {
+        return Payout.builder()
                 .id(UUID.randomUUID())
                 .merchantId(merchantId)
                 .vendorId(vendorId)
@@ -60,57 +81,102 @@ public class PayoutOrchestrationService {
                 .createdAt(Instant.now())
                 .updatedAt(Instant.now())
                 .build();
-        payout = payoutRepository.save(payout);
-
-        stateMachine.toProcessing(payout);
-        String referenceId = payout.getId().toString();
-        var reserveResponse = walletServiceClient.reserveWallet(
-                vendorWalletId, amount, currencyCode, referenceId, "Vendor payout " + payout.getId(), idempotencyKey + "-reserve",
-                requestBearerToken != null ? requestBearerToken : java.util.Optional.empty());
-        payout.setLedgerEntryId(reserveResponse.id());
-        payout.setUpdatedAt(Instant.now());
-        payoutRepository.save(payout);
-        log.info("Payout {} reserved ledger entry {}", payout.getId(), reserveResponse.id());
-        return payout;
     }
 
     /**
      * After bank success webhook: confirm the PENDING ledger entry, set payout SETTLED.
      * Idempotent: if payout already SETTLED, returns existing payout without calling wallet again.
      */
-    @Transactional
     public Payout confirmPayout(UUID payoutId, String idempotencyKey, java.util.Optional<String> requestBearerToken) {
-        Payout payout = payoutRepository.findById(payoutId).orElseThrow(() -> new IllegalArgumentException("Payout not found: " + payoutId));
+        Payout payout = intentService.recordIntent(payoutId, PayoutAction.CONFIRM, idempotencyKey);
         if (payout.getStatus() == PayoutStatus.SETTLED) {
             log.info("Idempotent confirm: payout {} already SETTLED", payoutId);
             return payout;
         }
-        if (payout.getLedgerEntryId() == null) {
-            throw new IllegalStateException("Payout has no ledger entry to confirm");
-        }
-        walletServiceClient.confirmLedgerEntry(payout.getLedgerEntryId(), idempotencyKey, requestBearerToken != null ? requestBearerToken : java.util.Optional.empty());
-        stateMachine.toSettled(payout);
-        payout.setUpdatedAt(Instant.now());
-        return payoutRepository.save(payout);
+        return executeConfirm(payout, requestBearerToken != null ? requestBearerToken : Optional.empty());
     }
 
     /**
      * After bank failure: reverse the PENDING ledger entry, set payout FAILED.
      * Idempotent: if payout already FAILED, returns existing payout without calling wallet again.
      */
-    @Transactional
     public Payout reversePayout(UUID payoutId, String idempotencyKey, java.util.Optional<String> requestBearerToken) {
-        Payout payout = payoutRepository.findById(payoutId).orElseThrow(() -> new IllegalArgumentException("Payout not found: " + payoutId));
+        Payout payout = intentService.recordIntent(payoutId, PayoutAction.REVERSE, idempotencyKey);
         if (payout.getStatus() == PayoutStatus.FAILED) {
             log.info("Idempotent reverse: payout {} already FAILED", payoutId);
             return payout;
         }
-        if (payout.getLedgerEntryId() == null) {
-            throw new IllegalStateException("Payout has no ledger entry to reverse");
+        return executeReverse(payout, requestBearerToken != null ? requestBearerToken : Optional.empty());
+    }
+
+    /**
+     * Performs the pending action recorded on the payout (queued pipeline work or crash recovery). Runs with the
+     * service's own wallet-service credentials; the original caller's token is not persisted.
+     */
+    public Payout resume(Payout payout) {
+        if (payout.getPendingAction() == null) {
+            return payout;
+        }
+        return switch (payout.getPendingAction()) {
+            case RESERVE -> executeReserve(payout, Optional.empty(), false);
+            case CONFIRM -> executeConfirm(payout, Optional.empty());
+            case REVERSE -> executeReverse(payout, Optional.empty());
+        };
+    }
+
+    /**
+     * discardOnRejection: a synchronous caller gets the wallet-service error directly, so the rejected payout is dropped
+     * (as if never created); queued/recovered payouts were already acknowledged, so they are kept and marked FAILED.
+     */
+    private Payout executeReserve(Payout payout, Optional<String> requestBearerToken, boolean discardOnRejection) {
+        WalletServiceClient.LedgerEntryResponse reserveResponse;
+        try {
+            reserveResponse = walletServiceClient.reserveWallet(
+                    payout.getVendorWalletId(), payout.getAmount(), payout.getCurrencyCode(), payout.getId().toString(),
+                    "Vendor payout " + payout.getId(), payout.getActionIdempotencyKey(), requestBearerToken);
+        } catch (RuntimeException e) {
+            if (isRejected(e) && discardOnRejection) {
+                intentService.discardRejectedReserve(payout.getId());
+            } else if (isRejected(e)) {
+                intentService.recordReserveRejected(payout.getId());
+            }
+            throw e;
+        }
+        Payout reserved = intentService.recordReserved(payout.getId(), reserveResponse.id());
+        log.info("Payout {} reserved ledger entry {}", payout.getId(), reserveResponse.id());
+        return reserved;
+    }
+
+    private Payout executeConfirm(Payout payout, Optional<String> requestBearerToken) {
+        try {
+            walletServiceClient.confirmLedgerEntry(payout.getLedgerEntryId(), payout.getActionIdempotencyKey(), requestBearerToken);
+        } catch (RuntimeException e) {
+            if (isRejected(e)) {
+                intentService.clearIntent(payout.getId(), PayoutAction.CONFIRM);
+            }
+            throw e;
+        }
+        return intentService.recordConfirmed(payout.getId());
+    }
+
+    private Payout executeReverse(Payout payout, Optional<String> requestBearerToken) {
+        try {
+            walletServiceClient.reverseLedgerEntry(payout.getLedgerEntryId(), payout.getActionIdempotencyKey(), requestBearerToken);
+        } catch (RuntimeException e) {
+            if (isRejected(e)) {
+                intentService.clearIntent(payout.getId(), PayoutAction.REVERSE);
+            }
+            throw e;
+        }
+        return intentService.recordReversed(payout.getId());
+    }
+
+    /** 4xx (other than timeout / rate limit) means wallet-service refused and applied nothing; anything else may have landed. */
+    static boolean isRejected(RuntimeException e) {
+        if (!(e instanceof RestClientResponseException rce)) {
+            return false;
         }
-        walletServiceClient.reverseLedgerEntry(payout.getLedgerEntryId(), idempotencyKey, requestBearerToken != null ? requestBearerToken : java.util.Optional.empty());
-        stateMachine.toFailed(payout);
-        payout.setUpdatedAt(Instant.now());
-        return payoutRepository.save(payout);
+        int status = rce.getStatusCode().value();
+        return status >= 400 && status < 500 && status != 408 && status != 429;
     }
 }
@@ -1,34 +1,89 @@
 package com.orchexpay.payoutorchestrator.services;
 
+import com.orchexpay.payoutorchestrator.enums.PayoutAction;
+import com.orchexpay.payoutorchestrator.events.PayoutStatusChangedEvent;
+import com.orchexpay.payoutorchestrator.exceptions.PayoutConflictException;
 import com.orchexpay.payoutorchestrator.models.Payout;
 import com.orchexpay.payoutorchestrator.enums.PayoutStatus;
+import com.orchexpay.payoutorchestrator.repositories.PayoutRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
+import java.util.UUID;
+
 /**
  * Explicit payout state transitions. Only valid transitions allowed.
- * CREATED → PROCESSING → SETTLED | FAILED
+ * CREATED → PROCESSING → SETTLED | FAILED; CREATED → FAILED when wallet-service rejects a queued reserve.
+ * <p>
+ * Each transition is written as one conditional UPDATE (id + expected status + the pending action it completes), not as
+ * a read-modify-write of the entity: if a concurrent request got there first the UPDATE matches no row and
+ * {@link PayoutConflictException} is thrown, with no further reads. Must run inside the caller's transaction; the
+ * persistence context is cleared, so the given payout is updated in memory and returned detached.
  */
 @Component
 public class PayoutStateMachine {
 
-    public void toProcessing(Payout payout) {
+    private final PayoutRepository payoutRepository;
+    private final PayoutMetrics metrics;
+    private final PayoutStatsService statsService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public PayoutStateMachine(PayoutRepository payoutRepository, PayoutMetrics metrics, PayoutStatsService statsService,
+                              ApplicationEventPublisher eventPublisher) {
+        this.payoutRepository = payoutRepository;
+        this.metrics = metrics;
+        this.statsService = statsService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /** Reserve recorded: CREATED → PROCESSING with the wallet-service PENDING ledger entry. */
+    public Payout toProcessing(Payout payout, UUID ledgerEntryId) {
         if (payout.getStatus() != PayoutStatus.CREATED) {
             throw new IllegalStateException("Only CREATED payouts can move to PROCESSING; current: " + payout.getStatus());
         }
-        payout.setStatus(PayoutStatus.PROCESSING);
+        return transition(payout, PayoutAction.RESERVE, PayoutStatus.PROCESSING, ledgerEntryId);
     }
 
-    public void toSettled(Payout payout) {
+    public Payout toSettled(Payout payout) {
         if (payout.getStatus() != PayoutStatus.PROCESSING) {
             throw new IllegalStateException("Only PROCESSING payouts can move to SETTLED; current: " + payout.getStatus());
         }
-        payout.setStatus(PayoutStatus.SETTLED);
+        return transition(payout, PayoutAction.CONFIRM, PayoutStatus.SETTLED, payout.getLedgerEntryId());
     }
 
-    public void toFailed(Payout payout) {
+    public Payout toFailed(Payout payout) {
         if (payout.getStatus() != PayoutStatus.PROCESSING) {
             throw new IllegalStateException("Only PROCESSING payouts can move to FAILED; current: " + payout.getStatus());
         }
-        payout.setStatus(PayoutStatus.FAILED);
+        return transition(payout, PayoutAction.REVERSE, PayoutStatus.FAILED, payout.getLedgerEntryId());
+    }
+
+    /** Queued reserve refused by wallet-service (nothing was reserved, so there is no ledger entry to reverse). */
+    public Payout rejectReserve(Payout payout) {
+        if (payout.getStatus() != PayoutStatus.CREATED) {
+            throw new IllegalStateException("Only CREATED payouts can have their reserve rejected; current: " + payout.getStatus());
+        }
+        return transition(payout, PayoutAction.RESERVE, PayoutStatus.FAILED, null);
+    }
+
+    private Payout transition(Payout payout, PayoutAction completes, PayoutStatus to, UUID ledgerEntryId) {
+        PayoutStatus from = payout.getStatus();
+        if (payout.getPendingAction() != completes) {
+            throw new PayoutConflictException(payout.getId(), from + " → " + to + " (pending action is " + payout.getPendingAction() + ")");
+        }
+        Instant now = Instant.now();
+        if (payoutRepository.transition(payout.getId(), from, to, completes, ledgerEntryId, now) == 0) {
+            throw new PayoutConflictException(payout.getId(), from + " → " + to);
+        }
+        statsService.recordMoved(payout.getMerchantId(), from, to, 1, payout.getAmount());
+        Instant enteredAt = payout.getStatusChangedAt() != null ? payout.getStatusChangedAt() : payout.getCreatedAt();
+        metrics.recordTransition(from, to, enteredAt, now);
+        eventPublisher.publishEvent(new PayoutStatusChangedEvent(payout.getId(), from, to, now));
+        payout.setStatus(to);
+        payout.setLedgerEntryId(ledgerEntryId);
+        payout.setStatusChangedAt(now);
+        PayoutIntentService.clear(payout, now);
+        return payout;
     }
 }
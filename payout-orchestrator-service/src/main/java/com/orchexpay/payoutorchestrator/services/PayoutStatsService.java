@@ -0,0 +1,129 @@
+package com.orchexpay.payoutorchestrator.services;
+
+import com.orchexpay.payoutorchestrator.enums.PayoutStatus;
+import com.orchexpay.payoutorchestrator.models.PayoutStatusCounter;
+import com.orchexpay.payoutorchestrator.repositories.PayoutRepository;
+import com.orchexpay.payoutorchestrator.repositories.PayoutStatusCounterRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-merchant, per-status payout counters (payout_status_counters). Writers call the record* methods inside the
+ * transaction that inserts or moves the payouts, so the counters commit or roll back with them. Rows are always touched
+ * in status order, so two transitions of the same merchant cannot deadlock on them.
+ * <p>
+ * The table is rebuilt from payouts on startup when its totals disagree with the payouts table, and on demand via {@link #rebuild()}.
+ */
+@Service
+public class PayoutStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(PayoutStatsService.class);
+
+    public record StatusTotals(long count, BigDecimal amount) {
+        static final StatusTotals EMPTY = new StatusTotals(0, BigDecimal.ZERO);
+    }
+
+    private final PayoutStatusCounterRepository counterRepository;
+    private final PayoutRepository payoutRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public PayoutStatsService(PayoutStatusCounterRepository counterRepository, PayoutRepository payoutRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.counterRepository = counterRepository;
+        this.payoutRepository = payoutRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(UUID merchantId, long count, BigDecimal amount) {
+        if (count > 0) {
+            counterRepository.adjust(merchantId, PayoutStatus.CREATED.name(), count, amount, Instant.now());
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordRemoved(UUID merchantId, PayoutStatus status, long count, BigDecimal amount) {
+        if (count > 0) {
+            counterRepository.adjust(merchantId, status.name(), -count, amount.negate(), Instant.now());
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordMoved(UUID merchantId, PayoutStatus from, PayoutStatus to, long count, BigDecimal amount) {
+        if (count <= 0) {
+            return;
+        }
+        Instant now = Instant.now();
+        boolean fromFirst = from.ordinal() < to.ordinal();
+        PayoutStatus first = fromFirst ? from : to;
+        PayoutStatus second = fromFirst ? to : from;
+        counterRepository.adjust(merchantId, first.name(), first == from ? -count : count, first == from ? amount.negate() : amount, now);
+        counterRepository.adjust(merchantId, second.name(), second == from ? -count : count, second == from ? amount.negate() : amount, now);
+    }
+
+    /** Totals per status over all merchants (every status present, zero when none). */
+    @Transactional(readOnly = true)
+    public Map<PayoutStatus, StatusTotals> totals() {
+        Map<PayoutStatus, StatusTotals> totals = new EnumMap<>(PayoutStatus.class);
+        for (PayoutStatus status : PayoutStatus.values()) {
+            totals.put(status, StatusTotals.EMPTY);
+        }
+        for (Object[] row : counterRepository.sumGroupByStatus()) {
+            BigDecimal amount = row[2] != null ? (BigDecimal) row[2] : BigDecimal.ZERO;
+            totals.put((PayoutStatus) row[0], new StatusTotals(((Number) row[1]).longValue(), amount));
+        }
+        return totals;
+    }
+
+    @Transactional(readOnly = true)
+    public long count(UUID merchantId, PayoutStatus status) {
+        return counterRepository.findById(new PayoutStatusCounter.Key(merchantId, status))
+                .map(PayoutStatusCounter::getPayoutCount)
+                .orElse(0L);
+    }
+
+    /**
+     * Recomputes every counter from the payouts table. The exclusive lock waits for in-flight writers and holds new ones
+     * back, so the counters match the committed payouts exactly when this commits.
+     */
+    @Transactional
+    public int rebuild() {
+        return doRebuild();
+    }
+
+    /** First deploy (empty table) or drift after manual DB edits: counters summing to a different total are rebuilt. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            long counted = totals().values().stream().mapToLong(StatusTotals::count).sum();
+            long payouts = payoutRepository.count();
+            if (counted != payouts) {
+                log.info("Payout status counters out of sync ({} counted, {} payouts); rebuilding", counted, payouts);
+                transactionTemplate.execute(tx -> doRebuild());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Payout status counters not initialized: {}", e.getMessage());
+        }
+    }
+
+    private int doRebuild() {
+        counterRepository.lockExclusive();
+        counterRepository.deleteAllInBatch();
+        int rows = counterRepository.insertFromPayouts(Instant.now());
+        log.info("Payout status counters rebuilt: {} rows", rows);
+        return rows;
+    }
+}
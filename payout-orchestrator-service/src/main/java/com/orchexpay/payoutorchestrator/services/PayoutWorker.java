@@ -0,0 +1,94 @@
+package com.orchexpay.payoutorchestrator.services;
+
+import com.orchexpay.payoutorchestrator.models.Payout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.time.Instant;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Drives payouts with a pending wallet action: queued pipeline payouts (POST /api/v1/payouts in pipeline mode),
+ * and intents a request thread never completed (crash, timeout, 5xx). Each poll claims payouts with
+ * FOR UPDATE SKIP LOCKED in a short transaction, then runs the wallet calls on payoutWorkerExecutor with no DB
+ * connection held. At most batch-size payouts are in flight; each frees its slot when its call ends, so a poll
+ * claims as many as there are free slots instead of waiting for the slowest call of the previous batch. Failed
+ * attempts are retried with exponential backoff.
+ */
+@Component
+public class PayoutWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(PayoutWorker.class);
+
+    private final PayoutIntentService intentService;
+    private final PayoutOrchestrationService orchestrationService;
+    private final PayoutMetrics metrics;
+    private final Executor executor;
+    private final Semaphore slots;
+
+    public PayoutWorker(PayoutIntentService intentService, PayoutOrchestrationService orchestrationService,
+                        PayoutMetrics metrics, @Qualifier("payoutWorkerExecutor") Executor executor,
+                        @Value("${orchexpay.payout.worker.batch-size:50}") int batchSize) {
+        this.intentService = intentService;
+        this.orchestrationService = orchestrationService;
+        this.metrics = metrics;
+        this.executor = executor;
+        this.slots = new Semaphore(batchSize);
+    }
+
+    @Scheduled(initialDelayString = "${orchexpay.payout.worker.initial-delay-ms:5000}",
+            fixedDelayString = "${orchexpay.payout.worker.poll-interval-ms:500}")
+    public void poll() {
+        // Only this (scheduler) thread acquires, so free slots cannot shrink between the check and the acquire
+        int free;
+        List<Payout> claimed;
+        do {
+            free = slots.availablePermits();
+            if (free == 0) {
+                return;
+            }
+            claimed = intentService.claimDue(free);
+            slots.acquireUninterruptibly(claimed.size());
+            for (Payout payout : claimed) {
+                try {
+                    executor.execute(() -> process(payout));
+                } catch (RuntimeException e) {
+                    slots.release();
+                    log.warn("Payout {} not started, retried after its lease: {}", payout.getId(), e.getMessage());
+                }
+            }
+        } while (claimed.size() == free);
+    }
+
+    private void process(Payout payout) {
+        try {
+            attempt(payout);
+        } finally {
+            slots.release();
+        }
+    }
+
+    private void attempt(Payout payout) {
+        try {
+            Payout result = orchestrationService.resume(payout);
+            metrics.recordAttempt(payout.getPendingAction(), "success");
+            log.info("Payout {} {} done (attempt {}): {}", payout.getId(), payout.getPendingAction(), payout.getAttempts(), result.getStatus());
+        } catch (RuntimeException e) {
+            boolean rejected = PayoutOrchestrationService.isRejected(e);
+            metrics.recordAttempt(payout.getPendingAction(), rejected ? "rejected" : "retry");
+            if (rejected) {
+                log.warn("Payout {} {} rejected by wallet-service: {}", payout.getId(), payout.getPendingAction(), e.getMessage());
+            } else {
+                Instant retryAt = intentService.recordAttemptFailed(payout);
+                log.warn("Payout {} {} attempt {} failed, retry at {}: {}", payout.getId(), payout.getPendingAction(),
+                        payout.getAttempts(), retryAt, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.orchexpay.payoutorchestrator.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Moves orders split longer than after-ms ago from pending_orders to pending_orders_archive, batch-size rows per
+ * transaction, so the hot table (and its indexes) only hold unsplit and recently split orders.
+ */
+@Component
+public class PendingOrderArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(PendingOrderArchiver.class);
+
+    private final PendingOrderService pendingOrderService;
+    private final Counter archived;
+    private final Duration archiveAfter;
+    private final int batchSize;
+
+    public PendingOrderArchiver(PendingOrderService pendingOrderService, MeterRegistry meterRegistry,
+                                @Value("${orchexpay.pending-orders.archive.after-ms:2592000000}") long archiveAfterMs,
+                                @Value("${orchexpay.pending-orders.archive.batch-size:1000}") int batchSize) {
+        this.pendingOrderService = pendingOrderService;
+        this.archived = Counter.builder("pending.orders.archived").register(meterRegistry);
+        this.archiveAfter = Duration.ofMillis(archiveAfterMs);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${orchexpay.pending-orders.archive.interval-ms:3600000}",
+            fixedDelayString = "${orchexpay.pending-orders.archive.interval-ms:3600000}")
+    public void archive() {
+        Instant cutoff = Instant.now().minus(archiveAfter);
+        int total = 0;
+        int moved;
+        do {
+            moved = pendingOrderService.archiveSplitBefore(cutoff, batchSize);
+            archived.increment(moved);
+            total += moved;
+        } while (moved == batchSize);
+        if (total > 0) {
+            log.info("Archived {} split pending orders (split before {})", total, cutoff);
+        }
+    }
+}
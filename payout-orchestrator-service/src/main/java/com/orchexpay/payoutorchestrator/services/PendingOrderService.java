@@ -0,0 +1,224 @@
+package com.orchexpay.payoutorchestrator.services;
+
+import com.orchexpay.payoutorchestrator.models.PendingOrder;
+import com.orchexpay.payoutorchestrator.models.VendorPendingSummary;
+import com.orchexpay.payoutorchestrator.repositories.ArchivedPendingOrderRepository;
+import com.orchexpay.payoutorchestrator.repositories.PendingOrderRepository;
+import com.orchexpay.payoutorchestrator.repositories.VendorPendingSummaryRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Owns pending_orders writes and keeps vendor_pending_summaries (count and sum of unsplit orders per vendor and
+ * currency) in step with them, in the same transaction. Used by both webhook paths (MockWebhookService and the inbox).
+ * Summary rows are upserted in (vendor, currency) order so concurrent writers lock them in the same order.
+ */
+@Service
+public class PendingOrderService {
+
+    private static final Logger log = LoggerFactory.getLogger(PendingOrderService.class);
+
+    private static final String UNSPLIT_INDEX_DDL = "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_pending_orders_unsplit "
+            + "ON pending_orders (merchant_id, vendor_id, created_at DESC) WHERE split_done = false";
+
+    private final PendingOrderRepository pendingOrderRepository;
+    private final VendorPendingSummaryRepository summaryRepository;
+    private final ArchivedPendingOrderRepository archiveRepository;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public PendingOrderService(PendingOrderRepository pendingOrderRepository, VendorPendingSummaryRepository summaryRepository,
+                               ArchivedPendingOrderRepository archiveRepository, EntityManager entityManager,
+                               JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.pendingOrderRepository = pendingOrderRepository;
+        this.summaryRepository = summaryRepository;
+        this.archiveRepository = archiveRepository;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Payment success for the given orders: records each as pending for its vendor, or updates the existing row (vendor,
+     * amount, currency) on a redelivery. New rows are inserted as one JDBC batch. Orders already archived are left alone.
+     */
+    @Transactional
+    public void recordPaid(List<PaidOrder> orders) {
+        Instant now = Instant.now();
+        Map<SummaryKey, Delta> deltas = new TreeMap<>();
+        Map<UUID, List<PaidOrder>> byMerchant = orders.stream().collect(Collectors.groupingBy(PaidOrder::merchantId));
+        for (var e : byMerchant.entrySet()) {
+            List<String> orderIds = e.getValue().stream().map(PaidOrder::orderId).toList();
+            Map<String, PendingOrder> existing = new HashMap<>(pendingOrderRepository.lockByMerchantIdAndOrderIdIn(e.getKey(), orderIds)
+                    .stream().collect(Collectors.toMap(PendingOrder::getOrderId, Function.identity())));
+            Set<String> archived = existing.size() < orderIds.size()
+                    ? new HashSet<>(archiveRepository.findArchivedOrderIds(e.getKey(), orderIds)) : Set.of();
+            for (PaidOrder paid : e.getValue()) {
+                PendingOrder pending = existing.get(paid.orderId());
+                if (pending == null && archived.contains(paid.orderId())) {
+                    continue;
+                }
+                if (pending == null) {
+                    pending = new PendingOrder();
+                    pending.setId(UUID.randomUUID());
+                    pending.setMerchantId(paid.merchantId());
+                    pending.setVendorId(paid.vendorId());
+                    pending.setOrderId(paid.orderId());
+                    pending.setAmount(paid.amount());
+                    pending.setCurrencyCode(paid.currencyCode());
+                    pending.setSplitDone(false);
+                    pending.setCreatedAt(now);
+                    entityManager.persist(pending);
+                    existing.put(paid.orderId(), pending);
+                    add(deltas, pending, 1);
+                    continue;
+                }
+                if (!pending.isSplitDone()) {
+                    add(deltas, pending, -1);
+                }
+                pending.setVendorId(paid.vendorId());
+                pending.setAmount(paid.amount());
+                pending.setCurrencyCode(paid.currencyCode());
+                if (!pending.isSplitDone()) {
+                    add(deltas, pending, 1);
+                }
+            }
+        }
+        entityManager.flush();
+        applyDeltas(deltas, now);
+    }
+
+    /** Order completion: marks the merchant's orders split (those not already split) and takes them out of the summaries. */
+    @Transactional
+    public int recordSplit(UUID merchantId, Collection<String> orderIds) {
+        Instant now = Instant.now();
+        Map<SummaryKey, Delta> deltas = new TreeMap<>();
+        int split = 0;
+        for (PendingOrder pending : pendingOrderRepository.lockByMerchantIdAndOrderIdIn(merchantId, orderIds)) {
+            if (!pending.isSplitDone()) {
+                pending.setSplitDone(true);
+                pending.setSplitAt(now);
+                add(deltas, pending, -1);
+                split++;
+            }
+        }
+        entityManager.flush();
+        applyDeltas(deltas, now);
+        return split;
+    }
+
+    @Transactional(readOnly = true)
+    public List<PendingOrder> listUnsplit(UUID merchantId, UUID vendorId) {
+        return pendingOrderRepository.findByMerchantIdAndVendorIdAndSplitDoneFalseOrderByCreatedAtDesc(merchantId, vendorId);
+    }
+
+    /** Vendors of the merchant with at least one pending order, one row per currency. */
+    @Transactional(readOnly = true)
+    public List<VendorPendingSummary> summaries(UUID merchantId) {
+        return summaryRepository.findByMerchantIdAndOrderCountGreaterThanOrderByVendorId(merchantId, 0);
+    }
+
+    /** Moves up to limit orders split before cutoff to pending_orders_archive; see PendingOrderArchiver. */
+    @Transactional
+    public int archiveSplitBefore(Instant cutoff, int limit) {
+        return archiveRepository.archiveSplitBefore(cutoff, limit, Instant.now());
+    }
+
+    /**
+     * Recomputes every summary from the unsplit pending orders. The exclusive lock waits for in-flight writers and holds
+     * new ones back, so the summaries match the committed orders exactly when this commits.
+     */
+    @Transactional
+    public int rebuild() {
+        return doRebuild();
+    }
+
+    /**
+     * Creates the partial index on unsplit orders (CONCURRENTLY, so a large table stays writable; outside any
+     * transaction), then rebuilds the summaries on first deploy or after drift.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            jdbcTemplate.execute(UNSPLIT_INDEX_DDL);
+        } catch (RuntimeException e) {
+            log.warn("Partial index idx_pending_orders_unsplit not created: {}", e.getMessage());
+        }
+        try {
+            long summarized = summaryRepository.sumOrderCount();
+            long unsplit = pendingOrderRepository.countBySplitDoneFalse();
+            if (summarized != unsplit) {
+                log.info("Vendor pending summaries out of sync ({} summarized, {} unsplit orders); rebuilding", summarized, unsplit);
+                transactionTemplate.execute(tx -> doRebuild());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Vendor pending summaries not initialized: {}", e.getMessage());
+        }
+    }
+
+    private int doRebuild() {
+        summaryRepository.lockExclusive();
+        summaryRepository.deleteAllInBatch();
+        int rows = summaryRepository.insertFromPendingOrders(Instant.now());
+        log.info("Vendor pending summaries rebuilt: {} rows", rows);
+        return rows;
+    }
+
+    private static void add(Map<SummaryKey, Delta> deltas, PendingOrder order, int sign) {
+        deltas.computeIfAbsent(new SummaryKey(order.getMerchantId(), order.getVendorId(), order.getCurrencyCode()), k -> new Delta())
+                .add(sign, order.getAmount());
+    }
+
+    private void applyDeltas(Map<SummaryKey, Delta> deltas, Instant now) {
+        deltas.forEach((key, delta) -> {
+            if (delta.count != 0 || delta.amount.signum() != 0) {
+                summaryRepository.adjust(key.merchantId(), key.vendorId(), key.currencyCode(), delta.count, delta.amount, now);
+            }
+        });
+    }
+
+    /** One paid order: the payment-success webhook's fields. */
+    public record PaidOrder(UUID merchantId, UUID vendorId, String orderId, BigDecimal amount, String currencyCode) {}
+
+    private record SummaryKey(UUID merchantId, UUID vendorId, String currencyCode) implements Comparable<SummaryKey> {
+        private static final Comparator<SummaryKey> ORDER = Comparator.comparing(SummaryKey::merchantId)
+                .thenComparing(SummaryKey::vendorId).thenComparing(SummaryKey::currencyCode);
+
+        @Override
+        public int compareTo(SummaryKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    private static final class Delta {
+        private long count;
+        private BigDecimal amount = BigDecimal.ZERO;
+
+        void add(int sign, BigDecimal orderAmount) {
+            count += sign;
+            amount = sign > 0 ? amount.add(orderAmount) : amount.subtract(orderAmount);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.orchexpay.payoutorchestrator.services;
+
+import com.orchexpay.payoutorchestrator.enums.PayoutStatus;
+import com.orchexpay.payoutorchestrator.events.PayoutBatchChangedEvent;
+import com.orchexpay.payoutorchestrator.events.PayoutStatusChangedEvent;
+import com.orchexpay.payoutorchestrator.models.Payout;
+import com.orchexpay.payoutorchestrator.models.PayoutBatch;
+import com.orchexpay.payoutorchestrator.repositories.PayoutRepository;
+import com.orchexpay.payoutorchestrator.utils.HashedTimingWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Deadline for every payout sitting in PROCESSING (reserved, waiting for the bank's confirm / reverse). Deadlines live
+ * in a {@link HashedTimingWheel}: O(1) to add on entering PROCESSING and to cancel on leaving it, and each tick only
+ * touches the payouts expiring in that tick. At startup the wheel is rebuilt with one range scan on (status, status_changed_at).
+ * <p>
+ * Expired payouts are re-read in batches (the wheel is only a hint) and then escalated (error log + metric, default)
+ * or auto-reversed (orchexpay.payout.sweeper.action=REVERSE). A payout whose confirm / reverse is still being retried by
+ * PayoutWorker, or whose auto-reverse failed, is looked at again later; one whose intent was parked after max-attempts
+ * (pendingAction set, no nextAttemptAt) is always escalated for manual review and dropped from the wheel, since neither
+ * a retry nor an automatic reverse will resolve it.
+ * <p>
+ * Batch payouts are confirmed / reversed per batch, so a second wheel tracks batches (PayoutBatchChangedEvent) by their
+ * oldest PROCESSING payout and the same action applies to the whole batch. A batch that still has unreserved payouts
+ * (CREATED) or an unfinished confirm / reverse is escalated instead: only the caller can resubmit or retry it.
+ */
+@Component
+public class StuckPayoutSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(StuckPayoutSweeper.class);
+
+    public enum Action { ESCALATE, REVERSE }
+
+    private final PayoutRepository payoutRepository;
+    private final PayoutOrchestrationService orchestrationService;
+    private final PayoutBatchService batchService;
+    private final HashedTimingWheel<UUID> wheel;
+    private final HashedTimingWheel<UUID> batchWheel;
+    private final long timeoutMillis;
+    private final long inFlightGraceMillis;
+    private final Action action;
+    private final int batchSize;
+    private final Counter escalated;
+    private final Counter reversed;
+    private final Counter parked;
+
+    public StuckPayoutSweeper(PayoutRepository payoutRepository, PayoutOrchestrationService orchestrationService,
+                              PayoutBatchService batchService, MeterRegistry meterRegistry,
+                              @Value("${orchexpay.payout.sweeper.timeout-ms:86400000}") long timeoutMillis,
+                              @Value("${orchexpay.payout.sweeper.tick-ms:1000}") long tickMillis,
+                              @Value("${orchexpay.payout.sweeper.ticks-per-wheel:4096}") int ticksPerWheel,
+                              @Value("${orchexpay.payout.sweeper.action:ESCALATE}") Action action,
+                              @Value("${orchexpay.payout.sweeper.batch-size:200}") int batchSize) {
+        this.payoutRepository = payoutRepository;
+        this.orchestrationService = orchestrationService;
+        this.batchService = batchService;
+        this.wheel = new HashedTimingWheel<>(tickMillis, ticksPerWheel, System.currentTimeMillis());
+        this.batchWheel = new HashedTimingWheel<>(tickMillis, ticksPerWheel, System.currentTimeMillis());
+        this.timeoutMillis = timeoutMillis;
+        this.inFlightGraceMillis = Math.max(tickMillis, 60_000);
+        this.action = action;
+        this.batchSize = batchSize;
+        this.escalated = Counter.builder("payout.sweeper.expired").tag("action", "escalated").register(meterRegistry);
+        this.reversed = Counter.builder("payout.sweeper.expired").tag("action", "reversed").register(meterRegistry);
+        this.parked = Counter.builder("payout.sweeper.expired").tag("action", "parked").register(meterRegistry);
+        Gauge.builder("payout.sweeper.tracked", wheel, HashedTimingWheel::size).register(meterRegistry);
+        Gauge.builder("payout.sweeper.tracked.batches", batchWheel, HashedTimingWheel::size).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        int[] count = {0};
+        try (Stream<Object[]> rows = payoutRepository.streamSinglePayoutsInStatus(PayoutStatus.PROCESSING)) {
+            rows.forEach(row -> {
+                Instant enteredAt = (Instant) row[1];
+                wheel.schedule((UUID) row[0], (enteredAt != null ? enteredAt.toEpochMilli() : start) + timeoutMillis);
+                count[0]++;
+            });
+        }
+        List<Object[]> batches = payoutRepository.findBatchesWithPayoutsInStatus(PayoutStatus.PROCESSING);
+        for (Object[] row : batches) {
+            batchWheel.schedule((UUID) row[0], ((Instant) row[1]).toEpochMilli() + timeoutMillis);
+        }
+        log.info("Stuck-payout wheel rebuilt: {} PROCESSING payouts and {} batches in {} ms", count[0], batches.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(PayoutStatusChangedEvent event) {
+        if (event.to() == PayoutStatus.PROCESSING) {
+            wheel.schedule(event.payoutId(), event.changedAt().toEpochMilli() + timeoutMillis);
+        } else if (event.from() == PayoutStatus.PROCESSING) {
+            wheel.cancel(event.payoutId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBatchChanged(PayoutBatchChangedEvent event) {
+        if (event.oldestProcessingSince() != null) {
+            batchWheel.schedule(event.batchId(), event.oldestProcessingSince().toEpochMilli() + timeoutMillis);
+        } else {
+            batchWheel.cancel(event.batchId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${orchexpay.payout.sweeper.tick-ms:1000}")
+    public void tick() {
+        List<UUID> expired = wheel.advance(System.currentTimeMillis());
+        for (int i = 0; i < expired.size(); i += batchSize) {
+            handleExpired(expired.subList(i, Math.min(i + batchSize, expired.size())));
+        }
+        for (UUID batchId : batchWheel.advance(System.currentTimeMillis())) {
+            handleExpiredBatch(batchId);
+        }
+    }
+
+    private void handleExpired(List<UUID> ids) {
+        long now = System.currentTimeMillis();
+        for (Payout payout : payoutRepository.findAllById(ids)) {
+            if (payout.getStatus() != PayoutStatus.PROCESSING || payout.getBatchId() != null) {
+                // Batch payouts are tracked per batch (batchWheel)
+                continue;
+            }
+            if (payout.getPendingAction() != null && payout.getNextAttemptAt() == null) {
+                // PayoutWorker gave up on the intent (PayoutIntentService#claimDue): nothing will retry it
+                parked.increment();
+                log.error("Payout {} (merchant {}, vendor {}, amount {} {}) stuck in PROCESSING since {} with its {} parked after {} "
+                                + "attempts; needs manual review", payout.getId(), payout.getMerchantId(), payout.getVendorId(),
+                        payout.getAmount(), payout.getCurrencyCode(), payout.getStatusChangedAt(), payout.getPendingAction(),
+                        payout.getAttempts());
+                continue;
+            }
+            if (payout.getPendingAction() != null) {
+                // A confirm/reverse is already in flight (PayoutWorker owns it); look again later
+                wheel.schedule(payout.getId(), now + inFlightGraceMillis);
+                continue;
+            }
+            if (action == Action.REVERSE) {
+                try {
+                    orchestrationService.reversePayout(payout.getId(), "sweeper-timeout-" + payout.getId(), Optional.empty());
+                    reversed.increment();
+                    log.warn("Stuck payout {} auto-reversed after {} ms in PROCESSING", payout.getId(), timeoutMillis);
+                } catch (RuntimeException e) {
+                    // Most likely transient (wallet-service unavailable): try again after the grace period
+                    wheel.schedule(payout.getId(), now + inFlightGraceMillis);
+                    log.error("Auto-reverse of stuck payout {} failed, retrying in {} ms: {}", payout.getId(), inFlightGraceMillis,
+                            e.getMessage());
+                }
+            } else {
+                escalated.increment();
+                log.error("Payout {} (merchant {}, vendor {}, amount {} {}) stuck in PROCESSING since {}; needs confirm or reverse",
+                        payout.getId(), payout.getMerchantId(), payout.getVendorId(), payout.getAmount(), payout.getCurrencyCode(),
+                        payout.getStatusChangedAt());
+            }
+        }
+    }
+
+    /** Counters count payouts: a batch adds the number of payouts it still has in PROCESSING. */
+    private void handleExpiredBatch(UUID batchId) {
+        long now = System.currentTimeMillis();
+        PayoutBatch batch = batchService.getBatch(batchId).orElse(null);
+        long open = batch == null ? 0 : payoutRepository.countByBatchIdAndStatus(batchId, PayoutStatus.PROCESSING);
+        if (open == 0) {
+            return;
+        }
+        if (batch.getPendingAction() != null && batch.getUpdatedAt().toEpochMilli() > now - inFlightGraceMillis) {
+            // Its confirm / reverse fan-out may still be running; look again later
+            batchWheel.schedule(batchId, now + inFlightGraceMillis);
+            return;
+        }
+        if (batch.getStatus() != PayoutStatus.PROCESSING || batch.getPendingAction() != null || action == Action.ESCALATE) {
+            escalated.increment(open);
+            String reason = batch.getStatus() == PayoutStatus.CREATED ? "has unreserved payouts; resubmit it"
+                    : batch.getPendingAction() != null ? "has its " + batch.getPendingAction() + " unfinished; retry it"
+                    : "needs confirm or reverse";
+            log.error("Payout batch {} (merchant {}, {} {}) has {} payouts stuck in PROCESSING for over {} ms and {}",
+                    batchId, batch.getMerchantId(), batch.getTotalAmount(), batch.getCurrencyCode(), open, timeoutMillis, reason);
+            return;
+        }
+        try {
+            PayoutBatch result = batchService.reverseBatch(batchId, "sweeper-timeout-" + batchId, Optional.empty());
+            long left = payoutRepository.countByBatchIdAndStatus(batchId, PayoutStatus.PROCESSING);
+            reversed.increment(open - left);
+            log.warn("Stuck payout batch {} auto-reversed after {} ms in PROCESSING: {} of {} payouts reversed, status {}",
+                    batchId, timeoutMillis, open - left, open, result.getStatus());
+            if (left > 0) {
+                batchWheel.schedule(batchId, now + inFlightGraceMillis);
+            }
+        } catch (RuntimeException e) {
+            batchWheel.schedule(batchId, now + inFlightGraceMillis);
+            log.error("Auto-reverse of stuck payout batch {} failed, retrying in {} ms: {}", batchId, inFlightGraceMillis, e.getMessage());
+        }
+    }
+}
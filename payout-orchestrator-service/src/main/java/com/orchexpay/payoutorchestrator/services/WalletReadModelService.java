@@ -0,0 +1,148 @@
+package com.orchexpay.payoutorchestrator.services;
+
+import com.orchexpay.payoutorchestrator.clients.WalletIdCache;
+import com.orchexpay.payoutorchestrator.models.WalletBalance;
+import com.orchexpay.payoutorchestrator.models.WalletDirectoryEntry;
+import com.orchexpay.payoutorchestrator.repositories.ProcessedWalletEventRepository;
+import com.orchexpay.payoutorchestrator.repositories.WalletBalanceRepository;
+import com.orchexpay.payoutorchestrator.repositories.WalletDirectoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Local read models of user-wallet-service, fed by WalletEventsListener: the wallet directory (WalletCreated) and
+ * confirmed wallet balances (WalletCredited / WalletDebited). Wallet-id resolution, vendor usernames and vendor balances
+ * are answered from here, so payout validation and listing do not call wallet-service; misses (events not consumed
+ * yet, or consumption disabled) fall back to the HTTP lookups.
+ */
+@Service
+public class WalletReadModelService {
+
+    private static final Logger log = LoggerFactory.getLogger(WalletReadModelService.class);
+
+    private final WalletDirectoryRepository directoryRepository;
+    private final WalletBalanceRepository balanceRepository;
+    private final ProcessedWalletEventRepository processedRepository;
+    private final Duration dedupeRetention;
+
+    public WalletReadModelService(WalletDirectoryRepository directoryRepository, WalletBalanceRepository balanceRepository,
+                                  ProcessedWalletEventRepository processedRepository,
+                                  @Value("${orchexpay.wallet-events.dedupe-retention-ms:1209600000}") long dedupeRetentionMs) {
+        this.directoryRepository = directoryRepository;
+        this.balanceRepository = balanceRepository;
+        this.processedRepository = processedRepository;
+        this.dedupeRetention = Duration.ofMillis(dedupeRetentionMs);
+    }
+
+    /**
+     * Applies one consumed batch in one transaction. Each event is applied only if its id is new (redeliveries are
+     * skipped); balance changes are summed per wallet and upserted once each, in wallet id order.
+     */
+    @Transactional
+    public ApplyResult apply(List<WalletEvent> events) {
+        Instant now = Instant.now();
+        Map<UUID, BalanceDelta> deltas = new TreeMap<>();
+        int applied = 0;
+        for (WalletEvent event : events) {
+            if (processedRepository.insertIfAbsent(event.eventId(), now) == 0) {
+                continue;
+            }
+            applied++;
+            if (event instanceof WalletCreated created) {
+                directoryRepository.insertIfAbsent(created.walletId(), created.merchantId(), created.currencyCode(), created.walletType(),
+                        created.vendorUserId() != null ? created.vendorUserId().toString() : null, created.vendorUsername(), created.occurredAt());
+                balanceRepository.open(created.walletId(), created.occurredAt(), now);
+            } else if (event instanceof BalanceChanged changed) {
+                deltas.computeIfAbsent(changed.walletId(), id -> new BalanceDelta()).add(changed.delta(), changed.occurredAt());
+            }
+        }
+        deltas.forEach((walletId, delta) -> balanceRepository.adjust(walletId, delta.amount, delta.lastEventAt, now));
+        return new ApplyResult(applied, events.size() - applied);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<UUID> findWalletId(WalletIdCache.WalletKey key) {
+        return directoryRepository.findFirstByMerchantIdAndCurrencyCodeAndWalletTypeAndVendorUserId(
+                key.merchantId(), key.currencyCode(), key.walletType(), key.vendorUserId()).map(WalletDirectoryEntry::getWalletId);
+    }
+
+    /** Usernames of the given vendors that are known locally; absent ids need the HTTP lookup. */
+    @Transactional(readOnly = true)
+    public Map<UUID, String> findVendorUsernames(Collection<UUID> vendorIds) {
+        Map<UUID, String> usernames = new HashMap<>();
+        if (vendorIds.isEmpty()) {
+            return usernames;
+        }
+        for (WalletDirectoryEntry entry : directoryRepository.findByVendorUserIdInAndVendorUsernameIsNotNull(vendorIds)) {
+            usernames.put(entry.getVendorUserId(), entry.getVendorUsername());
+        }
+        return usernames;
+    }
+
+    /** The merchant's vendor wallets and their event-derived balances (zero until the first credit / debit). */
+    @Transactional(readOnly = true)
+    public List<VendorBalance> vendorBalances(UUID merchantId) {
+        return directoryRepository.findVendorWalletsWithBalance(merchantId).stream().map(row -> {
+            WalletDirectoryEntry wallet = (WalletDirectoryEntry) row[0];
+            WalletBalance balance = (WalletBalance) row[1];
+            return new VendorBalance(wallet.getVendorUserId(), wallet.getVendorUsername(), wallet.getWalletId(), wallet.getCurrencyCode(),
+                    balance != null ? balance.getBalance() : BigDecimal.ZERO,
+                    balance == null || balance.isComplete(),
+                    balance != null ? balance.getLastEventAt() : wallet.getCreatedAt());
+        }).toList();
+    }
+
+    @Scheduled(initialDelayString = "${orchexpay.wallet-events.purge-interval-ms:3600000}",
+            fixedDelayString = "${orchexpay.wallet-events.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeProcessed() {
+        int purged = processedRepository.deleteByProcessedAtBefore(Instant.now().minus(dedupeRetention));
+        if (purged > 0) {
+            log.info("Purged {} processed wallet event ids", purged);
+        }
+    }
+
+    /** A consumed wallet event; only the fields the read models use. */
+    public sealed interface WalletEvent permits WalletCreated, BalanceChanged {
+        UUID eventId();
+    }
+
+    public record WalletCreated(UUID eventId, UUID walletId, UUID merchantId, String currencyCode, String walletType,
+                                UUID vendorUserId, String vendorUsername, Instant occurredAt) implements WalletEvent {}
+
+    /** WalletCredited (positive delta) or WalletDebited (negative delta). */
+    public record BalanceChanged(UUID eventId, UUID walletId, BigDecimal delta, Instant occurredAt) implements WalletEvent {}
+
+    public record ApplyResult(int applied, int duplicates) {}
+
+    /** complete = false when the balance was started from a partial event history (see WalletBalance). */
+    public record VendorBalance(UUID vendorId, String vendorUsername, UUID walletId, String currencyCode, BigDecimal balance,
+                                boolean complete, Instant asOf) {}
+
+    private static final class BalanceDelta {
+        private BigDecimal amount = BigDecimal.ZERO;
+        private Instant lastEventAt;
+
+        void add(BigDecimal delta, Instant occurredAt) {
+            amount = amount.add(delta);
+            if (occurredAt != null && (lastEventAt == null || occurredAt.isAfter(lastEventAt))) {
+                lastEventAt = occurredAt;
+            }
+        }
+    }
+}
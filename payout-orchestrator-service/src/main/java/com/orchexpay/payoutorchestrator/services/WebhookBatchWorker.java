@@ -0,0 +1,220 @@
+package com.orchexpay.payoutorchestrator.services;
+
+import com.orchexpay.payoutorchestrator.clients.AsyncWalletServiceClient;
+import com.orchexpay.payoutorchestrator.clients.WalletServiceClient;
+import com.orchexpay.payoutorchestrator.enums.WebhookKind;
+import com.orchexpay.payoutorchestrator.enums.WebhookStatus;
+import com.orchexpay.payoutorchestrator.models.WebhookInboxEntry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Applies webhooks accepted into the inbox (orchexpay.webhooks.ingest.enabled) in micro-batches. Each poll claims up to
+ * batch-size due entries, resolves their wallet ids concurrently (mostly WalletIdCache hits), computes all commission
+ * shares in one pass, and makes one wallet-service call for all payment credits and one for all order splits. The
+ * outcomes and pending_orders writes are then recorded in one transaction. No DB connection is held during the calls.
+ * <p>
+ * Credits and splits use the same reference ids and Idempotency-Keys as the synchronous webhooks, so the two paths (and
+ * a replayed batch) never apply an order twice. Runs with the service's own wallet-service credentials.
+ */
+@Component
+public class WebhookBatchWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(WebhookBatchWorker.class);
+
+    private final WebhookInboxService inboxService;
+    private final WalletServiceClient walletServiceClient;
+    private final AsyncWalletServiceClient asyncWalletServiceClient;
+    private final CommissionService commissionService;
+    private final MeterRegistry meterRegistry;
+    private final Timer batchTimer;
+    private final Timer lagTimer;
+    private final int batchSize;
+    private final Duration retention;
+
+    public WebhookBatchWorker(WebhookInboxService inboxService, WalletServiceClient walletServiceClient,
+                              AsyncWalletServiceClient asyncWalletServiceClient, CommissionService commissionService,
+                              MeterRegistry meterRegistry,
+                              @Value("${orchexpay.webhooks.worker.batch-size:200}") int batchSize,
+                              @Value("${orchexpay.webhooks.retention-ms:604800000}") long retentionMs) {
+        this.inboxService = inboxService;
+        this.walletServiceClient = walletServiceClient;
+        this.asyncWalletServiceClient = asyncWalletServiceClient;
+        this.commissionService = commissionService;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.retention = Duration.ofMillis(retentionMs);
+        this.batchTimer = Timer.builder("webhook.inbox.batch").publishPercentileHistogram().register(meterRegistry);
+        this.lagTimer = Timer.builder("webhook.inbox.lag").publishPercentileHistogram().register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${orchexpay.webhooks.worker.initial-delay-ms:5000}",
+            fixedDelayString = "${orchexpay.webhooks.worker.poll-interval-ms:200}")
+    public void poll() {
+        List<WebhookInboxEntry> claimed;
+        do {
+            claimed = inboxService.claimDue(batchSize);
+            if (!claimed.isEmpty()) {
+                process(claimed);
+            }
+        } while (claimed.size() == batchSize);
+    }
+
+    @Scheduled(initialDelayString = "${orchexpay.webhooks.purge-interval-ms:3600000}",
+            fixedDelayString = "${orchexpay.webhooks.purge-interval-ms:3600000}")
+    public void purge() {
+        int purged = inboxService.purgeDone(Instant.now().minus(retention));
+        if (purged > 0) {
+            log.info("Purged {} processed webhook inbox entries", purged);
+        }
+    }
+
+    /**
+     * Applies and records one claimed micro-batch. If that throws (e.g. a commission lookup or the outcome transaction
+     * fails) the whole batch is recorded PENDING with its backoff instead of staying leased for lease-ms, and the poll
+     * loop moves on to the next batch.
+     */
+    private void process(List<WebhookInboxEntry> batch) {
+        long start = System.nanoTime();
+        List<WebhookInboxService.Outcome> outcomes;
+        try {
+            outcomes = apply(batch);
+            inboxService.recordOutcomes(outcomes);
+        } catch (RuntimeException ex) {
+            log.error("Webhook batch of {} entries failed, releasing it for retry", batch.size(), ex);
+            outcomes = batch.stream().map(e -> failure(e, false, ex.toString())).toList();
+            try {
+                inboxService.recordOutcomes(outcomes);
+            } catch (RuntimeException recordEx) {
+                log.error("Could not release webhook batch of {} entries; retried once the lease expires", batch.size(), recordEx);
+                return;
+            }
+        }
+
+        Instant now = Instant.now();
+        for (WebhookInboxService.Outcome outcome : outcomes) {
+            String result = outcome.status() == WebhookStatus.DONE ? "done" : outcome.status() == WebhookStatus.FAILED ? "failed" : "retry";
+            Counter.builder("webhook.inbox.processed").tag("kind", outcome.entry().getKind().name()).tag("outcome", result)
+                    .register(meterRegistry).increment();
+            if (outcome.status() == WebhookStatus.DONE) {
+                lagTimer.record(Duration.between(outcome.entry().getReceivedAt(), now));
+            } else {
+                log.warn("Webhook {} order {} attempt {} {}: {}", outcome.entry().getKind(), outcome.entry().getOrderId(),
+                        outcome.entry().getAttempts(), result, outcome.error());
+            }
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        batchTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        long payments = batch.stream().filter(e -> e.getKind() == WebhookKind.PAYMENT_SUCCESS).count();
+        log.info("Webhook batch: {} payments, {} order completions in {} ms", payments, batch.size() - payments,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+    }
+
+    private List<WebhookInboxService.Outcome> apply(List<WebhookInboxEntry> batch) {
+        List<WebhookInboxService.Outcome> outcomes = new ArrayList<>(batch.size());
+        List<WebhookInboxEntry> payments = batch.stream().filter(e -> e.getKind() == WebhookKind.PAYMENT_SUCCESS).toList();
+        List<WebhookInboxEntry> orders = batch.stream().filter(e -> e.getKind() == WebhookKind.ORDER_COMPLETE).toList();
+
+        List<CompletableFuture<WalletIds>> paymentWallets = payments.stream().map(e -> lookup(e, false)).toList();
+        List<CompletableFuture<WalletIds>> orderWallets = orders.stream().map(e -> lookup(e, true)).toList();
+        List<CommissionService.Shares> shares = commissionService.computeShares(orders.stream()
+                .map(e -> new CommissionService.OrderAmount(e.getMerchantId(), e.getVendorId(), e.getAmount()))
+                .toList());
+
+        List<WebhookInboxEntry> credited = new ArrayList<>();
+        List<WalletServiceClient.CreditItem> credits = new ArrayList<>();
+        for (int i = 0; i < payments.size(); i++) {
+            WebhookInboxEntry e = payments.get(i);
+            try {
+                UUID escrow = AsyncWalletServiceClient.await(paymentWallets.get(i)).escrow();
+                credits.add(new WalletServiceClient.CreditItem(escrow, e.getAmount(), e.getCurrencyCode(), e.getOrderId(), "ORDER",
+                        "Mock payment for order " + e.getOrderId(), "mock-payment-" + e.getOrderId()));
+                credited.add(e);
+            } catch (RuntimeException ex) {
+                outcomes.add(failure(e, PayoutOrchestrationService.isRejected(ex), ex.getMessage()));
+            }
+        }
+        List<WebhookInboxEntry> split = new ArrayList<>();
+        List<WalletServiceClient.TransferItem> transfers = new ArrayList<>();
+        for (int i = 0; i < orders.size(); i++) {
+            WebhookInboxEntry e = orders.get(i);
+            try {
+                WalletIds wallets = AsyncWalletServiceClient.await(orderWallets.get(i));
+                CommissionService.Shares s = shares.get(i);
+                transfers.add(new WalletServiceClient.TransferItem(wallets.escrow(), e.getOrderId() + "-split", e.getCurrencyCode(), e.getAmount(),
+                        List.of(new WalletServiceClient.TransferLeg(wallets.vendor(), s.vendorShare()),
+                                new WalletServiceClient.TransferLeg(wallets.main(), s.platformShare())),
+                        "Order split " + e.getOrderId(), "mock-split-" + e.getOrderId()));
+                split.add(e);
+            } catch (RuntimeException ex) {
+                outcomes.add(failure(e, PayoutOrchestrationService.isRejected(ex), ex.getMessage()));
+            }
+        }
+
+        apply(credited, () -> walletServiceClient.creditWallets(credits), outcomes);
+        apply(split, () -> walletServiceClient.transfers(transfers), outcomes);
+        return outcomes;
+    }
+
+    /**
+     * One bulk wallet-service call for entries (results in the same order). If the call itself fails nothing is known to
+     * have landed, so every entry is retried; the per-item Idempotency-Keys make the replay safe.
+     */
+    private static void apply(List<WebhookInboxEntry> entries, Supplier<List<WalletServiceClient.BatchItemResult>> call,
+                              List<WebhookInboxService.Outcome> outcomes) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        List<WalletServiceClient.BatchItemResult> results;
+        try {
+            results = call.get();
+        } catch (RuntimeException ex) {
+            entries.forEach(e -> outcomes.add(failure(e, false, ex.getMessage())));
+            return;
+        }
+        for (int i = 0; i < entries.size(); i++) {
+            WebhookInboxEntry e = entries.get(i);
+            WalletServiceClient.BatchItemResult result = i < results.size() ? results.get(i) : null;
+            if (result != null && result.succeeded()) {
+                outcomes.add(new WebhookInboxService.Outcome(e, WebhookStatus.DONE, null));
+            } else if (result == null) {
+                outcomes.add(failure(e, false, "No result from wallet-service"));
+            } else {
+                // A split refused for lack of escrow funds usually means its payment has not landed yet: keep retrying
+                boolean rejected = result.rejected() && !(e.getKind() == WebhookKind.ORDER_COMPLETE && result.status() == 422);
+                outcomes.add(failure(e, rejected, result.status() + " " + result.error()));
+            }
+        }
+    }
+
+    private static WebhookInboxService.Outcome failure(WebhookInboxEntry entry, boolean rejected, String error) {
+        return new WebhookInboxService.Outcome(entry, rejected ? WebhookStatus.FAILED : WebhookStatus.PENDING, error);
+    }
+
+    private CompletableFuture<WalletIds> lookup(WebhookInboxEntry e, boolean split) {
+        CompletableFuture<UUID> escrow = asyncWalletServiceClient.getWalletByType(e.getEscrowWalletId(), e.getMerchantId(), e.getCurrencyCode(), "ESCROW", null);
+        if (!split) {
+            return escrow.thenApply(id -> new WalletIds(id, null, null));
+        }
+        CompletableFuture<UUID> main = asyncWalletServiceClient.getWalletByType(e.getMainWalletId(), e.getMerchantId(), e.getCurrencyCode(), "MAIN", null);
+        CompletableFuture<UUID> vendor = asyncWalletServiceClient.getWalletByType(e.getVendorWalletId(), e.getMerchantId(), e.getCurrencyCode(), "VENDOR", e.getVendorId());
+        return escrow.thenCombine(main, (es, m) -> new WalletIds(es, m, null)).thenCombine(vendor, (w, v) -> new WalletIds(w.escrow(), w.main(), v));
+    }
+
+    private record WalletIds(UUID escrow, UUID main, UUID vendor) {}
+}
@@ -0,0 +1,154 @@
+package com.orchexpay.payoutorchestrator.services;
+
+import com.orchexpay.payoutorchestrator.enums.WebhookKind;
+import com.orchexpay.payoutorchestrator.enums.WebhookStatus;
+import com.orchexpay.payoutorchestrator.models.WebhookInboxEntry;
+import com.orchexpay.payoutorchestrator.repositories.WebhookInboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Short transactions for the webhook inbox, same pattern as {@link PayoutIntentService}: accept (one upsert), claim a
+ * due micro-batch (SKIP LOCKED + lease), and record a processed batch's outcomes together with its pending_orders
+ * writes. Wallet-service calls happen between claim and record, never inside them.
+ */
+@Service
+public class WebhookInboxService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final WebhookInboxRepository inboxRepository;
+    private final PendingOrderService pendingOrderService;
+    private final MeterRegistry meterRegistry;
+    private final Duration lease;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+    private final int maxAttempts;
+
+    public WebhookInboxService(WebhookInboxRepository inboxRepository, PendingOrderService pendingOrderService,
+                               MeterRegistry meterRegistry,
+                               @Value("${orchexpay.webhooks.worker.lease-ms:60000}") long leaseMs,
+                               @Value("${orchexpay.webhooks.worker.base-backoff-ms:1000}") long baseBackoffMs,
+                               @Value("${orchexpay.webhooks.worker.max-backoff-ms:60000}") long maxBackoffMs,
+                               @Value("${orchexpay.webhooks.worker.max-attempts:10}") int maxAttempts) {
+        this.inboxRepository = inboxRepository;
+        this.pendingOrderService = pendingOrderService;
+        this.meterRegistry = meterRegistry;
+        this.lease = Duration.ofMillis(leaseMs);
+        this.baseBackoff = Duration.ofMillis(baseBackoffMs);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMs);
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Durably accepts a webhook for WebhookBatchWorker. Returns false when the same (kind, merchant, order) is already in
+     * the inbox: the delivery is coalesced into that entry (and a FAILED one is retried) instead of being queued again.
+     */
+    @Transactional
+    public boolean accept(WebhookKind kind, UUID merchantId, String orderId, UUID vendorId, BigDecimal amount, String currencyCode,
+                          UUID escrowWalletId, UUID mainWalletId, UUID vendorWalletId) {
+        Instant now = Instant.now();
+        int inserted = inboxRepository.insertIfAbsent(UUID.randomUUID(), kind.name(), merchantId, orderId, vendorId, amount, currencyCode,
+                toStringOrNull(escrowWalletId), toStringOrNull(mainWalletId), toStringOrNull(vendorWalletId), now);
+        if (inserted == 0) {
+            inboxRepository.recordRedelivery(kind.name(), merchantId, orderId, now);
+        }
+        Counter.builder("webhook.inbox.received").tag("kind", kind.name()).tag("result", inserted > 0 ? "queued" : "coalesced")
+                .register(meterRegistry).increment();
+        return inserted > 0;
+    }
+
+    /**
+     * Claims up to limit due entries and leases them (attempts + 1, next attempt after the lease) in one transaction.
+     * Entries that already used every attempt are marked FAILED instead of being returned.
+     */
+    @Transactional
+    public List<WebhookInboxEntry> claimDue(int limit) {
+        Instant now = Instant.now();
+        List<WebhookInboxEntry> claimed = new ArrayList<>();
+        for (WebhookInboxEntry entry : inboxRepository.lockDue(now, limit)) {
+            entry.setUpdatedAt(now);
+            if (entry.getAttempts() >= maxAttempts) {
+                entry.setStatus(WebhookStatus.FAILED);
+                entry.setNextAttemptAt(null);
+                entry.setLastError(truncate("Gave up after " + entry.getAttempts() + " attempts"
+                        + (entry.getLastError() != null ? ": " + entry.getLastError() : "")));
+            } else {
+                entry.setAttempts(entry.getAttempts() + 1);
+                entry.setNextAttemptAt(now.plus(lease));
+                claimed.add(entry);
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * Records a processed micro-batch in one transaction: DONE entries are closed with one UPDATE, and their
+     * pending_orders effects (and vendor pending summaries) are written through {@link PendingOrderService} for the whole
+     * batch at once. Retried entries get their backoff; FAILED entries keep the wallet-service error.
+     */
+    @Transactional
+    public void recordOutcomes(List<Outcome> outcomes) {
+        Instant now = Instant.now();
+        List<WebhookInboxEntry> done = outcomes.stream().filter(o -> o.status() == WebhookStatus.DONE).map(Outcome::entry).toList();
+        List<PendingOrderService.PaidOrder> paid = done.stream().filter(e -> e.getKind() == WebhookKind.PAYMENT_SUCCESS)
+                .map(e -> new PendingOrderService.PaidOrder(e.getMerchantId(), e.getVendorId(), e.getOrderId(), e.getAmount(), e.getCurrencyCode()))
+                .toList();
+        if (!paid.isEmpty()) {
+            pendingOrderService.recordPaid(paid);
+        }
+        done.stream().filter(e -> e.getKind() == WebhookKind.ORDER_COMPLETE)
+                .collect(Collectors.groupingBy(WebhookInboxEntry::getMerchantId, Collectors.mapping(WebhookInboxEntry::getOrderId, Collectors.toSet())))
+                .forEach(pendingOrderService::recordSplit);
+        if (!done.isEmpty()) {
+            inboxRepository.markAll(done.stream().map(WebhookInboxEntry::getId).toList(), WebhookStatus.DONE, now);
+        }
+
+        Map<UUID, Outcome> unfinished = outcomes.stream().filter(o -> o.status() != WebhookStatus.DONE)
+                .collect(Collectors.toMap(o -> o.entry().getId(), Function.identity()));
+        for (WebhookInboxEntry entry : inboxRepository.findAllById(unfinished.keySet())) {
+            Outcome outcome = unfinished.get(entry.getId());
+            entry.setStatus(outcome.status());
+            entry.setNextAttemptAt(outcome.status() == WebhookStatus.PENDING ? now.plus(backoff(entry.getAttempts())) : null);
+            entry.setLastError(truncate(outcome.error()));
+            entry.setUpdatedAt(now);
+        }
+    }
+
+    /** Drops DONE entries last touched before cutoff; a later redelivery of one is applied again (wallet calls are idempotent). */
+    @Transactional
+    public int purgeDone(Instant cutoff) {
+        return inboxRepository.deleteByStatusAndUpdatedAtBefore(WebhookStatus.DONE, cutoff);
+    }
+
+    private Duration backoff(int attempt) {
+        long millis = baseBackoff.toMillis() << Math.min(Math.max(attempt - 1, 0), 20);
+        millis = Math.min(millis, maxBackoff.toMillis());
+        return Duration.ofMillis(millis + ThreadLocalRandom.current().nextLong(millis / 4 + 1));
+    }
+
+    private static String toStringOrNull(UUID id) {
+        return id != null ? id.toString() : null;
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+    /** Result of processing one claimed entry: DONE, PENDING (retry after backoff) or FAILED (error kept). */
+    public record Outcome(WebhookInboxEntry entry, WebhookStatus status, String error) {}
+}
@@ -0,0 +1,128 @@
+package com.orchexpay.payoutorchestrator.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hashed timing wheel (Varghese &amp; Lauck): deadlines hashed into a fixed ring of buckets by tick, each entry carrying
+ * the number of full rotations left. schedule / cancel are O(1); advancing one tick only visits that tick's bucket,
+ * so cost per tick is independent of how many deadlines are tracked. Deadlines further out than one rotation simply
+ * wait out their remaining rounds.
+ * <p>
+ * Keys are unique: scheduling a key again replaces its deadline. Thread-safe (coarse lock; all operations are short).
+ */
+public class HashedTimingWheel<K> {
+
+    private final long tickMillis;
+    private final Bucket<K>[] wheel;
+    private final int mask;
+    private final Map<K, Node<K>> index = new HashMap<>();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(long tickMillis, int ticksPerWheel, long startMillis) {
+        if (tickMillis <= 0) throw new IllegalArgumentException("tickMillis must be > 0");
+        int size = Integer.highestOneBit(Math.max(ticksPerWheel, 2) - 1) << 1;
+        this.tickMillis = tickMillis;
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket<>();
+        }
+        this.mask = size - 1;
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /** Tracks key until deadlineMillis; a deadline already past fires on the next advance. */
+    public synchronized void schedule(K key, long deadlineMillis) {
+        cancelInternal(key);
+        long deadlineTick = Math.max(deadlineMillis / tickMillis, currentTick + 1);
+        long ticksAway = deadlineTick - currentTick;
+        Node<K> node = new Node<>(key, (ticksAway - 1) / wheel.length);
+        wheel[(int) (deadlineTick & mask)].add(node);
+        index.put(key, node);
+    }
+
+    /** Stops tracking key; returns false if it was not tracked (already expired or never scheduled). */
+    public synchronized boolean cancel(K key) {
+        return cancelInternal(key);
+    }
+
+    /**
+     * Advances the wheel to nowMillis and returns every key whose deadline is now due, removing them from the wheel.
+     * Visits one bucket per elapsed tick.
+     */
+    public synchronized List<K> advance(long nowMillis) {
+        List<K> expired = new ArrayList<>();
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            Bucket<K> bucket = wheel[(int) (currentTick & mask)];
+            Node<K> node = bucket.head;
+            while (node != null) {
+                Node<K> next = node.next;
+                if (node.remainingRounds <= 0) {
+                    bucket.remove(node);
+                    index.remove(node.key);
+                    expired.add(node.key);
+                } else {
+                    node.remainingRounds--;
+                }
+                node = next;
+            }
+        }
+        return expired;
+    }
+
+    public synchronized int size() {
+        return index.size();
+    }
+
+    private boolean cancelInternal(K key) {
+        Node<K> node = index.remove(key);
+        if (node == null) {
+            return false;
+        }
+        node.bucket.remove(node);
+        return true;
+    }
+
+    private static final class Node<K> {
+        final K key;
+        long remainingRounds;
+        Bucket<K> bucket;
+        Node<K> prev;
+        Node<K> next;
+
+        Node(K key, long remainingRounds) {
+            this.key = key;
+            this.remainingRounds = remainingRounds;
+        }
+    }
+
+    private static final class Bucket<K> {
+        Node<K> head;
+        Node<K> tail;
+
+        void add(Node<K> node) {
+            node.bucket = this;
+            node.prev = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+        }
+
+        void remove(Node<K> node) {
+            if (node.prev == null) head = node.next; else node.prev.next = node.next;
+            if (node.next == null) tail = node.prev; else node.next.prev = node.prev;
+            node.prev = null;
+            node.next = null;
+            node.bucket = null;
+        }
+    }
+}
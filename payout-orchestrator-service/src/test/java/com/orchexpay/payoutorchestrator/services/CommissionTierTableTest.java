@@ -0,0 +1,64 @@
+package com.orchexpay.payoutorchestrator.services;
+
+import com.orchexpay.payoutorchestrator.enums.CommissionType;
+import com.orchexpay.payoutorchestrator.models.CommissionTier;
+import com.orchexpay.payoutorchestrator.models.MerchantCommission;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CommissionTierTableTest {
+
+    @Test
+    void floorIsCappedAtTheOrderAmount() {
+        CommissionTierTable table = CommissionTierTable.of(config("10", "5.0000", null), List.of());
+
+        // 10% of 3.0000 is 0.3000, lifted to the floor but not past the order itself
+        assertThat(table.platformShareUnits(30_000)).isEqualTo(30_000);
+        assertThat(table.platformShare(new BigDecimal("3.0000"))).isEqualByComparingTo("3.0000");
+        assertThat(table.vendorShare(new BigDecimal("3.0000"))).isEqualByComparingTo("0");
+        // More than 4 decimals takes the exact BigDecimal path
+        assertThat(table.platformShare(new BigDecimal("3.00001"))).isEqualByComparingTo("3.0000");
+        assertThat(table.vendorShare(new BigDecimal("3.00001"))).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void floorAppliesInFullOnceTheOrderCoversIt() {
+        CommissionTierTable table = CommissionTierTable.of(config("10", "5.0000", null), List.of());
+
+        assertThat(table.platformShare(new BigDecimal("20.0000"))).isEqualByComparingTo("5.0000");
+        assertThat(table.platformShare(new BigDecimal("5.0000"))).isEqualByComparingTo("5.0000");
+        assertThat(table.platformShare(new BigDecimal("100.0000"))).isEqualByComparingTo("10.0000");
+    }
+
+    @Test
+    void tieredFloorIsCappedAtTheOrderAmount() {
+        MerchantCommission config = config("10", "2.5000", "50.0000");
+        config.setCommissionType(CommissionType.TIERED);
+        CommissionTierTable table = CommissionTierTable.of(config, List.of(tier("0", "1"), tier("1000", "0.5")));
+
+        assertThat(table.platformShare(new BigDecimal("1.0000"))).isEqualByComparingTo("1.0000");
+        assertThat(table.platformShare(new BigDecimal("0.0001"))).isEqualByComparingTo("0.0001");
+        assertThat(table.platformShare(BigDecimal.ZERO)).isEqualByComparingTo("0");
+        assertThat(table.platformShare(new BigDecimal("20000.0000"))).isEqualByComparingTo("50.0000");
+    }
+
+    private static MerchantCommission config(String percentage, String min, String max) {
+        MerchantCommission config = new MerchantCommission();
+        config.setCommissionType(CommissionType.PERCENTAGE);
+        config.setPercentageValue(new BigDecimal(percentage));
+        config.setMinCommission(min == null ? null : new BigDecimal(min));
+        config.setMaxCommission(max == null ? null : new BigDecimal(max));
+        return config;
+    }
+
+    private static CommissionTier tier(String minOrderAmount, String percentage) {
+        CommissionTier tier = new CommissionTier();
+        tier.setMinOrderAmount(new BigDecimal(minOrderAmount));
+        tier.setPercentageValue(new BigDecimal(percentage));
+        return tier;
+    }
+}
@@ -0,0 +1,269 @@
+package com.orchexpay.payoutorchestrator.services;
+
+import com.orchexpay.payoutorchestrator.AbstractIntegrationTest;
+import com.orchexpay.payoutorchestrator.clients.WalletServiceClient;
+import com.orchexpay.payoutorchestrator.enums.PayoutStatus;
+import com.orchexpay.payoutorchestrator.exceptions.PayoutConflictException;
+import com.orchexpay.payoutorchestrator.models.Payout;
+import com.orchexpay.payoutorchestrator.models.PayoutBatch;
+import com.orchexpay.payoutorchestrator.repositories.PayoutBatchRepository;
+import com.orchexpay.payoutorchestrator.repositories.PayoutRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Concurrent confirm / reverse (and duplicate confirm) webhooks for one PROCESSING payout on real PostgreSQL: exactly
+ * one request wins the conditional claim and calls wallet-service; every other request gets a conflict and applies
+ * nothing. The winner's wallet call is held open until all losers have returned, so they all race an in-flight action.
+ * Batches get the same race: only one action's wallet calls go out and every group ends in the same status.
+ */
+class PayoutTransitionContentionTest extends AbstractIntegrationTest {
+
+    private static final int THREADS = 12;
+
+    @MockBean
+    private WalletServiceClient walletServiceClient;
+
+    @Autowired
+    private PayoutOrchestrationService orchestrationService;
+
+    @Autowired
+    private PayoutRepository payoutRepository;
+
+    @Autowired
+    private PayoutBatchService payoutBatchService;
+
+    @Autowired
+    private PayoutBatchRepository payoutBatchRepository;
+
+    @Test
+    void concurrentConfirmAndReverseMakeExactlyOneWalletCall() throws Exception {
+        Payout payout = processingPayout();
+        AtomicInteger confirmCalls = new AtomicInteger();
+        AtomicInteger reverseCalls = new AtomicInteger();
+        CountDownLatch losersDone = new CountDownLatch(THREADS - 1);
+        doAnswer(inv -> {
+            confirmCalls.incrementAndGet();
+            losersDone.await(10, TimeUnit.SECONDS);
+            return null;
+        }).when(walletServiceClient).confirmLedgerEntry(any(), any(), any());
+        doAnswer(inv -> {
+            reverseCalls.incrementAndGet();
+            losersDone.await(10, TimeUnit.SECONDS);
+            return null;
+        }).when(walletServiceClient).reverseLedgerEntry(any(), any(), any());
+
+        CountDownLatch start = new CountDownLatch(1);
+        ConcurrentLinkedQueue<RuntimeException> conflicts = new ConcurrentLinkedQueue<>();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<Payout>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                int i = t;
+                results.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        // Two thirds confirm with the same key (duplicate deliveries), one third reverse
+                        return i % 3 == 0
+                                ? orchestrationService.reversePayout(payout.getId(), "reverse-" + payout.getId(), Optional.empty())
+                                : orchestrationService.confirmPayout(payout.getId(), "confirm-" + payout.getId(), Optional.empty());
+                    } catch (PayoutConflictException | IllegalStateException e) {
+                        conflicts.add(e);
+                        losersDone.countDown();
+                        return null;
+                    }
+                }));
+            }
+            start.countDown();
+        } finally {
+            pool.shutdown();
+        }
+
+        List<Payout> winners = results.stream().map(PayoutTransitionContentionTest::get).filter(p -> p != null).toList();
+        assertThat(confirmCalls.get() + reverseCalls.get()).isEqualTo(1);
+        assertThat(winners).hasSize(1);
+        assertThat(conflicts).hasSize(THREADS - 1);
+
+        PayoutStatus expected = confirmCalls.get() == 1 ? PayoutStatus.SETTLED : PayoutStatus.FAILED;
+        assertThat(winners.get(0).getStatus()).isEqualTo(expected);
+        Payout stored = payoutRepository.findById(payout.getId()).orElseThrow();
+        assertThat(stored.getStatus()).isEqualTo(expected);
+        assertThat(stored.getPendingAction()).isNull();
+        // One claim, one transition
+        assertThat(stored.getVersion()).isEqualTo(payout.getVersion() + 2);
+
+        // Late duplicates: the winning action is an idempotent no-op, the other one is refused; no further wallet calls
+        if (expected == PayoutStatus.SETTLED) {
+            assertThat(orchestrationService.confirmPayout(payout.getId(), "confirm-" + payout.getId(), Optional.empty()).getStatus())
+                    .isEqualTo(PayoutStatus.SETTLED);
+            assertThatThrownBy(() -> orchestrationService.reversePayout(payout.getId(), "reverse-" + payout.getId(), Optional.empty()))
+                    .isInstanceOf(IllegalStateException.class);
+        } else {
+            assertThat(orchestrationService.reversePayout(payout.getId(), "reverse-" + payout.getId(), Optional.empty()).getStatus())
+                    .isEqualTo(PayoutStatus.FAILED);
+            assertThatThrownBy(() -> orchestrationService.confirmPayout(payout.getId(), "confirm-" + payout.getId(), Optional.empty()))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+        assertThat(confirmCalls.get() + reverseCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentBatchConfirmAndReverseDispatchOnlyOneAction() throws Exception {
+        PayoutBatch batch = processingBatch();
+        AtomicInteger confirmCalls = new AtomicInteger();
+        AtomicInteger reverseCalls = new AtomicInteger();
+        // Retries of the winning action resume it, so the winner's calls wait for every request of the other action
+        CountDownLatch confirmersDone = new CountDownLatch(THREADS / 2);
+        CountDownLatch reversersDone = new CountDownLatch(THREADS / 2);
+        doAnswer(inv -> {
+            confirmCalls.incrementAndGet();
+            reversersDone.await(10, TimeUnit.SECONDS);
+            return null;
+        }).when(walletServiceClient).confirmLedgerEntry(any(), any(), any());
+        doAnswer(inv -> {
+            reverseCalls.incrementAndGet();
+            confirmersDone.await(10, TimeUnit.SECONDS);
+            return null;
+        }).when(walletServiceClient).reverseLedgerEntry(any(), any(), any());
+
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger confirmRefused = new AtomicInteger();
+        AtomicInteger reverseRefused = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<PayoutBatch>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                boolean confirm = t % 2 == 0;
+                results.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        return confirm
+                                ? payoutBatchService.confirmBatch(batch.getId(), "confirm-" + batch.getId(), Optional.empty())
+                                : payoutBatchService.reverseBatch(batch.getId(), "reverse-" + batch.getId(), Optional.empty());
+                    } catch (PayoutConflictException | IllegalStateException e) {
+                        (confirm ? confirmRefused : reverseRefused).incrementAndGet();
+                        (confirm ? confirmersDone : reversersDone).countDown();
+                        return null;
+                    }
+                }));
+            }
+            start.countDown();
+        } finally {
+            pool.shutdown();
+        }
+        results.forEach(PayoutTransitionContentionTest::get);
+
+        assertThat(confirmCalls.get() == 0 || reverseCalls.get() == 0).as("only one action reaches wallet-service").isTrue();
+        assertThat(confirmCalls.get() + reverseCalls.get()).isGreaterThanOrEqualTo(2);
+        boolean confirmed = confirmCalls.get() > 0;
+        assertThat(confirmed ? reverseRefused.get() : confirmRefused.get()).isEqualTo(THREADS / 2);
+
+        PayoutStatus expected = confirmed ? PayoutStatus.SETTLED : PayoutStatus.FAILED;
+        PayoutBatch stored = payoutBatchRepository.findById(batch.getId()).orElseThrow();
+        assertThat(stored.getStatus()).isEqualTo(expected);
+        assertThat(stored.getPendingAction()).isNull();
+        assertThat(payoutRepository.countByBatchIdAndStatus(batch.getId(), expected)).isEqualTo(4);
+    }
+
+    @Test
+    void staleEntityWriteFailsAfterConditionalTransition() {
+        Payout payout = processingPayout();
+        Payout stale = payoutRepository.findById(payout.getId()).orElseThrow();
+
+        orchestrationService.confirmPayout(payout.getId(), "confirm-" + payout.getId(), Optional.empty());
+
+        stale.setStatus(PayoutStatus.FAILED);
+        assertThatThrownBy(() -> payoutRepository.saveAndFlush(stale)).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(payoutRepository.findById(payout.getId()).orElseThrow().getStatus()).isEqualTo(PayoutStatus.SETTLED);
+    }
+
+    private Payout processingPayout() {
+        Instant now = Instant.now();
+        UUID id = UUID.randomUUID();
+        Payout payout = Payout.builder()
+                .id(id)
+                .merchantId(UUID.randomUUID())
+                .vendorId(UUID.randomUUID())
+                .vendorWalletId(UUID.randomUUID())
+                .amount(new BigDecimal("125.00"))
+                .currencyCode("INR")
+                .status(PayoutStatus.PROCESSING)
+                .ledgerEntryId(UUID.randomUUID())
+                .idempotencyKey("payout-" + id)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        payout.setStatusChangedAt(now);
+        return payoutRepository.saveAndFlush(payout);
+    }
+
+    /** Two vendor wallets with two payouts each, both wallets reserved (one shared ledger entry per wallet). */
+    private PayoutBatch processingBatch() {
+        Instant now = Instant.now();
+        PayoutBatch batch = new PayoutBatch();
+        batch.setId(UUID.randomUUID());
+        batch.setMerchantId(UUID.randomUUID());
+        batch.setCurrencyCode("INR");
+        batch.setStatus(PayoutStatus.PROCESSING);
+        batch.setPayoutCount(4);
+        batch.setTotalAmount(new BigDecimal("400.00"));
+        batch.setIdempotencyKey("batch-" + batch.getId());
+        batch.setCreatedAt(now);
+        batch.setUpdatedAt(now);
+        payoutBatchRepository.saveAndFlush(batch);
+        for (int wallet = 0; wallet < 2; wallet++) {
+            UUID vendorId = UUID.randomUUID();
+            UUID vendorWalletId = UUID.randomUUID();
+            UUID ledgerEntryId = UUID.randomUUID();
+            for (int i = 0; i < 2; i++) {
+                UUID id = UUID.randomUUID();
+                Payout payout = Payout.builder()
+                        .id(id)
+                        .merchantId(batch.getMerchantId())
+                        .vendorId(vendorId)
+                        .vendorWalletId(vendorWalletId)
+                        .amount(new BigDecimal("100.00"))
+                        .currencyCode("INR")
+                        .status(PayoutStatus.PROCESSING)
+                        .ledgerEntryId(ledgerEntryId)
+                        .idempotencyKey("payout-" + id)
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .build();
+                payout.setBatchId(batch.getId());
+                payout.setStatusChangedAt(now);
+                payoutRepository.saveAndFlush(payout);
+            }
+        }
+        return batch;
+    }
+
+    private static <T> T get(Future<T> future) {
+        try {
+            return future.get(30, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+}
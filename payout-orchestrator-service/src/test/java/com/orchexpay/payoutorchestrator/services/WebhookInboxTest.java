@@ -0,0 +1,245 @@
+package com.orchexpay.payoutorchestrator.services;
+
+import com.orchexpay.payoutorchestrator.AbstractIntegrationTest;
+import com.orchexpay.payoutorchestrator.clients.WalletServiceClient;
+import com.orchexpay.payoutorchestrator.enums.WebhookKind;
+import com.orchexpay.payoutorchestrator.enums.WebhookStatus;
+import com.orchexpay.payoutorchestrator.models.WebhookInboxEntry;
+import com.orchexpay.payoutorchestrator.repositories.WebhookInboxRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+
+/**
+ * Webhook inbox on real PostgreSQL, driven by calling WebhookBatchWorker.poll() directly (its schedule is pushed out in
+ * application-test.yml): duplicate deliveries coalesce into one wallet call, a redelivered FAILED webhook is retried,
+ * an order completion waits for its payment, a split refused with 422 keeps retrying, and a batch that throws is
+ * released for retry instead of staying leased.
+ */
+class WebhookInboxTest extends AbstractIntegrationTest {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("250.0000");
+
+    @MockBean
+    private WalletServiceClient walletServiceClient;
+
+    @SpyBean
+    private CommissionService commissionService;
+
+    @Autowired
+    private WebhookInboxService inboxService;
+
+    @Autowired
+    private WebhookBatchWorker worker;
+
+    @Autowired
+    private WebhookInboxRepository inboxRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Queue<String> credited = new ConcurrentLinkedQueue<>();
+    private final Queue<String> split = new ConcurrentLinkedQueue<>();
+
+    @Test
+    void duplicateDeliveriesCoalesceIntoOneCredit() {
+        creditsReturn(201);
+        Order order = new Order();
+
+        assertThat(order.pay()).isTrue();
+        assertThat(order.pay()).isFalse();
+        assertThat(order.pay()).isFalse();
+        worker.poll();
+
+        assertThat(credited).containsOnlyOnce(order.id);
+        WebhookInboxEntry entry = order.entry(WebhookKind.PAYMENT_SUCCESS);
+        assertThat(entry.getStatus()).isEqualTo(WebhookStatus.DONE);
+        assertThat(entry.getDeliveries()).isEqualTo(3);
+        assertThat(entry.getAttempts()).isEqualTo(1);
+
+        // A late duplicate of an applied webhook is only counted
+        assertThat(order.pay()).isFalse();
+        worker.poll();
+        assertThat(credited).containsOnlyOnce(order.id);
+        assertThat(order.entry(WebhookKind.PAYMENT_SUCCESS).getStatus()).isEqualTo(WebhookStatus.DONE);
+    }
+
+    @Test
+    void redeliveryReArmsAFailedEntry() {
+        creditsReturn(404);
+        Order order = new Order();
+        order.pay();
+        worker.poll();
+
+        WebhookInboxEntry failed = order.entry(WebhookKind.PAYMENT_SUCCESS);
+        assertThat(failed.getStatus()).isEqualTo(WebhookStatus.FAILED);
+        assertThat(failed.getNextAttemptAt()).isNull();
+        assertThat(failed.getLastError()).startsWith("404");
+
+        creditsReturn(201);
+        assertThat(order.pay()).isFalse();
+        WebhookInboxEntry reArmed = order.entry(WebhookKind.PAYMENT_SUCCESS);
+        assertThat(reArmed.getStatus()).isEqualTo(WebhookStatus.PENDING);
+        assertThat(reArmed.getAttempts()).isZero();
+        assertThat(reArmed.getDeliveries()).isEqualTo(2);
+
+        worker.poll();
+        assertThat(order.entry(WebhookKind.PAYMENT_SUCCESS).getStatus()).isEqualTo(WebhookStatus.DONE);
+        assertThat(credited).containsExactly(order.id, order.id);
+    }
+
+    @Test
+    void orderCompletionWaitsForItsPayment() {
+        creditsReturn(503);
+        splitsReturn(200);
+        Order order = new Order();
+        order.pay();
+        order.complete();
+
+        worker.poll();
+        assertThat(order.entry(WebhookKind.PAYMENT_SUCCESS).getStatus()).isEqualTo(WebhookStatus.PENDING);
+        WebhookInboxEntry held = order.entry(WebhookKind.ORDER_COMPLETE);
+        assertThat(held.getStatus()).isEqualTo(WebhookStatus.PENDING);
+        assertThat(held.getAttempts()).as("never claimed").isZero();
+        assertThat(split).doesNotContain(order.id + "-split");
+
+        // The payment lands in this poll; the completion was held when the batch was claimed, so it goes in the next one
+        creditsReturn(201);
+        makeDue();
+        worker.poll();
+        assertThat(order.entry(WebhookKind.PAYMENT_SUCCESS).getStatus()).isEqualTo(WebhookStatus.DONE);
+        worker.poll();
+        assertThat(order.entry(WebhookKind.ORDER_COMPLETE).getStatus()).isEqualTo(WebhookStatus.DONE);
+        assertThat(split).containsOnlyOnce(order.id + "-split");
+    }
+
+    @Test
+    void splitRefusedWith422KeepsRetrying() {
+        splitsReturn(422);
+        Order order = new Order();
+        order.complete();
+
+        for (int attempt = 1; attempt <= 3; attempt++) {
+            worker.poll();
+            WebhookInboxEntry entry = order.entry(WebhookKind.ORDER_COMPLETE);
+            assertThat(entry.getStatus()).isEqualTo(WebhookStatus.PENDING);
+            assertThat(entry.getAttempts()).isEqualTo(attempt);
+            assertThat(entry.getLastError()).startsWith("422");
+            makeDue();
+        }
+
+        // A payment credit refused with 422 is final
+        creditsReturn(422);
+        Order other = new Order();
+        other.pay();
+        worker.poll();
+        assertThat(other.entry(WebhookKind.PAYMENT_SUCCESS).getStatus()).isEqualTo(WebhookStatus.FAILED);
+
+        splitsReturn(200);
+        makeDue();
+        worker.poll();
+        assertThat(order.entry(WebhookKind.ORDER_COMPLETE).getStatus()).isEqualTo(WebhookStatus.DONE);
+    }
+
+    @Test
+    void batchThatThrowsIsReleasedForRetry() {
+        splitsReturn(200);
+        doThrow(new IllegalStateException("commission store unavailable")).when(commissionService).computeShares(anyList());
+        Order order = new Order();
+        order.complete();
+
+        Instant polled = Instant.now();
+        worker.poll();
+
+        WebhookInboxEntry released = order.entry(WebhookKind.ORDER_COMPLETE);
+        assertThat(released.getStatus()).isEqualTo(WebhookStatus.PENDING);
+        assertThat(released.getAttempts()).isEqualTo(1);
+        assertThat(released.getLastError()).contains("commission store unavailable");
+        // Backoff for a first attempt, not the 60 s lease
+        assertThat(released.getNextAttemptAt()).isBefore(polled.plus(Duration.ofSeconds(30)));
+        assertThat(split).doesNotContain(order.id + "-split");
+
+        doCallRealMethod().when(commissionService).computeShares(anyList());
+        makeDue();
+        worker.poll();
+        assertThat(order.entry(WebhookKind.ORDER_COMPLETE).getStatus()).isEqualTo(WebhookStatus.DONE);
+        assertThat(split).containsOnlyOnce(order.id + "-split");
+    }
+
+    /** Every credit item gets the given status; the reference ids that reached wallet-service are kept in credited. */
+    private void creditsReturn(int status) {
+        doAnswer(inv -> {
+            List<WalletServiceClient.CreditItem> items = inv.getArgument(0);
+            List<WalletServiceClient.BatchItemResult> results = new ArrayList<>();
+            for (WalletServiceClient.CreditItem item : items) {
+                credited.add(item.referenceId());
+                results.add(result(item.idempotencyKey(), status));
+            }
+            return results;
+        }).when(walletServiceClient).creditWallets(anyList());
+    }
+
+    private void splitsReturn(int status) {
+        doAnswer(inv -> {
+            List<WalletServiceClient.TransferItem> items = inv.getArgument(0);
+            List<WalletServiceClient.BatchItemResult> results = new ArrayList<>();
+            for (WalletServiceClient.TransferItem item : items) {
+                split.add(item.referenceId());
+                results.add(result(item.idempotencyKey(), status));
+            }
+            return results;
+        }).when(walletServiceClient).transfers(anyList());
+    }
+
+    private static WalletServiceClient.BatchItemResult result(String idempotencyKey, int status) {
+        return new WalletServiceClient.BatchItemResult(idempotencyKey, status, status < 300 ? null : "refused by test");
+    }
+
+    /** Skips the retry backoff of every PENDING entry. */
+    private void makeDue() {
+        jdbcTemplate.update("UPDATE webhook_inbox SET next_attempt_at = now() - interval '1 second' WHERE status = 'PENDING'");
+    }
+
+    /** One mock order with its wallet ids known up front, so the worker makes no wallet lookups. */
+    private class Order {
+        final UUID merchantId = UUID.randomUUID();
+        final UUID vendorId = UUID.randomUUID();
+        final String id = "order-" + UUID.randomUUID();
+        final UUID escrowWalletId = UUID.randomUUID();
+        final UUID mainWalletId = UUID.randomUUID();
+        final UUID vendorWalletId = UUID.randomUUID();
+
+        boolean pay() {
+            return inboxService.accept(WebhookKind.PAYMENT_SUCCESS, merchantId, id, vendorId, AMOUNT, "INR",
+                    escrowWalletId, null, null);
+        }
+
+        boolean complete() {
+            return inboxService.accept(WebhookKind.ORDER_COMPLETE, merchantId, id, vendorId, AMOUNT, "INR",
+                    escrowWalletId, mainWalletId, vendorWalletId);
+        }
+
+        WebhookInboxEntry entry(WebhookKind kind) {
+            return inboxRepository.findAll().stream()
+                    .filter(e -> e.getKind() == kind && e.getMerchantId().equals(merchantId) && e.getOrderId().equals(id))
+                    .findFirst().orElseThrow();
+        }
+    }
+}
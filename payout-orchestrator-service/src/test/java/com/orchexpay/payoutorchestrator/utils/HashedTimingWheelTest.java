@@ -0,0 +1,110 @@
+package com.orchexpay.payoutorchestrator.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HashedTimingWheelTest {
+
+    private static final long TICK = 100;
+    private static final int TICKS = 8;
+    private static final long START = 1_000_000;
+
+    @Test
+    void firesOnTheDeadlineTickAndNotBefore() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, TICKS, START);
+        wheel.schedule("a", START + 300);
+
+        assertThat(wheel.advance(START + 299)).isEmpty();
+        assertThat(wheel.advance(START + 300)).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+        assertThat(wheel.advance(START + 10_000)).isEmpty();
+    }
+
+    @Test
+    void pastDeadlineFiresOnTheNextTick() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, TICKS, START);
+        wheel.schedule("late", START - 5_000);
+
+        assertThat(wheel.advance(START + TICK - 1)).isEmpty();
+        assertThat(wheel.advance(START + TICK)).containsExactly("late");
+    }
+
+    @Test
+    void deadlinesBeyondOneRotationWaitOutTheirRounds() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, TICKS, START);
+        long rotation = TICK * TICKS;
+        // Same bucket, zero, one and two full rotations away
+        wheel.schedule("r0", START + 3 * TICK);
+        wheel.schedule("r1", START + 3 * TICK + rotation);
+        wheel.schedule("r2", START + 3 * TICK + 2 * rotation);
+        // Exactly one rotation away lands in the current bucket
+        wheel.schedule("edge", START + rotation);
+
+        assertThat(wheel.advance(START + 3 * TICK)).containsExactly("r0");
+        assertThat(wheel.advance(START + rotation - 1)).isEmpty();
+        assertThat(wheel.advance(START + rotation)).containsExactly("edge");
+        assertThat(wheel.advance(START + 3 * TICK + rotation - 1)).isEmpty();
+        assertThat(wheel.advance(START + 3 * TICK + rotation)).containsExactly("r1");
+        assertThat(wheel.advance(START + 3 * TICK + 2 * rotation - 1)).isEmpty();
+        assertThat(wheel.advance(START + 3 * TICK + 2 * rotation)).containsExactly("r2");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void oneLongAdvanceCollectsEverythingDue() {
+        HashedTimingWheel<Integer> wheel = new HashedTimingWheel<>(TICK, TICKS, START);
+        for (int i = 1; i <= 30; i++) {
+            wheel.schedule(i, START + i * TICK);
+        }
+
+        assertThat(wheel.advance(START + 20 * TICK)).hasSize(20).doesNotContain(21);
+        assertThat(wheel.size()).isEqualTo(10);
+        assertThat(wheel.advance(START + 30 * TICK)).containsExactlyInAnyOrder(21, 22, 23, 24, 25, 26, 27, 28, 29, 30);
+    }
+
+    @Test
+    void cancelAndRescheduleReplaceTheDeadline() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, TICKS, START);
+        wheel.schedule("a", START + 200);
+        wheel.schedule("b", START + 200);
+        wheel.schedule("c", START + 200);
+
+        assertThat(wheel.cancel("b")).isTrue();
+        assertThat(wheel.cancel("b")).isFalse();
+        assertThat(wheel.cancel("unknown")).isFalse();
+        wheel.schedule("a", START + 500);
+        assertThat(wheel.size()).isEqualTo(2);
+
+        assertThat(wheel.advance(START + 200)).containsExactly("c");
+        assertThat(wheel.cancel("c")).as("already expired").isFalse();
+        assertThat(wheel.advance(START + 499)).isEmpty();
+        assertThat(wheel.advance(START + 500)).containsExactly("a");
+    }
+
+    @Test
+    void cancellingHeadMiddleAndTailKeepsTheBucketIntact() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, TICKS, START);
+        for (String key : new String[]{"h", "m1", "m2", "t"}) {
+            wheel.schedule(key, START + TICK);
+        }
+
+        wheel.cancel("h");
+        wheel.cancel("m2");
+        wheel.cancel("t");
+        wheel.schedule("n", START + TICK);
+
+        assertThat(wheel.advance(START + TICK)).containsExactly("m1", "n");
+    }
+
+    @Test
+    void ringSizeIsRoundedUpToAPowerOfTwo() {
+        // 5 ticks become 8: a deadline 6 ticks out is still in the first rotation
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, 5, START);
+        wheel.schedule("a", START + 6 * TICK);
+
+        assertThat(wheel.advance(START + 6 * TICK)).containsExactly("a");
+        assertThatThrownBy(() -> new HashedTimingWheel<String>(0, TICKS, START)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
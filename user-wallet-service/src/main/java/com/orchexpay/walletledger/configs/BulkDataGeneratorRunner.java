@@ -0,0 +1,82 @@
+package com.orchexpay.walletledger.configs;
+
+import com.orchexpay.walletledger.services.GenerateBulkDataUseCase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Command mode for {@link GenerateBulkDataUseCase}: with orchexpay.datagen.enabled=true the service starts (so the
+ * schema is in place), generates the configured data set and exits. Example:
+ * <pre>
+ * java -jar user-wallet-service-exec.jar --spring.main.web-application-type=none --orchexpay.datagen.enabled=true \
+ *      --orchexpay.datagen.merchants=100000 --orchexpay.datagen.orders=50000000
+ * </pre>
+ */
+@Component
+@Order(2)
+@ConditionalOnProperty(name = "orchexpay.datagen.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class BulkDataGeneratorRunner implements ApplicationRunner {
+
+    private final GenerateBulkDataUseCase generateBulkDataUseCase;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${orchexpay.datagen.prefix:gen}")
+    private String prefix;
+    @Value("${orchexpay.datagen.merchants:1000}")
+    private int merchants;
+    @Value("${orchexpay.datagen.vendors-per-merchant:8}")
+    private double vendorsPerMerchant;
+    @Value("${orchexpay.datagen.orders:1000000}")
+    private long orders;
+    @Value("${orchexpay.datagen.days:90}")
+    private int days;
+    @Value("${orchexpay.datagen.as-of:2026-01-01T00:00:00Z}")
+    private String asOf;
+    @Value("${orchexpay.datagen.currency:INR}")
+    private String currencyCode;
+    @Value("${orchexpay.datagen.merchant-skew:1.1}")
+    private double merchantSkew;
+    @Value("${orchexpay.datagen.commission-basis-points:1000}")
+    private long commissionBasisPoints;
+    @Value("${orchexpay.datagen.completion-rate:0.92}")
+    private double completionRate;
+    @Value("${orchexpay.datagen.payout-rate:0.2}")
+    private double payoutRate;
+    @Value("${orchexpay.datagen.reversal-rate:0.03}")
+    private double reversalRate;
+    @Value("${orchexpay.datagen.pending-days:2}")
+    private int pendingDays;
+    @Value("${orchexpay.datagen.seed:42}")
+    private long seed;
+    @Value("${orchexpay.datagen.password:password}")
+    private String password;
+    @Value("${orchexpay.datagen.batch-rows:200000}")
+    private int batchRows;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode = 0;
+        try {
+            generateBulkDataUseCase.execute(new GenerateBulkDataUseCase.Spec(prefix, merchants, vendorsPerMerchant, orders, days,
+                    Instant.parse(asOf), currencyCode.trim().toUpperCase(), merchantSkew, commissionBasisPoints, completionRate,
+                    payoutRate, reversalRate, pendingDays, seed, password, batchRows));
+        } catch (RuntimeException e) {
+            log.error("Bulk data generation failed", e);
+            exitCode = 1;
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+}
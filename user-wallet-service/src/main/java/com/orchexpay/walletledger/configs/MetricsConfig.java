@@ -0,0 +1,31 @@
+package com.orchexpay.walletledger.configs;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application DataSource (the auto-configured pool, or the replica router when ReadReplicaDataSourceConfig
+ * is active) in {@link StatementMetricsDataSource}. Only the bean named dataSource is wrapped, so a statement routed
+ * through the replica router is counted once.
+ */
+@Configuration
+@ConditionalOnProperty(name = "orchexpay.metrics.jdbc.enabled", havingValue = "true", matchIfMissing = true)
+public class MetricsConfig {
+
+    @Bean
+    public static BeanPostProcessor statementMetricsDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource) {
+                    return new StatementMetricsDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
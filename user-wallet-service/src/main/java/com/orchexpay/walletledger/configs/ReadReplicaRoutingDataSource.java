@@ -0,0 +1,72 @@
+package com.orchexpay.walletledger.configs;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Sends connections for read-only transactions (@Transactional(readOnly = true)) to the replica pool and everything
+ * else to the primary. A read-only transaction still uses the primary when the request already wrote
+ * ({@link ReadYourWritesContext}) or the replica is lagging or unreachable ({@link ReplicaLagMonitor}).
+ * Must be wrapped in a LazyConnectionDataSourceProxy: the read-only flag is only set after the transaction manager
+ * asks for its connection, so the routing decision has to wait for the first statement.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    private final DataSource primary;
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter primaryRoutes;
+    private final Counter replicaRoutes;
+    private final Counter replicaFallbacks;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        this.primaryRoutes = Counter.builder("db.connections.routed").tag("target", "primary").register(meterRegistry);
+        this.replicaRoutes = Counter.builder("db.connections.routed").tag("target", "replica").register(meterRegistry);
+        this.replicaFallbacks = Counter.builder("db.connections.replica.fallbacks").register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                ReadYourWritesContext.markWrite();
+            }
+            primaryRoutes.increment();
+            return Target.PRIMARY;
+        }
+        if (ReadYourWritesContext.isPinned() || !lagMonitor.isReplicaUsable()) {
+            primaryRoutes.increment();
+            return Target.PRIMARY;
+        }
+        replicaRoutes.increment();
+        return Target.REPLICA;
+    }
+
+    /** A replica that refuses a connection is bypassed until the next lag check; the read runs on the primary. */
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource target = determineTargetDataSource();
+        if (target == primary) {
+            return target.getConnection();
+        }
+        try {
+            return target.getConnection();
+        } catch (SQLException e) {
+            lagMonitor.markUnavailable(e.getMessage());
+            replicaFallbacks.increment();
+            return primary.getConnection();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.orchexpay.walletledger.configs;
+
+/**
+ * Per-request "read your writes" pin for replica routing. Once a request has run a read-write transaction, its later
+ * read-only transactions go to the primary too, so the response never reflects a replica that has not replayed the
+ * request's own write yet. Only active inside a request (see ReadYourWritesFilter); scheduled jobs are never pinned.
+ */
+public final class ReadYourWritesContext {
+
+    private static final ThreadLocal<boolean[]> PINNED = new ThreadLocal<>();
+
+    private ReadYourWritesContext() {}
+
+    static void begin() {
+        PINNED.set(new boolean[1]);
+    }
+
+    static void end() {
+        PINNED.remove();
+    }
+
+    /** Called when the current request opens a read-write connection. */
+    public static void markWrite() {
+        boolean[] pinned = PINNED.get();
+        if (pinned != null) {
+            pinned[0] = true;
+        }
+    }
+
+    public static boolean isPinned() {
+        boolean[] pinned = PINNED.get();
+        return pinned != null && pinned[0];
+    }
+}
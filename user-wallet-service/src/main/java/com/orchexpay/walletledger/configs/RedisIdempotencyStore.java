@@ -1,12 +1,18 @@
 package com.orchexpay.walletledger.configs;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Component;
 
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
+/**
+ * Redis-backed idempotency cache. Each call is timed as redis.commands{command, endpoint, outcome}.
+ */
 @Component
 @RequiredArgsConstructor
 public class RedisIdempotencyStore implements IdempotencyStore {
@@ -14,17 +20,40 @@ public class RedisIdempotencyStore implements IdempotencyStore {
     private static final String KEY_PREFIX = "idempotency:";
 
     private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
 
     @Override
     public Optional<String> getIfPresent(String idempotencyKey) {
         String key = KEY_PREFIX + idempotencyKey;
-        String value = redisTemplate.opsForValue().get(key);
+        String value = timed("GET", () -> redisTemplate.opsForValue().get(key));
         return Optional.ofNullable(value);
     }
 
     @Override
     public void put(String idempotencyKey, String responsePayload, long ttlSeconds) {
         String key = KEY_PREFIX + idempotencyKey;
-        redisTemplate.opsForValue().set(key, responsePayload, ttlSeconds, TimeUnit.SECONDS);
+        timed("SET", () -> {
+            redisTemplate.opsForValue().set(key, responsePayload, ttlSeconds, TimeUnit.SECONDS);
+            return null;
+        });
+    }
+
+    private <T> T timed(String command, Supplier<T> call) {
+        long started = System.nanoTime();
+        String outcome = "success";
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            Timer.builder("redis.commands")
+                    .tag("command", command)
+                    .tag("endpoint", RequestMetrics.endpoint())
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
     }
 }
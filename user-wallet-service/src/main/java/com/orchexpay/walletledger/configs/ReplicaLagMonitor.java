@@ -0,0 +1,79 @@
+package com.orchexpay.walletledger.configs;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Measures how far the read replica is behind the primary and decides whether read-only transactions may use it.
+ * Each check reads the primary's current WAL position and asks the replica how many bytes it still has to replay; a
+ * replica that has replayed up to that position has no lag, otherwise the lag is the age of its last replayed
+ * transaction. A replica that is not in recovery (e.g. a second local Postgres standing in for one) counts as current.
+ * The replica is used only while the last check succeeded recently and the lag is within max-lag.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String REPLICA_LAG_SQL = "SELECT pg_is_in_recovery(), "
+            + "COALESCE(pg_wal_lsn_diff(CAST(? AS pg_lsn), pg_last_wal_replay_lsn()), 0), "
+            + "EXTRACT(EPOCH FROM (now() - pg_last_xact_replay_timestamp())) * 1000";
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final Duration maxLag;
+    private final Duration maxCheckAge;
+    private volatile long lagMillis = -1;
+    private volatile long lastCheckNanos;
+    private volatile boolean usable;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, Duration maxLag, Duration checkInterval, MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxLag = maxLag;
+        this.maxCheckAge = checkInterval.multipliedBy(3);
+        Gauge.builder("db.replica.lag", this, m -> m.lagMillis).baseUnit("milliseconds").register(meterRegistry);
+        Gauge.builder("db.replica.usable", this, m -> m.isReplicaUsable() ? 1 : 0).register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${orchexpay.datasource.replica.lag-check-interval-ms:1000}")
+    public void check() {
+        try {
+            String primaryLsn = primary.queryForObject("SELECT CAST(pg_current_wal_lsn() AS text)", String.class);
+            long lag = replica.query(REPLICA_LAG_SQL, rs -> {
+                rs.next();
+                if (!rs.getBoolean(1) || rs.getLong(2) <= 0) {
+                    return 0L;
+                }
+                double age = rs.getDouble(3);
+                return rs.wasNull() ? Long.MAX_VALUE : (long) age;
+            }, primaryLsn);
+            boolean wasUsable = usable;
+            lagMillis = lag;
+            lastCheckNanos = System.nanoTime();
+            usable = lag <= maxLag.toMillis();
+            if (wasUsable != usable) {
+                log.info("Read replica {} (lag {} ms, max {} ms)", usable ? "in use" : "bypassed", lag, maxLag.toMillis());
+            }
+        } catch (RuntimeException e) {
+            markUnavailable(e.getMessage());
+        }
+    }
+
+    /** Stops routing to the replica until the next successful check (e.g. after it refused a connection). */
+    public void markUnavailable(String reason) {
+        if (usable) {
+            log.warn("Read replica bypassed: {}", reason);
+        }
+        usable = false;
+        lagMillis = -1;
+    }
+
+    public boolean isReplicaUsable() {
+        return usable && System.nanoTime() - lastCheckNanos <= maxCheckAge.toNanos();
+    }
+}
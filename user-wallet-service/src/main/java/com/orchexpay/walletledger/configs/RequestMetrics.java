@@ -0,0 +1,72 @@
+package com.orchexpay.walletledger.configs;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Per-request SQL statement tally (filled by StatementMetricsDataSource, reported by RequestMetricsFilter) and the
+ * bounded tags shared by the application meters: endpoint (the matched route pattern, never the raw path) and caller
+ * (the caller's highest role, which stands in for merchant class). Work outside a request is tagged endpoint=none.
+ */
+public final class RequestMetrics {
+
+    public static final String NONE = "none";
+
+    private static final String[] CALLER_ROLES = {"SYSTEM", "ADMIN", "MERCHANT", "VENDOR"};
+    private static final ThreadLocal<long[]> STATEMENTS = new ThreadLocal<>();
+
+    private RequestMetrics() {}
+
+    static void begin() {
+        STATEMENTS.set(new long[2]);
+    }
+
+    /** {statement count, statement nanos} of the current request. */
+    static long[] end() {
+        long[] tally = STATEMENTS.get();
+        STATEMENTS.remove();
+        return tally != null ? tally : new long[2];
+    }
+
+    static void recordStatement(long nanos) {
+        long[] tally = STATEMENTS.get();
+        if (tally != null) {
+            tally[0]++;
+            tally[1] += nanos;
+        }
+    }
+
+    public static String endpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return endpoint(servletAttributes.getRequest());
+        }
+        return NONE;
+    }
+
+    static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+
+    public static String caller() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return "anonymous";
+        }
+        for (String role : CALLER_ROLES) {
+            for (GrantedAuthority authority : authentication.getAuthorities()) {
+                if (authority.getAuthority().equals("ROLE_" + role)) {
+                    return role.toLowerCase();
+                }
+            }
+        }
+        return "anonymous";
+    }
+}
@@ -0,0 +1,53 @@
+package com.orchexpay.walletledger.configs;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reports the SQL issued by one HTTP request: http.server.requests.db.statements (statements per request) and
+ * http.server.requests.db.time (time spent executing them), tagged endpoint and caller. Sits in the security chain
+ * after JwtAuthenticationFilter, so the caller is still known when the request completes.
+ */
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    public RequestMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        RequestMetrics.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long[] tally = RequestMetrics.end();
+            String endpoint = RequestMetrics.endpoint(request);
+            String caller = RequestMetrics.caller();
+            DistributionSummary.builder("http.server.requests.db.statements")
+                    .tag("endpoint", endpoint).tag("caller", caller)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(tally[0]);
+            Timer.builder("http.server.requests.db.time")
+                    .tag("endpoint", endpoint).tag("caller", caller)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(tally[1], TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.orchexpay.walletledger.configs;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * JDBC proxy feeding {@link RequestMetrics}: every execute* call (including executeBatch, counted once) on a statement
+ * from this DataSource is counted and timed for the current request. Everything else, including unwrap (COPY in
+ * GenerateBulkDataUseCase), goes straight to the pooled connection.
+ */
+public class StatementMetricsDataSource extends DelegatingDataSource {
+
+    public StatementMetricsDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, super.getConnection(), StatementMetricsDataSource::onConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, super.getConnection(username, password), StatementMetricsDataSource::onConnection);
+    }
+
+    private static Object onConnection(Object connection, Method method, Object[] args) throws Throwable {
+        Object result = invoke(connection, method, args);
+        if (result instanceof CallableStatement statement) {
+            return proxy(CallableStatement.class, statement, StatementMetricsDataSource::onStatement);
+        }
+        if (result instanceof PreparedStatement statement) {
+            return proxy(PreparedStatement.class, statement, StatementMetricsDataSource::onStatement);
+        }
+        if (result instanceof Statement statement) {
+            return proxy(Statement.class, statement, StatementMetricsDataSource::onStatement);
+        }
+        return result;
+    }
+
+    private static Object onStatement(Object statement, Method method, Object[] args) throws Throwable {
+        if (!method.getName().startsWith("execute")) {
+            return invoke(statement, method, args);
+        }
+        long started = System.nanoTime();
+        try {
+            return invoke(statement, method, args);
+        } finally {
+            RequestMetrics.recordStatement(System.nanoTime() - started);
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static <T> T proxy(Class<T> type, T target, TargetHandler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> handler.invoke(target, method, args);
+        };
+        return type.cast(Proxy.newProxyInstance(StatementMetricsDataSource.class.getClassLoader(), new Class<?>[]{type}, invocationHandler));
+    }
+
+    @FunctionalInterface
+    private interface TargetHandler {
+        Object invoke(Object target, Method method, Object[] args) throws Throwable;
+    }
+}
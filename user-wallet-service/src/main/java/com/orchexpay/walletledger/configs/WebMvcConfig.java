@@ -15,4 +15,12 @@ public class WebMvcConfig {
         bean.addUrlPatterns("/*");
         return bean;
     }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter() {
+        FilterRegistrationBean<ReadYourWritesFilter> bean = new FilterRegistrationBean<>(new ReadYourWritesFilter());
+        bean.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        bean.addUrlPatterns("/*");
+        return bean;
+    }
 }
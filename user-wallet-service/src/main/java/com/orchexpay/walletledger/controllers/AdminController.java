@@ -1,17 +1,32 @@
 package com.orchexpay.walletledger.controllers;
 
 import com.orchexpay.walletledger.dtos.AdminStatsResponse;
+import com.orchexpay.walletledger.dtos.ReconciliationStatusResponse;
 import com.orchexpay.walletledger.dtos.SeedDemoDataResponse;
+import com.orchexpay.walletledger.dtos.SettlementResponse;
+import com.orchexpay.walletledger.dtos.SettlementRunResponse;
+import com.orchexpay.walletledger.models.ReconciliationCheckpoint;
+import com.orchexpay.walletledger.models.ReconciliationState;
+import com.orchexpay.walletledger.models.SettlementRun;
+import com.orchexpay.walletledger.models.SettlementRunResult;
 import com.orchexpay.walletledger.services.GetAdminStatsUseCase;
+import com.orchexpay.walletledger.services.GetReconciliationStatusUseCase;
+import com.orchexpay.walletledger.services.GetSettlementRunUseCase;
+import com.orchexpay.walletledger.services.RunSettlementBatchUseCase;
 import com.orchexpay.walletledger.services.SeedDemoDataUseCase;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+import java.util.UUID;
+
 @RestController
 @RequestMapping("/api/v1/admin")
 @RequiredArgsConstructor
@@ -19,6 +34,9 @@ public class AdminController {
 
     private final GetAdminStatsUseCase getAdminStatsUseCase;
     private final SeedDemoDataUseCase seedDemoDataUseCase;
+    private final RunSettlementBatchUseCase runSettlementBatchUseCase;
+    private final GetSettlementRunUseCase getSettlementRunUseCase;
+    private final GetReconciliationStatusUseCase getReconciliationStatusUseCase;
 
     @GetMapping("/stats")
     @PreAuthorize("hasRole('ADMIN')")
@@ -47,4 +65,103 @@ public class AdminController {
                 .vendorsCreated(result.vendorsCreated())
                 .build());
     }
+
+    /**
+     * Runs settlement for every merchant's ESCROW wallet (partitioned, in parallel) and returns the run summary:
+     * wall time, wallets settled and mismatches. Synchronous; 422 if a run is already in progress. Admin only.
+     */
+    @PostMapping("/settlement-runs")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SettlementRunResponse> runSettlement() {
+        return ResponseEntity.ok(toResponse(runSettlementBatchUseCase.execute(), null));
+    }
+
+    @GetMapping("/settlement-runs/{runId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SettlementRunResponse> getSettlementRun(@PathVariable UUID runId,
+                                                                  @RequestParam(defaultValue = "100") int mismatchLimit) {
+        var result = getSettlementRunUseCase.execute(runId, Math.max(1, Math.min(mismatchLimit, 1000)));
+        return ResponseEntity.ok(toResponse(result.run(), result.mismatches()));
+    }
+
+    /**
+     * Continuous reconciliation: running totals, wallets currently in mismatch and the latest signed checkpoints
+     * (signatures re-verified). Admin only.
+     */
+    @GetMapping("/reconciliation")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ReconciliationStatusResponse> getReconciliation(@RequestParam(defaultValue = "100") int mismatchLimit,
+                                                                          @RequestParam(defaultValue = "10") int checkpointLimit) {
+        var result = getReconciliationStatusUseCase.execute(Math.max(1, Math.min(mismatchLimit, 1000)),
+                Math.max(1, Math.min(checkpointLimit, 100)));
+        ReconciliationState state = result.state();
+        var response = ReconciliationStatusResponse.builder()
+                .initialized(state != null)
+                .mismatches(result.mismatches().stream().map(t -> ReconciliationStatusResponse.Mismatch.builder()
+                        .walletId(t.getWalletId())
+                        .merchantId(t.getMerchantId())
+                        .currencyCode(t.getCurrencyCode())
+                        .escrow(t.isEscrow())
+                        .reason(t.getMismatch().name())
+                        .credits(t.getCredits())
+                        .payoutDebits(t.getPayoutDebits())
+                        .refundDebits(t.getRefundDebits())
+                        .net(t.getNet())
+                        .updatedAt(t.getUpdatedAt())
+                        .build()).toList())
+                .checkpoints(result.checkpoints().stream().map(v -> {
+                    ReconciliationCheckpoint c = v.checkpoint();
+                    return ReconciliationStatusResponse.Checkpoint.builder()
+                            .sequence(c.getSequence())
+                            .snapshot(c.getSnapshot())
+                            .entriesApplied(c.getEntriesApplied())
+                            .wallets(c.getWallets())
+                            .totalCredits(c.getTotalCredits())
+                            .totalDebits(c.getTotalDebits())
+                            .openMismatches(c.getOpenMismatches())
+                            .stateDigest(c.getStateDigest())
+                            .previousSignature(c.getPreviousSignature())
+                            .signature(c.getSignature())
+                            .signatureValid(v.signatureValid())
+                            .createdAt(c.getCreatedAt())
+                            .build();
+                }).toList());
+        if (state != null) {
+            response.snapshot(state.getSnapshot())
+                    .entriesApplied(state.getEntriesApplied())
+                    .wallets(state.getWallets())
+                    .totalCredits(state.getTotalCredits())
+                    .totalDebits(state.getTotalDebits())
+                    .digest(state.getDigest())
+                    .openMismatches(state.getOpenMismatches())
+                    .entriesSinceCheckpoint(state.getEntriesSinceCheckpoint())
+                    .updatedAt(state.getUpdatedAt());
+        }
+        return ResponseEntity.ok(response.build());
+    }
+
+    private static SettlementRunResponse toResponse(SettlementRun run, List<SettlementRunResult> mismatches) {
+        return SettlementRunResponse.builder()
+                .id(run.getId())
+                .status(run.getStatus().name())
+                .partitions(run.getPartitions())
+                .wallets(run.getWallets())
+                .mismatches(run.getMismatches())
+                .startedAt(run.getStartedAt())
+                .finishedAt(run.getFinishedAt())
+                .durationMs(run.getDurationMs())
+                .error(run.getError())
+                .mismatchedWallets(mismatches == null ? null : mismatches.stream().map(r -> SettlementResponse.builder()
+                        .merchantId(r.getMerchantId())
+                        .currencyCode(r.getCurrencyCode())
+                        .escrowWalletId(r.getEscrowWalletId())
+                        .totalConfirmedEscrowCredits(r.getTotalConfirmedEscrowCredits())
+                        .totalPayoutDebits(r.getTotalPayoutDebits())
+                        .totalRefundDebits(r.getTotalRefundDebits())
+                        .expectedBalance(r.getExpectedBalance())
+                        .ledgerNetBalance(r.getLedgerNetBalance())
+                        .reconciled(r.isReconciled())
+                        .build()).toList())
+                .build();
+    }
 }
@@ -0,0 +1,103 @@
+package com.orchexpay.walletledger.controllers;
+
+import com.orchexpay.walletledger.dtos.JfrRecordingResponse;
+import com.orchexpay.walletledger.dtos.JfrSummaryResponse;
+import com.orchexpay.walletledger.services.JfrRecordingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * On-demand JFR profiling of live traffic (admin only): start a recording, stop it, read the top allocation and
+ * contention sites in ledger code, or download the .jfr file for JDK Mission Control.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/diagnostics/jfr")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class AdminDiagnosticsController {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final JfrRecordingService jfrRecordingService;
+
+    @PostMapping
+    public ResponseEntity<JfrRecordingResponse> start(@RequestParam(defaultValue = "60") long durationSeconds) {
+        return ResponseEntity.ok(toResponse(jfrRecordingService.start(Duration.ofSeconds(durationSeconds))));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<JfrRecordingResponse>> list() {
+        return ResponseEntity.ok(jfrRecordingService.list().stream().map(AdminDiagnosticsController::toResponse).toList());
+    }
+
+    @PostMapping("/{id}/stop")
+    public ResponseEntity<JfrRecordingResponse> stop(@PathVariable long id) {
+        return ResponseEntity.ok(toResponse(jfrRecordingService.stop(id)));
+    }
+
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<JfrSummaryResponse> summary(@PathVariable long id) {
+        JfrRecordingService.Summary summary = jfrRecordingService.summarize(id);
+        return ResponseEntity.ok(JfrSummaryResponse.builder()
+                .recordingId(summary.recordingId())
+                .events(summary.events())
+                .allocationSites(summary.allocationSites().stream().map(s -> toSite(s, 1)).toList())
+                .monitorContention(summary.monitorContention().stream().map(s -> toSite(s, NANOS_PER_MILLI)).toList())
+                .threadParks(summary.threadParks().stream().map(s -> toSite(s, NANOS_PER_MILLI)).toList())
+                .build());
+    }
+
+    /** Streams from a handle opened under the service lock; the resource converter closes it when done. */
+    @GetMapping("/{id}/file")
+    public ResponseEntity<Resource> file(@PathVariable long id) {
+        JfrRecordingService.RecordingFileStream file = jfrRecordingService.openFile(id);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(file.sizeBytes())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"ledgerx-" + id + ".jfr\"")
+                .body(new InputStreamResource(file.stream()));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable long id) {
+        jfrRecordingService.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    private static JfrRecordingResponse toResponse(JfrRecordingService.RecordingInfo info) {
+        return JfrRecordingResponse.builder()
+                .id(info.id())
+                .name(info.name())
+                .state(info.state())
+                .startedAt(info.startedAt())
+                .stoppedAt(info.stoppedAt())
+                .durationSeconds(info.duration() != null ? info.duration().toSeconds() : null)
+                .sizeBytes(info.sizeBytes())
+                .build();
+    }
+
+    private static JfrSummaryResponse.Site toSite(JfrRecordingService.SiteStats stats, double divisor) {
+        return JfrSummaryResponse.Site.builder()
+                .frame(stats.frame())
+                .type(stats.type())
+                .events(stats.events())
+                .total(stats.total() / divisor)
+                .max(stats.max() / divisor)
+                .build();
+    }
+}
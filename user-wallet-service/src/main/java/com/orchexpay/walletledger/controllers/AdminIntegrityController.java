@@ -0,0 +1,107 @@
+package com.orchexpay.walletledger.controllers;
+
+import com.orchexpay.walletledger.dtos.EntryProofResponse;
+import com.orchexpay.walletledger.dtos.IntegrityAuditResponse;
+import com.orchexpay.walletledger.enums.IntegrityAuditScope;
+import com.orchexpay.walletledger.models.IntegrityAudit;
+import com.orchexpay.walletledger.models.LedgerSegment;
+import com.orchexpay.walletledger.services.GetEntryProofUseCase;
+import com.orchexpay.walletledger.services.GetIntegrityAuditUseCase;
+import com.orchexpay.walletledger.services.RunIntegrityAuditUseCase;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Ledger integrity (admin only): audit the Merkle-chained ledger segments, read an audit with the failing segments,
+ * or get the inclusion proof of a single entry.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/integrity")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class AdminIntegrityController {
+
+    private final RunIntegrityAuditUseCase runIntegrityAuditUseCase;
+    private final GetIntegrityAuditUseCase getIntegrityAuditUseCase;
+    private final GetEntryProofUseCase getEntryProofUseCase;
+
+    /**
+     * Synchronous audit. scope=touched (default) checks only segments that grew or failed since their last audit,
+     * scope=all every segment; 422 if an audit is already in progress.
+     */
+    @PostMapping("/audits")
+    public ResponseEntity<IntegrityAuditResponse> runAudit(@RequestParam(defaultValue = "touched") String scope) {
+        IntegrityAuditScope auditScope = IntegrityAuditScope.valueOf(scope.toUpperCase(Locale.ROOT));
+        return ResponseEntity.ok(toResponse(runIntegrityAuditUseCase.execute(auditScope), null));
+    }
+
+    @GetMapping("/audits/{auditId}")
+    public ResponseEntity<IntegrityAuditResponse> getAudit(@PathVariable UUID auditId,
+                                                           @RequestParam(defaultValue = "100") int failureLimit) {
+        var result = getIntegrityAuditUseCase.execute(auditId, Math.max(1, Math.min(failureLimit, 1000)));
+        return ResponseEntity.ok(toResponse(result.audit(), result.failedSegments()));
+    }
+
+    /** 422 if the entry is not in a segment yet (not CONFIRMED, or confirmed since the last seal). */
+    @GetMapping("/entries/{entryId}/proof")
+    public ResponseEntity<EntryProofResponse> getProof(@PathVariable UUID entryId) {
+        var result = getEntryProofUseCase.execute(entryId);
+        LedgerSegment segment = result.segment();
+        return ResponseEntity.ok(EntryProofResponse.builder()
+                .entryId(entryId)
+                .walletId(segment.getWalletId())
+                .segmentId(segment.getId())
+                .segmentNo(segment.getSegmentNo())
+                .segmentSealed(segment.isSealed())
+                .position(result.member().getPosition())
+                .leafHash(result.member().getLeafHash())
+                .currentLeafHash(result.currentLeafHash())
+                .merkleRoot(segment.getMerkleRoot())
+                .chainHash(segment.getChainHash())
+                .proof(result.proof().stream()
+                        .map(step -> EntryProofResponse.Step.builder()
+                                .hash(step.hash())
+                                .side(step.left() ? "LEFT" : "RIGHT")
+                                .build())
+                        .toList())
+                .verified(result.verified())
+                .build());
+    }
+
+    private static IntegrityAuditResponse toResponse(IntegrityAudit audit, List<LedgerSegment> failedSegments) {
+        return IntegrityAuditResponse.builder()
+                .id(audit.getId())
+                .scope(audit.getScope().name())
+                .status(audit.getStatus().name())
+                .segments(audit.getSegments())
+                .entries(audit.getEntries())
+                .failures(audit.getFailures())
+                .startedAt(audit.getStartedAt())
+                .finishedAt(audit.getFinishedAt())
+                .durationMs(audit.getDurationMs())
+                .error(audit.getError())
+                .failedSegments(failedSegments == null ? null : failedSegments.stream()
+                        .map(s -> IntegrityAuditResponse.FailedSegment.builder()
+                                .segmentId(s.getId())
+                                .walletId(s.getWalletId())
+                                .segmentNo(s.getSegmentNo())
+                                .entryCount(s.getEntryCount())
+                                .sealed(s.isSealed())
+                                .failure(s.getFailure())
+                                .verifiedAt(s.getVerifiedAt())
+                                .build())
+                        .toList())
+                .build();
+    }
+}
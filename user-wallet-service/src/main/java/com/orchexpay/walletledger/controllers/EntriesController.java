@@ -6,6 +6,7 @@ import com.orchexpay.walletledger.models.Wallet;
 import com.orchexpay.walletledger.repositories.UserRepository;
 import com.orchexpay.walletledger.repositories.WalletRepository;
 import com.orchexpay.walletledger.services.EntriesFilter;
+import com.orchexpay.walletledger.services.ExportLedgerEntriesUseCase;
 import com.orchexpay.walletledger.services.GetLedgerEntriesUseCase;
 import com.orchexpay.walletledger.services.GetUserByUsernameUseCase;
 import com.orchexpay.walletledger.services.GetWalletUseCase;
@@ -15,12 +16,14 @@ import com.orchexpay.walletledger.models.User;
 import com.orchexpay.walletledger.enums.EntryStatus;
 import com.orchexpay.walletledger.enums.ReferenceType;
 import com.orchexpay.walletledger.security.LedgerPrincipal;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -30,6 +33,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.HashMap;
@@ -44,6 +48,7 @@ import java.util.stream.Collectors;
 /**
  * Paginated, filterable ledger entries. Supports wallet-scoped or merchant-scoped queries.
  * GET /api/v1/entries?walletId=... or ?merchantId=... with optional filters.
+ * GET /api/v1/entries/export streams all matching entries as CSV or NDJSON.
  */
 @RestController
 @RequestMapping("/api/v1/entries")
@@ -51,6 +56,7 @@ import java.util.stream.Collectors;
 public class EntriesController {
 
     private final GetLedgerEntriesUseCase getLedgerEntriesUseCase;
+    private final ExportLedgerEntriesUseCase exportLedgerEntriesUseCase;
     private final GetWalletUseCase getWalletUseCase;
     private final GetUserByUsernameUseCase getUserByUsernameUseCase;
     private final LedgerEntryMapper ledgerEntryMapper;
@@ -75,6 +81,48 @@ public class EntriesController {
         if (walletId == null && merchantId == null) {
             return ResponseEntity.badRequest().build();
         }
+        EntriesFilter filter = authorizedFilter(walletId, merchantId, from, to, minAmount, maxAmount, referenceType, status, authentication);
+
+        Sort order = parseSort(sort);
+        Pageable pageable = PageRequest.of(page, Math.min(size, 100), order);
+        Page<LedgerEntry> entries = getLedgerEntriesUseCase.execute(filter, pageable);
+        Map<UUID, String> walletIdToUsername = resolveWalletOwnerUsernames(entries.getContent());
+        return ResponseEntity.ok(entries.map(e -> ledgerEntryMapper.toResponse(e, walletIdToUsername.get(e.getWalletId()))));
+    }
+
+    /**
+     * Streams every matching entry (same filters and access rules as the listing, no paging) as CSV or NDJSON,
+     * oldest first, straight to the response; see ExportLedgerEntriesUseCase.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MERCHANT', 'VENDOR')")
+    public void exportEntries(
+            @RequestParam(required = false) UUID walletId,
+            @RequestParam(required = false) UUID merchantId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) String referenceType,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "csv") String format,
+            Authentication authentication,
+            HttpServletResponse response) throws IOException {
+        if (walletId == null && merchantId == null) {
+            throw new IllegalArgumentException("Either walletId or merchantId must be provided");
+        }
+        ExportLedgerEntriesUseCase.Format exportFormat = parseExportFormat(format);
+        EntriesFilter filter = authorizedFilter(walletId, merchantId, from, to, minAmount, maxAmount, referenceType, status, authentication);
+        boolean csv = exportFormat == ExportLedgerEntriesUseCase.Format.CSV;
+        response.setContentType(csv ? "text/csv; charset=UTF-8" : "application/x-ndjson; charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"ledger-entries." + (csv ? "csv" : "ndjson") + "\"");
+        exportLedgerEntriesUseCase.execute(filter, exportFormat, response.getOutputStream());
+    }
+
+    /** Applies the role checks (vendor: own wallet; merchant: own merchant) and builds the filter. */
+    private EntriesFilter authorizedFilter(UUID walletId, UUID merchantId, Instant from, Instant to, BigDecimal minAmount,
+                                           BigDecimal maxAmount, String referenceType, String status, Authentication authentication) {
         User currentUser = getUserByUsernameUseCase.execute(((LedgerPrincipal) authentication.getPrincipal()).username());
         boolean isAdmin = currentUser.hasRole(Role.ADMIN);
 
@@ -93,7 +141,7 @@ public class EntriesController {
 
         ReferenceType refType = parseReferenceType(referenceType);
         EntryStatus entryStatus = parseEntryStatus(status);
-        EntriesFilter filter = EntriesFilter.builder()
+        return EntriesFilter.builder()
                 .walletId(walletId)
                 .merchantId(merchantId)
                 .from(from)
@@ -103,12 +151,6 @@ public class EntriesController {
                 .referenceType(refType)
                 .status(entryStatus)
                 .build();
-
-        Sort order = parseSort(sort);
-        Pageable pageable = PageRequest.of(page, Math.min(size, 100), order);
-        Page<LedgerEntry> entries = getLedgerEntriesUseCase.execute(filter, pageable);
-        Map<UUID, String> walletIdToUsername = resolveWalletOwnerUsernames(entries.getContent());
-        return ResponseEntity.ok(entries.map(e -> ledgerEntryMapper.toResponse(e, walletIdToUsername.get(e.getWalletId()))));
     }
 
     /** Resolves wallet owner username for each distinct wallet in the entries (merchant user for MAIN/ESCROW, vendor user for VENDOR). */
@@ -161,6 +203,14 @@ public class EntriesController {
         }
     }
 
+    private static ExportLedgerEntriesUseCase.Format parseExportFormat(String s) {
+        try {
+            return ExportLedgerEntriesUseCase.Format.valueOf(s.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("format must be csv or ndjson");
+        }
+    }
+
     private static Sort parseSort(String sort) {
         String[] parts = sort.split(",");
         String prop = parts.length > 0 ? parts[0].trim() : "createdAt";
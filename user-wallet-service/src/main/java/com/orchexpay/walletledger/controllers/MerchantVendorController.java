@@ -4,6 +4,7 @@ import com.orchexpay.walletledger.dtos.AddVendorRequest;
 import com.orchexpay.walletledger.dtos.SettlementResponse;
 import com.orchexpay.walletledger.dtos.UserResponse;
 import com.orchexpay.walletledger.dtos.VendorSummaryResponse;
+import com.orchexpay.walletledger.dtos.WalletIdResponse;
 import com.orchexpay.walletledger.dtos.WalletResponse;
 import com.orchexpay.walletledger.mappers.UserMapper;
 import com.orchexpay.walletledger.mappers.WalletMapper;
@@ -79,6 +80,35 @@ public class MerchantVendorController {
         return ResponseEntity.ok(walletMapper.toResponse(walletWithBalance));
     }
 
+    /**
+     * Same resolution as by-type but returns the wallet id only: no ledger balance is computed.
+     * Used by payout-orchestrator's wallet-id cache on a miss.
+     */
+    @GetMapping("/{merchantId}/wallets/by-type/id")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SYSTEM', 'MERCHANT')")
+    public ResponseEntity<WalletIdResponse> getWalletIdByType(
+            @PathVariable UUID merchantId,
+            @RequestParam String currencyCode,
+            @RequestParam String walletType,
+            @RequestParam(required = false) UUID vendorUserId,
+            Authentication authentication) {
+        if (authentication.getAuthorities().stream().noneMatch(a -> "ROLE_ADMIN".equals(a.getAuthority()) || "ROLE_SYSTEM".equals(a.getAuthority()))) {
+            LedgerPrincipal principal = (LedgerPrincipal) authentication.getPrincipal();
+            if (!principal.hasMerchantId(merchantId)) {
+                throw new AccessDeniedException("Merchant can only resolve wallets for own account");
+            }
+        }
+        WalletType type = WalletType.valueOf(walletType.toUpperCase());
+        var wallet = getWalletByTypeUseCase.execute(merchantId, currencyCode, type, vendorUserId);
+        return ResponseEntity.ok(WalletIdResponse.builder()
+                .id(wallet.getId())
+                .merchantId(wallet.getMerchantId())
+                .walletType(wallet.getWalletType().name())
+                .vendorUserId(wallet.getVendorUserId())
+                .currencyCode(wallet.getCurrency().getCode())
+                .build());
+    }
+
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Page<UserResponse>> listMerchants(Pageable pageable) {
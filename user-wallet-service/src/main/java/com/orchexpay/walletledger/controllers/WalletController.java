@@ -1,18 +1,26 @@
 package com.orchexpay.walletledger.controllers;
 
+import com.orchexpay.walletledger.dtos.BatchCreditRequest;
+import com.orchexpay.walletledger.dtos.BatchItemResult;
+import com.orchexpay.walletledger.dtos.BatchResultResponse;
+import com.orchexpay.walletledger.dtos.BatchTransferRequest;
 import com.orchexpay.walletledger.dtos.LedgerEntryResponse;
 import com.orchexpay.walletledger.dtos.MoneyMovementRequest;
 import com.orchexpay.walletledger.dtos.TransferRequest;
 import com.orchexpay.walletledger.dtos.TransferResultResponse;
 import com.orchexpay.walletledger.dtos.WalletResponse;
+import com.orchexpay.walletledger.dtos.WalletSummaryResponse;
 import com.orchexpay.walletledger.mappers.LedgerEntryMapper;
 import com.orchexpay.walletledger.mappers.WalletMapper;
 import com.orchexpay.walletledger.configs.IdempotencyStore;
+import com.orchexpay.walletledger.exceptions.InsufficientBalanceException;
+import com.orchexpay.walletledger.exceptions.WalletNotFoundException;
 import com.orchexpay.walletledger.services.ConfirmReservationUseCase;
 import com.orchexpay.walletledger.services.CreditWalletUseCase;
 import com.orchexpay.walletledger.services.GetUserByUsernameUseCase;
 import com.orchexpay.walletledger.services.DebitWalletUseCase;
 import com.orchexpay.walletledger.services.UpdateWalletStatusUseCase;
+import com.orchexpay.walletledger.services.GetWalletSummaryUseCase;
 import com.orchexpay.walletledger.services.GetWalletUseCase;
 import com.orchexpay.walletledger.services.ReserveWalletUseCase;
 import com.orchexpay.walletledger.services.ReverseReservationUseCase;
@@ -22,6 +30,8 @@ import com.orchexpay.walletledger.models.Money;
 import com.orchexpay.walletledger.enums.ReferenceType;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -34,6 +44,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.security.core.Authentication;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -51,12 +63,14 @@ import com.orchexpay.walletledger.security.LedgerPrincipal;
 @RestController
 @RequestMapping("/api/v1")
 @RequiredArgsConstructor
+@Slf4j
 public class WalletController {
 
     private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
     private static final long IDEMPOTENCY_TTL_SECONDS = 86400; // 24 hours
 
     private final GetWalletUseCase getWalletUseCase;
+    private final GetWalletSummaryUseCase getWalletSummaryUseCase;
     private final GetUserByUsernameUseCase getUserByUsernameUseCase;
     private final CreditWalletUseCase creditWalletUseCase;
     private final DebitWalletUseCase debitWalletUseCase;
@@ -96,12 +110,53 @@ public class WalletController {
         return ResponseEntity.ok(walletMapper.toResponse(result));
     }
 
+    /**
+     * Dashboard / admin view of a wallet: confirmed credits, debits per reference type and net, from one
+     * ledger query (the same summary settlement uses). Same access rules as GET /wallets/{walletId}.
+     */
+    @GetMapping("/wallets/{walletId}/summary")
+    @PreAuthorize("hasAnyRole('MERCHANT', 'ADMIN', 'VENDOR')")
+    public ResponseEntity<WalletSummaryResponse> getWalletSummary(@PathVariable UUID walletId, Authentication authentication) {
+        GetWalletSummaryUseCase.WalletWithSummary result = getWalletSummaryUseCase.execute(walletId);
+        if (authentication != null && authentication.getPrincipal() instanceof LedgerPrincipal principal) {
+            User currentUser = getUserByUsernameUseCase.execute(principal.username());
+            if (currentUser.hasRole(Role.VENDOR) && (result.wallet().getVendorUserId() == null || !result.wallet().getVendorUserId().equals(currentUser.getId()))) {
+                throw new org.springframework.security.access.AccessDeniedException("Vendor can only access their own wallet");
+            }
+        }
+        return ResponseEntity.ok(walletMapper.toSummaryResponse(result));
+    }
+
     @PostMapping("/wallets/{walletId}/credit")
     @PreAuthorize("hasAnyRole('MERCHANT', 'ADMIN', 'SYSTEM')")
     public ResponseEntity<LedgerEntryResponse> creditWallet(
             @PathVariable UUID walletId,
             @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = true) String idempotencyKey,
             @Valid @RequestBody MoneyMovementRequest request) {
+        return applyCredit(walletId, idempotencyKey, request);
+    }
+
+    /**
+     * Several credits in one round trip. Each item is applied on its own (own transaction and Idempotency-Key), so one
+     * refused credit does not undo the others; per-item outcomes are returned in request order.
+     */
+    @PostMapping("/credits/batch")
+    @PreAuthorize("hasAnyRole('MERCHANT', 'ADMIN', 'SYSTEM')")
+    public ResponseEntity<BatchResultResponse> creditWallets(@Valid @RequestBody BatchCreditRequest request) {
+        List<BatchItemResult> results = new ArrayList<>(request.getItems().size());
+        for (BatchCreditRequest.Item item : request.getItems()) {
+            try {
+                ResponseEntity<LedgerEntryResponse> response = applyCredit(item.getWalletId(), item.getIdempotencyKey(), item.getCredit());
+                results.add(BatchItemResult.builder().idempotencyKey(item.getIdempotencyKey())
+                        .status(response.getStatusCode().value()).ledgerEntry(response.getBody()).build());
+            } catch (RuntimeException e) {
+                results.add(failedItem(item.getIdempotencyKey(), e));
+            }
+        }
+        return ResponseEntity.ok(new BatchResultResponse(results));
+    }
+
+    private ResponseEntity<LedgerEntryResponse> applyCredit(UUID walletId, String idempotencyKey, MoneyMovementRequest request) {
         Optional<String> cached = idempotencyStore.getIfPresent(idempotencyKey);
         if (cached.isPresent()) {
             return ResponseEntity.ok().body(ledgerEntryMapper.toResponseFromJson(cached.get()));
@@ -172,6 +227,30 @@ public class WalletController {
     public ResponseEntity<TransferResultResponse> transfer(
             @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = true) String idempotencyKey,
             @Valid @RequestBody TransferRequest request) {
+        return applyTransfer(idempotencyKey, request);
+    }
+
+    /**
+     * Several transfers in one round trip. Each item is applied on its own (own transaction and Idempotency-Key), so one
+     * refused transfer does not undo the others; per-item outcomes are returned in request order.
+     */
+    @PostMapping("/transfers/batch")
+    @PreAuthorize("hasAnyRole('MERCHANT', 'ADMIN', 'SYSTEM')")
+    public ResponseEntity<BatchResultResponse> transfers(@Valid @RequestBody BatchTransferRequest request) {
+        List<BatchItemResult> results = new ArrayList<>(request.getItems().size());
+        for (BatchTransferRequest.Item item : request.getItems()) {
+            try {
+                ResponseEntity<TransferResultResponse> response = applyTransfer(item.getIdempotencyKey(), item.getTransfer());
+                results.add(BatchItemResult.builder().idempotencyKey(item.getIdempotencyKey())
+                        .status(response.getStatusCode().value()).transfer(response.getBody()).build());
+            } catch (RuntimeException e) {
+                results.add(failedItem(item.getIdempotencyKey(), e));
+            }
+        }
+        return ResponseEntity.ok(new BatchResultResponse(results));
+    }
+
+    private ResponseEntity<TransferResultResponse> applyTransfer(String idempotencyKey, TransferRequest request) {
         Optional<String> cached = idempotencyStore.getIfPresent(idempotencyKey);
         if (cached.isPresent()) {
             return ResponseEntity.ok().body(ledgerEntryMapper.transferResultFromJson(cached.get()));
@@ -187,6 +266,26 @@ public class WalletController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /** Same status mapping as GlobalExceptionHandler, per item. */
+    private static BatchItemResult failedItem(String idempotencyKey, RuntimeException e) {
+        HttpStatus status;
+        if (e instanceof WalletNotFoundException) {
+            status = HttpStatus.NOT_FOUND;
+        } else if (e instanceof InsufficientBalanceException || e instanceof IllegalStateException) {
+            status = HttpStatus.UNPROCESSABLE_ENTITY;
+        } else if (e instanceof IllegalArgumentException) {
+            status = HttpStatus.BAD_REQUEST;
+        } else if (e instanceof DataIntegrityViolationException) {
+            status = HttpStatus.CONFLICT;
+        } else {
+            log.error("Batch item {} failed", idempotencyKey, e);
+            return BatchItemResult.builder().idempotencyKey(idempotencyKey)
+                    .status(HttpStatus.INTERNAL_SERVER_ERROR.value()).error("An unexpected error occurred").build();
+        }
+        log.warn("Batch item {} refused: {}", idempotencyKey, e.getMessage());
+        return BatchItemResult.builder().idempotencyKey(idempotencyKey).status(status.value()).error(e.getMessage()).build();
+    }
+
     private TransferResultResponse toTransferResultResponse(TransferUseCase.TransferResult result) {
         if (result.reused()) {
             return TransferResultResponse.idempotent();
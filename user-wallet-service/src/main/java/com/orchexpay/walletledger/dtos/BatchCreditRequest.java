@@ -0,0 +1,44 @@
+package com.orchexpay.walletledger.dtos;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Several wallet credits in one request (e.g. a micro-batch of payment-success webhooks). Each item carries its own
+ * Idempotency-Key and is applied independently, exactly as POST /wallets/{walletId}/credit would.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCreditRequest {
+
+    @Valid
+    @NotEmpty(message = "At least one credit is required")
+    @Size(max = 500, message = "At most 500 credits per batch")
+    private List<Item> items;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        @NotNull(message = "Wallet ID is required")
+        private UUID walletId;
+        @NotBlank(message = "Idempotency key is required")
+        private String idempotencyKey;
+        @Valid
+        @NotNull(message = "Credit is required")
+        private MoneyMovementRequest credit;
+    }
+}
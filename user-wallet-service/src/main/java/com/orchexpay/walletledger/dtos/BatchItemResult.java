@@ -0,0 +1,25 @@
+package com.orchexpay.walletledger.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one item of a batch request, in request order. status is the HTTP status the single-item endpoint would
+ * have returned (201 applied, 200 idempotent replay, 4xx refused, 500 unexpected); error is set for non-2xx.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+
+    private String idempotencyKey;
+    private int status;
+    private String error;
+    private LedgerEntryResponse ledgerEntry;
+    private TransferResultResponse transfer;
+}
@@ -0,0 +1,17 @@
+package com.orchexpay.walletledger.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResultResponse {
+
+    private List<BatchItemResult> results;
+}
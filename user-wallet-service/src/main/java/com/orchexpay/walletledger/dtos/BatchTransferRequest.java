@@ -0,0 +1,41 @@
+package com.orchexpay.walletledger.dtos;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Several transfers in one request (e.g. a micro-batch of order-complete splits). Each item carries its own
+ * Idempotency-Key and is applied independently, exactly as POST /transfers would.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTransferRequest {
+
+    @Valid
+    @NotEmpty(message = "At least one transfer is required")
+    @Size(max = 500, message = "At most 500 transfers per batch")
+    private List<Item> items;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        @NotBlank(message = "Idempotency key is required")
+        private String idempotencyKey;
+        @Valid
+        @NotNull(message = "Transfer is required")
+        private TransferRequest transfer;
+    }
+}
@@ -0,0 +1,42 @@
+package com.orchexpay.walletledger.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Merkle inclusion proof of a ledger entry. Hashing currentLeafHash with each proof step in order (the sibling on the
+ * given side, prefixed 0x01) gives merkleRoot when the entry is unchanged; verified is that check done server-side.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EntryProofResponse {
+    private UUID entryId;
+    private UUID walletId;
+    private UUID segmentId;
+    private int segmentNo;
+    private boolean segmentSealed;
+    private int position;
+    private String leafHash;
+    private String currentLeafHash;
+    private String merkleRoot;
+    private String chainHash;
+    private List<Step> proof;
+    private boolean verified;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Step {
+        private String hash;
+        /** LEFT or RIGHT of the running hash. */
+        private String side;
+    }
+}
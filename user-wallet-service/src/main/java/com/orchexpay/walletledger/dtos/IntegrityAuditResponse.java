@@ -0,0 +1,46 @@
+package com.orchexpay.walletledger.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One ledger integrity audit. failedSegments (GET only) are the segments currently failing verification, with the
+ * reason found by the audit that last checked them.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IntegrityAuditResponse {
+    private UUID id;
+    private String scope;
+    private String status;
+    private long segments;
+    private long entries;
+    private long failures;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private Long durationMs;
+    private String error;
+    private List<FailedSegment> failedSegments;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FailedSegment {
+        private UUID segmentId;
+        private UUID walletId;
+        private int segmentNo;
+        private int entryCount;
+        private boolean sealed;
+        private String failure;
+        private Instant verifiedAt;
+    }
+}
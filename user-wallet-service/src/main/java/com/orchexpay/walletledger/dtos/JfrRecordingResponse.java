@@ -0,0 +1,22 @@
+package com.orchexpay.walletledger.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JfrRecordingResponse {
+    private long id;
+    private String name;
+    private String state;
+    private Instant startedAt;
+    private Instant stoppedAt;
+    private Long durationSeconds;
+    private long sizeBytes;
+}
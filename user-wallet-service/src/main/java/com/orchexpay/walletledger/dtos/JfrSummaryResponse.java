@@ -0,0 +1,36 @@
+package com.orchexpay.walletledger.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Hot sites of one JFR recording, attributed to the nearest ledger frame. Allocation totals are sampled bytes;
+ * contention and park totals are milliseconds blocked.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JfrSummaryResponse {
+    private long recordingId;
+    private long events;
+    private List<Site> allocationSites;
+    private List<Site> monitorContention;
+    private List<Site> threadParks;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Site {
+        private String frame;
+        private String type;
+        private long events;
+        private double total;
+        private double max;
+    }
+}
@@ -0,0 +1,70 @@
+package com.orchexpay.walletledger.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Continuous reconciliation progress. snapshot is the Postgres snapshot the totals are current to; totals are
+ * CONFIRMED amounts over all wallets. Each checkpoint carries its signature and whether it still verifies.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconciliationStatusResponse {
+    private boolean initialized;
+    private String snapshot;
+    private long entriesApplied;
+    private long wallets;
+    private BigDecimal totalCredits;
+    private BigDecimal totalDebits;
+    private String digest;
+    private long openMismatches;
+    private long entriesSinceCheckpoint;
+    private Instant updatedAt;
+    private List<Mismatch> mismatches;
+    private List<Checkpoint> checkpoints;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Mismatch {
+        private UUID walletId;
+        private UUID merchantId;
+        private String currencyCode;
+        private boolean escrow;
+        private String reason;
+        private BigDecimal credits;
+        private BigDecimal payoutDebits;
+        private BigDecimal refundDebits;
+        private BigDecimal net;
+        private Instant updatedAt;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Checkpoint {
+        private long sequence;
+        private String snapshot;
+        private long entriesApplied;
+        private long wallets;
+        private BigDecimal totalCredits;
+        private BigDecimal totalDebits;
+        private long openMismatches;
+        private String stateDigest;
+        private String previousSignature;
+        private String signature;
+        private boolean signatureValid;
+        private Instant createdAt;
+    }
+}
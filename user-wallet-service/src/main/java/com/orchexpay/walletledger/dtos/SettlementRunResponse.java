@@ -0,0 +1,28 @@
+package com.orchexpay.walletledger.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SettlementRunResponse {
+    private UUID id;
+    private String status;
+    private int partitions;
+    private long wallets;
+    private long mismatches;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private Long durationMs;
+    private String error;
+    /** First mismatched wallets (GET only). */
+    private List<SettlementResponse> mismatchedWallets;
+}
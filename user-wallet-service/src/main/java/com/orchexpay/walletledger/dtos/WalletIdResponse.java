@@ -0,0 +1,21 @@
+package com.orchexpay.walletledger.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/** Wallet identity only (no balance). Wallet ids never change, so callers may cache this indefinitely. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletIdResponse {
+    private UUID id;
+    private UUID merchantId;
+    private String walletType;   // MAIN, ESCROW, VENDOR
+    private UUID vendorUserId;   // non-null only when walletType is VENDOR
+    private String currencyCode;
+}
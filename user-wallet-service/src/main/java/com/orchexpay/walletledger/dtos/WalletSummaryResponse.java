@@ -0,0 +1,26 @@
+package com.orchexpay.walletledger.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletSummaryResponse {
+
+    private UUID walletId;
+    private UUID merchantId;
+    private String walletType;
+    private String currencyCode;
+    private BigDecimal totalConfirmedCredits;
+    private Map<String, BigDecimal> confirmedDebitsByReferenceType;  // ORDER, PAYOUT, REFUND, REVERSAL
+    private BigDecimal totalConfirmedDebits;
+    private BigDecimal netBalance;  // equals the wallet balance
+}
@@ -0,0 +1,9 @@
+package com.orchexpay.walletledger.enums;
+
+/**
+ * TOUCHED = segments that gained entries since their last check, were never checked, or failed it; ALL = every segment.
+ */
+public enum IntegrityAuditScope {
+    TOUCHED,
+    ALL
+}
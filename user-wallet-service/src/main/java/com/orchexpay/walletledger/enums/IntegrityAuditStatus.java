@@ -0,0 +1,7 @@
+package com.orchexpay.walletledger.enums;
+
+public enum IntegrityAuditStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,10 @@
+package com.orchexpay.walletledger.enums;
+
+/**
+ * Why ContinuousReconciler flags a wallet. NEGATIVE_BALANCE = confirmed net below zero; SETTLEMENT = ESCROW net differs
+ * from credits - payouts - refunds (the same check as the settlement endpoint).
+ */
+public enum ReconciliationMismatch {
+    NEGATIVE_BALANCE,
+    SETTLEMENT
+}
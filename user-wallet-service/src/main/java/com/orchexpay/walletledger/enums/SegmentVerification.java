@@ -0,0 +1,10 @@
+package com.orchexpay.walletledger.enums;
+
+/**
+ * Result of the last integrity check of a ledger segment. UNVERIFIED until its first audit.
+ */
+public enum SegmentVerification {
+    UNVERIFIED,
+    VERIFIED,
+    FAILED
+}
@@ -0,0 +1,7 @@
+package com.orchexpay.walletledger.enums;
+
+public enum SettlementRunStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
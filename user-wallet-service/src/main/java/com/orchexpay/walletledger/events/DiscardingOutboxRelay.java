@@ -0,0 +1,57 @@
+package com.orchexpay.walletledger.events;
+
+import com.orchexpay.walletledger.models.OutboxEntity;
+import com.orchexpay.walletledger.repositories.JpaOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Stand-in for {@link OutboxKafkaRelay} when no broker is available (orchexpay.outbox.sink=discard, e.g. load tests):
+ * marks rows published without sending them, so the outbox read / update cost stays in the measurement. Each run
+ * drains in batches of the same size (one transaction each) until a batch comes back short, so the unpublished
+ * backlog does not grow however fast the load test writes.
+ */
+@Component
+@ConditionalOnProperty(name = "orchexpay.outbox.sink", havingValue = "discard")
+@Slf4j
+public class DiscardingOutboxRelay {
+
+    private static final int BATCH_SIZE = 100;
+
+    private final JpaOutboxRepository outboxRepository;
+    private final TransactionTemplate transaction;
+
+    public DiscardingOutboxRelay(JpaOutboxRepository outboxRepository, PlatformTransactionManager transactionManager) {
+        this.outboxRepository = outboxRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${orchexpay.outbox.relay-interval-ms:5000}")
+    public void relay() {
+        long discarded = 0;
+        int batch;
+        do {
+            batch = transaction.execute(status -> discardBatch());
+            discarded += batch;
+        } while (batch == BATCH_SIZE);
+        if (discarded > 0) {
+            log.debug("Discarded {} outbox events (outbox sink disabled)", discarded);
+        }
+    }
+
+    private int discardBatch() {
+        List<OutboxEntity> events = outboxRepository.findByPublishedFalseOrderByCreatedAtAsc(PageRequest.of(0, BATCH_SIZE));
+        for (OutboxEntity event : events) {
+            event.setPublished(true);
+            outboxRepository.save(event);
+        }
+        return events.size();
+    }
+}
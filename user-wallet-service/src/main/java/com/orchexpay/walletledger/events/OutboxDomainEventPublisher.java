@@ -41,6 +41,9 @@ public class OutboxDomainEventPublisher implements DomainEventPublisher {
             payload.put("walletId", wce.getWalletId().toString());
             payload.put("merchantId", wce.getMerchantId().toString());
             payload.put("currencyCode", wce.getCurrencyCode());
+            payload.put("walletType", wce.getWalletType());
+            payload.put("vendorUserId", wce.getVendorUserId() != null ? wce.getVendorUserId().toString() : null);
+            payload.put("vendorUsername", wce.getVendorUsername());
         } else if (event instanceof WalletCreditedEvent wcre) {
             payload.put("walletId", wcre.getWalletId().toString());
             payload.put("amount", wcre.getAmount());
@@ -4,6 +4,7 @@ import com.orchexpay.walletledger.models.OutboxEntity;
 import com.orchexpay.walletledger.repositories.JpaOutboxRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -14,8 +15,10 @@ import java.util.List;
 
 /**
  * Relays outbox events to Kafka. Runs periodically; in production consider Kafka Connect or Debezium.
+ * Replaced by {@link DiscardingOutboxRelay} when orchexpay.outbox.sink=discard.
  */
 @Component
+@ConditionalOnProperty(name = "orchexpay.outbox.sink", havingValue = "kafka", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
 public class OutboxKafkaRelay {
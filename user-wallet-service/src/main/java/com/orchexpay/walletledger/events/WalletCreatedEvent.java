@@ -14,6 +14,9 @@ public class WalletCreatedEvent implements DomainEvent {
     private final UUID walletId;
     private final UUID merchantId;
     private final String currencyCode;
+    private final String walletType;
+    private final UUID vendorUserId;   // non-null only for VENDOR wallets
+    private final String vendorUsername; // non-null only for VENDOR wallets
     private final Instant occurredAt;
     private final String correlationId;
 
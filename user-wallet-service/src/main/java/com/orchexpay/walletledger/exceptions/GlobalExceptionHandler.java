@@ -5,7 +5,10 @@ import com.orchexpay.walletledger.exceptions.InsufficientBalanceException;
 import com.orchexpay.walletledger.exceptions.InvalidCredentialsException;
 import com.orchexpay.walletledger.exceptions.UserAlreadyExistsException;
 import com.orchexpay.walletledger.exceptions.UserNotFoundException;
+import com.orchexpay.walletledger.exceptions.IntegrityAuditNotFoundException;
 import com.orchexpay.walletledger.exceptions.LedgerEntryNotFoundException;
+import com.orchexpay.walletledger.exceptions.RecordingNotFoundException;
+import com.orchexpay.walletledger.exceptions.SettlementRunNotFoundException;
 import com.orchexpay.walletledger.exceptions.WalletAlreadyExistsException;
 import com.orchexpay.walletledger.exceptions.WalletNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -41,6 +44,24 @@ public class GlobalExceptionHandler {
         return buildResponse(request, HttpStatus.NOT_FOUND, "Not Found", ex.getMessage());
     }
 
+    @ExceptionHandler(RecordingNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleRecordingNotFound(RecordingNotFoundException ex, HttpServletRequest request) {
+        log.warn("Recording not found: {}", ex.getMessage());
+        return buildResponse(request, HttpStatus.NOT_FOUND, "Not Found", ex.getMessage());
+    }
+
+    @ExceptionHandler(SettlementRunNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleSettlementRunNotFound(SettlementRunNotFoundException ex, HttpServletRequest request) {
+        log.warn("Settlement run not found: {}", ex.getMessage());
+        return buildResponse(request, HttpStatus.NOT_FOUND, "Not Found", ex.getMessage());
+    }
+
+    @ExceptionHandler(IntegrityAuditNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleIntegrityAuditNotFound(IntegrityAuditNotFoundException ex, HttpServletRequest request) {
+        log.warn("Integrity audit not found: {}", ex.getMessage());
+        return buildResponse(request, HttpStatus.NOT_FOUND, "Not Found", ex.getMessage());
+    }
+
     @ExceptionHandler(WalletAlreadyExistsException.class)
     public ResponseEntity<ErrorResponse> handleWalletAlreadyExists(WalletAlreadyExistsException ex, HttpServletRequest request) {
         log.warn("Wallet already exists: {}", ex.getMessage());
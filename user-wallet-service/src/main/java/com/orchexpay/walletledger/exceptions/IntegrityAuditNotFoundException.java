@@ -0,0 +1,10 @@
+package com.orchexpay.walletledger.exceptions;
+
+import java.util.UUID;
+
+public class IntegrityAuditNotFoundException extends RuntimeException {
+
+    public IntegrityAuditNotFoundException(UUID auditId) {
+        super("Integrity audit not found: " + auditId);
+    }
+}
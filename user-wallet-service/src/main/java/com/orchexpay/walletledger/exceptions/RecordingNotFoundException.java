@@ -0,0 +1,8 @@
+package com.orchexpay.walletledger.exceptions;
+
+public class RecordingNotFoundException extends RuntimeException {
+
+    public RecordingNotFoundException(long recordingId) {
+        super("Recording not found: " + recordingId);
+    }
+}
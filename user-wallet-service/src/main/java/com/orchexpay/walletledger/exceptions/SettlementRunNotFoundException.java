@@ -0,0 +1,10 @@
+package com.orchexpay.walletledger.exceptions;
+
+import java.util.UUID;
+
+public class SettlementRunNotFoundException extends RuntimeException {
+
+    public SettlementRunNotFoundException(UUID runId) {
+        super("Settlement run not found: " + runId);
+    }
+}
@@ -1,10 +1,17 @@
 package com.orchexpay.walletledger.mappers;
 
 import com.orchexpay.walletledger.dtos.WalletResponse;
+import com.orchexpay.walletledger.dtos.WalletSummaryResponse;
+import com.orchexpay.walletledger.services.GetWalletSummaryUseCase.WalletWithSummary;
 import com.orchexpay.walletledger.services.GetWalletUseCase.WalletWithBalance;
 import com.orchexpay.walletledger.models.Wallet;
+import com.orchexpay.walletledger.models.WalletSummary;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @Component
 public class WalletMapper {
 
@@ -42,4 +49,21 @@ public class WalletMapper {
                 .updatedAt(wallet.getUpdatedAt())
                 .build();
     }
+
+    public WalletSummaryResponse toSummaryResponse(WalletWithSummary walletWithSummary) {
+        Wallet wallet = walletWithSummary.wallet();
+        WalletSummary summary = walletWithSummary.summary();
+        Map<String, BigDecimal> debits = new LinkedHashMap<>();
+        summary.confirmedDebits().forEach((type, amount) -> debits.put(type.name(), amount));
+        return WalletSummaryResponse.builder()
+                .walletId(wallet.getId())
+                .merchantId(wallet.getMerchantId())
+                .walletType(wallet.getWalletType().name())
+                .currencyCode(wallet.getCurrency().getCode())
+                .totalConfirmedCredits(summary.confirmedCredits())
+                .confirmedDebitsByReferenceType(debits)
+                .totalConfirmedDebits(summary.totalDebits())
+                .netBalance(summary.net())
+                .build();
+    }
 }
@@ -0,0 +1,65 @@
+package com.orchexpay.walletledger.models;
+
+import com.orchexpay.walletledger.enums.IntegrityAuditScope;
+import com.orchexpay.walletledger.enums.IntegrityAuditStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One integrity audit over ledger segments (RunIntegrityAuditUseCase). Failed segments keep their reason on
+ * ledger_segments.
+ */
+@Entity
+@Table(name = "ledger_integrity_audits")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IntegrityAudit {
+
+    @Id
+    @Column(name = "id", updatable = false)
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scope", nullable = false, length = 20)
+    private IntegrityAuditScope scope;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private IntegrityAuditStatus status;
+
+    @Column(name = "segments", nullable = false)
+    private long segments;
+
+    @Column(name = "entries", nullable = false)
+    private long entries;
+
+    @Column(name = "failures", nullable = false)
+    private long failures;
+
+    @Column(name = "started_at", nullable = false)
+    private Instant startedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    @Column(name = "duration_ms")
+    private Long durationMs;
+
+    @Column(name = "error", length = 500)
+    private String error;
+}
@@ -0,0 +1,59 @@
+package com.orchexpay.walletledger.models;
+
+import com.orchexpay.walletledger.enums.EntryType;
+import com.orchexpay.walletledger.enums.ReferenceType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Append-only journal of ledger entries that became CONFIRMED, one row per entry, written in the same transaction as
+ * the entry (LedgerEntryRepositoryAdapter.save, bulk data COPY). txid is the writing transaction's id, filled in by
+ * the column default; ContinuousReconciler reads the journal by txid against Postgres snapshots, so it sees rows in
+ * commit order and never misses one that committed late.
+ */
+@Entity
+@Table(name = "ledger_confirmations", indexes = {
+        @Index(name = "idx_ledger_confirmations_txid", columnList = "txid")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerConfirmation {
+
+    @Id
+    @Column(name = "entry_id", updatable = false)
+    private UUID entryId;
+
+    @Column(name = "wallet_id", nullable = false)
+    private UUID walletId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false, length = 10)
+    private EntryType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "reference_type", nullable = false, length = 20)
+    private ReferenceType referenceType;
+
+    @Column(name = "amount", nullable = false, precision = 19, scale = 4)
+    private BigDecimal amount;
+
+    @Column(name = "txid", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "bigint NOT NULL DEFAULT (pg_current_xact_id()::text::bigint)")
+    private Long txid;
+}
@@ -33,6 +33,8 @@ import java.util.UUID;
 @Table(name = "ledger_entries", indexes = {
         @Index(name = "idx_ledger_wallet_id", columnList = "wallet_id"),
         @Index(name = "idx_ledger_merchant_id", columnList = "merchant_id"),
+        @Index(name = "idx_ledger_wallet_created", columnList = "wallet_id, created_at"),
+        @Index(name = "idx_ledger_merchant_created", columnList = "merchant_id, created_at"),
         @Index(name = "idx_ledger_wallet_ref_type", columnList = "wallet_id, reference_id, reference_type", unique = true)
 })
 @Getter
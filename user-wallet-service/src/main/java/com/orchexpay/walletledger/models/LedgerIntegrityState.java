@@ -0,0 +1,42 @@
+package com.orchexpay.walletledger.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * LedgerSegmentSealer's cursor (a single row, id 1): the Postgres snapshot up to which confirmed entries are in
+ * segments.
+ */
+@Entity
+@Table(name = "ledger_integrity_state")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerIntegrityState {
+
+    public static final short ID = 1;
+
+    @Id
+    @Column(name = "id", updatable = false)
+    private short id;
+
+    @Column(name = "snapshot", nullable = false, columnDefinition = "TEXT")
+    private String snapshot;
+
+    @Column(name = "entries_sealed", nullable = false)
+    private long entriesSealed;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
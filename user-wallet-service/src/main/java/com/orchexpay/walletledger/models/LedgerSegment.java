@@ -0,0 +1,77 @@
+package com.orchexpay.walletledger.models;
+
+import com.orchexpay.walletledger.enums.SegmentVerification;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A fixed-size run of one wallet's CONFIRMED ledger entries (members in ledger_segment_entries, in order) with the
+ * Merkle root over their leaf hashes. chain_hash links each segment to the wallet's previous one, so removing or
+ * rewriting a whole segment breaks the chain. Only the wallet's last segment is open (not yet sealed) and grows.
+ * verified_count is the entry count at the last audit; a segment whose entry_count has moved on since is "touched".
+ */
+@Entity
+@Table(name = "ledger_segments", indexes = {
+        @Index(name = "idx_ledger_segments_wallet_no", columnList = "wallet_id, segment_no", unique = true)
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerSegment {
+
+    @Id
+    @Column(name = "id", updatable = false)
+    private UUID id;
+
+    @Column(name = "wallet_id", nullable = false)
+    private UUID walletId;
+
+    @Column(name = "segment_no", nullable = false)
+    private int segmentNo;
+
+    @Column(name = "entry_count", nullable = false)
+    private int entryCount;
+
+    @Column(name = "merkle_root", nullable = false, length = 64)
+    private String merkleRoot;
+
+    @Column(name = "previous_chain_hash", length = 64)
+    private String previousChainHash;
+
+    @Column(name = "chain_hash", nullable = false, length = 64)
+    private String chainHash;
+
+    @Column(name = "sealed", nullable = false)
+    private boolean sealed;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "verification", nullable = false, length = 20)
+    private SegmentVerification verification;
+
+    @Column(name = "verified_count")
+    private Integer verifiedCount;
+
+    @Column(name = "verified_at")
+    private Instant verifiedAt;
+
+    @Column(name = "failure", length = 500)
+    private String failure;
+}
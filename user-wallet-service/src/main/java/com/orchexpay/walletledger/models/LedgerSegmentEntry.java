@@ -0,0 +1,43 @@
+package com.orchexpay.walletledger.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * Position of a ledger entry in its {@link LedgerSegment} and the leaf hash it had when sealed. Audits recompute the
+ * leaf from ledger_entries; a difference names the changed entry.
+ */
+@Entity
+@Table(name = "ledger_segment_entries", indexes = {
+        @Index(name = "idx_ledger_segment_entries_position", columnList = "segment_id, position", unique = true)
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerSegmentEntry {
+
+    @Id
+    @Column(name = "entry_id", updatable = false)
+    private UUID entryId;
+
+    @Column(name = "segment_id", nullable = false)
+    private UUID segmentId;
+
+    @Column(name = "position", nullable = false)
+    private int position;
+
+    @Column(name = "leaf_hash", nullable = false, length = 64)
+    private String leafHash;
+}
@@ -0,0 +1,62 @@
+package com.orchexpay.walletledger.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Signed copy of the reconciliation state at one point (ContinuousReconciler). signature is an HMAC-SHA256 over the
+ * figures and the previous checkpoint's signature, so checkpoints form a chain that cannot be edited unnoticed.
+ */
+@Entity
+@Table(name = "reconciliation_checkpoints")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconciliationCheckpoint {
+
+    @Id
+    @Column(name = "sequence", updatable = false)
+    private long sequence;
+
+    @Column(name = "snapshot", nullable = false, columnDefinition = "TEXT")
+    private String snapshot;
+
+    @Column(name = "entries_applied", nullable = false)
+    private long entriesApplied;
+
+    @Column(name = "wallets", nullable = false)
+    private long wallets;
+
+    @Column(name = "total_credits", nullable = false, precision = 24, scale = 4)
+    private BigDecimal totalCredits;
+
+    @Column(name = "total_debits", nullable = false, precision = 24, scale = 4)
+    private BigDecimal totalDebits;
+
+    @Column(name = "open_mismatches", nullable = false)
+    private long openMismatches;
+
+    @Column(name = "state_digest", nullable = false, length = 64)
+    private String stateDigest;
+
+    @Column(name = "previous_signature", length = 64)
+    private String previousSignature;
+
+    @Column(name = "signature", nullable = false, length = 64)
+    private String signature;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
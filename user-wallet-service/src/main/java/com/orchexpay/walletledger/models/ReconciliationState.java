@@ -0,0 +1,70 @@
+package com.orchexpay.walletledger.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * ContinuousReconciler's cursor and aggregate figures (a single row, id 1). snapshot is the Postgres snapshot up to
+ * which ledger_confirmations has been applied; digest is the additive hash of every wallet's totals.
+ */
+@Entity
+@Table(name = "reconciliation_state")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconciliationState {
+
+    public static final short ID = 1;
+
+    @Id
+    @Column(name = "id", updatable = false)
+    private short id;
+
+    @Column(name = "snapshot", nullable = false, columnDefinition = "TEXT")
+    private String snapshot;
+
+    @Column(name = "entries_applied", nullable = false)
+    private long entriesApplied;
+
+    @Column(name = "wallets", nullable = false)
+    private long wallets;
+
+    @Column(name = "total_credits", nullable = false, precision = 24, scale = 4)
+    private BigDecimal totalCredits;
+
+    @Column(name = "total_debits", nullable = false, precision = 24, scale = 4)
+    private BigDecimal totalDebits;
+
+    @Column(name = "digest", nullable = false, length = 64)
+    private String digest;
+
+    @Column(name = "open_mismatches", nullable = false)
+    private long openMismatches;
+
+    @Column(name = "entries_since_checkpoint", nullable = false)
+    private long entriesSinceCheckpoint;
+
+    @Column(name = "last_checkpoint_sequence", nullable = false)
+    private long lastCheckpointSequence;
+
+    @Column(name = "last_checkpoint_signature", length = 64)
+    private String lastCheckpointSignature;
+
+    @Column(name = "last_checkpoint_at")
+    private Instant lastCheckpointAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -0,0 +1,73 @@
+package com.orchexpay.walletledger.models;
+
+import com.orchexpay.walletledger.enums.ReconciliationMismatch;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Running confirmed totals of one wallet by reference type, kept by ContinuousReconciler from ledger_confirmations.
+ * mismatch is set while the totals break a reconciliation rule.
+ */
+@Entity
+@Table(name = "reconciliation_totals", indexes = {
+        @Index(name = "idx_reconciliation_totals_mismatch", columnList = "mismatch")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconciliationTotal {
+
+    @Id
+    @Column(name = "wallet_id", updatable = false)
+    private UUID walletId;
+
+    @Column(name = "merchant_id", nullable = false)
+    private UUID merchantId;
+
+    @Column(name = "currency_code", nullable = false, length = 3)
+    private String currencyCode;
+
+    @Column(name = "escrow", nullable = false)
+    private boolean escrow;
+
+    @Column(name = "credits", nullable = false, precision = 19, scale = 4)
+    private BigDecimal credits;
+
+    @Column(name = "order_debits", nullable = false, precision = 19, scale = 4)
+    private BigDecimal orderDebits;
+
+    @Column(name = "payout_debits", nullable = false, precision = 19, scale = 4)
+    private BigDecimal payoutDebits;
+
+    @Column(name = "refund_debits", nullable = false, precision = 19, scale = 4)
+    private BigDecimal refundDebits;
+
+    @Column(name = "reversal_debits", nullable = false, precision = 19, scale = 4)
+    private BigDecimal reversalDebits;
+
+    @Column(name = "net", nullable = false, precision = 19, scale = 4)
+    private BigDecimal net;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "mismatch", length = 20)
+    private ReconciliationMismatch mismatch;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
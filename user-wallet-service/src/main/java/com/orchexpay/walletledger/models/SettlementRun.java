@@ -0,0 +1,60 @@
+package com.orchexpay.walletledger.models;
+
+import com.orchexpay.walletledger.enums.SettlementRunStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One settlement batch run over every ESCROW wallet (RunSettlementBatchUseCase). Per-wallet rows are in
+ * settlement_results (SettlementRunResult).
+ */
+@Entity
+@Table(name = "settlement_runs")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SettlementRun {
+
+    @Id
+    @Column(name = "id", updatable = false)
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private SettlementRunStatus status;
+
+    @Column(name = "partitions", nullable = false)
+    private int partitions;
+
+    @Column(name = "wallets", nullable = false)
+    private long wallets;
+
+    @Column(name = "mismatches", nullable = false)
+    private long mismatches;
+
+    @Column(name = "started_at", nullable = false)
+    private Instant startedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    @Column(name = "duration_ms")
+    private Long durationMs;
+
+    @Column(name = "error", length = 500)
+    private String error;
+}
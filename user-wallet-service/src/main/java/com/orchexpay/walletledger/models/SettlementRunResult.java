@@ -0,0 +1,69 @@
+package com.orchexpay.walletledger.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One ESCROW wallet's settlement in a {@link SettlementRun}: the SettlementResult figures, written in batches by
+ * RunSettlementBatchUseCase.
+ */
+@Entity
+@Table(name = "settlement_results", indexes = {
+        @Index(name = "idx_settlement_results_run_reconciled", columnList = "run_id, reconciled")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SettlementRunResult {
+
+    @Id
+    @Column(name = "id", updatable = false)
+    private UUID id;
+
+    @Column(name = "run_id", nullable = false)
+    private UUID runId;
+
+    @Column(name = "merchant_id", nullable = false)
+    private UUID merchantId;
+
+    @Column(name = "currency_code", nullable = false, length = 3)
+    private String currencyCode;
+
+    @Column(name = "escrow_wallet_id", nullable = false)
+    private UUID escrowWalletId;
+
+    @Column(name = "total_confirmed_escrow_credits", nullable = false, precision = 19, scale = 4)
+    private BigDecimal totalConfirmedEscrowCredits;
+
+    @Column(name = "total_payout_debits", nullable = false, precision = 19, scale = 4)
+    private BigDecimal totalPayoutDebits;
+
+    @Column(name = "total_refund_debits", nullable = false, precision = 19, scale = 4)
+    private BigDecimal totalRefundDebits;
+
+    @Column(name = "expected_balance", nullable = false, precision = 19, scale = 4)
+    private BigDecimal expectedBalance;
+
+    @Column(name = "ledger_net_balance", nullable = false, precision = 19, scale = 4)
+    private BigDecimal ledgerNetBalance;
+
+    @Column(name = "reconciled", nullable = false)
+    private boolean reconciled;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
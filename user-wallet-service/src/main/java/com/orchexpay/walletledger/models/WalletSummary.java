@@ -0,0 +1,42 @@
+package com.orchexpay.walletledger.models;
+
+import com.orchexpay.walletledger.enums.ReferenceType;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * CONFIRMED ledger figures of one wallet, read in a single pass over its entries: total credits, debits per
+ * {@link ReferenceType} and the net (= computeBalance). Shared by settlement, the settlement batch and the wallet
+ * summary endpoint so they all agree on the same numbers.
+ */
+public record WalletSummary(UUID walletId, BigDecimal confirmedCredits, Map<ReferenceType, BigDecimal> confirmedDebits,
+                            BigDecimal net) {
+
+    public WalletSummary {
+        Map<ReferenceType, BigDecimal> debits = new EnumMap<>(ReferenceType.class);
+        for (ReferenceType type : ReferenceType.values()) {
+            BigDecimal amount = confirmedDebits.get(type);
+            debits.put(type, amount != null ? amount : BigDecimal.ZERO);
+        }
+        confirmedDebits = Collections.unmodifiableMap(debits);
+    }
+
+    public BigDecimal debits(ReferenceType referenceType) {
+        return confirmedDebits.get(referenceType);
+    }
+
+    public BigDecimal totalDebits() {
+        return confirmedDebits.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    /** Figure-by-figure difference (this - other), e.g. the totals before a known delta. */
+    public WalletSummary minus(WalletSummary other) {
+        Map<ReferenceType, BigDecimal> debits = new EnumMap<>(ReferenceType.class);
+        confirmedDebits.forEach((type, amount) -> debits.put(type, amount.subtract(other.debits(type))));
+        return new WalletSummary(walletId, confirmedCredits.subtract(other.confirmedCredits()), debits, net.subtract(other.net()));
+    }
+}
@@ -0,0 +1,9 @@
+package com.orchexpay.walletledger.repositories;
+
+import com.orchexpay.walletledger.models.IntegrityAudit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.UUID;
+
+public interface JpaIntegrityAuditRepository extends JpaRepository<IntegrityAudit, UUID> {
+}
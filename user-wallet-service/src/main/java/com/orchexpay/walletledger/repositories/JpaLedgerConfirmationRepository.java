@@ -0,0 +1,25 @@
+package com.orchexpay.walletledger.repositories;
+
+import com.orchexpay.walletledger.models.LedgerConfirmation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public interface JpaLedgerConfirmationRepository extends JpaRepository<LedgerConfirmation, UUID> {
+
+    /** Journals a CONFIRMED entry once; txid comes from the column default (the current transaction). */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO ledger_confirmations (entry_id, wallet_id, entry_type, reference_type, amount)
+            VALUES (:entryId, :walletId, :entryType, :referenceType, :amount)
+            ON CONFLICT (entry_id) DO NOTHING
+            """, nativeQuery = true)
+    int record(@Param("entryId") UUID entryId, @Param("walletId") UUID walletId, @Param("entryType") String entryType,
+               @Param("referenceType") String referenceType, @Param("amount") BigDecimal amount);
+}
@@ -0,0 +1,21 @@
+package com.orchexpay.walletledger.repositories;
+
+import com.orchexpay.walletledger.models.LedgerIntegrityState;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface JpaLedgerIntegrityStateRepository extends JpaRepository<LedgerIntegrityState, Short> {
+
+    /** Row-locks the sealer cursor without waiting (NOWAIT): fails at once while another instance is sealing. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "0"))
+    @Query("SELECT s FROM LedgerIntegrityState s WHERE s.id = :id")
+    Optional<LedgerIntegrityState> lockById(@Param("id") short id);
+}
@@ -0,0 +1,15 @@
+package com.orchexpay.walletledger.repositories;
+
+import com.orchexpay.walletledger.models.LedgerSegmentEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface JpaLedgerSegmentEntryRepository extends JpaRepository<LedgerSegmentEntry, UUID> {
+
+    @Query("SELECT m.leafHash FROM LedgerSegmentEntry m WHERE m.segmentId = :segmentId ORDER BY m.position")
+    List<String> findLeafHashesBySegmentId(@Param("segmentId") UUID segmentId);
+}
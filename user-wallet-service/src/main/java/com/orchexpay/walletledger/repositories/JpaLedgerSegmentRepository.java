@@ -0,0 +1,14 @@
+package com.orchexpay.walletledger.repositories;
+
+import com.orchexpay.walletledger.enums.SegmentVerification;
+import com.orchexpay.walletledger.models.LedgerSegment;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface JpaLedgerSegmentRepository extends JpaRepository<LedgerSegment, UUID> {
+
+    List<LedgerSegment> findByVerificationOrderByVerifiedAtDesc(SegmentVerification verification, Pageable pageable);
+}
@@ -0,0 +1,12 @@
+package com.orchexpay.walletledger.repositories;
+
+import com.orchexpay.walletledger.models.ReconciliationCheckpoint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface JpaReconciliationCheckpointRepository extends JpaRepository<ReconciliationCheckpoint, Long> {
+
+    List<ReconciliationCheckpoint> findAllByOrderBySequenceDesc(Pageable pageable);
+}
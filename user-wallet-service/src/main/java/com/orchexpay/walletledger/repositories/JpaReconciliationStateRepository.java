@@ -0,0 +1,21 @@
+package com.orchexpay.walletledger.repositories;
+
+import com.orchexpay.walletledger.models.ReconciliationState;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface JpaReconciliationStateRepository extends JpaRepository<ReconciliationState, Short> {
+
+    /** Row-locks the state without waiting (NOWAIT): fails at once while another instance is reconciling. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "0"))
+    @Query("SELECT s FROM ReconciliationState s WHERE s.id = :id")
+    Optional<ReconciliationState> lockById(@Param("id") short id);
+}
@@ -0,0 +1,13 @@
+package com.orchexpay.walletledger.repositories;
+
+import com.orchexpay.walletledger.models.ReconciliationTotal;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface JpaReconciliationTotalRepository extends JpaRepository<ReconciliationTotal, UUID> {
+
+    List<ReconciliationTotal> findByMismatchIsNotNullOrderByUpdatedAtDesc(Pageable pageable);
+}
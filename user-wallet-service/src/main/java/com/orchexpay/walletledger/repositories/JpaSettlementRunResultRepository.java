@@ -0,0 +1,13 @@
+package com.orchexpay.walletledger.repositories;
+
+import com.orchexpay.walletledger.models.SettlementRunResult;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface JpaSettlementRunResultRepository extends JpaRepository<SettlementRunResult, UUID> {
+
+    List<SettlementRunResult> findByRunIdAndReconciledFalseOrderByMerchantIdAsc(UUID runId, Pageable pageable);
+}
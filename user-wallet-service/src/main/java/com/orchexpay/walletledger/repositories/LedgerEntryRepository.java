@@ -2,6 +2,7 @@ package com.orchexpay.walletledger.repositories;
 
 import com.orchexpay.walletledger.services.EntriesFilter;
 import com.orchexpay.walletledger.models.LedgerEntry;
+import com.orchexpay.walletledger.models.WalletSummary;
 import com.orchexpay.walletledger.enums.ReferenceType;
 
 import java.math.BigDecimal;
@@ -39,5 +40,10 @@ public interface LedgerEntryRepository {
 
     BigDecimal sumConfirmedDebitsByWalletIdAndReferenceType(UUID walletId, ReferenceType referenceType);
 
+    /**
+     * Confirmed credits, confirmed debits per ReferenceType and net in one query (SUM ... FILTER).
+     */
+    WalletSummary summarize(UUID walletId);
+
     long count();
 }
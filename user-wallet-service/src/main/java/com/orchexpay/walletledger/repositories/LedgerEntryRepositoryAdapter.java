@@ -2,6 +2,8 @@ package com.orchexpay.walletledger.repositories;
 
 import com.orchexpay.walletledger.services.EntriesFilter;
 import com.orchexpay.walletledger.models.LedgerEntry;
+import com.orchexpay.walletledger.models.WalletSummary;
+import com.orchexpay.walletledger.enums.EntryStatus;
 import com.orchexpay.walletledger.enums.ReferenceType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -11,7 +13,9 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -20,11 +24,18 @@ import java.util.UUID;
 public class LedgerEntryRepositoryAdapter implements LedgerEntryRepository {
 
     private final JpaLedgerEntryRepository jpaLedgerEntryRepository;
+    private final JpaLedgerConfirmationRepository jpaLedgerConfirmationRepository;
 
+    /** CONFIRMED entries (new, or just confirmed) are also journalled for ContinuousReconciler, in the same transaction. */
     @Override
     public LedgerEntry save(LedgerEntry entry) {
         if (entry.getId() == null) entry.setId(UUID.randomUUID());
-        return jpaLedgerEntryRepository.save(entry);
+        LedgerEntry saved = jpaLedgerEntryRepository.save(entry);
+        if (saved.getStatus() == EntryStatus.CONFIRMED) {
+            jpaLedgerConfirmationRepository.record(saved.getId(), saved.getWalletId(), saved.getType().name(),
+                    saved.getReferenceType().name(), saved.getAmountValue());
+        }
+        return saved;
     }
 
     @Override
@@ -66,6 +77,17 @@ public class LedgerEntryRepositoryAdapter implements LedgerEntryRepository {
         return sum != null ? sum : BigDecimal.ZERO;
     }
 
+    @Override
+    public WalletSummary summarize(UUID walletId) {
+        JpaLedgerEntryRepository.SummaryView view = jpaLedgerEntryRepository.summarizeByWalletId(walletId);
+        Map<ReferenceType, BigDecimal> debits = new EnumMap<>(ReferenceType.class);
+        debits.put(ReferenceType.ORDER, view.getOrderDebits());
+        debits.put(ReferenceType.PAYOUT, view.getPayoutDebits());
+        debits.put(ReferenceType.REFUND, view.getRefundDebits());
+        debits.put(ReferenceType.REVERSAL, view.getReversalDebits());
+        return new WalletSummary(walletId, view.getCredits(), debits, view.getNet());
+    }
+
     @Override
     public Page<LedgerEntry> findFiltered(EntriesFilter filter, Pageable pageable) {
         Specification<LedgerEntry> spec = Specification.where(null);
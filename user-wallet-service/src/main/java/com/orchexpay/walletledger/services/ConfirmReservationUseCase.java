@@ -1,5 +1,7 @@
 package com.orchexpay.walletledger.services;
 
+import com.orchexpay.walletledger.events.DomainEventPublisher;
+import com.orchexpay.walletledger.events.WalletDebitedEvent;
 import com.orchexpay.walletledger.exceptions.LedgerEntryNotFoundException;
 import com.orchexpay.walletledger.repositories.LedgerEntryRepository;
 import com.orchexpay.walletledger.models.LedgerEntry;
@@ -9,6 +11,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.UUID;
 
 /**
@@ -16,6 +19,7 @@ import java.util.UUID;
  * Transition: PENDING → CONFIRMED. Idempotent: if already CONFIRMED, no-op.
  * Only PENDING entries can be confirmed.
  * This is the only allowed in-place mutation on ledger entries (status only); amount/type/reference are never changed.
+ * Publishes WalletDebited: the entry starts counting towards the confirmed balance here, not at reserve.
  */
 @Service
 @RequiredArgsConstructor
@@ -23,6 +27,7 @@ import java.util.UUID;
 public class ConfirmReservationUseCase {
 
     private final LedgerEntryRepository ledgerEntryRepository;
+    private final DomainEventPublisher eventPublisher;
 
     @Transactional
     public LedgerEntry execute(UUID entryId) {
@@ -37,6 +42,15 @@ public class ConfirmReservationUseCase {
         }
         entry.setStatus(EntryStatus.CONFIRMED);
         entry = ledgerEntryRepository.save(entry);
+        eventPublisher.publish(WalletDebitedEvent.builder()
+                .eventId(UUID.randomUUID())
+                .walletId(entry.getWalletId())
+                .amount(entry.getAmount().getAmount())
+                .currencyCode(entry.getAmount().getCurrency().getCode())
+                .referenceId(entry.getReferenceId())
+                .occurredAt(Instant.now())
+                .correlationId(null)
+                .build());
         log.info("Confirmed reservation entry {}", entryId);
         return entry;
     }
@@ -0,0 +1,369 @@
+package com.orchexpay.walletledger.services;
+
+import com.orchexpay.walletledger.enums.ReconciliationMismatch;
+import com.orchexpay.walletledger.enums.ReferenceType;
+import com.orchexpay.walletledger.models.ReconciliationCheckpoint;
+import com.orchexpay.walletledger.models.ReconciliationState;
+import com.orchexpay.walletledger.models.WalletSummary;
+import com.orchexpay.walletledger.repositories.JpaLedgerEntryRepository;
+import com.orchexpay.walletledger.repositories.JpaReconciliationCheckpointRepository;
+import com.orchexpay.walletledger.repositories.JpaReconciliationStateRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Continuous reconciliation: instead of recomputing settlement from the start of time, applies only the ledger entries
+ * confirmed since the last poll (the ledger_confirmations journal) to per-wallet running totals by reference type
+ * (reconciliation_totals) and checks the touched wallets, so a mismatch shows up within one poll interval of the write
+ * at a cost proportional to the new entries.
+ * <p>
+ * Commit order: each poll runs in a REPEATABLE READ transaction and applies the journal rows visible in its snapshot but
+ * not in the previous poll's snapshot (pg_visible_in_snapshot on the row's txid). A transaction that commits late is
+ * picked up by the first poll that sees it, and no row is applied twice. The txid index bounds the scan from the older
+ * snapshot's xmin, so a long-running transaction widens the range (not the result) until it ends.
+ * <p>
+ * The first poll builds the totals from ledger_entries (the one full scan); after that the cursor, totals and
+ * checkpoints all live in Postgres and any instance can continue (the state row is locked NOWAIT per poll). Every
+ * checkpoint-every-entries entries, or checkpoint-interval-seconds after the last checkpoint if anything changed, the
+ * state is written as a signed {@link ReconciliationCheckpoint}.
+ */
+@Service
+@Slf4j
+public class ContinuousReconciler {
+
+    private static final BigInteger DIGEST_MODULUS = BigInteger.ONE.shiftLeft(256);
+
+    private static final String TOTALS_COLUMNS = "credits, order_debits, payout_debits, refund_debits, reversal_debits, net";
+
+    /** Builds reconciliation_totals from the ledger, using the same aggregates as WalletSummary. */
+    private static final String BASELINE_SQL = "INSERT INTO reconciliation_totals (wallet_id, merchant_id, currency_code, escrow, "
+            + "updated_at, " + TOTALS_COLUMNS + ") "
+            + "SELECT w.id, w.merchant_id, w.currency_code, w.wallet_type = 'ESCROW', now(), "
+            + JpaLedgerEntryRepository.SUMMARY_COLUMNS + """
+            FROM wallets w
+            LEFT JOIN ledger_entries e ON e.wallet_id = w.id
+            GROUP BY w.id, w.merchant_id, w.currency_code, w.wallet_type
+            RETURNING wallet_id, merchant_id, currency_code, escrow, credits, order_debits, payout_debits, refund_debits,
+                      reversal_debits, net
+            """;
+
+    /**
+     * Journal rows committed after the given snapshot, summed per wallet, added to the running totals in the same
+     * statement; returns the new totals, the delta and whether the wallet is new.
+     */
+    private static final String DELTA_SQL = """
+            WITH delta AS (
+                SELECT c.wallet_id, w.merchant_id, w.currency_code, w.wallet_type = 'ESCROW' AS escrow, COUNT(*) AS entries,
+                       COALESCE(SUM(c.amount) FILTER (WHERE c.entry_type = 'CREDIT'), 0) AS credits,
+                       COALESCE(SUM(c.amount) FILTER (WHERE c.entry_type = 'DEBIT' AND c.reference_type = 'ORDER'), 0) AS order_debits,
+                       COALESCE(SUM(c.amount) FILTER (WHERE c.entry_type = 'DEBIT' AND c.reference_type = 'PAYOUT'), 0) AS payout_debits,
+                       COALESCE(SUM(c.amount) FILTER (WHERE c.entry_type = 'DEBIT' AND c.reference_type = 'REFUND'), 0) AS refund_debits,
+                       COALESCE(SUM(c.amount) FILTER (WHERE c.entry_type = 'DEBIT' AND c.reference_type = 'REVERSAL'), 0) AS reversal_debits,
+                       SUM(CASE WHEN c.entry_type = 'CREDIT' THEN c.amount ELSE -c.amount END) AS net
+                FROM ledger_confirmations c
+                JOIN wallets w ON w.id = c.wallet_id
+                WHERE c.txid >= CAST(CAST(pg_snapshot_xmin(CAST(? AS pg_snapshot)) AS text) AS bigint)
+                  AND NOT pg_visible_in_snapshot(CAST(CAST(c.txid AS text) AS xid8), CAST(? AS pg_snapshot))
+                GROUP BY c.wallet_id, w.merchant_id, w.currency_code, w.wallet_type
+            ), upserted AS (
+                INSERT INTO reconciliation_totals AS t (wallet_id, merchant_id, currency_code, escrow, updated_at, credits,
+                                                        order_debits, payout_debits, refund_debits, reversal_debits, net)
+                SELECT wallet_id, merchant_id, currency_code, escrow, now(), credits, order_debits, payout_debits, refund_debits,
+                       reversal_debits, net
+                FROM delta
+                ON CONFLICT (wallet_id) DO UPDATE SET
+                    credits = t.credits + EXCLUDED.credits,
+                    order_debits = t.order_debits + EXCLUDED.order_debits,
+                    payout_debits = t.payout_debits + EXCLUDED.payout_debits,
+                    refund_debits = t.refund_debits + EXCLUDED.refund_debits,
+                    reversal_debits = t.reversal_debits + EXCLUDED.reversal_debits,
+                    net = t.net + EXCLUDED.net,
+                    updated_at = EXCLUDED.updated_at
+                RETURNING t.wallet_id, t.merchant_id, t.currency_code, t.escrow, t.credits, t.order_debits, t.payout_debits,
+                          t.refund_debits, t.reversal_debits, t.net, t.mismatch, t.xmax = 0 AS inserted
+            )
+            SELECT u.wallet_id, u.merchant_id, u.currency_code, u.escrow, u.credits, u.order_debits, u.payout_debits,
+                   u.refund_debits, u.reversal_debits, u.net, u.mismatch, u.inserted, d.entries,
+                   d.credits AS delta_credits, d.order_debits AS delta_order_debits, d.payout_debits AS delta_payout_debits,
+                   d.refund_debits AS delta_refund_debits, d.reversal_debits AS delta_reversal_debits, d.net AS delta_net
+            FROM upserted u
+            JOIN delta d ON d.wallet_id = u.wallet_id
+            """;
+
+    private static final String MISMATCH_SQL = "UPDATE reconciliation_totals SET mismatch = ? WHERE wallet_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final JpaReconciliationStateRepository stateRepository;
+    private final JpaReconciliationCheckpointRepository checkpointRepository;
+    private final ReconciliationCheckpointSigner signer;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long checkpointEveryEntries;
+    private final Duration checkpointInterval;
+    private final Counter entriesApplied;
+    private final Timer pollTimer;
+    private final AtomicLong openMismatches = new AtomicLong();
+
+    public ContinuousReconciler(DataSource dataSource, PlatformTransactionManager transactionManager,
+                                JpaReconciliationStateRepository stateRepository,
+                                JpaReconciliationCheckpointRepository checkpointRepository,
+                                ReconciliationCheckpointSigner signer, MeterRegistry meterRegistry,
+                                @Value("${orchexpay.reconciliation.enabled:true}") boolean enabled,
+                                @Value("${orchexpay.reconciliation.checkpoint-every-entries:10000}") long checkpointEveryEntries,
+                                @Value("${orchexpay.reconciliation.checkpoint-interval-seconds:300}") long checkpointIntervalSeconds) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.stateRepository = stateRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.signer = signer;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.checkpointEveryEntries = checkpointEveryEntries;
+        this.checkpointInterval = Duration.ofSeconds(checkpointIntervalSeconds);
+        this.entriesApplied = Counter.builder("reconciliation.entries.applied").register(meterRegistry);
+        this.pollTimer = Timer.builder("reconciliation.poll").register(meterRegistry);
+        Gauge.builder("reconciliation.mismatches.open", openMismatches, AtomicLong::get).register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${orchexpay.reconciliation.poll-interval-ms:1000}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        long startedNanos = System.nanoTime();
+        try {
+            ReconciliationState state = transaction.execute(status -> reconcile());
+            if (state != null) {
+                openMismatches.set(state.getOpenMismatches());
+            }
+            pollTimer.record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+        } catch (ConcurrencyFailureException e) {
+            log.debug("Reconciliation poll skipped, another instance holds or changed the state: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("Reconciliation poll failed: {}", e.getMessage());
+        }
+    }
+
+    private ReconciliationState reconcile() {
+        // First statement: takes the transaction snapshot and the state row lock together
+        ReconciliationState state = stateRepository.lockById(ReconciliationState.ID).orElse(null);
+        String snapshot = jdbcTemplate.queryForObject("SELECT CAST(pg_current_snapshot() AS text)", String.class);
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        if (state == null) {
+            return baseline(snapshot, now);
+        }
+        Progress progress = new Progress(new BigInteger(state.getDigest(), 16));
+        jdbcTemplate.query(DELTA_SQL, rs -> {
+            progress.applyDelta(rs);
+        }, state.getSnapshot(), state.getSnapshot());
+        progress.storeMismatches();
+        state.setSnapshot(snapshot);
+        state.setEntriesApplied(state.getEntriesApplied() + progress.entries);
+        state.setWallets(state.getWallets() + progress.walletsAdded);
+        state.setTotalCredits(state.getTotalCredits().add(progress.credits));
+        state.setTotalDebits(state.getTotalDebits().add(progress.debits));
+        state.setDigest(hex(progress.digest));
+        state.setOpenMismatches(state.getOpenMismatches() + progress.mismatchDelta);
+        state.setEntriesSinceCheckpoint(state.getEntriesSinceCheckpoint() + progress.entries);
+        state.setUpdatedAt(now);
+        if (state.getEntriesSinceCheckpoint() >= checkpointEveryEntries || (state.getEntriesSinceCheckpoint() > 0
+                && Duration.between(state.getLastCheckpointAt(), now).compareTo(checkpointInterval) >= 0)) {
+            checkpoint(state, now);
+        }
+        entriesApplied.increment(progress.entries);
+        return stateRepository.save(state);
+    }
+
+    /** No state yet: totals of every wallet from ledger_entries as of this snapshot, then checkpoint 1. */
+    private ReconciliationState baseline(String snapshot, Instant now) {
+        long startedNanos = System.nanoTime();
+        jdbcTemplate.update("DELETE FROM reconciliation_totals");
+        Progress progress = new Progress(BigInteger.ZERO);
+        jdbcTemplate.query(BASELINE_SQL, rs -> {
+            progress.applyBaseline(rs);
+        });
+        progress.storeMismatches();
+        ReconciliationState state = ReconciliationState.builder()
+                .id(ReconciliationState.ID)
+                .snapshot(snapshot)
+                .entriesApplied(0)
+                .wallets(progress.walletsAdded)
+                .totalCredits(progress.credits)
+                .totalDebits(progress.debits)
+                .digest(hex(progress.digest))
+                .openMismatches(progress.mismatchDelta)
+                .updatedAt(now)
+                .build();
+        checkpoint(state, now);
+        log.info("Reconciliation baseline: {} wallets, {} mismatches in {} ms", state.getWallets(), state.getOpenMismatches(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos));
+        return stateRepository.save(state);
+    }
+
+    private void checkpoint(ReconciliationState state, Instant now) {
+        ReconciliationCheckpoint checkpoint = ReconciliationCheckpoint.builder()
+                .sequence(state.getLastCheckpointSequence() + 1)
+                .snapshot(state.getSnapshot())
+                .entriesApplied(state.getEntriesApplied())
+                .wallets(state.getWallets())
+                .totalCredits(state.getTotalCredits())
+                .totalDebits(state.getTotalDebits())
+                .openMismatches(state.getOpenMismatches())
+                .stateDigest(state.getDigest())
+                .previousSignature(state.getLastCheckpointSignature())
+                .createdAt(now)
+                .build();
+        checkpoint.setSignature(signer.sign(checkpoint));
+        checkpointRepository.save(checkpoint);
+        state.setLastCheckpointSequence(checkpoint.getSequence());
+        state.setLastCheckpointSignature(checkpoint.getSignature());
+        state.setLastCheckpointAt(now);
+        state.setEntriesSinceCheckpoint(0);
+        log.info("Reconciliation checkpoint {}: {} entries applied, {} wallets, {} open mismatches", checkpoint.getSequence(),
+                checkpoint.getEntriesApplied(), checkpoint.getWallets(), checkpoint.getOpenMismatches());
+    }
+
+    /** Same rules as the settlement endpoint: ESCROW net must equal credits - payouts - refunds; no wallet below zero. */
+    private static ReconciliationMismatch mismatch(UUID merchantId, String currencyCode, boolean escrow, WalletSummary totals) {
+        if (totals.net().signum() < 0) {
+            return ReconciliationMismatch.NEGATIVE_BALANCE;
+        }
+        if (escrow && !SettlementCalculationUseCase.SettlementResult.of(merchantId, currencyCode, totals).reconciled()) {
+            return ReconciliationMismatch.SETTLEMENT;
+        }
+        return null;
+    }
+
+    private static WalletSummary totals(ResultSet rs, UUID walletId, String prefix) throws SQLException {
+        Map<ReferenceType, BigDecimal> debits = new EnumMap<>(ReferenceType.class);
+        debits.put(ReferenceType.ORDER, rs.getBigDecimal(prefix + "order_debits"));
+        debits.put(ReferenceType.PAYOUT, rs.getBigDecimal(prefix + "payout_debits"));
+        debits.put(ReferenceType.REFUND, rs.getBigDecimal(prefix + "refund_debits"));
+        debits.put(ReferenceType.REVERSAL, rs.getBigDecimal(prefix + "reversal_debits"));
+        return new WalletSummary(walletId, rs.getBigDecimal(prefix + "credits"), debits, rs.getBigDecimal(prefix + "net"));
+    }
+
+    /** SHA-256 of one wallet's totals; the state digest is the sum of these mod 2^256, so it updates per wallet. */
+    private static BigInteger walletHash(WalletSummary totals) {
+        StringBuilder text = new StringBuilder(totals.walletId().toString()).append('|').append(amount(totals.confirmedCredits()));
+        for (ReferenceType type : ReferenceType.values()) {
+            text.append('|').append(amount(totals.debits(type)));
+        }
+        text.append('|').append(amount(totals.net()));
+        try {
+            return new BigInteger(1, MessageDigest.getInstance("SHA-256").digest(text.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String amount(BigDecimal value) {
+        return value.setScale(4).toPlainString();
+    }
+
+    private static String hex(BigInteger digest) {
+        return String.format("%064x", digest);
+    }
+
+    /** What one poll (or the baseline) changed. */
+    private final class Progress {
+        private BigInteger digest;
+        private long entries;
+        private long walletsAdded;
+        private BigDecimal credits = BigDecimal.ZERO;
+        private BigDecimal debits = BigDecimal.ZERO;
+        private long mismatchDelta;
+        private final List<Object[]> mismatchUpdates = new ArrayList<>();
+
+        private Progress(BigInteger digest) {
+            this.digest = digest;
+        }
+
+        private void applyBaseline(ResultSet rs) throws SQLException {
+            UUID walletId = rs.getObject("wallet_id", UUID.class);
+            WalletSummary totals = totals(rs, walletId, "");
+            walletsAdded++;
+            credits = credits.add(totals.confirmedCredits());
+            debits = debits.add(totals.totalDebits());
+            digest = digest.add(walletHash(totals)).mod(DIGEST_MODULUS);
+            track(rs, walletId, totals, null);
+        }
+
+        private void applyDelta(ResultSet rs) throws SQLException {
+            UUID walletId = rs.getObject("wallet_id", UUID.class);
+            WalletSummary totals = totals(rs, walletId, "");
+            WalletSummary delta = totals(rs, walletId, "delta_");
+            if (rs.getBoolean("inserted")) {
+                walletsAdded++;
+            } else {
+                digest = digest.subtract(walletHash(totals.minus(delta)));
+            }
+            digest = digest.add(walletHash(totals)).mod(DIGEST_MODULUS);
+            entries += rs.getLong("entries");
+            credits = credits.add(delta.confirmedCredits());
+            debits = debits.add(delta.totalDebits());
+            String previous = rs.getString("mismatch");
+            track(rs, walletId, totals, previous == null ? null : ReconciliationMismatch.valueOf(previous));
+        }
+
+        private void track(ResultSet rs, UUID walletId, WalletSummary totals, ReconciliationMismatch previous)
+                throws SQLException {
+            UUID merchantId = rs.getObject("merchant_id", UUID.class);
+            ReconciliationMismatch current = mismatch(merchantId, rs.getString("currency_code"), rs.getBoolean("escrow"), totals);
+            if (current == previous) {
+                return;
+            }
+            mismatchUpdates.add(new Object[]{current == null ? null : current.name(), walletId});
+            if (current == null) {
+                mismatchDelta--;
+                log.info("Reconciliation mismatch {} on wallet {} resolved", previous, walletId);
+                return;
+            }
+            if (previous == null) {
+                mismatchDelta++;
+            }
+            meterRegistry.counter("reconciliation.mismatches.detected", "reason", current.name()).increment();
+            log.warn("Reconciliation mismatch {} on wallet {} (merchant {}): net={} credits={} payouts={} refunds={}",
+                    current, walletId, merchantId, totals.net(), totals.confirmedCredits(),
+                    totals.debits(ReferenceType.PAYOUT), totals.debits(ReferenceType.REFUND));
+        }
+
+        private void storeMismatches() {
+            if (!mismatchUpdates.isEmpty()) {
+                jdbcTemplate.batchUpdate(MISMATCH_SQL, mismatchUpdates);
+            }
+        }
+    }
+}
@@ -45,10 +45,12 @@ public class CreateWalletUseCase {
         if (walletType != WalletType.VENDOR && vendorUserId != null) {
             throw new IllegalArgumentException("Vendor user id must be null for MAIN and ESCROW wallets");
         }
+        String vendorUsername = null;
         if (walletType == WalletType.VENDOR) {
-            userRepository.findById(vendorUserId)
+            vendorUsername = userRepository.findById(vendorUserId)
                     .filter(u -> u.hasRole(Role.VENDOR) && merchantId.equals(u.getMerchantId()))
-                    .orElseThrow(() -> new IllegalArgumentException("Vendor user not found or does not belong to this merchant"));
+                    .orElseThrow(() -> new IllegalArgumentException("Vendor user not found or does not belong to this merchant"))
+                    .getUsername();
         }
         if (walletRepository.existsByMerchantIdAndCurrencyCodeAndWalletTypeAndVendorUserId(merchantId, currencyCode, walletType, vendorUserId)) {
             throw new WalletAlreadyExistsException(
@@ -72,6 +74,9 @@ public class CreateWalletUseCase {
                 .walletId(wallet.getId())
                 .merchantId(wallet.getMerchantId())
                 .currencyCode(wallet.getCurrency().getCode())
+                .walletType(wallet.getWalletType().name())
+                .vendorUserId(wallet.getVendorUserId())
+                .vendorUsername(vendorUsername)
                 .occurredAt(Instant.now())
                 .correlationId(null) // set by infrastructure from MDC/header
                 .build());
@@ -0,0 +1,216 @@
+package com.orchexpay.walletledger.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orchexpay.walletledger.models.User;
+import com.orchexpay.walletledger.models.Wallet;
+import com.orchexpay.walletledger.repositories.UserRepository;
+import com.orchexpay.walletledger.repositories.WalletRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Streams every ledger entry matching an {@link EntriesFilter} to an output stream as CSV or NDJSON, oldest first.
+ * Rows come from one server-side cursor (JDBC fetch size inside a read-only transaction), and each row is written
+ * as soon as it is read, so memory stays flat however many rows match. Owner usernames are looked up once per
+ * wallet, the same way the paginated listing resolves them.
+ */
+@Service
+public class ExportLedgerEntriesUseCase {
+
+    private static final String COLUMNS = "id,walletId,type,amount,currencyCode,referenceType,referenceId,status,description,createdAt,walletOwnerUsername";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final WalletRepository walletRepository;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+
+    public ExportLedgerEntriesUseCase(DataSource dataSource, WalletRepository walletRepository, UserRepository userRepository,
+                                      ObjectMapper objectMapper,
+                                      @Value("${orchexpay.entries.export.fetch-size:2000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.walletRepository = walletRepository;
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    public enum Format { CSV, NDJSON }
+
+    /** Returns the number of entries written. The stream is flushed but not closed. */
+    @Transactional(readOnly = true)
+    public long execute(EntriesFilter filter, Format format, OutputStream out) {
+        if (filter.getWalletId() == null && filter.getMerchantId() == null) {
+            throw new IllegalArgumentException("Either walletId or merchantId must be provided");
+        }
+        List<Object> args = new ArrayList<>();
+        String sql = query(filter, args);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        Map<UUID, String> owners = new HashMap<>();
+        long[] rows = new long[1];
+        try {
+            JsonGenerator json = format == Format.NDJSON ? ndjsonGenerator(writer) : null;
+            if (format == Format.CSV) {
+                writer.write(COLUMNS);
+                writer.write('\n');
+            }
+            jdbcTemplate.query(sql, rs -> {
+                try {
+                    UUID walletId = rs.getObject("wallet_id", UUID.class);
+                    String owner = owners.computeIfAbsent(walletId, this::ownerUsername);
+                    if (json != null) {
+                        writeJson(json, rs, walletId, owner);
+                    } else {
+                        writeCsv(writer, rs, walletId, owner);
+                    }
+                    rows[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, args.toArray());
+            if (json != null) {
+                json.flush();
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return rows[0];
+    }
+
+    /** The same criteria as LedgerEntryRepositoryAdapter.findFiltered, in SQL. */
+    private static String query(EntriesFilter filter, List<Object> args) {
+        StringBuilder sql = new StringBuilder("SELECT id, wallet_id, entry_type, amount, currency_code, reference_type, reference_id, "
+                + "status, description, created_at FROM ledger_entries WHERE 1 = 1");
+        if (filter.getWalletId() != null) {
+            sql.append(" AND wallet_id = ?");
+            args.add(filter.getWalletId());
+        }
+        if (filter.getMerchantId() != null) {
+            sql.append(" AND merchant_id = ?");
+            args.add(filter.getMerchantId());
+        }
+        if (filter.getFrom() != null) {
+            sql.append(" AND created_at >= ?");
+            args.add(Timestamp.from(filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            sql.append(" AND created_at <= ?");
+            args.add(Timestamp.from(filter.getTo()));
+        }
+        if (filter.getMinAmount() != null) {
+            sql.append(" AND amount >= ?");
+            args.add(filter.getMinAmount());
+        }
+        if (filter.getMaxAmount() != null) {
+            sql.append(" AND amount <= ?");
+            args.add(filter.getMaxAmount());
+        }
+        if (filter.getReferenceType() != null) {
+            sql.append(" AND reference_type = ?");
+            args.add(filter.getReferenceType().name());
+        }
+        if (filter.getStatus() != null) {
+            sql.append(" AND status = ?");
+            args.add(filter.getStatus().name());
+        }
+        return sql.append(" ORDER BY created_at").toString();
+    }
+
+    private String ownerUsername(UUID walletId) {
+        Wallet wallet = walletRepository.findById(walletId).orElse(null);
+        if (wallet == null) {
+            return "—";
+        }
+        return (wallet.getVendorUserId() != null
+                ? userRepository.findById(wallet.getVendorUserId())
+                : userRepository.findFirstByMerchantId(wallet.getMerchantId()))
+                .map(User::getUsername).orElse("—");
+    }
+
+    /** One object per line: no separator between root values, and row writes never flush the socket. */
+    private JsonGenerator ndjsonGenerator(Writer writer) throws IOException {
+        JsonGenerator json = objectMapper.getFactory().createGenerator(writer);
+        json.setRootValueSeparator(null);
+        return json;
+    }
+
+    private static void writeJson(JsonGenerator json, ResultSet rs, UUID walletId, String owner)
+            throws SQLException, IOException {
+        json.writeStartObject();
+        json.writeStringField("id", rs.getString("id"));
+        json.writeStringField("walletId", walletId.toString());
+        json.writeStringField("type", rs.getString("entry_type"));
+        json.writeFieldName("amount");
+        json.writeNumber(rs.getBigDecimal("amount"));
+        json.writeStringField("currencyCode", rs.getString("currency_code"));
+        json.writeStringField("referenceType", rs.getString("reference_type"));
+        json.writeStringField("referenceId", rs.getString("reference_id"));
+        json.writeStringField("status", rs.getString("status"));
+        json.writeStringField("description", rs.getString("description"));
+        json.writeStringField("createdAt", rs.getTimestamp("created_at").toInstant().toString());
+        json.writeStringField("walletOwnerUsername", owner);
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private static void writeCsv(Writer writer, ResultSet rs, UUID walletId, String owner) throws SQLException, IOException {
+        BigDecimal amount = rs.getBigDecimal("amount");
+        writer.write(rs.getString("id"));
+        writer.write(',');
+        writer.write(walletId.toString());
+        writer.write(',');
+        writer.write(rs.getString("entry_type"));
+        writer.write(',');
+        writer.write(amount.toPlainString());
+        writer.write(',');
+        writer.write(rs.getString("currency_code"));
+        writer.write(',');
+        writer.write(rs.getString("reference_type"));
+        writer.write(',');
+        writeCsvField(writer, rs.getString("reference_id"));
+        writer.write(',');
+        writer.write(rs.getString("status"));
+        writer.write(',');
+        writeCsvField(writer, rs.getString("description"));
+        writer.write(',');
+        writer.write(rs.getTimestamp("created_at").toInstant().toString());
+        writer.write(',');
+        writeCsvField(writer, owner);
+        writer.write('\n');
+    }
+
+    /** RFC 4180: quoted (with doubled quotes) only when the value contains a comma, quote or line break. */
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,403 @@
+package com.orchexpay.walletledger.services;
+
+import com.orchexpay.walletledger.enums.EntryStatus;
+import com.orchexpay.walletledger.enums.EntryType;
+import com.orchexpay.walletledger.enums.ReferenceType;
+import com.orchexpay.walletledger.enums.Role;
+import com.orchexpay.walletledger.enums.UserStatus;
+import com.orchexpay.walletledger.enums.WalletStatus;
+import com.orchexpay.walletledger.enums.WalletType;
+import com.orchexpay.walletledger.repositories.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk synthetic data for performance work: merchants (MAIN + ESCROW wallets), their vendors (VENDOR wallets) and
+ * months of ledger history, streamed into Postgres with COPY instead of going through the use cases. Deterministic
+ * for a given {@link Spec}: ids, amounts and timestamps all derive from it (only password hashes differ per run).
+ * <p>
+ * Shape: order volume across merchants is Zipf-distributed (a few hot ESCROW wallets), vendors per merchant are
+ * Pareto-distributed and orders within a merchant favour its first vendors (long tail). Each order is a CONFIRMED
+ * ESCROW credit; most are split later (ESCROW debit, VENDOR and MAIN credits, as TransferUseCase writes them), and
+ * split vendors sometimes request a payout, which ends CONFIRMED, REVERSED (with its REVERSAL credit) or stays
+ * PENDING when requested within the last pendingDays. Rows are written in time order, like a live system's.
+ * <p>
+ * Each flush commits on its own. Run against a database without these usernames (or use another prefix).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GenerateBulkDataUseCase {
+
+    private static final String USERS_COPY =
+            "COPY users (id, username, password_hash, roles, merchant_id, status, created_at, updated_at) FROM STDIN";
+    private static final String WALLETS_COPY =
+            "COPY wallets (id, merchant_id, wallet_type, vendor_user_id, currency_code, status, created_at, updated_at) FROM STDIN";
+    private static final String ENTRIES_COPY = "COPY ledger_entries (id, wallet_id, merchant_id, vendor_id, entry_type, amount, "
+            + "currency_code, reference_type, reference_id, status, description, created_at) FROM STDIN";
+    private static final String CONFIRMATIONS_COPY =
+            "COPY ledger_confirmations (entry_id, wallet_id, entry_type, reference_type, amount) FROM STDIN";
+
+    private static final int MAX_VENDORS_PER_MERCHANT = 5_000;
+    private static final double VENDOR_COUNT_ALPHA = 1.6;
+    private static final double VENDOR_SKEW = 2.5;
+    private static final double MEDIAN_ORDER_MINOR = 50_000;      // 500.00
+    private static final double ORDER_AMOUNT_SIGMA = 1.0;
+    private static final long MIN_ORDER_MINOR = 1_000;            // 10.00
+    private static final long MAX_ORDER_MINOR = 20_000_000;       // 200,000.00
+    private static final long MEAN_SPLIT_DELAY_MICROS = TimeUnit.HOURS.toMicros(6);
+    private static final long MEAN_PAYOUT_DELAY_MICROS = TimeUnit.DAYS.toMicros(1);
+    private static final long REVERSAL_DELAY_MICROS = TimeUnit.HOURS.toMicros(20);
+
+    // Key spaces of the derived (not stored) ids
+    private static final int MERCHANT_ID = 1;
+    private static final int MERCHANT_USER = 2;
+    private static final int MAIN_WALLET = 3;
+    private static final int ESCROW_WALLET = 4;
+    private static final int VENDOR_USER = 5;
+    private static final int VENDOR_WALLET = 6;
+
+    private final DataSource dataSource;
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+
+    public Result execute(Spec spec) {
+        if (userRepository.existsByUsername(spec.prefix() + "_m0")) {
+            throw new IllegalStateException("Data for prefix " + spec.prefix() + " already exists; use another prefix or an empty database");
+        }
+        long startedNanos = System.nanoTime();
+        String passwordHash = passwordEncoder.encode(spec.password());
+        SplittableRandom random = new SplittableRandom(spec.stream());
+        int[] vendorOffsets = vendorOffsets(spec, random);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            long[] accounts = writeAccounts(spec, vendorOffsets, passwordHash, connection, copyManager);
+            long entries = writeLedger(spec, vendorOffsets, random, connection, copyManager);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE users, wallets, ledger_entries, ledger_confirmations");
+            }
+            connection.commit();
+            Result result = new Result(spec.merchants(), accounts[0], accounts[1], entries, Duration.ofNanos(System.nanoTime() - startedNanos));
+            log.info("Bulk data generated: {} merchants, {} vendors, {} wallets, {} ledger entries in {}s",
+                    result.merchants(), result.vendors(), result.wallets(), result.ledgerEntries(), result.elapsed().toSeconds());
+            return result;
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("Bulk data generation failed: " + e.getMessage(), e);
+        }
+    }
+
+    /** Vendor range of merchant m is [offsets[m], offsets[m + 1]); Pareto-distributed counts with the spec's mean. */
+    private static int[] vendorOffsets(Spec spec, SplittableRandom random) {
+        double scale = spec.vendorsPerMerchant() * (VENDOR_COUNT_ALPHA - 1) / VENDOR_COUNT_ALPHA;
+        int[] offsets = new int[spec.merchants() + 1];
+        for (int m = 0; m < spec.merchants(); m++) {
+            double u = 1.0 - random.nextDouble();
+            int count = (int) Math.min(MAX_VENDORS_PER_MERCHANT, Math.max(1, Math.round(scale / Math.pow(u, 1 / VENDOR_COUNT_ALPHA))));
+            offsets[m + 1] = Math.addExact(offsets[m], count);
+        }
+        return offsets;
+    }
+
+    /** Users and wallets of every merchant and vendor; returns {vendors, wallets}. */
+    private long[] writeAccounts(Spec spec, int[] vendorOffsets, String passwordHash, Connection connection,
+                                 CopyManager copyManager) throws SQLException, IOException {
+        String createdAt = timestamp(micros(spec.asOf()) - TimeUnit.DAYS.toMicros(spec.days() + 1L));
+        CopyBuffer users = new CopyBuffer(USERS_COPY);
+        CopyBuffer wallets = new CopyBuffer(WALLETS_COPY);
+        long walletCount = 0;
+        for (int m = 0; m < spec.merchants(); m++) {
+            UUID merchantId = id(spec.stream(), MERCHANT_ID, m);
+            String merchantUsername = spec.prefix() + "_m" + m;
+            users.row(id(spec.stream(), MERCHANT_USER, m), merchantUsername, passwordHash, Role.MERCHANT.name(), merchantId,
+                    UserStatus.ACTIVE.name(), createdAt, createdAt);
+            wallets.row(id(spec.stream(), MAIN_WALLET, m), merchantId, WalletType.MAIN.name(), null, spec.currencyCode(),
+                    WalletStatus.ACTIVE.name(), createdAt, createdAt);
+            wallets.row(id(spec.stream(), ESCROW_WALLET, m), merchantId, WalletType.ESCROW.name(), null, spec.currencyCode(),
+                    WalletStatus.ACTIVE.name(), createdAt, createdAt);
+            walletCount += 2;
+            for (int v = vendorOffsets[m]; v < vendorOffsets[m + 1]; v++) {
+                UUID vendorUserId = id(spec.stream(), VENDOR_USER, v);
+                users.row(vendorUserId, merchantUsername + "_v" + (v - vendorOffsets[m]), passwordHash, Role.VENDOR.name(), merchantId,
+                        UserStatus.ACTIVE.name(), createdAt, createdAt);
+                wallets.row(id(spec.stream(), VENDOR_WALLET, v), merchantId, WalletType.VENDOR.name(), vendorUserId, spec.currencyCode(),
+                        WalletStatus.ACTIVE.name(), createdAt, createdAt);
+                walletCount++;
+            }
+            if (users.rows() + wallets.rows() >= spec.batchRows()) {
+                flush(connection, copyManager, users, wallets);
+            }
+        }
+        flush(connection, copyManager, users, wallets);
+        log.info("Bulk data: {} merchants, {} vendors, {} wallets written", spec.merchants(), vendorOffsets[spec.merchants()], walletCount);
+        return new long[]{vendorOffsets[spec.merchants()], walletCount};
+    }
+
+    /**
+     * Orders at evenly spread times over the last spec.days; splits and payouts happen later and are queued by time,
+     * so they are written in order with the payments. Vendor balances are tracked so payouts never overdraw.
+     */
+    private long writeLedger(Spec spec, int[] vendorOffsets, SplittableRandom random, Connection connection,
+                             CopyManager copyManager) throws SQLException, IOException {
+        double[] merchantCdf = zipfCdf(spec.merchants(), spec.merchantSkew());
+        long[] vendorBalances = new long[vendorOffsets[spec.merchants()]];
+        long end = micros(spec.asOf());
+        long start = end - TimeUnit.DAYS.toMicros(spec.days());
+        long pendingFrom = end - TimeUnit.DAYS.toMicros(spec.pendingDays());
+        PriorityQueue<LaterEvent> later = new PriorityQueue<>();
+        CopyBuffer entries = new CopyBuffer(ENTRIES_COPY);
+        CopyBuffer confirmations = new CopyBuffer(CONFIRMATIONS_COPY);
+        long written = 0;
+        for (long i = 0; i < spec.orders(); i++) {
+            long at = start + (long) ((i + random.nextDouble()) * (end - start) / spec.orders());
+            while (!later.isEmpty() && later.peek().at() <= at) {
+                apply(spec, later.poll(), vendorBalances, later, random, entries, confirmations, pendingFrom, end);
+            }
+            int m = merchant(merchantCdf, random.nextDouble());
+            int vendorCount = vendorOffsets[m + 1] - vendorOffsets[m];
+            int vendor = vendorOffsets[m] + (int) (vendorCount * Math.pow(random.nextDouble(), VENDOR_SKEW));
+            long amount = Math.min(MAX_ORDER_MINOR, Math.max(MIN_ORDER_MINOR,
+                    Math.round(MEDIAN_ORDER_MINOR * Math.exp(ORDER_AMOUNT_SIGMA * random.nextGaussian()))));
+            String orderId = spec.prefix() + "-o" + i;
+            entry(entries, confirmations, random, spec, id(spec.stream(), ESCROW_WALLET, m), m, null, EntryType.CREDIT, amount, ReferenceType.ORDER,
+                    orderId, EntryStatus.CONFIRMED, "Mock payment for order " + orderId, at);
+            if (random.nextDouble() < spec.completionRate()) {
+                long splitAt = at + delay(random, MEAN_SPLIT_DELAY_MICROS);
+                if (splitAt < end) {
+                    later.add(new LaterEvent(splitAt, false, m, vendor, amount, orderId));
+                }
+            }
+            if (entries.rows() >= spec.batchRows()) {
+                written += flushLedger(connection, copyManager, entries, confirmations);
+                log.info("Bulk data: {} / {} orders, {} ledger entries", i + 1, spec.orders(), written);
+            }
+        }
+        while (!later.isEmpty()) {
+            apply(spec, later.poll(), vendorBalances, later, random, entries, confirmations, pendingFrom, end);
+        }
+        return written + flushLedger(connection, copyManager, entries, confirmations);
+    }
+
+    private void apply(Spec spec, LaterEvent event, long[] vendorBalances, PriorityQueue<LaterEvent> later, SplittableRandom random,
+                       CopyBuffer entries, CopyBuffer confirmations, long pendingFrom, long end) {
+        int m = event.merchant();
+        UUID merchantId = id(spec.stream(), MERCHANT_ID, m);
+        UUID vendorUserId = id(spec.stream(), VENDOR_USER, event.vendor());
+        UUID vendorWalletId = id(spec.stream(), VENDOR_WALLET, event.vendor());
+        if (!event.payout()) {
+            long platformShare = event.amount() * spec.commissionBasisPoints() / 10_000;
+            long vendorShare = event.amount() - platformShare;
+            String referenceId = event.orderId() + "-split";
+            String description = "Order split " + event.orderId();
+            entry(entries, confirmations, random, spec, id(spec.stream(), ESCROW_WALLET, m), m, null, EntryType.DEBIT, event.amount(), ReferenceType.ORDER,
+                    referenceId, EntryStatus.CONFIRMED, description, event.at());
+            entry(entries, confirmations, random, spec, vendorWalletId, m, vendorUserId, EntryType.CREDIT, vendorShare, ReferenceType.ORDER,
+                    referenceId, EntryStatus.CONFIRMED, description, event.at());
+            if (platformShare > 0) {
+                entry(entries, confirmations, random, spec, id(spec.stream(), MAIN_WALLET, m), m, null, EntryType.CREDIT, platformShare, ReferenceType.ORDER,
+                        referenceId, EntryStatus.CONFIRMED, description, event.at());
+            }
+            vendorBalances[event.vendor()] += vendorShare;
+            if (random.nextDouble() < spec.payoutRate()) {
+                long payoutAt = event.at() + delay(random, MEAN_PAYOUT_DELAY_MICROS);
+                if (payoutAt < end) {
+                    later.add(new LaterEvent(payoutAt, true, m, event.vendor(), 0, null));
+                }
+            }
+            return;
+        }
+        long amount = Math.round(vendorBalances[event.vendor()] * (0.5 + random.nextDouble() / 2));
+        if (amount < 100) {
+            return;
+        }
+        String payoutId = uuid(random).toString();
+        String description = "Vendor payout " + payoutId;
+        if (event.at() >= pendingFrom) {
+            entry(entries, confirmations, random, spec, vendorWalletId, m, vendorUserId, EntryType.DEBIT, amount, ReferenceType.PAYOUT, payoutId,
+                    EntryStatus.PENDING, description, event.at());
+            vendorBalances[event.vendor()] -= amount;
+        } else if (random.nextDouble() < spec.reversalRate()) {
+            entry(entries, confirmations, random, spec, vendorWalletId, m, vendorUserId, EntryType.DEBIT, amount, ReferenceType.PAYOUT, payoutId,
+                    EntryStatus.REVERSED, description, event.at());
+            entry(entries, confirmations, random, spec, vendorWalletId, m, vendorUserId, EntryType.CREDIT, amount, ReferenceType.REVERSAL,
+                    payoutId + "-reversal", EntryStatus.CONFIRMED, "Reversal of " + payoutId, Math.min(end - 1, event.at() + REVERSAL_DELAY_MICROS));
+        } else {
+            entry(entries, confirmations, random, spec, vendorWalletId, m, vendorUserId, EntryType.DEBIT, amount, ReferenceType.PAYOUT, payoutId,
+                    EntryStatus.CONFIRMED, description, event.at());
+            vendorBalances[event.vendor()] -= amount;
+        }
+    }
+
+    /** CONFIRMED entries are also journalled in ledger_confirmations, as LedgerEntryRepositoryAdapter.save does. */
+    private static void entry(CopyBuffer entries, CopyBuffer confirmations, SplittableRandom random, Spec spec, UUID walletId,
+                              int merchant, UUID vendorId, EntryType type, long amountMinor, ReferenceType referenceType,
+                              String referenceId, EntryStatus status, String description, long atMicros) {
+        UUID entryId = uuid(random);
+        entries.row(entryId, walletId, id(spec.stream(), MERCHANT_ID, merchant), vendorId, type.name(), money(amountMinor),
+                spec.currencyCode(), referenceType.name(), referenceId, status.name(), description, timestamp(atMicros));
+        if (status == EntryStatus.CONFIRMED) {
+            confirmations.row(entryId, walletId, type.name(), referenceType.name(), money(amountMinor));
+        }
+    }
+
+    /** Returns the ledger entries written (journal rows are not counted). */
+    private static long flushLedger(Connection connection, CopyManager copyManager, CopyBuffer entries,
+                                    CopyBuffer confirmations) throws SQLException, IOException {
+        long rows = entries.rows();
+        flush(connection, copyManager, entries, confirmations);
+        return rows;
+    }
+
+    private static long flush(Connection connection, CopyManager copyManager, CopyBuffer... buffers) throws SQLException, IOException {
+        long rows = 0;
+        for (CopyBuffer buffer : buffers) {
+            if (buffer.rows() > 0) {
+                rows += copyManager.copyIn(buffer.sql, new StringReader(buffer.text.toString()));
+                buffer.clear();
+            }
+        }
+        connection.commit();
+        return rows;
+    }
+
+    private static double[] zipfCdf(int n, double skew) {
+        double[] cdf = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1 / Math.pow(i + 1, skew);
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= sum;
+        }
+        return cdf;
+    }
+
+    private static int merchant(double[] cdf, double u) {
+        int i = Arrays.binarySearch(cdf, u);
+        return Math.min(cdf.length - 1, i >= 0 ? i : -i - 1);
+    }
+
+    private static long delay(SplittableRandom random, long meanMicros) {
+        return (long) (-Math.log(1 - random.nextDouble()) * meanMicros);
+    }
+
+    /** Stable id of an account-level row (merchant, wallet, vendor): the same seed and prefix always yield the same ids. */
+    private static UUID id(long seed, int keySpace, long index) {
+        long hi = mix64(seed ^ mix64(((long) keySpace << 56) ^ index));
+        long lo = mix64(hi ^ index);
+        return versioned(hi, lo);
+    }
+
+    private static UUID uuid(SplittableRandom random) {
+        return versioned(random.nextLong(), random.nextLong());
+    }
+
+    /** Marks the bits as a random (version 4, IETF variant) UUID. */
+    private static UUID versioned(long hi, long lo) {
+        return new UUID((hi & ~0xF000L) | 0x4000L, (lo & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L);
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static String money(long minor) {
+        long cents = minor % 100;
+        return (minor / 100) + (cents < 10 ? ".0" : ".") + cents;
+    }
+
+    private static long micros(Instant instant) {
+        return TimeUnit.SECONDS.toMicros(instant.getEpochSecond()) + instant.getNano() / 1_000;
+    }
+
+    private static String timestamp(long micros) {
+        return Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000).toString();
+    }
+
+    /**
+     * @param vendorsPerMerchant   mean vendors per merchant (Pareto, at least 1)
+     * @param merchantSkew         Zipf exponent of order volume across merchants (higher = hotter top merchants)
+     * @param commissionBasisPoints platform share of each split (1000 = 10%)
+     * @param completionRate       share of orders split (the rest stay in ESCROW)
+     * @param payoutRate           chance that a split is followed by a vendor payout
+     * @param reversalRate         share of settled payouts that were reversed
+     * @param pendingDays          payouts requested within this many days of asOf stay PENDING
+     * @param batchRows            rows per COPY (and commit)
+     */
+    public record Spec(String prefix, int merchants, double vendorsPerMerchant, long orders, int days, Instant asOf,
+                       String currencyCode, double merchantSkew, long commissionBasisPoints, double completionRate,
+                       double payoutRate, double reversalRate, int pendingDays, long seed, String password, int batchRows) {
+
+        /** Seed of ids and draws: the prefix is mixed in so two prefixes with one seed do not collide. */
+        long stream() {
+            long h = 0;
+            for (int i = 0; i < prefix.length(); i++) {
+                h = mix64(h ^ prefix.charAt(i));
+            }
+            return seed ^ h;
+        }
+    }
+
+    public record Result(int merchants, long vendors, long wallets, long ledgerEntries, Duration elapsed) {}
+
+    /** A split (payout = false) or payout request that happens after the order that caused it. */
+    private record LaterEvent(long at, boolean payout, int merchant, int vendor, long amount, String orderId)
+            implements Comparable<LaterEvent> {
+        @Override
+        public int compareTo(LaterEvent other) {
+            return Long.compare(at, other.at);
+        }
+    }
+
+    /** Rows in COPY text format (tab-separated, \N for null); values are generated and never contain tabs or backslashes. */
+    private static final class CopyBuffer {
+        private final String sql;
+        private final StringBuilder text = new StringBuilder(1 << 20);
+        private int rows;
+
+        CopyBuffer(String sql) {
+            this.sql = sql;
+        }
+
+        void row(Object... values) {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    text.append('\t');
+                }
+                text.append(values[i] == null ? "\\N" : values[i].toString());
+            }
+            text.append('\n');
+            rows++;
+        }
+
+        int rows() {
+            return rows;
+        }
+
+        void clear() {
+            text.setLength(0);
+            rows = 0;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.orchexpay.walletledger.services;
+
+import com.orchexpay.walletledger.exceptions.LedgerEntryNotFoundException;
+import com.orchexpay.walletledger.models.LedgerSegment;
+import com.orchexpay.walletledger.models.LedgerSegmentEntry;
+import com.orchexpay.walletledger.repositories.JpaLedgerEntryRepository;
+import com.orchexpay.walletledger.repositories.JpaLedgerSegmentEntryRepository;
+import com.orchexpay.walletledger.repositories.JpaLedgerSegmentRepository;
+import com.orchexpay.walletledger.utils.MerkleTree;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Merkle inclusion proof of one ledger entry: the sibling path from its leaf to its segment's root, checked against
+ * the entry as it is stored now, so one entry is verified with O(log n) hashes instead of re-hashing its segment.
+ */
+@Service
+public class GetEntryProofUseCase {
+
+    private static final String ENTRY_SQL = "SELECT " + LedgerSegmentSealer.LEAF_COLUMNS + " FROM ledger_entries e WHERE e.id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JpaLedgerEntryRepository ledgerEntryRepository;
+    private final JpaLedgerSegmentEntryRepository segmentEntryRepository;
+    private final JpaLedgerSegmentRepository segmentRepository;
+
+    public GetEntryProofUseCase(DataSource dataSource, JpaLedgerEntryRepository ledgerEntryRepository,
+                                JpaLedgerSegmentEntryRepository segmentEntryRepository,
+                                JpaLedgerSegmentRepository segmentRepository) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.segmentEntryRepository = segmentEntryRepository;
+        this.segmentRepository = segmentRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public Result execute(UUID entryId) {
+        LedgerSegmentEntry member = segmentEntryRepository.findById(entryId).orElse(null);
+        if (member == null) {
+            if (!ledgerEntryRepository.existsById(entryId)) {
+                throw new LedgerEntryNotFoundException(entryId);
+            }
+            throw new IllegalStateException("Ledger entry " + entryId + " is not in a segment yet (only CONFIRMED entries are)");
+        }
+        LedgerSegment segment = segmentRepository.findById(member.getSegmentId())
+                .orElseThrow(() -> new IllegalStateException("Segment " + member.getSegmentId() + " of entry " + entryId + " is missing"));
+        List<MerkleTree.ProofStep> proof = MerkleTree.proof(
+                segmentEntryRepository.findLeafHashesBySegmentId(segment.getId()), member.getPosition());
+        List<String> current = jdbcTemplate.query(ENTRY_SQL, (rs, rowNum) -> LedgerSegmentSealer.leafHash(rs), entryId);
+        String currentLeafHash = current.isEmpty() ? null : current.get(0);
+        boolean verified = currentLeafHash != null && MerkleTree.verify(currentLeafHash, proof, segment.getMerkleRoot());
+        return new Result(member, segment, currentLeafHash, proof, verified);
+    }
+
+    /** currentLeafHash is null if the entry row no longer exists. */
+    public record Result(LedgerSegmentEntry member, LedgerSegment segment, String currentLeafHash,
+                         List<MerkleTree.ProofStep> proof, boolean verified) {}
+}
@@ -0,0 +1,38 @@
+package com.orchexpay.walletledger.services;
+
+import com.orchexpay.walletledger.enums.SegmentVerification;
+import com.orchexpay.walletledger.exceptions.IntegrityAuditNotFoundException;
+import com.orchexpay.walletledger.models.IntegrityAudit;
+import com.orchexpay.walletledger.models.LedgerSegment;
+import com.orchexpay.walletledger.repositories.JpaIntegrityAuditRepository;
+import com.orchexpay.walletledger.repositories.JpaLedgerSegmentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * An integrity audit with the segments currently failing verification (most recently audited first), whichever audit
+ * found them.
+ */
+@Service
+@RequiredArgsConstructor
+public class GetIntegrityAuditUseCase {
+
+    private final JpaIntegrityAuditRepository auditRepository;
+    private final JpaLedgerSegmentRepository segmentRepository;
+
+    @Transactional(readOnly = true)
+    public Result execute(UUID auditId, int failureLimit) {
+        IntegrityAudit audit = auditRepository.findById(auditId)
+                .orElseThrow(() -> new IntegrityAuditNotFoundException(auditId));
+        List<LedgerSegment> failed = segmentRepository.findByVerificationOrderByVerifiedAtDesc(
+                SegmentVerification.FAILED, PageRequest.of(0, failureLimit));
+        return new Result(audit, failed);
+    }
+
+    public record Result(IntegrityAudit audit, List<LedgerSegment> failedSegments) {}
+}
@@ -0,0 +1,44 @@
+package com.orchexpay.walletledger.services;
+
+import com.orchexpay.walletledger.models.ReconciliationCheckpoint;
+import com.orchexpay.walletledger.models.ReconciliationState;
+import com.orchexpay.walletledger.models.ReconciliationTotal;
+import com.orchexpay.walletledger.repositories.JpaReconciliationCheckpointRepository;
+import com.orchexpay.walletledger.repositories.JpaReconciliationStateRepository;
+import com.orchexpay.walletledger.repositories.JpaReconciliationTotalRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Continuous reconciliation state, the wallets currently in mismatch (most recently changed first) and the latest
+ * checkpoints with their signatures checked. state is null until the reconciler's first poll.
+ */
+@Service
+@RequiredArgsConstructor
+public class GetReconciliationStatusUseCase {
+
+    private final JpaReconciliationStateRepository stateRepository;
+    private final JpaReconciliationTotalRepository totalRepository;
+    private final JpaReconciliationCheckpointRepository checkpointRepository;
+    private final ReconciliationCheckpointSigner signer;
+
+    @Transactional(readOnly = true)
+    public Result execute(int mismatchLimit, int checkpointLimit) {
+        ReconciliationState state = stateRepository.findById(ReconciliationState.ID).orElse(null);
+        List<ReconciliationTotal> mismatches = totalRepository.findByMismatchIsNotNullOrderByUpdatedAtDesc(
+                PageRequest.of(0, mismatchLimit));
+        List<VerifiedCheckpoint> checkpoints = checkpointRepository.findAllByOrderBySequenceDesc(PageRequest.of(0, checkpointLimit))
+                .stream()
+                .map(c -> new VerifiedCheckpoint(c, signer.verify(c)))
+                .toList();
+        return new Result(state, mismatches, checkpoints);
+    }
+
+    public record Result(ReconciliationState state, List<ReconciliationTotal> mismatches, List<VerifiedCheckpoint> checkpoints) {}
+
+    public record VerifiedCheckpoint(ReconciliationCheckpoint checkpoint, boolean signatureValid) {}
+}
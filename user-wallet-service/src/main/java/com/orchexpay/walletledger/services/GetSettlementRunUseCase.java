@@ -0,0 +1,35 @@
+package com.orchexpay.walletledger.services;
+
+import com.orchexpay.walletledger.exceptions.SettlementRunNotFoundException;
+import com.orchexpay.walletledger.models.SettlementRun;
+import com.orchexpay.walletledger.models.SettlementRunResult;
+import com.orchexpay.walletledger.repositories.JpaSettlementRunRepository;
+import com.orchexpay.walletledger.repositories.JpaSettlementRunResultRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A settlement batch run and its first mismatched wallets (ordered by merchant id).
+ */
+@Service
+@RequiredArgsConstructor
+public class GetSettlementRunUseCase {
+
+    private final JpaSettlementRunRepository runRepository;
+    private final JpaSettlementRunResultRepository resultRepository;
+
+    @Transactional(readOnly = true)
+    public Result execute(UUID runId, int mismatchLimit) {
+        SettlementRun run = runRepository.findById(runId).orElseThrow(() -> new SettlementRunNotFoundException(runId));
+        List<SettlementRunResult> mismatches = resultRepository.findByRunIdAndReconciledFalseOrderByMerchantIdAsc(
+                runId, PageRequest.of(0, mismatchLimit));
+        return new Result(run, mismatches);
+    }
+
+    public record Result(SettlementRun run, List<SettlementRunResult> mismatches) {}
+}
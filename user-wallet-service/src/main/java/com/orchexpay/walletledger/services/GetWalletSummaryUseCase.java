@@ -0,0 +1,32 @@
+package com.orchexpay.walletledger.services;
+
+import com.orchexpay.walletledger.exceptions.WalletNotFoundException;
+import com.orchexpay.walletledger.models.Wallet;
+import com.orchexpay.walletledger.models.WalletSummary;
+import com.orchexpay.walletledger.repositories.LedgerEntryRepository;
+import com.orchexpay.walletledger.repositories.WalletRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Returns a wallet with its confirmed credits, debits per reference type and net, from one ledger query.
+ */
+@Service
+@RequiredArgsConstructor
+public class GetWalletSummaryUseCase {
+
+    private final WalletRepository walletRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+
+    @Transactional(readOnly = true)
+    public WalletWithSummary execute(UUID walletId) {
+        Wallet wallet = walletRepository.findById(walletId)
+                .orElseThrow(() -> new WalletNotFoundException(walletId));
+        return new WalletWithSummary(wallet, ledgerEntryRepository.summarize(walletId));
+    }
+
+    public record WalletWithSummary(Wallet wallet, WalletSummary summary) {}
+}
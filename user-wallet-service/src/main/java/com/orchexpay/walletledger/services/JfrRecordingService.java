@@ -0,0 +1,297 @@
+package com.orchexpay.walletledger.services;
+
+import com.orchexpay.walletledger.exceptions.RecordingNotFoundException;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * On-demand JDK Flight Recorder recordings of the running service (AdminDiagnosticsController). One recording runs at
+ * a time, on the JDK "profile" settings tuned for ledger hot paths: allocation is sampled (jdk.ObjectAllocationSample)
+ * instead of recording every TLAB, and monitor-enter / thread-park thresholds are lowered to 1 ms so short lock waits
+ * on the request path show up. Recordings stop by themselves after maxDuration; the last few are kept (with their
+ * .jfr files) for download and summary, older ones are closed and deleted.
+ */
+@Service
+@Slf4j
+public class JfrRecordingService {
+
+    private static final String ALLOCATION_SAMPLE = "jdk.ObjectAllocationSample";
+    private static final String MONITOR_ENTER = "jdk.JavaMonitorEnter";
+    private static final String THREAD_PARK = "jdk.ThreadPark";
+
+    private final Duration maxDuration;
+    private final int retained;
+    private final String packagePrefix;
+    private final int topSites;
+    private final Map<Long, Recording> recordings = new LinkedHashMap<>();
+
+    public JfrRecordingService(@Value("${orchexpay.diagnostics.jfr.max-duration-seconds:300}") long maxDurationSeconds,
+                               @Value("${orchexpay.diagnostics.jfr.retained:5}") int retained,
+                               @Value("${orchexpay.diagnostics.jfr.package-prefix:com.orchexpay.}") String packagePrefix,
+                               @Value("${orchexpay.diagnostics.jfr.top-sites:20}") int topSites) {
+        this.maxDuration = Duration.ofSeconds(maxDurationSeconds);
+        this.retained = retained;
+        this.packagePrefix = packagePrefix;
+        this.topSites = topSites;
+    }
+
+    public synchronized RecordingInfo start(Duration duration) {
+        if (duration.isNegative() || duration.isZero() || duration.compareTo(maxDuration) > 0) {
+            throw new IllegalArgumentException("Duration must be between 1s and " + maxDuration.toSeconds() + "s");
+        }
+        for (Recording recording : recordings.values()) {
+            if (isActive(recording)) {
+                throw new IllegalStateException("Recording " + recording.getId() + " is still running");
+            }
+        }
+        Recording recording = new Recording(settings());
+        try {
+            recording.setDestination(Files.createTempFile("ledgerx-", ".jfr"));
+        } catch (IOException e) {
+            recording.close();
+            throw new UncheckedIOException(e);
+        }
+        recording.setName("ledgerx-" + Instant.now());
+        recording.setToDisk(true);
+        recording.setDuration(duration);
+        recording.start();
+        recordings.put(recording.getId(), recording);
+        evictOldest();
+        log.info("Started JFR recording {} for {}s", recording.getId(), duration.toSeconds());
+        return info(recording);
+    }
+
+    /** Stops the recording (no-op when its duration already ran out); JFR writes the .jfr file on stop. */
+    public synchronized RecordingInfo stop(long id) {
+        Recording recording = get(id);
+        if (isActive(recording)) {
+            recording.stop();
+            log.info("Stopped JFR recording {}", id);
+        }
+        return info(recording);
+    }
+
+    public synchronized List<RecordingInfo> list() {
+        return recordings.values().stream().map(JfrRecordingService::info).toList();
+    }
+
+    /**
+     * Opens the finished recording's .jfr file for download. The stream is opened under the lock, so a concurrent start
+     * (eviction) or delete that removes the file afterwards only unlinks it: the open stream still reads the whole file.
+     */
+    public synchronized RecordingFileStream openFile(long id) {
+        Path file = file(id);
+        try {
+            return new RecordingFileStream(Files.newInputStream(file), Files.size(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized void delete(long id) {
+        Recording recording = get(id);
+        recordings.remove(id);
+        close(recording);
+    }
+
+    /**
+     * Top allocation sites and lock waits whose nearest application frame is under packagePrefix. Holds the lock while
+     * the file is read so a concurrent start (eviction) or delete cannot close the recording and remove its file mid-read.
+     */
+    public synchronized Summary summarize(long id) {
+        Path file = file(id);
+        Map<String, Site> allocations = new HashMap<>();
+        Map<String, Site> monitors = new HashMap<>();
+        Map<String, Site> parks = new HashMap<>();
+        long events = 0;
+        try (RecordingFile recordingFile = new RecordingFile(file)) {
+            while (recordingFile.hasMoreEvents()) {
+                RecordedEvent event = recordingFile.readEvent();
+                String name = event.getEventType().getName();
+                if (!name.equals(ALLOCATION_SAMPLE) && !name.equals(MONITOR_ENTER) && !name.equals(THREAD_PARK)) {
+                    continue;
+                }
+                events++;
+                String frame = applicationFrame(event.getStackTrace());
+                if (frame == null) {
+                    continue;
+                }
+                switch (name) {
+                    case ALLOCATION_SAMPLE -> add(allocations, frame, className(event, "objectClass"), event.getLong("weight"));
+                    case MONITOR_ENTER -> add(monitors, frame, className(event, "monitorClass"), event.getDuration().toNanos());
+                    default -> add(parks, frame, className(event, "parkedClass"), event.getDuration().toNanos());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new Summary(id, events, top(allocations), top(monitors), top(parks));
+    }
+
+    @PreDestroy
+    public synchronized void closeAll() {
+        recordings.values().forEach(JfrRecordingService::close);
+        recordings.clear();
+    }
+
+    private Map<String, String> settings() {
+        Map<String, String> settings;
+        try {
+            settings = new HashMap<>(Configuration.getConfiguration("profile").getSettings());
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("JFR profile settings unavailable", e);
+        }
+        settings.put(ALLOCATION_SAMPLE + "#enabled", "true");
+        settings.put(ALLOCATION_SAMPLE + "#throttle", "300/s");
+        settings.put("jdk.ObjectAllocationInNewTLAB#enabled", "false");
+        settings.put("jdk.ObjectAllocationOutsideTLAB#enabled", "false");
+        settings.put(MONITOR_ENTER + "#enabled", "true");
+        settings.put(MONITOR_ENTER + "#threshold", "1 ms");
+        settings.put(THREAD_PARK + "#enabled", "true");
+        settings.put(THREAD_PARK + "#threshold", "1 ms");
+        settings.put("jdk.ExecutionSample#period", "10 ms");
+        return settings;
+    }
+
+    private String applicationFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return null;
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith(packagePrefix)) {
+                return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+            }
+        }
+        return null;
+    }
+
+    private static String className(RecordedEvent event, String field) {
+        return event.hasField(field) && event.getClass(field) != null ? event.getClass(field).getName() : "unknown";
+    }
+
+    private static void add(Map<String, Site> sites, String frame, String type, long amount) {
+        sites.computeIfAbsent(frame + " " + type, k -> new Site(frame, type)).add(amount);
+    }
+
+    private List<SiteStats> top(Map<String, Site> sites) {
+        return sites.values().stream()
+                .sorted(Comparator.comparingLong((Site s) -> s.total).reversed())
+                .limit(topSites)
+                .map(s -> new SiteStats(s.frame, s.type, s.events, s.total, s.max))
+                .toList();
+    }
+
+    private Path file(long id) {
+        Recording recording = get(id);
+        if (isActive(recording)) {
+            throw new IllegalStateException("Recording " + id + " is " + recording.getState() + "; stop it first");
+        }
+        return recording.getDestination();
+    }
+
+    private Recording get(long id) {
+        Recording recording = recordings.get(id);
+        if (recording == null) {
+            throw new RecordingNotFoundException(id);
+        }
+        return recording;
+    }
+
+    private void evictOldest() {
+        List<Long> ids = new ArrayList<>(recordings.keySet());
+        for (int i = 0; i < ids.size() - retained; i++) {
+            close(recordings.remove(ids.get(i)));
+        }
+    }
+
+    private static void close(Recording recording) {
+        Path destination = recording.getDestination();
+        recording.close();
+        try {
+            if (destination != null) {
+                Files.deleteIfExists(destination);
+            }
+        } catch (IOException e) {
+            log.warn("Could not delete JFR file {}: {}", destination, e.getMessage());
+        }
+    }
+
+    private static RecordingInfo info(Recording recording) {
+        return new RecordingInfo(recording.getId(), recording.getName(), recording.getState().name(), recording.getStartTime(),
+                recording.getStopTime(), recording.getDuration(), isActive(recording) ? 0 : size(recording));
+    }
+
+    /** A recording with a destination is written and CLOSED by JFR as soon as it stops. */
+    private static boolean isActive(Recording recording) {
+        return recording.getState() == RecordingState.NEW || recording.getState() == RecordingState.DELAYED
+                || recording.getState() == RecordingState.RUNNING;
+    }
+
+    private static long size(Recording recording) {
+        try {
+            return recording.getDestination() != null ? Files.size(recording.getDestination()) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /** The caller must close stream. */
+    public record RecordingFileStream(InputStream stream, long sizeBytes) {}
+
+    public record RecordingInfo(long id, String name, String state, Instant startedAt, Instant stoppedAt, Duration duration,
+                                long sizeBytes) {}
+
+    /**
+     * Allocation totals are sampled bytes (the sample weight); monitor-enter and thread-park totals and maxima are
+     * nanoseconds spent blocked. events counts all three event types, including those outside packagePrefix.
+     */
+    public record Summary(long recordingId, long events, List<SiteStats> allocationSites, List<SiteStats> monitorContention,
+                          List<SiteStats> threadParks) {}
+
+    /** frame is the nearest application frame (Class.method:line), type the allocated / monitor / parked-on class. */
+    public record SiteStats(String frame, String type, long events, long total, long max) {}
+
+    private static final class Site {
+        private final String frame;
+        private final String type;
+        private long events;
+        private long total;
+        private long max;
+
+        private Site(String frame, String type) {
+            this.frame = frame;
+            this.type = type;
+        }
+
+        private void add(long amount) {
+            events++;
+            total += amount;
+            max = Math.max(max, amount);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.orchexpay.walletledger.services;
+
+import com.orchexpay.walletledger.models.LedgerIntegrityState;
+import com.orchexpay.walletledger.repositories.JpaLedgerIntegrityStateRepository;
+import com.orchexpay.walletledger.utils.MerkleTree;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Groups every wallet's CONFIRMED ledger entries into fixed-size segments (ledger_segments) with a Merkle root each,
+ * so RunIntegrityAuditUseCase can prove them unchanged without re-reading the whole table. Entries are appended to the
+ * wallet's open segment in commit order, read from the ledger_confirmations journal the same way ContinuousReconciler
+ * does (visible in this poll's snapshot, not in the previous one); a full segment is sealed and the next one chains to
+ * it. The first run puts all existing CONFIRMED entries into segments (oldest first), later runs only the new ones.
+ * <p>
+ * The leaf hash covers every stored field of the entry, including status: entries join a segment once CONFIRMED, after
+ * which nothing may change.
+ */
+@Service
+@Slf4j
+public class LedgerSegmentSealer {
+
+    /** Columns of ledger_entries (aliased e) that {@link #leafHash} reads. */
+    static final String LEAF_COLUMNS = "e.id, e.wallet_id, e.merchant_id, e.vendor_id, e.entry_type, e.amount, e.currency_code, "
+            + "e.reference_type, e.reference_id, e.status, e.description, "
+            + "CAST(EXTRACT(EPOCH FROM e.created_at) * 1000000 AS bigint) AS created_micros";
+
+    private static final String BACKFILL_SQL = "SELECT " + LEAF_COLUMNS
+            + " FROM ledger_entries e WHERE e.status = 'CONFIRMED' ORDER BY e.wallet_id, e.created_at, e.id";
+    private static final String NEW_ENTRIES_SQL = "SELECT " + LEAF_COLUMNS + """
+             FROM ledger_confirmations c
+            JOIN ledger_entries e ON e.id = c.entry_id
+            WHERE c.txid >= CAST(CAST(pg_snapshot_xmin(CAST(? AS pg_snapshot)) AS text) AS bigint)
+              AND NOT pg_visible_in_snapshot(CAST(CAST(c.txid AS text) AS xid8), CAST(? AS pg_snapshot))
+            ORDER BY c.wallet_id, c.txid, c.entry_id
+            """;
+    private static final String LAST_SEGMENT_SQL = "SELECT id, segment_no, previous_chain_hash, chain_hash, sealed "
+            + "FROM ledger_segments WHERE wallet_id = ? ORDER BY segment_no DESC LIMIT 1";
+    private static final String LEAVES_SQL = "SELECT leaf_hash FROM ledger_segment_entries WHERE segment_id = ? ORDER BY position";
+    private static final String UPSERT_SEGMENT_SQL = "INSERT INTO ledger_segments (id, wallet_id, segment_no, entry_count, "
+            + "merkle_root, previous_chain_hash, chain_hash, sealed, updated_at, verification) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 'UNVERIFIED') ON CONFLICT (id) DO UPDATE SET entry_count = EXCLUDED.entry_count, "
+            + "merkle_root = EXCLUDED.merkle_root, chain_hash = EXCLUDED.chain_hash, sealed = EXCLUDED.sealed, updated_at = EXCLUDED.updated_at";
+    private static final String INSERT_MEMBER_SQL =
+            "INSERT INTO ledger_segment_entries (entry_id, segment_id, position, leaf_hash) VALUES (?, ?, ?, ?)";
+    private static final int WRITE_BATCH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final JpaLedgerIntegrityStateRepository stateRepository;
+    private final boolean enabled;
+    private final int segmentSize;
+
+    public LedgerSegmentSealer(DataSource dataSource, PlatformTransactionManager transactionManager,
+                               JpaLedgerIntegrityStateRepository stateRepository,
+                               @Value("${orchexpay.integrity.enabled:true}") boolean enabled,
+                               @Value("${orchexpay.integrity.segment-size:1024}") int segmentSize) {
+        if (segmentSize < 2) {
+            throw new IllegalArgumentException("orchexpay.integrity.segment-size must be at least 2");
+        }
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(WRITE_BATCH);
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.stateRepository = stateRepository;
+        this.enabled = enabled;
+        this.segmentSize = segmentSize;
+    }
+
+    @Scheduled(fixedDelayString = "${orchexpay.integrity.seal-interval-ms:5000}")
+    public void seal() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            transaction.executeWithoutResult(status -> sealNewEntries());
+        } catch (ConcurrencyFailureException e) {
+            log.debug("Segment sealing skipped, another instance holds or changed the cursor: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("Segment sealing failed: {}", e.getMessage());
+        }
+    }
+
+    /** The canonical form of one ledger_entries row (LEAF_COLUMNS), length-prefixed so no two rows share it. */
+    static String leafHash(ResultSet rs) throws SQLException {
+        StringBuilder text = new StringBuilder(256);
+        field(text, rs.getString("id"));
+        field(text, rs.getString("wallet_id"));
+        field(text, rs.getString("merchant_id"));
+        field(text, rs.getString("vendor_id"));
+        field(text, rs.getString("entry_type"));
+        BigDecimal amount = rs.getBigDecimal("amount");
+        field(text, amount == null ? null : amount.setScale(4).toPlainString());
+        field(text, rs.getString("currency_code"));
+        field(text, rs.getString("reference_type"));
+        field(text, rs.getString("reference_id"));
+        field(text, rs.getString("status"));
+        field(text, rs.getString("description"));
+        field(text, rs.getString("created_micros"));
+        return MerkleTree.leafHash(text.toString());
+    }
+
+    private static void field(StringBuilder text, String value) {
+        if (value == null) {
+            text.append("-1:");
+            return;
+        }
+        text.append(value.length()).append(':').append(value);
+    }
+
+    private void sealNewEntries() {
+        // First statement: takes the transaction snapshot and the cursor row lock together
+        LedgerIntegrityState state = stateRepository.lockById(LedgerIntegrityState.ID).orElse(null);
+        String snapshot = jdbcTemplate.queryForObject("SELECT CAST(pg_current_snapshot() AS text)", String.class);
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        long startedNanos = System.nanoTime();
+        Appender appender = new Appender(now, state == null);
+        if (state == null) {
+            jdbcTemplate.update("DELETE FROM ledger_segment_entries");
+            jdbcTemplate.update("DELETE FROM ledger_segments");
+            jdbcTemplate.query(BACKFILL_SQL, rs -> {
+                appender.add(rs);
+            });
+            state = LedgerIntegrityState.builder().id(LedgerIntegrityState.ID).build();
+        } else {
+            jdbcTemplate.query(NEW_ENTRIES_SQL, rs -> {
+                appender.add(rs);
+            }, state.getSnapshot(), state.getSnapshot());
+        }
+        appender.finish();
+        state.setSnapshot(snapshot);
+        state.setEntriesSealed(state.getEntriesSealed() + appender.entries);
+        state.setUpdatedAt(now);
+        stateRepository.save(state);
+        if (appender.entries > 0) {
+            log.info("Sealed {} ledger entries into segments of {} wallets in {} ms", appender.entries, appender.wallets,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos));
+        }
+    }
+
+    /** Appends rows (grouped by wallet) to each wallet's open segment, sealing full ones; writes in batches. */
+    private final class Appender {
+        private final Timestamp now;
+        private final boolean backfill;
+        private final List<Object[]> segmentRows = new ArrayList<>();
+        private final List<Object[]> memberRows = new ArrayList<>();
+        private long entries;
+        private long wallets;
+        private UUID walletId;
+        private UUID segmentId;
+        private int segmentNo;
+        private String previousChainHash;
+        private List<String> leaves;
+        private boolean dirty;
+
+        private Appender(Instant now, boolean backfill) {
+            this.now = Timestamp.from(now);
+            this.backfill = backfill;
+        }
+
+        private void add(ResultSet rs) throws SQLException {
+            UUID wallet = rs.getObject("wallet_id", UUID.class);
+            if (!wallet.equals(walletId)) {
+                closeWallet();
+                openWallet(wallet);
+            }
+            if (leaves.size() == segmentSize) {
+                String chainHash = writeSegment(true);
+                startSegment(UUID.randomUUID(), segmentNo + 1, chainHash, new ArrayList<>());
+            }
+            String leaf = leafHash(rs);
+            memberRows.add(new Object[]{rs.getObject("id", UUID.class), segmentId, leaves.size(), leaf});
+            leaves.add(leaf);
+            dirty = true;
+            entries++;
+            if (memberRows.size() >= WRITE_BATCH) {
+                flush();
+            }
+        }
+
+        private void finish() {
+            closeWallet();
+            flush();
+        }
+
+        private void openWallet(UUID wallet) {
+            walletId = wallet;
+            wallets++;
+            List<Object[]> last = backfill ? List.of() : jdbcTemplate.query(LAST_SEGMENT_SQL, (rs, rowNum) -> new Object[]{
+                    rs.getObject("id", UUID.class), rs.getInt("segment_no"), rs.getString("previous_chain_hash"),
+                    rs.getString("chain_hash"), rs.getBoolean("sealed")}, wallet);
+            if (last.isEmpty()) {
+                startSegment(UUID.randomUUID(), 0, null, new ArrayList<>());
+            } else if ((boolean) last.get(0)[4]) {
+                startSegment(UUID.randomUUID(), (int) last.get(0)[1] + 1, (String) last.get(0)[3], new ArrayList<>());
+            } else {
+                UUID openId = (UUID) last.get(0)[0];
+                startSegment(openId, (int) last.get(0)[1], (String) last.get(0)[2],
+                        new ArrayList<>(jdbcTemplate.queryForList(LEAVES_SQL, String.class, openId)));
+            }
+        }
+
+        private void startSegment(UUID id, int no, String previousChain, List<String> existingLeaves) {
+            segmentId = id;
+            segmentNo = no;
+            previousChainHash = previousChain;
+            leaves = existingLeaves;
+            dirty = false;
+        }
+
+        private void closeWallet() {
+            if (walletId != null && dirty) {
+                writeSegment(leaves.size() == segmentSize);
+            }
+        }
+
+        /** Queues the current segment's row and returns its chain hash. */
+        private String writeSegment(boolean sealed) {
+            String root = MerkleTree.root(leaves);
+            String chainHash = MerkleTree.chainHash(previousChainHash, walletId, segmentNo, leaves.size(), root);
+            segmentRows.add(new Object[]{segmentId, walletId, segmentNo, leaves.size(), root, previousChainHash, chainHash, sealed, now});
+            dirty = false;
+            return chainHash;
+        }
+
+        private void flush() {
+            if (!segmentRows.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPSERT_SEGMENT_SQL, segmentRows);
+                segmentRows.clear();
+            }
+            if (!memberRows.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_MEMBER_SQL, memberRows);
+                memberRows.clear();
+            }
+        }
+    }
+}
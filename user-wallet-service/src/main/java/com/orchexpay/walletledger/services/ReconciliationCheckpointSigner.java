@@ -0,0 +1,61 @@
+package com.orchexpay.walletledger.services;
+
+import com.orchexpay.walletledger.models.ReconciliationCheckpoint;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+/**
+ * HMAC-SHA256 signatures of reconciliation checkpoints with orchexpay.reconciliation.signing-key. The signed text is
+ * every figure of the checkpoint plus the previous checkpoint's signature.
+ */
+@Service
+public class ReconciliationCheckpointSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+
+    public ReconciliationCheckpointSigner(@Value("${orchexpay.reconciliation.signing-key}") String signingKey) {
+        if (signingKey == null || signingKey.isBlank()) {
+            throw new IllegalStateException("orchexpay.reconciliation.signing-key must be set");
+        }
+        this.key = new SecretKeySpec(signingKey.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+    }
+
+    public String sign(ReconciliationCheckpoint checkpoint) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return HexFormat.of().formatHex(mac.doFinal(canonical(checkpoint).getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign reconciliation checkpoint", e);
+        }
+    }
+
+    public boolean verify(ReconciliationCheckpoint checkpoint) {
+        return checkpoint.getSignature() != null && MessageDigest.isEqual(
+                sign(checkpoint).getBytes(StandardCharsets.US_ASCII),
+                checkpoint.getSignature().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String canonical(ReconciliationCheckpoint c) {
+        return String.join("|",
+                Long.toString(c.getSequence()),
+                c.getSnapshot(),
+                Long.toString(c.getEntriesApplied()),
+                Long.toString(c.getWallets()),
+                c.getTotalCredits().setScale(4).toPlainString(),
+                c.getTotalDebits().setScale(4).toPlainString(),
+                Long.toString(c.getOpenMismatches()),
+                c.getStateDigest(),
+                c.getPreviousSignature() == null ? "" : c.getPreviousSignature(),
+                Long.toString(c.getCreatedAt().toEpochMilli()));
+    }
+}
@@ -1,5 +1,7 @@
 package com.orchexpay.walletledger.services;
 
+import com.orchexpay.walletledger.events.DomainEventPublisher;
+import com.orchexpay.walletledger.events.WalletCreditedEvent;
 import com.orchexpay.walletledger.exceptions.LedgerEntryNotFoundException;
 import com.orchexpay.walletledger.repositories.LedgerEntryRepository;
 import com.orchexpay.walletledger.models.LedgerEntry;
@@ -11,12 +13,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.UUID;
 
 /**
  * Reverses a PENDING payout reservation on bank failure: marks original REVERSED and creates
  * a compensating CONFIRMED CREDIT (reference_type=REVERSAL) so balance is restored.
  * Idempotent: if original already REVERSED, returns existing reversal entry or no-op.
+ * Publishes WalletCredited for the compensating credit.
  */
 @Service
 @RequiredArgsConstructor
@@ -25,6 +29,7 @@ public class ReverseReservationUseCase {
 
     private final LedgerEntryRepository ledgerEntryRepository;
     private final LedgerEntryFactory ledgerEntryFactory;
+    private final DomainEventPublisher eventPublisher;
 
     @Transactional
     public LedgerEntry execute(UUID pendingEntryId) {
@@ -53,6 +58,15 @@ public class ReverseReservationUseCase {
                 pending.getAmount(), ReferenceType.REVERSAL, reversalRefId,
                 EntryStatus.CONFIRMED, "Reversal of " + pending.getReferenceId());
         compensatingCredit = ledgerEntryRepository.save(compensatingCredit);
+        eventPublisher.publish(WalletCreditedEvent.builder()
+                .eventId(UUID.randomUUID())
+                .walletId(compensatingCredit.getWalletId())
+                .amount(compensatingCredit.getAmount().getAmount())
+                .currencyCode(compensatingCredit.getAmount().getCurrency().getCode())
+                .referenceId(reversalRefId)
+                .occurredAt(Instant.now())
+                .correlationId(null)
+                .build());
         pending.setStatus(EntryStatus.REVERSED);
         ledgerEntryRepository.save(pending);
         log.info("Reversed reservation entry {} with compensating credit {}", pendingEntryId, compensatingCredit.getId());
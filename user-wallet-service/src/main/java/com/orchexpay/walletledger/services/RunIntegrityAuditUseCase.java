@@ -0,0 +1,248 @@
+package com.orchexpay.walletledger.services;
+
+import com.orchexpay.walletledger.enums.IntegrityAuditScope;
+import com.orchexpay.walletledger.enums.IntegrityAuditStatus;
+import com.orchexpay.walletledger.enums.SegmentVerification;
+import com.orchexpay.walletledger.models.IntegrityAudit;
+import com.orchexpay.walletledger.repositories.JpaIntegrityAuditRepository;
+import com.orchexpay.walletledger.utils.MerkleTree;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Verifies ledger segments (LedgerSegmentSealer) against the entries they cover: every member entry still exists and
+ * hashes to its stored leaf, positions are contiguous, the leaves give the stored Merkle root and the segment chains to
+ * the wallet's previous one. TOUCHED only checks segments that grew since their last audit (or failed it), so a routine
+ * audit costs the new entries instead of the whole ledger; ALL re-checks everything. Segments are checked in chunks on
+ * a bounded ForkJoinPool and each gets its verification status; the audit (ledger_integrity_audits) records counts and
+ * wall time. One audit at a time.
+ */
+@Service
+@Slf4j
+public class RunIntegrityAuditUseCase {
+
+    private static final String ALL_SQL = "SELECT id FROM ledger_segments ORDER BY wallet_id, segment_no";
+    private static final String TOUCHED_SQL = "SELECT id FROM ledger_segments "
+            + "WHERE verified_count IS DISTINCT FROM entry_count OR verification = 'FAILED' ORDER BY wallet_id, segment_no";
+    private static final String SEGMENT_SQL = """
+            SELECT s.wallet_id, s.segment_no, s.entry_count, s.merkle_root, s.previous_chain_hash, s.chain_hash,
+                   p.chain_hash AS actual_previous_chain_hash
+            FROM ledger_segments s
+            LEFT JOIN ledger_segments p ON p.wallet_id = s.wallet_id AND p.segment_no = s.segment_no - 1
+            WHERE s.id = ?
+            """;
+    private static final String MEMBERS_SQL = "SELECT m.entry_id, m.position, m.leaf_hash, e.id IS NOT NULL AS present, "
+            + LedgerSegmentSealer.LEAF_COLUMNS + """
+             FROM ledger_segment_entries m
+            LEFT JOIN ledger_entries e ON e.id = m.entry_id
+            WHERE m.segment_id = ?
+            ORDER BY m.position
+            """;
+    private static final String UPDATE_SQL = "UPDATE ledger_segments SET verification = ?, verified_count = ?, verified_at = ?, "
+            + "failure = ? WHERE id = ?";
+    private static final int CHUNK_SIZE = 64;
+    private static final int FAILURE_LENGTH = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final JpaIntegrityAuditRepository auditRepository;
+    private final int parallelism;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public RunIntegrityAuditUseCase(DataSource dataSource, PlatformTransactionManager transactionManager,
+                                    JpaIntegrityAuditRepository auditRepository,
+                                    @Value("${orchexpay.integrity.audit.parallelism:4}") int parallelism) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        // A segment and its members must come from the same snapshot while the sealer keeps appending
+        this.readTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.auditRepository = auditRepository;
+        this.parallelism = parallelism;
+    }
+
+    /** Audits the segments in scope and returns the finished (COMPLETED or FAILED) audit. */
+    public IntegrityAudit execute(IntegrityAuditScope scope) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("An integrity audit is already in progress");
+        }
+        try {
+            return run(scope);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /** TOUCHED audit when orchexpay.integrity.audit.cron is set ("-", the default, disables it). */
+    @Scheduled(cron = "${orchexpay.integrity.audit.cron:-}")
+    public void scheduledRun() {
+        if (running.get()) {
+            log.warn("Skipping scheduled integrity audit: previous audit still in progress");
+            return;
+        }
+        execute(IntegrityAuditScope.TOUCHED);
+    }
+
+    private IntegrityAudit run(IntegrityAuditScope scope) {
+        long startedNanos = System.nanoTime();
+        IntegrityAudit audit = auditRepository.save(IntegrityAudit.builder()
+                .id(UUID.randomUUID())
+                .scope(scope)
+                .status(IntegrityAuditStatus.RUNNING)
+                .startedAt(Instant.now())
+                .build());
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        long segments = 0;
+        long entries = 0;
+        long failures = 0;
+        try {
+            List<UUID> segmentIds = readTransaction.execute(status ->
+                    jdbcTemplate.queryForList(scope == IntegrityAuditScope.ALL ? ALL_SQL : TOUCHED_SQL, UUID.class));
+            List<Future<long[]>> tasks = new ArrayList<>();
+            for (int from = 0; from < segmentIds.size(); from += CHUNK_SIZE) {
+                List<UUID> chunk = segmentIds.subList(from, Math.min(from + CHUNK_SIZE, segmentIds.size()));
+                tasks.add(pool.submit(() -> auditChunk(chunk)));
+            }
+            for (Future<long[]> task : tasks) {
+                long[] counts = task.get();
+                segments += counts[0];
+                entries += counts[1];
+                failures += counts[2];
+            }
+            audit.setStatus(IntegrityAuditStatus.COMPLETED);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(audit, e);
+        } catch (ExecutionException e) {
+            fail(audit, e.getCause());
+        } catch (RuntimeException e) {
+            fail(audit, e);
+        } finally {
+            pool.shutdownNow();
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startedNanos);
+        audit.setSegments(segments);
+        audit.setEntries(entries);
+        audit.setFailures(failures);
+        audit.setFinishedAt(Instant.now());
+        audit.setDurationMs(elapsed.toMillis());
+        audit = auditRepository.save(audit);
+        log.info("Integrity audit {} ({}) {}: {} segments, {} entries, {} failed segments in {} ms (parallelism {})",
+                audit.getId(), scope, audit.getStatus(), segments, entries, failures, elapsed.toMillis(), parallelism);
+        return audit;
+    }
+
+    /** Returns {segments, entries, failed segments} of one chunk after its verification results are stored. */
+    private long[] auditChunk(List<UUID> segmentIds) {
+        List<SegmentCheck> checks = readTransaction.execute(status -> {
+            List<SegmentCheck> result = new ArrayList<>(segmentIds.size());
+            for (UUID segmentId : segmentIds) {
+                SegmentCheck check = checkSegment(segmentId);
+                if (check != null) {
+                    result.add(check);
+                }
+            }
+            return result;
+        });
+        if (checks == null || checks.isEmpty()) {
+            return new long[3];
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        writeTransaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPDATE_SQL, checks, checks.size(), (ps, c) -> {
+            ps.setString(1, c.failure() == null ? SegmentVerification.VERIFIED.name() : SegmentVerification.FAILED.name());
+            ps.setInt(2, c.entryCount());
+            ps.setTimestamp(3, now);
+            ps.setString(4, c.failure());
+            ps.setObject(5, c.segmentId());
+        }));
+        long entries = checks.stream().mapToLong(SegmentCheck::entries).sum();
+        long failures = checks.stream().filter(c -> c.failure() != null).count();
+        return new long[]{checks.size(), entries, failures};
+    }
+
+    /** null if the segment no longer exists. */
+    private SegmentCheck checkSegment(UUID segmentId) {
+        List<SegmentRow> rows = jdbcTemplate.query(SEGMENT_SQL, (rs, rowNum) -> new SegmentRow(
+                rs.getObject("wallet_id", UUID.class), rs.getInt("segment_no"), rs.getInt("entry_count"),
+                rs.getString("merkle_root"), rs.getString("previous_chain_hash"), rs.getString("chain_hash"),
+                rs.getString("actual_previous_chain_hash")), segmentId);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        SegmentRow segment = rows.get(0);
+        List<String> problems = new ArrayList<>();
+        List<String> leaves = new ArrayList<>(segment.entryCount());
+        jdbcTemplate.query(MEMBERS_SQL, rs -> {
+            int position = rs.getInt("position");
+            String storedLeaf = rs.getString("leaf_hash");
+            if (position != leaves.size()) {
+                problems.add("position " + leaves.size() + " expected, found " + position);
+            }
+            if (!rs.getBoolean("present")) {
+                problems.add("entry " + rs.getString("entry_id") + " missing");
+            } else if (!LedgerSegmentSealer.leafHash(rs).equals(storedLeaf)) {
+                problems.add("entry " + rs.getString("entry_id") + " changed");
+            }
+            leaves.add(storedLeaf);
+        }, segmentId);
+        if (leaves.size() != segment.entryCount()) {
+            problems.add(segment.entryCount() + " entries expected, found " + leaves.size());
+        }
+        if (!leaves.isEmpty() && !MerkleTree.root(leaves).equals(segment.merkleRoot())) {
+            problems.add("Merkle root mismatch");
+        }
+        String expectedPrevious = segment.segmentNo() == 0 ? null : segment.actualPreviousChainHash();
+        if (segment.segmentNo() > 0 && expectedPrevious == null) {
+            problems.add("previous segment " + (segment.segmentNo() - 1) + " missing");
+        } else if (!Objects.equals(expectedPrevious, segment.previousChainHash())) {
+            problems.add("chain link to previous segment broken");
+        }
+        String chainHash = MerkleTree.chainHash(segment.previousChainHash(), segment.walletId(), segment.segmentNo(),
+                segment.entryCount(), segment.merkleRoot());
+        if (!chainHash.equals(segment.chainHash())) {
+            problems.add("chain hash mismatch");
+        }
+        return new SegmentCheck(segmentId, segment.entryCount(), leaves.size(), failure(problems));
+    }
+
+    private static String failure(List<String> problems) {
+        if (problems.isEmpty()) {
+            return null;
+        }
+        String text = problems.size() + " problem(s): " + String.join("; ", problems);
+        return text.length() > FAILURE_LENGTH ? text.substring(0, FAILURE_LENGTH) : text;
+    }
+
+    private static void fail(IntegrityAudit audit, Throwable cause) {
+        log.error("Integrity audit {} failed", audit.getId(), cause);
+        audit.setStatus(IntegrityAuditStatus.FAILED);
+        String message = String.valueOf(cause.getMessage());
+        audit.setError(message.length() > FAILURE_LENGTH ? message.substring(0, FAILURE_LENGTH) : message);
+    }
+
+    private record SegmentRow(UUID walletId, int segmentNo, int entryCount, String merkleRoot, String previousChainHash,
+                              String chainHash, String actualPreviousChainHash) {}
+
+    private record SegmentCheck(UUID segmentId, int entryCount, long entries, String failure) {}
+}
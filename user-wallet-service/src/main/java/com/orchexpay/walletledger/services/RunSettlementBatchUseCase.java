@@ -0,0 +1,185 @@
+package com.orchexpay.walletledger.services;
+
+import com.orchexpay.walletledger.enums.ReferenceType;
+import com.orchexpay.walletledger.enums.SettlementRunStatus;
+import com.orchexpay.walletledger.models.SettlementRun;
+import com.orchexpay.walletledger.models.WalletSummary;
+import com.orchexpay.walletledger.repositories.JpaLedgerEntryRepository;
+import com.orchexpay.walletledger.repositories.JpaSettlementRunRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Settlement for every merchant's ESCROW wallet in one run, with the same figures as
+ * {@link SettlementCalculationUseCase} but without a query per merchant. Merchants are split into hash partitions;
+ * each partition is one grouped scan over the {@link WalletSummary} columns (SUM ... FILTER) on a bounded
+ * ForkJoinPool, and its SettlementResult rows are batch-inserted into settlement_results. The run (settlement_runs)
+ * records wall time, wallets and mismatches. One run at a time.
+ */
+@Service
+@Slf4j
+public class RunSettlementBatchUseCase {
+
+    private static final String PARTITION_SQL = "SELECT w.id AS wallet_id, w.merchant_id, w.currency_code, "
+            + JpaLedgerEntryRepository.SUMMARY_COLUMNS + """
+            FROM wallets w
+            LEFT JOIN ledger_entries e ON e.wallet_id = w.id
+            WHERE w.wallet_type = 'ESCROW' AND (hashtext(w.merchant_id::text) & 2147483647) % ? = ?
+            GROUP BY w.id, w.merchant_id, w.currency_code
+            """;
+    private static final String INSERT_SQL = "INSERT INTO settlement_results (id, run_id, merchant_id, currency_code, "
+            + "escrow_wallet_id, total_confirmed_escrow_credits, total_payout_debits, total_refund_debits, expected_balance, "
+            + "ledger_net_balance, reconciled, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final JpaSettlementRunRepository runRepository;
+    private final int parallelism;
+    private final int partitions;
+    private final int insertBatchSize;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public RunSettlementBatchUseCase(DataSource dataSource, PlatformTransactionManager transactionManager,
+                                     JpaSettlementRunRepository runRepository,
+                                     @Value("${orchexpay.settlement.batch.parallelism:4}") int parallelism,
+                                     @Value("${orchexpay.settlement.batch.partitions:16}") int partitions,
+                                     @Value("${orchexpay.settlement.batch.insert-batch-size:500}") int insertBatchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.runRepository = runRepository;
+        this.parallelism = parallelism;
+        this.partitions = partitions;
+        this.insertBatchSize = insertBatchSize;
+    }
+
+    /** Runs settlement for all merchants and returns the finished (COMPLETED or FAILED) run. */
+    public SettlementRun execute() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A settlement run is already in progress");
+        }
+        try {
+            return run();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /** Daily run when orchexpay.settlement.batch.cron is set ("-", the default, disables it). */
+    @Scheduled(cron = "${orchexpay.settlement.batch.cron:-}")
+    public void scheduledRun() {
+        if (running.get()) {
+            log.warn("Skipping scheduled settlement run: previous run still in progress");
+            return;
+        }
+        execute();
+    }
+
+    private SettlementRun run() {
+        long startedNanos = System.nanoTime();
+        SettlementRun settlementRun = runRepository.save(SettlementRun.builder()
+                .id(UUID.randomUUID())
+                .status(SettlementRunStatus.RUNNING)
+                .partitions(partitions)
+                .startedAt(Instant.now())
+                .build());
+        UUID runId = settlementRun.getId();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        long wallets = 0;
+        long mismatches = 0;
+        try {
+            List<Future<long[]>> tasks = new ArrayList<>(partitions);
+            for (int partition = 0; partition < partitions; partition++) {
+                int p = partition;
+                tasks.add(pool.submit(() -> settlePartition(runId, p)));
+            }
+            for (Future<long[]> task : tasks) {
+                long[] counts = task.get();
+                wallets += counts[0];
+                mismatches += counts[1];
+            }
+            settlementRun.setStatus(SettlementRunStatus.COMPLETED);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(settlementRun, e);
+        } catch (ExecutionException e) {
+            fail(settlementRun, e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startedNanos);
+        settlementRun.setWallets(wallets);
+        settlementRun.setMismatches(mismatches);
+        settlementRun.setFinishedAt(Instant.now());
+        settlementRun.setDurationMs(elapsed.toMillis());
+        settlementRun = runRepository.save(settlementRun);
+        log.info("Settlement run {} {}: {} ESCROW wallets, {} mismatches in {} ms ({} partitions, parallelism {})",
+                runId, settlementRun.getStatus(), wallets, mismatches, elapsed.toMillis(), partitions, parallelism);
+        return settlementRun;
+    }
+
+    /** Returns {wallets, mismatches} of one partition after its rows are stored. */
+    private long[] settlePartition(UUID runId, int partition) {
+        List<SettlementCalculationUseCase.SettlementResult> results = readTransaction.execute(status ->
+                jdbcTemplate.query(PARTITION_SQL, (rs, rowNum) -> {
+                    Map<ReferenceType, BigDecimal> debits = new EnumMap<>(ReferenceType.class);
+                    debits.put(ReferenceType.ORDER, rs.getBigDecimal("orderDebits"));
+                    debits.put(ReferenceType.PAYOUT, rs.getBigDecimal("payoutDebits"));
+                    debits.put(ReferenceType.REFUND, rs.getBigDecimal("refundDebits"));
+                    debits.put(ReferenceType.REVERSAL, rs.getBigDecimal("reversalDebits"));
+                    UUID walletId = rs.getObject("wallet_id", UUID.class);
+                    WalletSummary summary = new WalletSummary(walletId, rs.getBigDecimal("credits"), debits, rs.getBigDecimal("net"));
+                    return SettlementCalculationUseCase.SettlementResult.of(
+                            rs.getObject("merchant_id", UUID.class), rs.getString("currency_code"), summary);
+                }, partitions, partition));
+        if (results == null || results.isEmpty()) {
+            return new long[2];
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        writeTransaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, results, insertBatchSize, (ps, r) -> {
+            ps.setObject(1, UUID.randomUUID());
+            ps.setObject(2, runId);
+            ps.setObject(3, r.merchantId());
+            ps.setString(4, r.currencyCode());
+            ps.setObject(5, r.escrowWalletId());
+            ps.setBigDecimal(6, r.totalConfirmedEscrowCredits());
+            ps.setBigDecimal(7, r.totalPayoutDebits());
+            ps.setBigDecimal(8, r.totalRefundDebits());
+            ps.setBigDecimal(9, r.expectedBalance());
+            ps.setBigDecimal(10, r.ledgerNetBalance());
+            ps.setBoolean(11, r.reconciled());
+            ps.setTimestamp(12, now);
+        }));
+        long mismatches = results.stream().filter(r -> !r.reconciled()).count();
+        return new long[]{results.size(), mismatches};
+    }
+
+    private static void fail(SettlementRun settlementRun, Throwable cause) {
+        log.error("Settlement run {} failed", settlementRun.getId(), cause);
+        settlementRun.setStatus(SettlementRunStatus.FAILED);
+        String message = String.valueOf(cause.getMessage());
+        settlementRun.setError(message.length() > 500 ? message.substring(0, 500) : message);
+    }
+}
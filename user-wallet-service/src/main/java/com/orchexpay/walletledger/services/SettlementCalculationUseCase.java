@@ -4,6 +4,7 @@ import com.orchexpay.walletledger.repositories.LedgerEntryRepository;
 import com.orchexpay.walletledger.repositories.WalletRepository;
 import com.orchexpay.walletledger.enums.WalletType;
 import com.orchexpay.walletledger.enums.ReferenceType;
+import com.orchexpay.walletledger.models.WalletSummary;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -17,6 +18,7 @@ import java.util.UUID;
  * Merchant Real Bank Expected Balance =
  *   SUM(confirmed ESCROW credits) - SUM(confirmed ESCROW debits for payouts) - SUM(confirmed ESCROW debits for refunds).
  * LedgerX net = computeBalance(escrowWalletId).
+ * All four figures come from one {@link WalletSummary} query.
  * If mismatch → reconciliation issue (data integrity).
  */
 @Service
@@ -35,27 +37,12 @@ public class SettlementCalculationUseCase {
             return SettlementResult.noEscrowWallet(merchantId, currencyCode);
         }
         UUID walletId = escrowWallet.get().getId();
-        BigDecimal confirmedCredits = ledgerEntryRepository.sumConfirmedCreditsByWalletId(walletId);
-        BigDecimal payoutDebits = ledgerEntryRepository.sumConfirmedDebitsByWalletIdAndReferenceType(walletId, ReferenceType.PAYOUT);
-        BigDecimal refundDebits = ledgerEntryRepository.sumConfirmedDebitsByWalletIdAndReferenceType(walletId, ReferenceType.REFUND);
-        BigDecimal ledgerNet = ledgerEntryRepository.computeBalance(walletId);
-        BigDecimal expected = confirmedCredits.subtract(payoutDebits).subtract(refundDebits);
-        boolean reconciled = ledgerNet.compareTo(expected) == 0;
-        if (!reconciled) {
+        SettlementResult result = SettlementResult.of(merchantId, currencyCode, ledgerEntryRepository.summarize(walletId));
+        if (!result.reconciled()) {
             log.warn("Settlement mismatch merchant {} currency {}: ledgerNet={} expected={}",
-                    merchantId, currencyCode, ledgerNet, expected);
+                    merchantId, currencyCode, result.ledgerNetBalance(), result.expectedBalance());
         }
-        return SettlementResult.builder()
-                .merchantId(merchantId)
-                .currencyCode(currencyCode)
-                .escrowWalletId(walletId)
-                .totalConfirmedEscrowCredits(confirmedCredits)
-                .totalPayoutDebits(payoutDebits)
-                .totalRefundDebits(refundDebits)
-                .expectedBalance(expected)
-                .ledgerNetBalance(ledgerNet)
-                .reconciled(reconciled)
-                .build();
+        return result;
     }
 
     public record SettlementResult(
@@ -69,6 +56,16 @@ public class SettlementCalculationUseCase {
             BigDecimal ledgerNetBalance,
             boolean reconciled
     ) {
+        /** Expected = credits - PAYOUT debits - REFUND debits; reconciled when the ledger net matches it. */
+        public static SettlementResult of(UUID merchantId, String currencyCode, WalletSummary summary) {
+            BigDecimal payoutDebits = summary.debits(ReferenceType.PAYOUT);
+            BigDecimal refundDebits = summary.debits(ReferenceType.REFUND);
+            BigDecimal expected = summary.confirmedCredits().subtract(payoutDebits).subtract(refundDebits);
+            return new SettlementResult(merchantId, currencyCode, summary.walletId(),
+                    summary.confirmedCredits(), payoutDebits, refundDebits,
+                    expected, summary.net(), summary.net().compareTo(expected) == 0);
+        }
+
         public static SettlementResult noEscrowWallet(UUID merchantId, String currencyCode) {
             return new SettlementResult(merchantId, currencyCode, null,
                     BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO,
@@ -1,5 +1,8 @@
 package com.orchexpay.walletledger.services;
 
+import com.orchexpay.walletledger.events.DomainEventPublisher;
+import com.orchexpay.walletledger.events.WalletCreditedEvent;
+import com.orchexpay.walletledger.events.WalletDebitedEvent;
 import com.orchexpay.walletledger.exceptions.InsufficientBalanceException;
 import com.orchexpay.walletledger.exceptions.WalletNotFoundException;
 import com.orchexpay.walletledger.repositories.LedgerEntryRepository;
@@ -16,6 +19,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -24,6 +28,7 @@ import java.util.UUID;
  * Atomic transfer: one DEBIT from source wallet, N CREDITS to destination wallets (e.g. ESCROW → VENDOR + MAIN).
  * All entries CONFIRMED, reference_type=ORDER. Idempotent by (fromWalletId, referenceId): if debit already exists, no-op.
  * Used for order completion split: ESCROW debit total, VENDOR credit vendorShare, MAIN credit platformShare.
+ * Publishes WalletDebited for the source and WalletCredited per leg, so event consumers see every balance change.
  */
 @Service
 @RequiredArgsConstructor
@@ -33,6 +38,7 @@ public class TransferUseCase {
     private final WalletRepository walletRepository;
     private final LedgerEntryRepository ledgerEntryRepository;
     private final LedgerEntryFactory ledgerEntryFactory;
+    private final DomainEventPublisher eventPublisher;
 
     /**
      * @param fromWalletId   source wallet (e.g. ESCROW)
@@ -69,6 +75,16 @@ public class TransferUseCase {
                 totalMoney, ReferenceType.ORDER, referenceId, EntryStatus.CONFIRMED,
                 description != null ? description : "Transfer " + referenceId);
         debitEntry = ledgerEntryRepository.save(debitEntry);
+        Instant now = Instant.now();
+        eventPublisher.publish(WalletDebitedEvent.builder()
+                .eventId(UUID.randomUUID())
+                .walletId(fromWalletId)
+                .amount(totalDebit)
+                .currencyCode(currencyCode)
+                .referenceId(referenceId)
+                .occurredAt(now)
+                .correlationId(null)
+                .build());
         List<LedgerEntry> creditEntries = new ArrayList<>();
         for (CreditLeg leg : credits) {
             Wallet toWallet = walletRepository.findById(leg.toWalletId())
@@ -83,6 +99,15 @@ public class TransferUseCase {
                     description != null ? description : "Transfer " + referenceId);
             creditEntry = ledgerEntryRepository.save(creditEntry);
             creditEntries.add(creditEntry);
+            eventPublisher.publish(WalletCreditedEvent.builder()
+                    .eventId(UUID.randomUUID())
+                    .walletId(leg.toWalletId())
+                    .amount(leg.amount())
+                    .currencyCode(currencyCode)
+                    .referenceId(referenceId)
+                    .occurredAt(now)
+                    .correlationId(null)
+                    .build());
         }
         log.info("Transfer from {} ref {} total {} to {} legs", fromWalletId, referenceId, totalDebit, credits.size());
         return new TransferResult(debitEntry, creditEntries, false);
@@ -0,0 +1,96 @@
+package com.orchexpay.walletledger.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * SHA-256 Merkle trees over ledger segments. Leaves are H(0x00 || data) and inner nodes H(0x01 || left || right), so a
+ * leaf can never pass for an inner node; an unpaired node at the end of a level moves up unchanged. Hashes are
+ * lower-case hex. A proof is the sibling hash at each level from the leaf up (levels where the node had no sibling are
+ * skipped), so checking one entry costs O(log n) hashes.
+ */
+public final class MerkleTree {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private MerkleTree() {
+    }
+
+    public static String leafHash(String canonicalEntry) {
+        return HEX.formatHex(hash((byte) 0, canonicalEntry.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public static String root(List<String> leaves) {
+        if (leaves.isEmpty()) {
+            throw new IllegalArgumentException("A Merkle tree needs at least one leaf");
+        }
+        List<byte[]> level = leaves.stream().map(HEX::parseHex).toList();
+        while (level.size() > 1) {
+            level = nextLevel(level);
+        }
+        return HEX.formatHex(level.get(0));
+    }
+
+    /** Sibling path of the leaf at position, bottom-up. */
+    public static List<ProofStep> proof(List<String> leaves, int position) {
+        if (position < 0 || position >= leaves.size()) {
+            throw new IllegalArgumentException("Position " + position + " outside 0.." + (leaves.size() - 1));
+        }
+        List<ProofStep> steps = new ArrayList<>();
+        List<byte[]> level = leaves.stream().map(HEX::parseHex).toList();
+        int index = position;
+        while (level.size() > 1) {
+            int sibling = index ^ 1;
+            if (sibling < level.size()) {
+                steps.add(new ProofStep(HEX.formatHex(level.get(sibling)), sibling < index));
+            }
+            level = nextLevel(level);
+            index /= 2;
+        }
+        return steps;
+    }
+
+    public static boolean verify(String leafHash, List<ProofStep> proof, String root) {
+        byte[] node = HEX.parseHex(leafHash);
+        for (ProofStep step : proof) {
+            byte[] sibling = HEX.parseHex(step.hash());
+            node = step.left() ? hash((byte) 1, sibling, node) : hash((byte) 1, node, sibling);
+        }
+        return MessageDigest.isEqual(node, HEX.parseHex(root));
+    }
+
+    /** Links a segment to the one before it: H(previous chain || wallet || segment no || entry count || root). */
+    public static String chainHash(String previousChainHash, UUID walletId, int segmentNo, int entryCount, String root) {
+        String text = (previousChainHash == null ? "" : previousChainHash) + "|" + walletId + "|" + segmentNo + "|" + entryCount + "|" + root;
+        return HEX.formatHex(hash((byte) 2, text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static List<byte[]> nextLevel(List<byte[]> level) {
+        List<byte[]> next = new ArrayList<>((level.size() + 1) / 2);
+        for (int i = 0; i < level.size(); i += 2) {
+            next.add(i + 1 < level.size() ? hash((byte) 1, level.get(i), level.get(i + 1)) : level.get(i));
+        }
+        return next;
+    }
+
+    private static byte[] hash(byte prefix, byte[]... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(prefix);
+            for (byte[] part : parts) {
+                digest.update(part);
+            }
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** left: the sibling is on the left of the running hash. */
+    public record ProofStep(String hash, boolean left) {}
+}
@@ -0,0 +1,78 @@
+package com.orchexpay.walletledger.configs;
+
+import com.orchexpay.walletledger.AbstractIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.utility.DockerImageName;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A second PostgreSQL container stands in for the replica; the database name tells which pool served a query.
+ */
+class ReadReplicaRoutingTest extends AbstractIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> replica = new PostgreSQLContainer<>(DockerImageName.parse("postgres:15-alpine"))
+            .withDatabaseName("walletledger_replica")
+            .withUsername("ledger")
+            .withPassword("ledger");
+
+    @DynamicPropertySource
+    static void configureReplica(DynamicPropertyRegistry registry) {
+        registry.add("orchexpay.datasource.replica.enabled", () -> "true");
+        registry.add("orchexpay.datasource.replica.url", replica::getJdbcUrl);
+    }
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReplicaLagMonitor lagMonitor;
+
+    @AfterEach
+    void endRequest() {
+        ReadYourWritesContext.end();
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplica() {
+        assertThat(lagMonitor.isReplicaUsable()).isTrue();
+        assertThat(currentDatabase(true)).isEqualTo("walletledger_replica");
+        assertThat(currentDatabase(false)).isEqualTo("walletledger");
+        assertThat(jdbcTemplate.queryForObject("SELECT current_database()", String.class)).isEqualTo("walletledger");
+    }
+
+    @Test
+    void requestThatWroteReadsFromPrimary() {
+        ReadYourWritesContext.begin();
+        assertThat(currentDatabase(true)).isEqualTo("walletledger_replica");
+        currentDatabase(false);
+        assertThat(currentDatabase(true)).isEqualTo("walletledger");
+    }
+
+    @Test
+    void unavailableReplicaFallsBackToPrimary() {
+        lagMonitor.markUnavailable("test");
+        assertThat(currentDatabase(true)).isEqualTo("walletledger");
+        lagMonitor.check();
+        assertThat(currentDatabase(true)).isEqualTo("walletledger_replica");
+    }
+
+    private String currentDatabase(boolean readOnly) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(readOnly);
+        return tx.execute(status -> jdbcTemplate.queryForObject("SELECT current_database()", String.class));
+    }
+}
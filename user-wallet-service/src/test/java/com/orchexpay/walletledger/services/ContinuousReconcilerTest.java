@@ -0,0 +1,192 @@
+package com.orchexpay.walletledger.services;
+
+import com.orchexpay.walletledger.AbstractIntegrationTest;
+import com.orchexpay.walletledger.controllers.AdminController;
+import com.orchexpay.walletledger.dtos.ReconciliationStatusResponse;
+import com.orchexpay.walletledger.enums.ReconciliationMismatch;
+import com.orchexpay.walletledger.models.ReconciliationState;
+import com.orchexpay.walletledger.models.ReconciliationTotal;
+import com.orchexpay.walletledger.repositories.JpaReconciliationStateRepository;
+import com.orchexpay.walletledger.repositories.JpaReconciliationTotalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ContinuousReconciler on real PostgreSQL, polled directly (its schedule is pushed out in application-test.yml, which
+ * also checkpoints after every applied entry). Journal rows are applied once whatever the poll count, a transaction
+ * that commits after a poll's snapshot is picked up by the next poll, a tampered running total is flagged as a
+ * SETTLEMENT mismatch, and the signed checkpoints form an unbroken chain.
+ */
+@WithMockUser(roles = "ADMIN")
+class ContinuousReconcilerTest extends AbstractIntegrationTest {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("40.0000");
+
+    @Autowired
+    private ContinuousReconciler reconciler;
+
+    @Autowired
+    private JpaReconciliationStateRepository stateRepository;
+
+    @Autowired
+    private JpaReconciliationTotalRepository totalRepository;
+
+    @Autowired
+    private AdminController adminController;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final UUID merchantId = UUID.randomUUID();
+    private UUID escrowWalletId;
+
+    /** The startup poll may hold the state row when we first poll, in which case ours is skipped; retry a few times. */
+    @BeforeEach
+    void baseline() {
+        for (int attempt = 0; attempt < 5 && stateRepository.findById(ReconciliationState.ID).isEmpty(); attempt++) {
+            reconciler.poll();
+        }
+        assertThat(stateRepository.findById(ReconciliationState.ID)).isPresent();
+        escrowWalletId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO wallets (id, merchant_id, wallet_type, currency_code, status, created_at, updated_at) "
+                + "VALUES (?, ?, 'ESCROW', 'INR', 'ACTIVE', ?, ?)", escrowWalletId, merchantId, now(), now());
+    }
+
+    @Test
+    void confirmedEntryIsAppliedExactlyOnce() {
+        inTransaction(jdbc -> confirm(jdbc, escrowWalletId));
+        long appliedBefore = state().getEntriesApplied();
+
+        reconciler.poll();
+        reconciler.poll();
+        reconciler.poll();
+
+        ReconciliationTotal total = total();
+        assertThat(total.getCredits()).isEqualByComparingTo(AMOUNT);
+        assertThat(total.getNet()).isEqualByComparingTo(AMOUNT);
+        assertThat(total.isEscrow()).isTrue();
+        assertThat(total.getMismatch()).isNull();
+        assertThat(state().getEntriesApplied()).isGreaterThanOrEqualTo(appliedBefore + 1);
+
+        inTransaction(jdbc -> confirm(jdbc, escrowWalletId));
+        reconciler.poll();
+        reconciler.poll();
+        assertThat(total().getCredits()).isEqualByComparingTo(AMOUNT.add(AMOUNT));
+    }
+
+    @Test
+    void transactionCommittingAfterAPollIsPickedUpByTheNext() throws Exception {
+        try (Connection late = dataSource.getConnection()) {
+            late.setAutoCommit(false);
+            // Gets its txid first, then stays open while a later transaction commits and is polled
+            confirm(new JdbcTemplate(new SingleConnectionDataSource(late, true)), escrowWalletId);
+            inTransaction(jdbc -> confirm(jdbc, escrowWalletId));
+
+            reconciler.poll();
+            assertThat(total().getCredits()).as("only the committed entry").isEqualByComparingTo(AMOUNT);
+
+            late.commit();
+        }
+        reconciler.poll();
+        assertThat(total().getCredits()).isEqualByComparingTo(AMOUNT.add(AMOUNT));
+        reconciler.poll();
+        assertThat(total().getCredits()).isEqualByComparingTo(AMOUNT.add(AMOUNT));
+    }
+
+    @Test
+    void tamperedTotalIsFlaggedAsSettlementMismatch() {
+        inTransaction(jdbc -> confirm(jdbc, escrowWalletId));
+        reconciler.poll();
+        assertThat(total().getMismatch()).isNull();
+        long openBefore = state().getOpenMismatches();
+
+        jdbcTemplate.update("UPDATE reconciliation_totals SET net = net + 5 WHERE wallet_id = ?", escrowWalletId);
+        // Wallets are checked when a poll touches them
+        inTransaction(jdbc -> confirm(jdbc, escrowWalletId));
+        reconciler.poll();
+
+        assertThat(total().getMismatch()).isEqualTo(ReconciliationMismatch.SETTLEMENT);
+        assertThat(state().getOpenMismatches()).isEqualTo(openBefore + 1);
+        ReconciliationStatusResponse status = adminController.getReconciliation(1000, 10).getBody();
+        assertThat(status.getMismatches()).anySatisfy(m -> {
+            assertThat(m.getWalletId()).isEqualTo(escrowWalletId);
+            assertThat(m.getReason()).isEqualTo("SETTLEMENT");
+        });
+    }
+
+    @Test
+    void checkpointChainVerifies() {
+        for (int i = 0; i < 3; i++) {
+            inTransaction(jdbc -> confirm(jdbc, escrowWalletId));
+            reconciler.poll();
+        }
+
+        ReconciliationStatusResponse status = adminController.getReconciliation(1, 100).getBody();
+        List<ReconciliationStatusResponse.Checkpoint> chain = status.getCheckpoints().stream()
+                .sorted(Comparator.comparingLong(ReconciliationStatusResponse.Checkpoint::getSequence))
+                .toList();
+        assertThat(chain).hasSizeGreaterThanOrEqualTo(4);
+        assertThat(chain).allSatisfy(c -> assertThat(c.isSignatureValid()).as("checkpoint %d", c.getSequence()).isTrue());
+        if (chain.get(0).getSequence() == 1) {
+            assertThat(chain.get(0).getPreviousSignature()).isNull();
+        }
+        for (int i = 1; i < chain.size(); i++) {
+            assertThat(chain.get(i).getSequence()).isEqualTo(chain.get(i - 1).getSequence() + 1);
+            assertThat(chain.get(i).getPreviousSignature()).isEqualTo(chain.get(i - 1).getSignature());
+        }
+        ReconciliationStatusResponse.Checkpoint latest = chain.get(chain.size() - 1);
+        assertThat(latest.getEntriesApplied()).isEqualTo(status.getEntriesApplied());
+        assertThat(latest.getStateDigest()).isEqualTo(status.getDigest());
+    }
+
+    /** A CONFIRMED credit journalled in ledger_confirmations in the same transaction, as LedgerEntryRepositoryAdapter.save does. */
+    private void confirm(JdbcTemplate jdbc, UUID walletId) {
+        UUID id = UUID.randomUUID();
+        jdbc.update("INSERT INTO ledger_entries (id, wallet_id, merchant_id, entry_type, amount, currency_code, "
+                        + "reference_type, reference_id, status, description, created_at) "
+                        + "VALUES (?, ?, ?, 'CREDIT', ?, 'INR', 'ORDER', ?, 'CONFIRMED', ?, ?)",
+                id, walletId, merchantId, AMOUNT, "order-" + id, "payment " + id, now());
+        jdbc.update("INSERT INTO ledger_confirmations (entry_id, wallet_id, entry_type, reference_type, amount) "
+                + "VALUES (?, ?, 'CREDIT', 'ORDER', ?)", id, walletId, AMOUNT);
+    }
+
+    private void inTransaction(Consumer<JdbcTemplate> work) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> work.accept(jdbcTemplate));
+    }
+
+    private ReconciliationState state() {
+        return stateRepository.findById(ReconciliationState.ID).orElseThrow();
+    }
+
+    private ReconciliationTotal total() {
+        return totalRepository.findById(escrowWalletId).orElseThrow();
+    }
+
+    private static Timestamp now() {
+        return Timestamp.from(Instant.now());
+    }
+}
@@ -0,0 +1,46 @@
+package com.orchexpay.walletledger.services;
+
+import com.orchexpay.walletledger.AbstractIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GenerateBulkDataUseCaseTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private GenerateBulkDataUseCase generateBulkDataUseCase;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void generatesConsistentLedger() {
+        GenerateBulkDataUseCase.Result result = generateBulkDataUseCase.execute(spec("gentest", 42));
+
+        assertThat(result.merchants()).isEqualTo(5);
+        assertThat(count("SELECT COUNT(*) FROM users WHERE username LIKE 'gentest\\_%'"))
+                .isEqualTo(result.merchants() + result.vendors());
+        assertThat(count("SELECT COUNT(*) FROM ledger_entries")).isGreaterThanOrEqualTo(result.ledgerEntries());
+        // Splits and payouts never take a wallet below zero
+        assertThat(count("SELECT COUNT(*) FROM (SELECT wallet_id, SUM(CASE WHEN entry_type = 'CREDIT' THEN amount ELSE -amount END) b "
+                + "FROM ledger_entries WHERE status = 'CONFIRMED' GROUP BY wallet_id) s WHERE b < 0")).isZero();
+
+        assertThatThrownBy(() -> generateBulkDataUseCase.execute(spec("gentest", 42))).isInstanceOf(IllegalStateException.class);
+        // Same seed, other prefix: distinct ids
+        assertThat(generateBulkDataUseCase.execute(spec("gentest2", 42)).ledgerEntries()).isEqualTo(result.ledgerEntries());
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    private static GenerateBulkDataUseCase.Spec spec(String prefix, long seed) {
+        return new GenerateBulkDataUseCase.Spec(prefix, 5, 3, 2_000, 30, Instant.parse("2026-01-01T00:00:00Z"), "INR", 1.1, 1000,
+                0.9, 0.3, 0.1, 2, seed, "password", 500);
+    }
+}
@@ -0,0 +1,105 @@
+package com.orchexpay.walletledger.services;
+
+import com.orchexpay.walletledger.AbstractIntegrationTest;
+import com.orchexpay.walletledger.controllers.AdminIntegrityController;
+import com.orchexpay.walletledger.dtos.EntryProofResponse;
+import com.orchexpay.walletledger.dtos.IntegrityAuditResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@WithMockUser(roles = "ADMIN")
+class LedgerSegmentIntegrityTest extends AbstractIntegrationTest {
+
+    private static final int ENTRIES = 5;
+
+    @Autowired
+    private LedgerSegmentSealer ledgerSegmentSealer;
+
+    @Autowired
+    private AdminIntegrityController adminIntegrityController;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void auditAndProofReportATamperedEntry() {
+        UUID walletId = UUID.randomUUID();
+        List<UUID> entryIds = insertConfirmedEntries(walletId);
+        sealUntilSegmented(entryIds);
+        UUID tampered = entryIds.get(2);
+        UUID untouched = entryIds.get(3);
+
+        assertThat(adminIntegrityController.getProof(tampered).getBody().isVerified()).isTrue();
+        IntegrityAuditResponse clean = adminIntegrityController.runAudit("all").getBody();
+        assertThat(clean.getStatus()).isEqualTo("COMPLETED");
+        assertThat(clean.getFailures()).isZero();
+
+        jdbcTemplate.update("UPDATE ledger_entries SET description = 'edited after confirmation' WHERE id = ?", tampered);
+
+        IntegrityAuditResponse audit = adminIntegrityController.runAudit("all").getBody();
+        assertThat(audit.getStatus()).isEqualTo("COMPLETED");
+        assertThat(audit.getFailures()).isEqualTo(1);
+        List<IntegrityAuditResponse.FailedSegment> failed = adminIntegrityController.getAudit(audit.getId(), 100)
+                .getBody().getFailedSegments();
+        assertThat(failed).singleElement().satisfies(segment -> {
+            assertThat(segment.getWalletId()).isEqualTo(walletId);
+            assertThat(segment.getFailure()).contains("entry " + tampered + " changed").doesNotContain(untouched.toString());
+        });
+
+        EntryProofResponse proof = adminIntegrityController.getProof(tampered).getBody();
+        assertThat(proof.isVerified()).isFalse();
+        assertThat(proof.getCurrentLeafHash()).isNotEqualTo(proof.getLeafHash());
+        EntryProofResponse other = adminIntegrityController.getProof(untouched).getBody();
+        assertThat(other.isVerified()).isTrue();
+        assertThat(other.getMerkleRoot()).isEqualTo(proof.getMerkleRoot());
+    }
+
+    /** CONFIRMED entries journalled in ledger_confirmations in the same transaction, as LedgerEntryRepositoryAdapter.save does. */
+    private List<UUID> insertConfirmedEntries(UUID walletId) {
+        UUID merchantId = UUID.randomUUID();
+        List<UUID> ids = new ArrayList<>();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (int i = 0; i < ENTRIES; i++) {
+                UUID id = UUID.randomUUID();
+                BigDecimal amount = new BigDecimal("10.0000").add(BigDecimal.valueOf(i));
+                jdbcTemplate.update("INSERT INTO ledger_entries (id, wallet_id, merchant_id, entry_type, amount, currency_code, "
+                                + "reference_type, reference_id, status, description, created_at) "
+                                + "VALUES (?, ?, ?, 'CREDIT', ?, 'INR', 'ORDER', ?, 'CONFIRMED', ?, ?)",
+                        id, walletId, merchantId, amount, "order-" + id, "order " + i, Timestamp.from(Instant.now()));
+                jdbcTemplate.update("INSERT INTO ledger_confirmations (entry_id, wallet_id, entry_type, reference_type, amount) "
+                        + "VALUES (?, ?, 'CREDIT', 'ORDER', ?)", id, walletId, amount);
+                ids.add(id);
+            }
+        });
+        return ids;
+    }
+
+    /** The scheduled sealer may hold the cursor when we call it, in which case our run is skipped; retry a few times. */
+    private void sealUntilSegmented(List<UUID> entryIds) {
+        for (int attempt = 0; attempt < 5 && segmented(entryIds) < entryIds.size(); attempt++) {
+            ledgerSegmentSealer.seal();
+        }
+        assertThat(segmented(entryIds)).isEqualTo(entryIds.size());
+    }
+
+    private long segmented(List<UUID> entryIds) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ledger_segment_entries WHERE entry_id = ANY (?)", Long.class,
+                (Object) entryIds.toArray(new UUID[0]));
+    }
+}
@@ -0,0 +1,123 @@
+package com.orchexpay.walletledger.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MerkleTreeTest {
+
+    private static final int MAX_LEAVES = 33;
+
+    @Test
+    void singleLeafIsItsOwnRootWithAnEmptyProof() {
+        String leaf = MerkleTree.leafHash("entry-0");
+
+        assertThat(MerkleTree.root(List.of(leaf))).isEqualTo(leaf);
+        assertThat(MerkleTree.proof(List.of(leaf), 0)).isEmpty();
+        assertThat(MerkleTree.verify(leaf, List.of(), leaf)).isTrue();
+        assertThat(MerkleTree.verify(MerkleTree.leafHash("entry-1"), List.of(), leaf)).isFalse();
+    }
+
+    @Test
+    void everyLeafProvesAgainstTheRootForAllSizes() {
+        for (int size = 1; size <= MAX_LEAVES; size++) {
+            List<String> leaves = leaves(size);
+            String root = MerkleTree.root(leaves);
+            int maxDepth = 32 - Integer.numberOfLeadingZeros(size - 1);
+            for (int position = 0; position < size; position++) {
+                List<MerkleTree.ProofStep> proof = MerkleTree.proof(leaves, position);
+
+                assertThat(proof).as("size %d position %d", size, position).hasSizeLessThanOrEqualTo(maxDepth);
+                assertThat(MerkleTree.verify(leaves.get(position), proof, root)).as("size %d position %d", size, position).isTrue();
+                if (size > 1) {
+                    // The proof is bound to its leaf: a neighbour's leaf does not verify with it
+                    String other = leaves.get((position + 1) % size);
+                    assertThat(MerkleTree.verify(other, proof, root)).as("size %d position %d", size, position).isFalse();
+                }
+            }
+        }
+    }
+
+    @Test
+    void changingAnyLeafChangesTheRoot() {
+        for (int size = 1; size <= MAX_LEAVES; size++) {
+            List<String> leaves = leaves(size);
+            String root = MerkleTree.root(leaves);
+            for (int position = 0; position < size; position++) {
+                List<String> tampered = new ArrayList<>(leaves);
+                tampered.set(position, MerkleTree.leafHash("tampered"));
+
+                assertThat(MerkleTree.root(tampered)).as("size %d position %d", size, position).isNotEqualTo(root);
+            }
+        }
+    }
+
+    @Test
+    void tamperedSiblingOrSideIsRejected() {
+        for (int size = 2; size <= MAX_LEAVES; size++) {
+            List<String> leaves = leaves(size);
+            String root = MerkleTree.root(leaves);
+            for (int position = 0; position < size; position++) {
+                List<MerkleTree.ProofStep> proof = MerkleTree.proof(leaves, position);
+                for (int step = 0; step < proof.size(); step++) {
+                    MerkleTree.ProofStep original = proof.get(step);
+                    List<MerkleTree.ProofStep> tampered = new ArrayList<>(proof);
+                    tampered.set(step, new MerkleTree.ProofStep(flipLastDigit(original.hash()), original.left()));
+                    List<MerkleTree.ProofStep> swapped = new ArrayList<>(proof);
+                    swapped.set(step, new MerkleTree.ProofStep(original.hash(), !original.left()));
+
+                    assertThat(MerkleTree.verify(leaves.get(position), tampered, root)).isFalse();
+                    assertThat(MerkleTree.verify(leaves.get(position), swapped, root)).isFalse();
+                }
+                if (!proof.isEmpty()) {
+                    assertThat(MerkleTree.verify(leaves.get(position), proof.subList(0, proof.size() - 1), root)).isFalse();
+                }
+            }
+        }
+    }
+
+    @Test
+    void oddLevelPromotesTheUnpairedNode() {
+        List<String> leaves = leaves(3);
+        String left = MerkleTree.root(leaves.subList(0, 2));
+
+        // ((l0, l1), l2): l2 is paired only at the top, so its proof has one step
+        assertThat(MerkleTree.proof(leaves, 2)).containsExactly(new MerkleTree.ProofStep(left, true));
+        assertThat(MerkleTree.root(leaves)).isEqualTo(MerkleTree.root(List.of(left, leaves.get(2))));
+    }
+
+    @Test
+    void leafAndChainHashesAreDomainSeparated() {
+        List<String> pair = leaves(2);
+        String inner = MerkleTree.root(pair);
+        UUID walletId = UUID.randomUUID();
+
+        assertThat(MerkleTree.leafHash("a")).isNotEqualTo(MerkleTree.leafHash("b"));
+        assertThat(inner).isNotEqualTo(MerkleTree.leafHash(pair.get(0) + pair.get(1)));
+        assertThat(MerkleTree.chainHash(null, walletId, 0, 2, inner))
+                .isNotEqualTo(MerkleTree.chainHash(null, walletId, 0, 3, inner))
+                .isNotEqualTo(MerkleTree.chainHash(inner, walletId, 0, 2, inner));
+    }
+
+    @Test
+    void rejectsEmptyTreesAndPositionsOutsideIt() {
+        assertThatThrownBy(() -> MerkleTree.root(List.of())).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MerkleTree.proof(leaves(3), 3)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MerkleTree.proof(leaves(3), -1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<String> leaves(int size) {
+        return IntStream.range(0, size).mapToObj(i -> MerkleTree.leafHash("entry-" + i)).toList();
+    }
+
+    private static String flipLastDigit(String hex) {
+        char last = hex.charAt(hex.length() - 1);
+        return hex.substring(0, hex.length() - 1) + (last == '0' ? '1' : '0');
+    }
+}